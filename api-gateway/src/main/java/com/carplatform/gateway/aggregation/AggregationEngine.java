@@ -0,0 +1,377 @@
+package com.carplatform.gateway.aggregation;
+
+import com.carplatform.gateway.diagnostics.BlockingOffload;
+import com.carplatform.gateway.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Aggregation Engine
+ *
+ * Executes AggregationPlans level by level on the calling (handler) thread:
+ * - Every fetch node and every loader batch of a level runs in parallel on
+ *   the engine's worker pool, with the handler's request timeline and trace
+ *   ID bound, so client hops still show up in the flight recorder
+ * - Batch nodes of a level sharing a loader are merged into one call (split
+ *   into max-batch-size chunks that run in parallel); keys are deduplicated
+ *   across those nodes and against keys already loaded earlier in the request
+ * - Each node has its own timeout (default-timeout-ms otherwise); a failed
+ *   or timed-out node takes its fallback value, or fails the whole plan
+ *   (timeouts as 503) when it has none
+ * - A timed-out node's fetch is cancelled with an interrupt, and when a
+ *   node fails the plan the rest of its level is cancelled too, so
+ *   abandoned fetches do not keep holding workers
+ *
+ * Workers only run leaf fetches and never wait on each other, so a full
+ * pool cannot deadlock; when its queue is full the handler thread runs the
+ * fetch itself.
+ *
+ * Metrics:
+ * - carplatform.gateway.aggregation.plan.latency{plan,outcome}
+ * - carplatform.gateway.aggregation.node.latency{plan,node,outcome}
+ * - carplatform.gateway.aggregation.batch.keys{loader}: keys per batch call
+ * - carplatform.gateway.aggregation.batch.deduplicated{loader}: requested
+ *   keys that needed no call
+ */
+@Slf4j
+@Component
+public class AggregationEngine {
+
+    // Marks a key the loader was asked for and did not return
+    private static final Object NOT_FOUND = new Object();
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${gateway.aggregation.parallelism:64}")
+    private int parallelism;
+
+    @Value("${gateway.aggregation.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${gateway.aggregation.default-timeout-ms:5000}")
+    private long defaultTimeoutMs;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threads = new AtomicInteger();
+        executor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "aggregation-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    // ===================== EXECUTE =====================
+
+    /**
+     * Run a plan for one request
+     *
+     * @param plan  Plan
+     * @param input Request input
+     * @return Assembled response
+     * @throws RuntimeException the error of the first failed node that has
+     *                          no fallback (ServiceUnavailableException on
+     *                          timeout)
+     */
+    public <I, R> R execute(AggregationPlan<I, R> plan, I input) {
+        AggregationResults<I> results = new AggregationResults<>(plan.name(), input, System.nanoTime());
+        Map<BatchLoader<Object, Object>, Map<Object, Object>> loaded = new HashMap<>();
+        String outcome = "SUCCESS";
+        try {
+            for (List<PlanNode<I, ?>> level : plan.levels()) {
+                runLevel(plan, level, results, loaded);
+            }
+            return plan.assemble(results);
+        } catch (RuntimeException e) {
+            outcome = "FAILED";
+            throw e;
+        } finally {
+            long durationNanos = System.nanoTime() - results.startNanos();
+            if (meterRegistry != null) {
+                meterRegistry.timer("carplatform.gateway.aggregation.plan.latency", "plan", plan.name(),
+                        "outcome", outcome).record(durationNanos, TimeUnit.NANOSECONDS);
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Aggregation plan {} {} in {}ms: {}", plan.name(), outcome, durationNanos / 1_000_000,
+                        results.timings().stream()
+                                .map(t -> t.node() + "@" + t.startMillis() + "+" + t.durationMillis() + "ms "
+                                        + t.outcome())
+                                .collect(Collectors.joining(", ")));
+            }
+        }
+    }
+
+    // ===================== LEVEL =====================
+
+    private <I> void runLevel(AggregationPlan<I, ?> plan, List<PlanNode<I, ?>> level, AggregationResults<I> results,
+            Map<BatchLoader<Object, Object>, Map<Object, Object>> loaded) {
+        List<Step<I>> steps = new ArrayList<>();
+        Map<BatchLoader<Object, Object>, List<PlanNode<I, ?>>> batches = new LinkedHashMap<>();
+        for (PlanNode<I, ?> node : level) {
+            if (node.isBatch()) {
+                batches.computeIfAbsent(node.loader(), loader -> new ArrayList<>()).add(node);
+            } else {
+                steps.add(fetchStep(node, results));
+            }
+        }
+        batches.forEach((loader, nodes) -> steps.add(batchStep(loader, nodes, results,
+                loaded.computeIfAbsent(loader, l -> new HashMap<>()))));
+
+        // Everything is started before anything is awaited
+        steps.forEach(Step::start);
+        for (int i = 0; i < steps.size(); i++) {
+            try {
+                steps.get(i).await(plan, results);
+            } catch (RuntimeException e) {
+                // The plan has failed; nothing else of this level will be used
+                steps.subList(i + 1, steps.size()).forEach(Step::cancel);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Run a fetch on the worker pool with the handler's timeline and MDC.
+     * A plain FutureTask, unlike CompletableFuture, interrupts the worker
+     * when cancelled.
+     */
+    private Future<Object> submit(Supplier<Object> fetch) {
+        Supplier<Object> task = BlockingOffload.propagate(fetch);
+        return executor.submit(task::get);
+    }
+
+    private <I> Step<I> fetchStep(PlanNode<I, ?> node, AggregationResults<I> results) {
+        return new Step<>(List.of(node), timeoutOf(List.of(node)),
+                () -> List.of(submit(() -> node.fetch(results))),
+                values -> {
+                    Map<PlanNode<I, ?>, Object> value = new HashMap<>();
+                    value.put(node, values.get(0));
+                    return value;
+                });
+    }
+
+    /**
+     * One loader call for every batch node of the level: keys deduplicated
+     * across the nodes and against keys loaded earlier in the request
+     */
+    private <I> Step<I> batchStep(BatchLoader<Object, Object> loader, List<PlanNode<I, ?>> nodes,
+            AggregationResults<I> results, Map<Object, Object> loaded) {
+        Map<PlanNode<I, ?>, Collection<?>> keysByNode = new LinkedHashMap<>();
+        Set<Object> missing = new LinkedHashSet<>();
+        int requested = 0;
+        for (PlanNode<I, ?> node : nodes) {
+            Collection<?> keys = node.keys(results);
+            keysByNode.put(node, keys);
+            requested += keys.size();
+            for (Object key : keys) {
+                if (key != null && !loaded.containsKey(key)) {
+                    missing.add(key);
+                }
+            }
+        }
+        if (meterRegistry != null && requested > missing.size()) {
+            meterRegistry.counter("carplatform.gateway.aggregation.batch.deduplicated", "loader", loader.name())
+                    .increment(requested - missing.size());
+        }
+
+        List<Set<Object>> chunks = new ArrayList<>();
+        Set<Object> chunk = new LinkedHashSet<>();
+        for (Object key : missing) {
+            chunk.add(key);
+            if (chunk.size() == loader.maxBatchSize()) {
+                chunks.add(chunk);
+                chunk = new LinkedHashSet<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+
+        return new Step<>(nodes, timeoutOf(nodes), () -> chunks.stream()
+                .map(keys -> {
+                    if (meterRegistry != null) {
+                        DistributionSummary.builder("carplatform.gateway.aggregation.batch.keys")
+                                .tag("loader", loader.name())
+                                .register(meterRegistry)
+                                .record(keys.size());
+                    }
+                    return submit(() -> loader.load(keys));
+                })
+                .toList(),
+                values -> {
+                    // Record what every chunk resolved, found or not, then cut each node's slice
+                    for (int i = 0; i < chunks.size(); i++) {
+                        @SuppressWarnings("unchecked")
+                        Map<Object, Object> found = (Map<Object, Object>) values.get(i);
+                        for (Object key : chunks.get(i)) {
+                            loaded.put(key, found.getOrDefault(key, NOT_FOUND));
+                        }
+                    }
+                    Map<PlanNode<I, ?>, Object> slices = new LinkedHashMap<>();
+                    keysByNode.forEach((node, keys) -> {
+                        Map<Object, Object> slice = new LinkedHashMap<>();
+                        for (Object key : keys) {
+                            Object value = key != null ? loaded.get(key) : null;
+                            if (value != null && value != NOT_FOUND) {
+                                slice.put(key, value);
+                            }
+                        }
+                        slices.put(node, slice);
+                    });
+                    return slices;
+                });
+    }
+
+    private Duration timeoutOf(List<? extends PlanNode<?, ?>> nodes) {
+        Duration timeout = null;
+        for (PlanNode<?, ?> node : nodes) {
+            Duration nodeTimeout = node.timeout() != null ? node.timeout() : Duration.ofMillis(defaultTimeoutMs);
+            if (timeout == null || nodeTimeout.compareTo(timeout) > 0) {
+                timeout = nodeTimeout;
+            }
+        }
+        return timeout;
+    }
+
+    // ===================== STEP =====================
+
+    /**
+     * The downstream work of one fetch node or one merged loader batch
+     */
+    private final class Step<I> {
+
+        private final List<PlanNode<I, ?>> nodes;
+        private final Duration timeout;
+        private final Supplier<List<Future<Object>>> launcher;
+        private final Function<List<Object>, Map<PlanNode<I, ?>, Object>> resolve;
+        private List<Future<Object>> futures;
+        private long startNanos;
+
+        private Step(List<PlanNode<I, ?>> nodes, Duration timeout,
+                Supplier<List<Future<Object>>> launcher,
+                Function<List<Object>, Map<PlanNode<I, ?>, Object>> resolve) {
+            this.nodes = nodes;
+            this.timeout = timeout;
+            this.launcher = launcher;
+            this.resolve = resolve;
+        }
+
+        void start() {
+            startNanos = System.nanoTime();
+            futures = launcher.get();
+        }
+
+        void cancel() {
+            futures.forEach(future -> future.cancel(true));
+        }
+
+        void await(AggregationPlan<I, ?> plan, AggregationResults<I> results) {
+            List<Object> values = new ArrayList<>(futures.size());
+            Throwable error = null;
+            long deadline = startNanos + timeout.toNanos();
+            for (Future<Object> future : futures) {
+                try {
+                    values.add(future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+                } catch (TimeoutException | CancellationException e) {
+                    error = e;
+                } catch (ExecutionException e) {
+                    error = e.getCause() != null ? e.getCause() : e;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    error = e;
+                }
+                if (error != null) {
+                    cancel();
+                    break;
+                }
+            }
+            long endNanos = System.nanoTime();
+
+            Map<PlanNode<I, ?>, Object> slices = null;
+            if (error == null) {
+                try {
+                    slices = resolve.apply(values);
+                } catch (RuntimeException e) {
+                    error = e;
+                }
+            }
+
+            for (PlanNode<I, ?> node : nodes) {
+                String outcome;
+                if (error == null) {
+                    results.complete(node.key(), slices.get(node), false);
+                    outcome = futures.isEmpty() ? "CACHED" : "SUCCESS";
+                } else if (node.hasFallback()) {
+                    results.complete(node.key(), node.fallbackValue(error), true);
+                    outcome = error instanceof TimeoutException ? "TIMEOUT" : "FALLBACK";
+                    log.warn("Aggregation plan {}: node {} degraded ({}): {}", plan.name(), node.name(), outcome,
+                            error.toString());
+                } else {
+                    outcome = "FAILED";
+                }
+                results.record(node.name(), startNanos, endNanos, outcome);
+                if (meterRegistry != null) {
+                    Timer.builder("carplatform.gateway.aggregation.node.latency")
+                            .tags("plan", plan.name(), "node", node.name(), "outcome", outcome)
+                            .register(meterRegistry)
+                            .record(endNanos - startNanos, TimeUnit.NANOSECONDS);
+                }
+                if ("FAILED".equals(outcome)) {
+                    throw asFailure(plan, node, error);
+                }
+            }
+        }
+    }
+
+    private static RuntimeException asFailure(AggregationPlan<?, ?> plan, PlanNode<?, ?> node, Throwable error) {
+        if (error instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (error instanceof TimeoutException) {
+            return new ServiceUnavailableException(
+                    "Aggregation step '" + node.name() + "' of " + plan.name() + " timed out", error);
+        }
+        return new ServiceUnavailableException(
+                "Aggregation step '" + node.name() + "' of " + plan.name() + " failed", error);
+    }
+}
@@ -0,0 +1,132 @@
+package com.carplatform.gateway.aggregation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Aggregation Plan
+ *
+ * Declarative description of an aggregated view: a DAG of downstream
+ * fetches plus an assemble step that builds the response from their
+ * results. Plans are immutable once built and are shared by all requests;
+ * AggregationEngine executes them.
+ *
+ * Nodes are grouped into levels (a node's level is one more than its
+ * deepest dependency). All nodes of a level run in parallel, and batch
+ * nodes of a level that share a loader are served by one call.
+ *
+ * Example:
+ * 
+ * <pre>
+ * AggregationPlan.&lt;Query, View&gt;builder("user-order-summary")
+ *         .fetch(ORDERS, r -&gt; orders(r.input()))
+ *         .batch(CARS, CATALOG_CARS, r -&gt; carIds(r.get(ORDERS)),
+ *                 node -&gt; node.dependsOn(ORDERS).fallback(e -&gt; null))
+ *         .assemble(r -&gt; view(r.get(ORDERS), r.get(CARS)));
+ * </pre>
+ *
+ * @param <I> Input type (request parameters)
+ * @param <R> Response type
+ */
+public final class AggregationPlan<I, R> {
+
+    private final String name;
+    private final List<List<PlanNode<I, ?>>> levels;
+    private final Function<AggregationResults<I>, R> assemble;
+
+    private AggregationPlan(String name, List<List<PlanNode<I, ?>>> levels,
+            Function<AggregationResults<I>, R> assemble) {
+        this.name = name;
+        this.levels = levels;
+        this.assemble = assemble;
+    }
+
+    public static <I, R> Builder<I, R> builder(String name) {
+        return new Builder<>(name);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    List<List<PlanNode<I, ?>>> levels() {
+        return levels;
+    }
+
+    R assemble(AggregationResults<I> results) {
+        return assemble.apply(results);
+    }
+
+    // ===================== Builder =====================
+
+    public static final class Builder<I, R> {
+
+        private final String name;
+        private final List<PlanNode<I, ?>> nodes = new ArrayList<>();
+        private final Map<NodeKey<?>, PlanNode<I, ?>> byKey = new HashMap<>();
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        public <T> Builder<I, R> fetch(NodeKey<T> key, Function<AggregationResults<I>, T> fetch) {
+            return fetch(key, fetch, node -> {
+            });
+        }
+
+        public <T> Builder<I, R> fetch(NodeKey<T> key, Function<AggregationResults<I>, T> fetch,
+                Consumer<PlanNode<I, T>.Options> options) {
+            return add(PlanNode.fetch(key, fetch), options);
+        }
+
+        public <K, V> Builder<I, R> batch(NodeKey<Map<K, V>> key, BatchLoader<K, V> loader,
+                Function<AggregationResults<I>, ? extends Collection<K>> keys) {
+            return batch(key, loader, keys, node -> {
+            });
+        }
+
+        public <K, V> Builder<I, R> batch(NodeKey<Map<K, V>> key, BatchLoader<K, V> loader,
+                Function<AggregationResults<I>, ? extends Collection<K>> keys,
+                Consumer<PlanNode<I, Map<K, V>>.Options> options) {
+            return add(PlanNode.batch(key, loader, keys), options);
+        }
+
+        public AggregationPlan<I, R> assemble(Function<AggregationResults<I>, R> assemble) {
+            List<List<PlanNode<I, ?>>> levels = new ArrayList<>();
+            for (PlanNode<I, ?> node : nodes) {
+                while (levels.size() <= node.level()) {
+                    levels.add(new ArrayList<>());
+                }
+                levels.get(node.level()).add(node);
+            }
+            levels.replaceAll(List::copyOf);
+            return new AggregationPlan<>(name, List.copyOf(levels), assemble);
+        }
+
+        private <T> Builder<I, R> add(PlanNode<I, T> node, Consumer<PlanNode<I, T>.Options> options) {
+            if (byKey.containsKey(node.key())) {
+                throw new IllegalArgumentException("Duplicate node '" + node.name() + "' in plan " + name);
+            }
+            options.accept(node.options());
+            // Dependencies must already be declared, which also rules out cycles
+            int level = 0;
+            for (NodeKey<?> dependency : node.dependencies()) {
+                PlanNode<I, ?> upstream = byKey.get(dependency);
+                if (upstream == null) {
+                    throw new IllegalArgumentException("Node '" + node.name() + "' depends on undeclared node '"
+                            + dependency.name() + "' in plan " + name);
+                }
+                level = Math.max(level, upstream.level() + 1);
+            }
+            node.level(level);
+            nodes.add(node);
+            byKey.put(node.key(), node);
+            return this;
+        }
+    }
+}
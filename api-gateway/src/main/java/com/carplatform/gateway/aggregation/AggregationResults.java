@@ -0,0 +1,94 @@
+package com.carplatform.gateway.aggregation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aggregation Results
+ *
+ * Per-request state of a plan execution: the input, the value of every
+ * completed node and the per-node timings. Node functions read their
+ * dependencies from it; the assemble step reads everything.
+ *
+ * @param <I> Plan input type
+ */
+public final class AggregationResults<I> {
+
+    private final String plan;
+    private final I input;
+    private final long startNanos;
+    private final Map<NodeKey<?>, Result> results = new ConcurrentHashMap<>();
+    private final List<NodeTiming> timings = Collections.synchronizedList(new ArrayList<>());
+
+    AggregationResults(String plan, I input, long startNanos) {
+        this.plan = plan;
+        this.input = input;
+        this.startNanos = startNanos;
+    }
+
+    public I input() {
+        return input;
+    }
+
+    /**
+     * Value of a completed node (null when the node or its fallback
+     * produced null)
+     *
+     * @throws IllegalStateException if the node has not completed, i.e. it
+     *                               is not declared as a dependency
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(NodeKey<T> key) {
+        Result result = results.get(key);
+        if (result == null) {
+            throw new IllegalStateException("Node '" + key.name() + "' of plan " + plan
+                    + " read before it completed; declare it with dependsOn");
+        }
+        return (T) result.value();
+    }
+
+    /**
+     * @return true when the node's value came from its fallback
+     */
+    public boolean isDegraded(NodeKey<?> key) {
+        Result result = results.get(key);
+        return result != null && result.degraded();
+    }
+
+    /**
+     * @return true when any node's value came from its fallback
+     */
+    public boolean isDegraded() {
+        return results.values().stream().anyMatch(Result::degraded);
+    }
+
+    /**
+     * @return Timings of the nodes executed so far, in completion order
+     */
+    public List<NodeTiming> timings() {
+        synchronized (timings) {
+            return List.copyOf(timings);
+        }
+    }
+
+    // ===================== Engine =====================
+
+    void complete(NodeKey<?> key, Object value, boolean degraded) {
+        results.put(key, new Result(value, degraded));
+    }
+
+    void record(String node, long nodeStartNanos, long nodeEndNanos, String outcome) {
+        timings.add(new NodeTiming(node, (nodeStartNanos - startNanos) / 1_000_000,
+                (nodeEndNanos - nodeStartNanos) / 1_000_000, outcome));
+    }
+
+    long startNanos() {
+        return startNanos;
+    }
+
+    private record Result(Object value, boolean degraded) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.carplatform.gateway.aggregation;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Batch Loader
+ *
+ * A downstream multi-key fetch (e.g. POST /catalog/batch). Every batch
+ * node of a plan level that uses the same loader is served by one call
+ * (split into chunks of max-batch-size), and keys already loaded earlier
+ * in the same request are not requested again.
+ *
+ * The load function returns the values found; keys it leaves out are
+ * treated as "does not exist". It throws when the downstream cannot answer.
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+public final class BatchLoader<K, V> {
+
+    private final String name;
+    private final int maxBatchSize;
+    private final Function<Set<K>, Map<K, V>> load;
+
+    private BatchLoader(String name, int maxBatchSize, Function<Set<K>, Map<K, V>> load) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        this.name = name;
+        this.maxBatchSize = maxBatchSize;
+        this.load = load;
+    }
+
+    /**
+     * @param name         Loader name, used as metric tag (e.g. "catalog.cars")
+     * @param maxBatchSize Most keys sent in one downstream call
+     * @param load         Multi-key fetch
+     */
+    public static <K, V> BatchLoader<K, V> of(String name, int maxBatchSize, Function<Set<K>, Map<K, V>> load) {
+        return new BatchLoader<>(name, maxBatchSize, load);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int maxBatchSize() {
+        return maxBatchSize;
+    }
+
+    Map<K, V> load(Set<K> keys) {
+        Map<K, V> values = load.apply(keys);
+        return values != null ? values : Map.of();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
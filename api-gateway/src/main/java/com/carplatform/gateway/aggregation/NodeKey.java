@@ -0,0 +1,31 @@
+package com.carplatform.gateway.aggregation;
+
+/**
+ * Node Key
+ *
+ * Typed name of a node in an aggregation plan; reading a node's result
+ * through its key needs no cast.
+ *
+ * @param <T> Node result type
+ */
+public final class NodeKey<T> {
+
+    private final String name;
+
+    private NodeKey(String name) {
+        this.name = name;
+    }
+
+    public static <T> NodeKey<T> of(String name) {
+        return new NodeKey<>(name);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
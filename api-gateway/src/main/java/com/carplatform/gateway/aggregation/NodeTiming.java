@@ -0,0 +1,14 @@
+package com.carplatform.gateway.aggregation;
+
+/**
+ * Timing of one executed plan node
+ *
+ * @param node           Node name
+ * @param startMillis    Start, relative to the start of the plan
+ * @param durationMillis Time until the node's value (or failure) was known
+ * @param outcome        SUCCESS, CACHED (batch keys all loaded earlier in the
+ *                       request), FALLBACK or TIMEOUT (fallback used after a
+ *                       timeout), FAILED (no fallback; the plan failed)
+ */
+public record NodeTiming(String node, long startMillis, long durationMillis, String outcome) {
+}
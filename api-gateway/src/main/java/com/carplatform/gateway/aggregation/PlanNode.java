@@ -0,0 +1,148 @@
+package com.carplatform.gateway.aggregation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Plan Node
+ *
+ * One downstream fetch of an aggregation plan:
+ * - fetch node: a single call computed from the input and its dependencies
+ * - batch node: the keys it needs from a BatchLoader; its value is the map
+ *   of those keys that were found
+ *
+ * Declared through AggregationPlan.Builder; the Options callback sets
+ * dependencies, timeout and fallback.
+ *
+ * @param <I> Plan input type
+ * @param <T> Node result type
+ */
+public final class PlanNode<I, T> {
+
+    private final NodeKey<T> key;
+    private final Function<AggregationResults<I>, T> fetch;
+    private final BatchLoader<Object, Object> loader;
+    private final Function<AggregationResults<I>, ? extends Collection<?>> keys;
+    private final List<NodeKey<?>> dependencies = new ArrayList<>();
+    private Duration timeout;
+    private Function<Throwable, T> fallback;
+    private int level;
+
+    private PlanNode(NodeKey<T> key, Function<AggregationResults<I>, T> fetch, BatchLoader<Object, Object> loader,
+            Function<AggregationResults<I>, ? extends Collection<?>> keys) {
+        this.key = key;
+        this.fetch = fetch;
+        this.loader = loader;
+        this.keys = keys;
+    }
+
+    static <I, T> PlanNode<I, T> fetch(NodeKey<T> key, Function<AggregationResults<I>, T> fetch) {
+        return new PlanNode<>(key, fetch, null, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <I, K, V> PlanNode<I, Map<K, V>> batch(NodeKey<Map<K, V>> key, BatchLoader<K, V> loader,
+            Function<AggregationResults<I>, ? extends Collection<K>> keys) {
+        return new PlanNode<>(key, null, (BatchLoader<Object, Object>) (BatchLoader<?, ?>) loader, keys);
+    }
+
+    // ===================== Options =====================
+
+    /**
+     * Per-node settings, applied while the plan is declared
+     */
+    public final class Options {
+
+        private Options() {
+        }
+
+        /**
+         * Run only after these nodes completed (they must be declared earlier)
+         */
+        public Options dependsOn(NodeKey<?>... nodes) {
+            dependencies.addAll(List.of(nodes));
+            return this;
+        }
+
+        /**
+         * Give up on the node after this long (engine default otherwise)
+         */
+        public Options timeout(Duration value) {
+            timeout = value;
+            return this;
+        }
+
+        /**
+         * Value to use when the node fails or times out; without a fallback
+         * the whole plan fails with the node's error
+         */
+        public Options fallback(Function<Throwable, T> value) {
+            fallback = value;
+            return this;
+        }
+    }
+
+    Options options() {
+        return new Options();
+    }
+
+    // ===================== Accessors =====================
+
+    NodeKey<T> key() {
+        return key;
+    }
+
+    String name() {
+        return key.name();
+    }
+
+    boolean isBatch() {
+        return loader != null;
+    }
+
+    BatchLoader<Object, Object> loader() {
+        return loader;
+    }
+
+    List<NodeKey<?>> dependencies() {
+        return dependencies;
+    }
+
+    Duration timeout() {
+        return timeout;
+    }
+
+    boolean hasFallback() {
+        return fallback != null;
+    }
+
+    T fallbackValue(Throwable error) {
+        return fallback.apply(error);
+    }
+
+    int level() {
+        return level;
+    }
+
+    void level(int value) {
+        level = value;
+    }
+
+    T fetch(AggregationResults<I> results) {
+        return fetch.apply(results);
+    }
+
+    Collection<?> keys(AggregationResults<I> results) {
+        Collection<?> requested = keys.apply(results);
+        return requested != null ? requested : List.of();
+    }
+
+    @Override
+    public String toString() {
+        return key.name();
+    }
+}
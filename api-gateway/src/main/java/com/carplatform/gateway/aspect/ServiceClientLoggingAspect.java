@@ -1,5 +1,6 @@
 package com.carplatform.gateway.aspect;
 
+import com.carplatform.gateway.diagnostics.RequestTimeline;
 import com.carplatform.gateway.util.TraceIdManager;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -19,10 +20,14 @@ import org.springframework.stereotype.Component;
  * - Call latency (duration in milliseconds)
  * - Exceptions (if any)
  * - Trace ID correlation
+ * - Per-attempt hop timing on the request's flight recorder timeline
+ *   (this aspect runs inside the Resilience4j retry aspect, so each retry
+ *   attempt is recorded separately)
  *
  * Captures calls to:
  * - CatalogServiceClient
  * - InventoryServiceClient
+ * - OrderServiceClient
  *
  * Example Log Output:
  * [correlation_id=550e8400-e29b-41d4-a716-446655440000]
@@ -65,12 +70,17 @@ public class ServiceClientLoggingAspect {
                 traceId);
 
         long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        RequestTimeline timeline = RequestTimeline.current();
 
         try {
             // Execute the actual service call
             Object result = joinPoint.proceed();
 
             long duration = System.currentTimeMillis() - startTime;
+            if (timeline != null) {
+                timeline.recordHop(serviceName, methodName, startNanos, "SUCCESS");
+            }
 
             // Log success
             log.info(
@@ -84,6 +94,9 @@ public class ServiceClientLoggingAspect {
 
         } catch (Exception e) {
             long duration = System.currentTimeMillis() - startTime;
+            if (timeline != null) {
+                timeline.recordHop(serviceName, methodName, startNanos, e.getClass().getSimpleName());
+            }
 
             // Log failure with exception details
             log.warn(
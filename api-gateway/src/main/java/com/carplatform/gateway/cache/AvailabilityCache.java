@@ -0,0 +1,117 @@
+package com.carplatform.gateway.cache;
+
+import com.carplatform.gateway.client.InventoryServiceClient;
+import com.carplatform.gateway.dto.InventoryAvailabilityResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Availability Cache
+ * 
+ * Short-TTL read-through cache of per-car inventory availability, off by
+ * default (gateway.availability-cache.enabled) because it trades stock
+ * freshness for load. Only authoritative responses (with lastUpdated) are
+ * stored; 404s and fallbacks always go to the inventory service.
+ */
+@Slf4j
+@Component
+public class AvailabilityCache {
+
+    @Autowired
+    private InventoryServiceClient inventoryServiceClient;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${gateway.availability-cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${gateway.availability-cache.ttl-ms:2000}")
+    private long ttlMs;
+
+    @Value("${gateway.availability-cache.max-entries:10000}")
+    private int maxEntries;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Get availability for a car, reading through on a miss or expiry
+     */
+    public InventoryAvailabilityResponse getAvailability(String carId) {
+        if (!enabled) {
+            return inventoryServiceClient.guardedCheckAvailability(carId);
+        }
+        Entry entry = entries.get(carId);
+        if (entry != null && System.currentTimeMillis() - entry.fetchedAtMillis() < ttlMs) {
+            count("carplatform.gateway.availability_cache.hits");
+            return entry.response();
+        }
+        count("carplatform.gateway.availability_cache.misses");
+        InventoryAvailabilityResponse response = inventoryServiceClient.guardedCheckAvailability(carId);
+        put(carId, response);
+        return response;
+    }
+
+    /**
+     * @return Age in milliseconds of the cached entry, or -1 when absent
+     */
+    public long ageMillis(String carId) {
+        Entry entry = entries.get(carId);
+        return entry != null ? System.currentTimeMillis() - entry.fetchedAtMillis() : -1L;
+    }
+
+    public long getTtlMs() {
+        return ttlMs;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Refetch in the background (one refresh per car in flight)
+     */
+    public void refreshAsync(String carId) {
+        if (!enabled || !refreshing.add(carId)) {
+            return;
+        }
+        Mono.fromRunnable(() -> put(carId, inventoryServiceClient.guardedCheckAvailability(carId)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .doFinally(signalType -> refreshing.remove(carId))
+                .subscribe(null, error -> log.debug("Availability refresh for car {} failed: {}", carId,
+                        error.getMessage()));
+    }
+
+    private void put(String carId, InventoryAvailabilityResponse response) {
+        if (response == null || response.getLastUpdated() == null) {
+            return;
+        }
+        if (entries.size() >= maxEntries && !entries.containsKey(carId)) {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(entry -> now - entry.fetchedAtMillis() >= ttlMs);
+            if (entries.size() >= maxEntries) {
+                return;
+            }
+        }
+        entries.put(carId, new Entry(response, System.currentTimeMillis()));
+    }
+
+    private void count(String name) {
+        if (meterRegistry != null) {
+            meterRegistry.counter(name).increment();
+        }
+    }
+
+    private record Entry(InventoryAvailabilityResponse response, long fetchedAtMillis) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.carplatform.gateway.cache;
+
+import com.carplatform.gateway.dto.CarResponse;
+
+/**
+ * Catalog entry held by the gateway's catalog cache
+ *
+ * @param car            Car as returned by the catalog service
+ * @param fetchedAtMillis When the entry was last fetched or revalidated
+ */
+public record CachedCar(CarResponse car, long fetchedAtMillis) {
+}
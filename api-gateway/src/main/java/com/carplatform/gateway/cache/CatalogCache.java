@@ -0,0 +1,193 @@
+package com.carplatform.gateway.cache;
+
+import com.carplatform.gateway.client.CatalogServiceClient;
+import com.carplatform.gateway.dto.CarResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Catalog Cache
+ * 
+ * Read-through cache of catalog cars for the aggregation endpoints.
+ * 
+ * - Miss: fetched through the guarded catalog client and stored
+ * - Hit: served from the store; entries older than revalidate-after-ms are
+ *   still served, and a background refetch is triggered (once per car)
+ * - Listing responses write every returned car into the cache
+ * 
+ * Fallback cars (no lastUpdated) are never stored.
+ * 
+ * With gateway.catalog-cache.file.enabled the store is a memory-mapped file
+ * (see MappedCatalogStore), so a restarted gateway comes up warm and the
+ * cached catalog does not occupy the heap.
+ */
+@Slf4j
+@Component
+public class CatalogCache {
+
+    @Autowired
+    private CatalogServiceClient catalogServiceClient;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${gateway.catalog-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gateway.catalog-cache.revalidate-after-ms:60000}")
+    private long revalidateAfterMs;
+
+    @Value("${gateway.catalog-cache.file.enabled:false}")
+    private boolean fileEnabled;
+
+    @Value("${gateway.catalog-cache.file.path:data/catalog-cache.dat}")
+    private String filePath;
+
+    @Value("${gateway.catalog-cache.file.initial-entries:4096}")
+    private int fileInitialEntries;
+
+    @Value("${gateway.catalog-cache.file.max-entries:1000000}")
+    private int fileMaxEntries;
+
+    private CatalogStore store;
+    private final Set<UUID> revalidating = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void init() {
+        store = new HeapCatalogStore();
+        if (enabled && fileEnabled) {
+            try {
+                store = new MappedCatalogStore(Paths.get(filePath), fileInitialEntries, fileMaxEntries);
+            } catch (Exception e) {
+                log.warn("Catalog cache file {} unavailable, using heap store: {}", filePath, e.getMessage());
+            }
+        }
+        if (meterRegistry != null && enabled) {
+            Gauge.builder("carplatform.gateway.catalog_cache.size", this, CatalogCache::size)
+                    .description("Cars held by the gateway catalog cache")
+                    .tag("store", store instanceof MappedCatalogStore ? "file" : "heap")
+                    .register(meterRegistry);
+        }
+    }
+
+    @PreDestroy
+    void close() throws Exception {
+        if (store instanceof MappedCatalogStore mapped) {
+            mapped.close();
+        }
+    }
+
+    // ===================== READ =====================
+
+    /**
+     * Get a car, reading through to the catalog service on a miss
+     *
+     * @param carId Car ID
+     * @return Car (possibly stale within the revalidation window), catalog
+     *         fallback, or null when not found
+     */
+    public CarResponse getCar(UUID carId) {
+        if (!enabled) {
+            return catalogServiceClient.guardedGetCarById(carId);
+        }
+
+        CachedCar cached = store.get(carId);
+        if (cached != null) {
+            count("carplatform.gateway.catalog_cache.hits");
+            if (System.currentTimeMillis() - cached.fetchedAtMillis() > revalidateAfterMs) {
+                revalidateAsync(carId);
+            }
+            return cached.car();
+        }
+
+        count("carplatform.gateway.catalog_cache.misses");
+        CarResponse car = catalogServiceClient.guardedGetCarById(carId);
+        put(car);
+        return car;
+    }
+
+    /**
+     * @return Cached entry without reading through, or null
+     */
+    public CachedCar peek(UUID carId) {
+        return enabled ? store.get(carId) : null;
+    }
+
+    public int size() {
+        return store != null ? store.size() : 0;
+    }
+
+    public long getRevalidateAfterMs() {
+        return revalidateAfterMs;
+    }
+
+    // ===================== WRITE =====================
+
+    /**
+     * Store cars returned by a catalog listing
+     */
+    public void putAll(List<CarResponse> cars) {
+        if (!enabled || cars == null) {
+            return;
+        }
+        cars.forEach(this::put);
+    }
+
+    private void put(CarResponse car) {
+        if (car != null && car.getId() != null && car.getLastUpdated() != null) {
+            store.put(car, System.currentTimeMillis());
+        }
+    }
+
+    // ===================== REVALIDATION =====================
+
+    /**
+     * Refetch a stale car in the background; concurrent readers keep getting
+     * the stale copy and only one refetch per car is in flight
+     */
+    public void revalidateAsync(UUID carId) {
+        if (!revalidating.add(carId)) {
+            return;
+        }
+        Mono.fromRunnable(() -> {
+            CarResponse fresh = catalogServiceClient.guardedGetCarById(carId);
+            put(fresh);
+            count("carplatform.gateway.catalog_cache.revalidations");
+        })
+                .subscribeOn(Schedulers.boundedElastic())
+                .doFinally(signalType -> revalidating.remove(carId))
+                .subscribe(null, error -> log.debug("Revalidation of car {} failed: {}", carId, error.getMessage()));
+    }
+
+    /**
+     * Flush the memory-mapped file periodically so a crash loses at most one
+     * interval of writes
+     */
+    @Scheduled(fixedDelayString = "${gateway.catalog-cache.file.flush-interval-ms:10000}")
+    public void flush() {
+        if (store instanceof MappedCatalogStore mapped) {
+            mapped.force();
+        }
+    }
+
+    private void count(String name) {
+        if (meterRegistry != null) {
+            meterRegistry.counter(name).increment();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.carplatform.gateway.cache;
+
+import com.carplatform.gateway.dto.CarResponse;
+
+import java.util.UUID;
+
+/**
+ * Storage behind the catalog cache: heap map or memory-mapped file
+ */
+interface CatalogStore {
+
+    CachedCar get(UUID carId);
+
+    void put(CarResponse car, long fetchedAtMillis);
+
+    int size();
+}
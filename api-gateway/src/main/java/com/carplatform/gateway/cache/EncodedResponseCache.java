@@ -0,0 +1,109 @@
+package com.carplatform.gateway.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Encoded Response Cache
+ * 
+ * LRU store of fully encoded response bodies (already serialized and, for
+ * gzip, already compressed), keyed by request plus content encoding.
+ * Bounded by entry count and total bytes; entries expire after ttl-ms.
+ */
+@Component
+public class EncodedResponseCache {
+
+    @Value("${gateway.response-cache.ttl-ms:5000}")
+    private long ttlMs;
+
+    @Value("${gateway.response-cache.max-entries:500}")
+    private int maxEntries;
+
+    @Value("${gateway.response-cache.max-bytes:33554432}")
+    private long maxBytes;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    @PostConstruct
+    void registerMetrics() {
+        if (meterRegistry != null) {
+            Gauge.builder("carplatform.gateway.response_cache.bytes", this, EncodedResponseCache::totalBytes)
+                    .description("Encoded bytes held by the gateway response cache")
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * @return Live entry for the key, or null
+     */
+    public Entry get(String key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAtMillis() < System.currentTimeMillis()) {
+                remove(key);
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    public void put(String key, byte[] body, String contentType, String contentEncoding, String etag) {
+        if (body.length > maxBytes / 4) {
+            return;
+        }
+        Entry entry = new Entry(body, contentType, contentEncoding, etag, System.currentTimeMillis() + ttlMs);
+        synchronized (entries) {
+            remove(key);
+            entries.put(key, entry);
+            totalBytes += body.length;
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while ((entries.size() > maxEntries || totalBytes > maxBytes) && eldest.hasNext()) {
+                totalBytes -= eldest.next().getValue().body().length;
+                eldest.remove();
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            totalBytes = 0;
+        }
+    }
+
+    public long totalBytes() {
+        synchronized (entries) {
+            return totalBytes;
+        }
+    }
+
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.body().length;
+        }
+    }
+
+    /**
+     * Encoded body with the headers needed to replay it
+     */
+    public record Entry(byte[] body, String contentType, String contentEncoding, String etag,
+            long expiresAtMillis) {
+    }
+}
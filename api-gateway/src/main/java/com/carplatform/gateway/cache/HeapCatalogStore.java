@@ -0,0 +1,30 @@
+package com.carplatform.gateway.cache;
+
+import com.carplatform.gateway.dto.CarResponse;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Catalog store kept entirely on the heap (default)
+ */
+class HeapCatalogStore implements CatalogStore {
+
+    private final Map<UUID, CachedCar> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public CachedCar get(UUID carId) {
+        return entries.get(carId);
+    }
+
+    @Override
+    public void put(CarResponse car, long fetchedAtMillis) {
+        entries.put(car.getId(), new CachedCar(car, fetchedAtMillis));
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+}
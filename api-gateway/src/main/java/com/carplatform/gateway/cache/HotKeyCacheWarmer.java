@@ -0,0 +1,97 @@
+package com.carplatform.gateway.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hot Key Cache Warmer
+ * 
+ * Refreshes catalog and availability cache entries of the current top-K
+ * cars shortly before they would go stale, so the hottest cars never miss
+ * the cache during traffic spikes. Refreshes run in the background through
+ * the caches' own deduplicated refresh paths.
+ * 
+ * An entry is refreshed once it has used refresh-ahead-ratio of its
+ * lifetime, so the warmer must look again before the rest of the lifetime
+ * has passed: it runs every min(lifetime) * (1 - refresh-ahead-ratio) over
+ * the enabled caches (checked on a short tick), not on a fixed interval
+ * that could exceed the shortest TTL.
+ */
+@Slf4j
+@Component
+public class HotKeyCacheWarmer {
+
+    @Autowired
+    private HotKeyTracker hotKeyTracker;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private AvailabilityCache availabilityCache;
+
+    // Refresh once an entry has used this share of its lifetime
+    @Value("${gateway.hot-keys.refresh-ahead-ratio:0.8}")
+    private double refreshAheadRatio;
+
+    // Lower bound of the derived warm interval
+    @Value("${gateway.hot-keys.min-warm-interval-ms:100}")
+    private long minWarmIntervalMs;
+
+    private long lastWarmMillis;
+
+    /**
+     * Warm when the derived interval has passed since the last run
+     */
+    @Scheduled(fixedDelayString = "${gateway.hot-keys.check-interval-ms:100}")
+    public void tick() {
+        long now = System.currentTimeMillis();
+        if (now - lastWarmMillis >= warmIntervalMs()) {
+            lastWarmMillis = now;
+            warm();
+        }
+    }
+
+    /**
+     * Time an entry has left after becoming due for refresh, for the
+     * shortest-lived enabled cache
+     */
+    long warmIntervalMs() {
+        long shortestLifetime = catalogCache.getRevalidateAfterMs();
+        if (availabilityCache.isEnabled()) {
+            shortestLifetime = Math.min(shortestLifetime, availabilityCache.getTtlMs());
+        }
+        return Math.max(minWarmIntervalMs, Math.round(shortestLifetime * (1 - refreshAheadRatio)));
+    }
+
+    public void warm() {
+        if (!hotKeyTracker.isEnabled()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long catalogThreshold = (long) (catalogCache.getRevalidateAfterMs() * refreshAheadRatio);
+        long availabilityThreshold = (long) (availabilityCache.getTtlMs() * refreshAheadRatio);
+        int refreshed = 0;
+
+        for (HotKeyTracker.HotKey hotKey : hotKeyTracker.topKeys()) {
+            CachedCar cached = catalogCache.peek(hotKey.carId());
+            if (cached != null && now - cached.fetchedAtMillis() >= catalogThreshold) {
+                catalogCache.revalidateAsync(hotKey.carId());
+                refreshed++;
+            }
+            if (availabilityCache.isEnabled()) {
+                long age = availabilityCache.ageMillis(hotKey.carId().toString());
+                if (age < 0 || age >= availabilityThreshold) {
+                    availabilityCache.refreshAsync(hotKey.carId().toString());
+                    refreshed++;
+                }
+            }
+        }
+        if (refreshed > 0) {
+            log.debug("Hot key warmer refreshed {} cache entries", refreshed);
+        }
+    }
+}
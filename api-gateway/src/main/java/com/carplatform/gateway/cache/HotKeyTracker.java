@@ -0,0 +1,126 @@
+package com.carplatform.gateway.cache;
+
+import com.carplatform.gateway.util.CountMinSketch;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Hot Key Tracker
+ * 
+ * Streaming heavy-hitters over the car IDs requested through the
+ * aggregation API: a count-min sketch estimates every car's frequency and a
+ * bounded candidate set keeps the current top K. Memory is fixed
+ * (depth × width counters + K entries) regardless of catalog size.
+ * 
+ * Counts are halved every decay-interval-ms, so the top K follows current
+ * traffic (a flash sale) rather than all-time totals.
+ */
+@Component
+public class HotKeyTracker {
+
+    private final CountMinSketch sketch;
+    private final int topK;
+    private final Map<UUID, Long> top;
+    private final boolean enabled;
+    private long topMin;
+
+    public HotKeyTracker(
+            @Value("${gateway.hot-keys.enabled:true}") boolean enabled,
+            @Value("${gateway.hot-keys.top-k:20}") int topK,
+            @Value("${gateway.hot-keys.sketch-depth:4}") int depth,
+            @Value("${gateway.hot-keys.sketch-width:2048}") int width) {
+        this.enabled = enabled;
+        this.topK = Math.max(1, topK);
+        this.sketch = new CountMinSketch(depth, width);
+        this.top = new HashMap<>(this.topK * 2);
+    }
+
+    /**
+     * Count one request for a car
+     */
+    public void record(UUID carId) {
+        if (!enabled || carId == null) {
+            return;
+        }
+        synchronized (this) {
+            long estimate = sketch.add(carId);
+            if (top.containsKey(carId)) {
+                top.put(carId, estimate);
+                return;
+            }
+            if (top.size() < topK) {
+                top.put(carId, estimate);
+                topMin = top.size() == 1 ? estimate : Math.min(topMin, estimate);
+                return;
+            }
+            if (estimate <= topMin) {
+                return;
+            }
+
+            // Replace the current minimum
+            UUID minKey = null;
+            long minCount = Long.MAX_VALUE;
+            for (Map.Entry<UUID, Long> entry : top.entrySet()) {
+                if (entry.getValue() < minCount) {
+                    minCount = entry.getValue();
+                    minKey = entry.getKey();
+                }
+            }
+            top.remove(minKey);
+            top.put(carId, estimate);
+            topMin = top.values().stream().mapToLong(Long::longValue).min().orElse(0L);
+        }
+    }
+
+    /**
+     * @return Current top K, hottest first
+     */
+    public List<HotKey> topKeys() {
+        List<HotKey> result = new ArrayList<>();
+        synchronized (this) {
+            top.forEach((carId, count) -> result.add(new HotKey(carId, count)));
+        }
+        result.sort(Comparator.comparingLong(HotKey::estimatedCount).reversed());
+        return result;
+    }
+
+    public synchronized long totalCount() {
+        return sketch.total();
+    }
+
+    public int sketchDepth() {
+        return sketch.depth();
+    }
+
+    public int sketchWidth() {
+        return sketch.width();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Halve all counts so older traffic fades out
+     */
+    @Scheduled(fixedDelayString = "${gateway.hot-keys.decay-interval-ms:60000}")
+    public void decay() {
+        synchronized (this) {
+            sketch.decay();
+            top.replaceAll((carId, count) -> count >>> 1);
+            top.values().removeIf(count -> count == 0L);
+            topMin = top.values().stream().mapToLong(Long::longValue).min().orElse(0L);
+        }
+    }
+
+    public record HotKey(UUID carId, long estimatedCount) {
+    }
+}
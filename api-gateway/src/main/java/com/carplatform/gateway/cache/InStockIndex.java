@@ -0,0 +1,210 @@
+package com.carplatform.gateway.cache;
+
+import com.carplatform.gateway.client.InventoryServiceClient;
+import com.carplatform.gateway.dto.InStockIndexResponse;
+import com.carplatform.gateway.stream.AvailabilityStream;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * In-Stock Index
+ * 
+ * Gateway-side copy of the inventory service's in-stock car index, used to
+ * filter and sort the car listing by availability without one inventory
+ * call per catalog car.
+ * 
+ * Refresh:
+ * - First refresh (and every Nth one) pulls a full snapshot
+ * - Other refreshes pull only the cars changed since the held version
+ * - A failed refresh keeps the previous snapshot
+ * 
+ * The snapshot is an immutable sorted UUID array swapped atomically, so
+ * readers never lock and a lookup is a binary search.
+ * 
+ * Every delta lists the cars whose stock changed, so it doubles as the
+ * change feed of the availability stream.
+ */
+@Slf4j
+@Component
+public class InStockIndex {
+
+    @Autowired
+    private InventoryServiceClient inventoryServiceClient;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Autowired(required = false)
+    private AvailabilityStream availabilityStream;
+
+    @Value("${gateway.in-stock-index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gateway.in-stock-index.full-refresh-every:60}")
+    private int fullRefreshEvery;
+
+    private volatile Snapshot snapshot;
+    private int refreshesSinceFull;
+    private boolean lastRefreshFailed;
+
+    @PostConstruct
+    void registerMetrics() {
+        if (meterRegistry == null) {
+            return;
+        }
+        Gauge.builder("carplatform.gateway.in_stock_index.size", this, InStockIndex::size)
+                .description("Number of car IDs in the gateway's in-stock index")
+                .register(meterRegistry);
+        Gauge.builder("carplatform.gateway.in_stock_index.version", this, InStockIndex::version)
+                .description("Inventory version (epoch millis) of the gateway's in-stock index")
+                .register(meterRegistry);
+    }
+
+    // ===================== READ =====================
+
+    /**
+     * @return true once a full snapshot has been loaded
+     */
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    /**
+     * Current snapshot; callers that make several lookups for one response
+     * should hold on to it so every lookup sees the same version
+     *
+     * @return Current snapshot, or null when not loaded yet
+     */
+    public Snapshot current() {
+        return snapshot;
+    }
+
+    /**
+     * @param carId Car ID
+     * @return true if the car had available units at the held version
+     */
+    public boolean isInStock(UUID carId) {
+        Snapshot current = snapshot;
+        return current != null && current.contains(carId);
+    }
+
+    /**
+     * @return Inventory version of the held snapshot (0 when not loaded)
+     */
+    public long version() {
+        Snapshot current = snapshot;
+        return current != null ? current.version : 0L;
+    }
+
+    public int size() {
+        Snapshot current = snapshot;
+        return current != null ? current.carIds.length : 0;
+    }
+
+    // ===================== REFRESH =====================
+
+    /**
+     * Pull a full snapshot or a delta from the inventory service
+     */
+    @Scheduled(fixedDelayString = "${gateway.in-stock-index.refresh-interval-ms:5000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        Snapshot current = snapshot;
+        boolean full = current == null || refreshesSinceFull >= fullRefreshEvery;
+        try {
+            InStockIndexResponse response = inventoryServiceClient
+                    .fetchInStockIndex(full ? null : current.version);
+            if (response == null) {
+                return;
+            }
+            apply(response);
+            lastRefreshFailed = false;
+        } catch (Exception e) {
+            // Log the first failure of a streak only; the previous snapshot stays in use
+            if (!lastRefreshFailed) {
+                log.warn("In-stock index refresh failed, keeping version {}: {}", version(), e.getMessage());
+            }
+            lastRefreshFailed = true;
+        }
+    }
+
+    /**
+     * Apply a full snapshot or delta received from the inventory service
+     */
+    void apply(InStockIndexResponse response) {
+        Snapshot current = snapshot;
+        if (response.isFull() || current == null) {
+            UUID[] carIds = toSortedArray(new TreeSet<>(orEmpty(response.getInStock())));
+            snapshot = new Snapshot(response.getVersion(), carIds);
+            refreshesSinceFull = 0;
+            log.debug("In-stock index loaded: version={}, size={}", response.getVersion(), carIds.length);
+            if (availabilityStream != null) {
+                // A full snapshot does not say what changed
+                availabilityStream.resync();
+            }
+            return;
+        }
+
+        refreshesSinceFull++;
+        // Applied even at an unchanged version: deltas re-send the cars of
+        // the inventory's safety lag, among them late commits that did not
+        // move the version
+        List<UUID> inStock = orEmpty(response.getInStock());
+        List<UUID> outOfStock = orEmpty(response.getOutOfStock());
+        boolean newer = response.getVersion() > current.version;
+        List<UUID> flipped = Stream.concat(
+                inStock.stream().filter(carId -> !current.contains(carId)),
+                outOfStock.stream().filter(current::contains))
+                .toList();
+        if (!newer && flipped.isEmpty()) {
+            return;
+        }
+        TreeSet<UUID> merged = new TreeSet<>(Arrays.asList(current.carIds));
+        merged.addAll(inStock);
+        outOfStock.forEach(merged::remove);
+        snapshot = new Snapshot(Math.max(response.getVersion(), current.version), toSortedArray(merged));
+        log.debug("In-stock index delta applied: version={}, +{} -{}", response.getVersion(),
+                inStock.size(), outOfStock.size());
+        if (availabilityStream != null) {
+            if (newer) {
+                availabilityStream.onStockChanged(inStock);
+                availabilityStream.onStockChanged(outOfStock);
+            } else {
+                // Only the late commits are news; the rest was sent before
+                availabilityStream.onStockChanged(flipped);
+            }
+        }
+    }
+
+    private static UUID[] toSortedArray(TreeSet<UUID> carIds) {
+        return carIds.toArray(new UUID[0]);
+    }
+
+    private static List<UUID> orEmpty(List<UUID> carIds) {
+        return carIds != null ? carIds : List.of();
+    }
+
+    /**
+     * Immutable in-stock set at one inventory version
+     */
+    public record Snapshot(long version, UUID[] carIds) {
+
+        public boolean contains(UUID carId) {
+            return Arrays.binarySearch(carIds, carId) >= 0;
+        }
+    }
+}
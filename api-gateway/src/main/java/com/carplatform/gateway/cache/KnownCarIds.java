@@ -0,0 +1,190 @@
+package com.carplatform.gateway.cache;
+
+import com.carplatform.gateway.client.CatalogServiceClient;
+import com.carplatform.gateway.dto.CarIdExportResponse;
+import com.carplatform.gateway.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Known Car IDs
+ *
+ * Bloom filter of every car ID in the catalog, used to answer requests for
+ * nonexistent cars (scrapers, stale links) with a 404 without a catalog
+ * round trip or a circuit-breaker sample.
+ *
+ * Refresh:
+ * - First refresh (and every Nth one) pulls every ID and builds a new
+ *   filter sized for the catalog with headroom, then swaps it in
+ * - Other refreshes add the IDs the catalog reports as changed since the
+ *   held version; the catalog re-sends a safety lag of recent changes, so
+ *   a delta may repeat known IDs or carry a late commit without moving the
+ *   version, and is applied either way
+ * - A failed refresh keeps the previous filter
+ *
+ * A Bloom filter cannot remove keys, so deleted cars stay "maybe known"
+ * until the next full rebuild; that only costs the catalog call the filter
+ * would have saved. A car created after the last refresh is reported
+ * unknown until the next delta (refresh-interval-ms).
+ */
+@Slf4j
+@Component
+public class KnownCarIds {
+
+    @Autowired
+    private CatalogServiceClient catalogServiceClient;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${gateway.known-cars.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gateway.known-cars.full-refresh-every:60}")
+    private int fullRefreshEvery;
+
+    @Value("${gateway.known-cars.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${gateway.known-cars.min-capacity:10000}")
+    private long minCapacity;
+
+    @Value("${gateway.known-cars.headroom:2.0}")
+    private double headroom;
+
+    private volatile Filter filter;
+    private int refreshesSinceFull;
+    private boolean lastRefreshFailed;
+    private Counter shortCircuitCounter;
+
+    @PostConstruct
+    void registerMetrics() {
+        if (meterRegistry == null) {
+            return;
+        }
+        shortCircuitCounter = Counter.builder("carplatform.gateway.known_cars.short_circuits")
+                .description("Car lookups answered 404 by the known-car filter without a catalog call")
+                .register(meterRegistry);
+        Gauge.builder("carplatform.gateway.known_cars.size", this, KnownCarIds::size)
+                .description("Car IDs inserted into the known-car filter")
+                .register(meterRegistry);
+        Gauge.builder("carplatform.gateway.known_cars.false_positive_rate", this,
+                KnownCarIds::expectedFalsePositiveRate)
+                .description("Expected false-positive rate of the known-car filter at its current fill")
+                .register(meterRegistry);
+    }
+
+    // ===================== READ =====================
+
+    /**
+     * @return true once a full export has been loaded
+     */
+    public boolean isReady() {
+        return filter != null;
+    }
+
+    /**
+     * Whether a car is certainly not in the catalog
+     *
+     * @param carId Car ID
+     * @return true only when the filter is loaded and rules the ID out;
+     *         false means "maybe known" (or not loaded yet)
+     */
+    public boolean isDefinitelyUnknown(UUID carId) {
+        Filter current = filter;
+        if (!enabled || current == null || carId == null || current.bloom.mightContain(carId)) {
+            return false;
+        }
+        if (shortCircuitCounter != null) {
+            shortCircuitCounter.increment();
+        }
+        return true;
+    }
+
+    public long size() {
+        Filter current = filter;
+        return current != null ? current.insertions : 0L;
+    }
+
+    public double expectedFalsePositiveRate() {
+        Filter current = filter;
+        return current != null ? current.bloom.expectedFalsePositiveRate(current.insertions) : 0.0;
+    }
+
+    // ===================== REFRESH =====================
+
+    /**
+     * Pull a full export or a delta from the catalog service
+     */
+    @Scheduled(fixedDelayString = "${gateway.known-cars.refresh-interval-ms:5000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        Filter current = filter;
+        boolean full = current == null || refreshesSinceFull >= fullRefreshEvery
+                || current.insertions > current.capacity;
+        try {
+            CarIdExportResponse response = catalogServiceClient.fetchCarIds(full ? null : current.version);
+            if (response == null) {
+                return;
+            }
+            apply(response);
+            lastRefreshFailed = false;
+        } catch (Exception e) {
+            // Log the first failure of a streak only; the previous filter stays in use
+            if (!lastRefreshFailed) {
+                log.warn("Known-car filter refresh failed, keeping version {}: {}",
+                        current != null ? current.version : 0L, e.getMessage());
+            }
+            lastRefreshFailed = true;
+        }
+    }
+
+    /**
+     * Apply a full export or delta received from the catalog service
+     */
+    void apply(CarIdExportResponse response) {
+        List<UUID> ids = response.getIds() != null ? response.getIds() : List.of();
+        Filter current = filter;
+        if (response.isFull() || current == null) {
+            long capacity = Math.max(minCapacity, (long) Math.ceil(ids.size() * Math.max(1.0, headroom)));
+            BloomFilter bloom = new BloomFilter(capacity, falsePositiveRate);
+            ids.forEach(bloom::add);
+            filter = new Filter(bloom, capacity, ids.size(), response.getVersion());
+            refreshesSinceFull = 0;
+            log.debug("Known-car filter built: version={}, ids={}, bits={}, hashes={}", response.getVersion(),
+                    ids.size(), bloom.bitSize(), bloom.hashCount());
+            return;
+        }
+
+        refreshesSinceFull++;
+        // Adds are safe while readers probe the same filter; IDs it already
+        // holds are not counted again, so re-sent IDs do not force a rebuild
+        long added = 0;
+        for (UUID id : ids) {
+            if (!current.bloom.mightContain(id)) {
+                current.bloom.add(id);
+                added++;
+            }
+        }
+        filter = new Filter(current.bloom, current.capacity, current.insertions + added,
+                Math.max(current.version, response.getVersion()));
+        if (added > 0) {
+            log.debug("Known-car filter delta applied: version={}, +{}", response.getVersion(), added);
+        }
+    }
+
+    private record Filter(BloomFilter bloom, long capacity, long insertions, long version) {
+    }
+}
@@ -0,0 +1,290 @@
+package com.carplatform.gateway.cache;
+
+import com.carplatform.gateway.client.CatalogServiceClient;
+import com.carplatform.gateway.client.InventoryServiceClient;
+import com.carplatform.gateway.dto.CarListingAggregatedResponse;
+import com.carplatform.gateway.dto.CarResponse;
+import com.carplatform.gateway.dto.InventoryRecordResponse;
+import com.carplatform.gateway.dto.ListingSort;
+import com.carplatform.gateway.util.ETagBuilder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Listing Snapshot Cache
+ * 
+ * Optional mode (gateway.listing-snapshot.enabled, off by default) in which
+ * /cars/listing is served entirely from gateway memory.
+ * 
+ * A background job builds the full aggregated listing from two downstream
+ * calls (catalog list + inventory list) and pre-sorts it once per listing
+ * view (every sort option, with and without the in-stock filter). Requests
+ * slice a page out of the matching view; no downstream call is made.
+ * 
+ * Rebuild triggers:
+ * - Snapshot older than max-age-ms (covers catalog changes)
+ * - In-stock index version moved past the snapshot's inventory version,
+ *   at most once per min-rebuild-interval-ms, so steady reservation traffic
+ *   does not turn into a full catalog and inventory scan every check
+ * 
+ * A failed build keeps serving the previous snapshot.
+ */
+@Slf4j
+@Component
+public class ListingSnapshotCache {
+
+    @Autowired
+    private CatalogServiceClient catalogServiceClient;
+
+    @Autowired
+    private InventoryServiceClient inventoryServiceClient;
+
+    @Autowired(required = false)
+    private InStockIndex inStockIndex;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${gateway.listing-snapshot.enabled:false}")
+    private boolean enabled;
+
+    @Value("${gateway.listing-snapshot.max-age-ms:30000}")
+    private long maxAgeMs;
+
+    @Value("${gateway.listing-snapshot.min-rebuild-interval-ms:5000}")
+    private long minRebuildIntervalMs;
+
+    private volatile Snapshot snapshot;
+
+    @PostConstruct
+    void registerMetrics() {
+        if (meterRegistry == null || !enabled) {
+            return;
+        }
+        Gauge.builder("carplatform.gateway.listing_snapshot.age", this, ListingSnapshotCache::ageSeconds)
+                .description("Seconds since the served listing snapshot was built")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("carplatform.gateway.listing_snapshot.size", this, ListingSnapshotCache::size)
+                .description("Number of cars in the served listing snapshot")
+                .register(meterRegistry);
+    }
+
+    // ===================== READ =====================
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Serve one listing page from the current snapshot
+     *
+     * @param page        Page number (1-indexed, already validated)
+     * @param size        Page size (already capped)
+     * @param inStockOnly Only cars with available units
+     * @param sort        Listing order
+     * @return Page response, or null when the mode is off or no snapshot
+     *         has been built yet
+     */
+    public CarListingAggregatedResponse getPage(int page, int size, boolean inStockOnly, ListingSort sort) {
+        Snapshot current = snapshot;
+        if (!enabled || current == null) {
+            return null;
+        }
+
+        List<CarListingAggregatedResponse.CarListItem> view = current.view(inStockOnly, sort);
+        int totalCount = view.size();
+        int startIndex = (page - 1) * size;
+        List<CarListingAggregatedResponse.CarListItem> pageItems = startIndex < totalCount
+                ? view.subList(startIndex, Math.min(startIndex + size, totalCount))
+                : List.of();
+
+        CarListingAggregatedResponse response = new CarListingAggregatedResponse(pageItems, totalCount, size, page);
+        response.getMetadata().setAggregatedAt(LocalDateTime.ofInstant(current.builtAt, ZoneId.systemDefault()));
+
+        ETagBuilder etag = ETagBuilder.forResource("car-listing-snapshot")
+                .part(current.contentTag)
+                .part(page)
+                .part(size)
+                .part(inStockOnly)
+                .part(sort);
+        if (current.contentTag == null) {
+            etag.invalidate();
+        }
+        response.setEtag(etag.build());
+        return response;
+    }
+
+    public double ageSeconds() {
+        Snapshot current = snapshot;
+        return current != null
+                ? (System.currentTimeMillis() - current.builtAt.toEpochMilli()) / 1000.0
+                : 0.0;
+    }
+
+    public int size() {
+        Snapshot current = snapshot;
+        return current != null ? current.carCount : 0;
+    }
+
+    // ===================== BUILD =====================
+
+    /**
+     * Rebuild the snapshot when it is stale or inventory has moved on
+     */
+    @Scheduled(fixedDelayString = "${gateway.listing-snapshot.check-interval-ms:1000}")
+    public void refreshIfStale() {
+        if (!enabled) {
+            return;
+        }
+        Snapshot current = snapshot;
+        long ageMs = current != null ? System.currentTimeMillis() - current.builtAt.toEpochMilli() : 0L;
+        boolean expired = current == null || ageMs >= maxAgeMs;
+        // Only a newer index counts: a snapshot built after the index's last
+        // refresh is ahead of it, not stale
+        boolean inventoryChanged = current != null && ageMs >= minRebuildIntervalMs
+                && inStockIndex != null && inStockIndex.isReady()
+                && inStockIndex.version() > current.inventoryVersion;
+        if (expired || inventoryChanged) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Build a new snapshot from catalog and inventory and swap it in
+     */
+    public void rebuild() {
+        long startNanos = System.nanoTime();
+        try {
+            List<CarResponse> cars = catalogServiceClient.listAllCars();
+            List<InventoryRecordResponse> records = inventoryServiceClient.listAllInventory();
+            Snapshot built = Snapshot.build(cars, records);
+            snapshot = built;
+
+            long durationNanos = System.nanoTime() - startNanos;
+            if (meterRegistry != null) {
+                meterRegistry.timer("carplatform.gateway.listing_snapshot.build.duration")
+                        .record(durationNanos, TimeUnit.NANOSECONDS);
+            }
+            log.debug("Listing snapshot built: {} cars, inventory version {}, {}ms",
+                    built.carCount, built.inventoryVersion, TimeUnit.NANOSECONDS.toMillis(durationNanos));
+        } catch (Exception e) {
+            if (meterRegistry != null) {
+                meterRegistry.counter("carplatform.gateway.listing_snapshot.build.failures").increment();
+            }
+            log.warn("Listing snapshot build failed, serving snapshot of age {}s: {}", ageSeconds(), e.getMessage());
+        }
+    }
+
+    // ===================== Snapshot =====================
+
+    /**
+     * Immutable aggregated listing with one pre-sorted view per listing option
+     */
+    private static final class Snapshot {
+
+        private final Instant builtAt = Instant.now();
+        private final int carCount;
+        private final long inventoryVersion;
+        private final String contentTag;
+        private final Map<ListingSort, List<CarListingAggregatedResponse.CarListItem>> allViews;
+        private final Map<ListingSort, List<CarListingAggregatedResponse.CarListItem>> inStockViews;
+
+        private Snapshot(List<CarListingAggregatedResponse.CarListItem> items, long inventoryVersion,
+                String contentTag) {
+            this.carCount = items.size();
+            this.inventoryVersion = inventoryVersion;
+            this.contentTag = contentTag;
+            this.allViews = new EnumMap<>(ListingSort.class);
+            this.inStockViews = new EnumMap<>(ListingSort.class);
+
+            List<CarListingAggregatedResponse.CarListItem> inStock = items.stream()
+                    .filter(Snapshot::isInStock)
+                    .collect(Collectors.toList());
+            for (ListingSort sort : ListingSort.values()) {
+                allViews.put(sort, sorted(items, sort));
+                inStockViews.put(sort, sorted(inStock, sort));
+            }
+        }
+
+        List<CarListingAggregatedResponse.CarListItem> view(boolean inStockOnly, ListingSort sort) {
+            return (inStockOnly ? inStockViews : allViews).get(sort);
+        }
+
+        static Snapshot build(List<CarResponse> cars, List<InventoryRecordResponse> records) {
+            Map<UUID, int[]> unitsByCar = new HashMap<>();
+            Map<UUID, Instant> versionByCar = new HashMap<>();
+            Instant latestInventoryUpdate = null;
+            for (InventoryRecordResponse record : records) {
+                unitsByCar.computeIfAbsent(record.getCarId(), id -> new int[1])[0] += record.getAvailableUnits();
+                Instant updated = record.getLastUpdated();
+                if (updated != null) {
+                    versionByCar.merge(record.getCarId(), updated, (a, b) -> a.isAfter(b) ? a : b);
+                    if (latestInventoryUpdate == null || updated.isAfter(latestInventoryUpdate)) {
+                        latestInventoryUpdate = updated;
+                    }
+                }
+            }
+
+            ETagBuilder content = ETagBuilder.forResource("listing-snapshot").part(cars.size());
+            List<CarListingAggregatedResponse.CarListItem> items = new ArrayList<>(cars.size());
+            for (CarResponse car : cars) {
+                int[] units = unitsByCar.get(car.getId());
+                int available = units != null ? units[0] : 0;
+                content.part(car.getId()).version(car.getLastUpdated());
+                content.part(available).part(versionByCar.get(car.getId()));
+                // Built like the live listing's items, so the JSON is the same either way
+                items.add(CarListingAggregatedResponse.CarListItem.of(car,
+                        available > 0 ? "IN_STOCK" : "OUT_OF_STOCK", available));
+            }
+
+            long inventoryVersion = latestInventoryUpdate != null ? latestInventoryUpdate.toEpochMilli() : 0L;
+            return new Snapshot(List.copyOf(items), inventoryVersion, content.build());
+        }
+
+        private static boolean isInStock(CarListingAggregatedResponse.CarListItem item) {
+            return item.getAvailableUnits() != null && item.getAvailableUnits() > 0;
+        }
+
+        private static List<CarListingAggregatedResponse.CarListItem> sorted(
+                List<CarListingAggregatedResponse.CarListItem> items, ListingSort sort) {
+            Comparator<CarListingAggregatedResponse.CarListItem> inStockFirst = Comparator
+                    .comparing((CarListingAggregatedResponse.CarListItem item) -> !isInStock(item));
+            Comparator<BigDecimal> priceAsc = Comparator.nullsLast(Comparator.<BigDecimal>naturalOrder());
+            Comparator<BigDecimal> priceDesc = Comparator.nullsLast(Comparator.<BigDecimal>reverseOrder());
+
+            List<CarListingAggregatedResponse.CarListItem> result = new ArrayList<>(items);
+            switch (sort) {
+                case AVAILABILITY -> result.sort(inStockFirst);
+                case AVAILABILITY_PRICE_ASC -> result.sort(inStockFirst
+                        .thenComparing(CarListingAggregatedResponse.CarListItem::getPrice, priceAsc));
+                case AVAILABILITY_PRICE_DESC -> result.sort(inStockFirst
+                        .thenComparing(CarListingAggregatedResponse.CarListItem::getPrice, priceDesc));
+                default -> {
+                    // catalog order
+                }
+            }
+            return List.copyOf(result);
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.carplatform.gateway.cache;
+
+import com.carplatform.gateway.dto.CarResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Memory-Mapped Catalog Store
+ * 
+ * Keeps catalog entries as fixed-size records in a memory-mapped file so
+ * they survive restarts and live outside the Java heap. Only the
+ * UUID → slot index is held on the heap; it is rebuilt by scanning the file
+ * when the store is opened.
+ * 
+ * File layout:
+ * - Header (16 bytes): magic, format version, record size, slot count
+ * - Slots of RECORD_SIZE bytes; byte 0 is 1 for a used slot
+ * 
+ * Record layout (offsets within a slot):
+ * - 1: UUID (msb, lsb)
+ * - 17: lastUpdated (epoch seconds, nanos)
+ * - 29: fetchedAt (epoch millis)
+ * - 37: year (Integer.MIN_VALUE for null)
+ * - 41: price, make, model, color as length-prefixed UTF-8 (length -1 for null)
+ * 
+ * Each write updates one slot in place and sets the used flag last. Cars
+ * whose text does not fit a record stay uncached (read through to the
+ * catalog each time).
+ */
+@Slf4j
+class MappedCatalogStore implements CatalogStore, AutoCloseable {
+
+    static final int RECORD_SIZE = 256;
+    private static final int MAGIC = 0x43415243; // "CARC"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+
+    private static final int OFFSET_ID = 1;
+    private static final int OFFSET_LAST_UPDATED = 17;
+    private static final int OFFSET_FETCHED_AT = 29;
+    private static final int OFFSET_YEAR = 37;
+    private static final int OFFSET_TEXT = 41;
+
+    private static final int PRICE_MAX_BYTES = 40;
+    private static final int MAKE_MAX_BYTES = 56;
+    private static final int MODEL_MAX_BYTES = 64;
+    private static final int COLOR_MAX_BYTES = 47;
+
+    private final Path file;
+    private final int maxSlots;
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int slotCount;
+    private int nextFreeSlot;
+    private final Map<UUID, Integer> slotsById = new HashMap<>();
+
+    MappedCatalogStore(Path file, int initialSlots, int maxSlots) throws IOException {
+        this.file = file;
+        this.maxSlots = Math.min(maxSlots, (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+
+        if (channel.size() >= HEADER_SIZE && readHeaderValid()) {
+            slotCount = (int) Math.min(this.maxSlots, (channel.size() - HEADER_SIZE) / RECORD_SIZE);
+            map(slotCount);
+            loadIndex();
+            log.info("Catalog cache file {} opened: {} entries in {} slots", file, slotsById.size(), slotCount);
+        } else {
+            slotCount = Math.min(initialSlots, this.maxSlots);
+            channel.truncate(0);
+            map(slotCount);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, FORMAT_VERSION);
+            buffer.putInt(8, RECORD_SIZE);
+            buffer.putInt(12, slotCount);
+            log.info("Catalog cache file {} created with {} slots", file, slotCount);
+        }
+    }
+
+    // ===================== CatalogStore =====================
+
+    @Override
+    public synchronized CachedCar get(UUID carId) {
+        Integer slot = slotsById.get(carId);
+        return slot != null ? read(slot) : null;
+    }
+
+    @Override
+    public synchronized void put(CarResponse car, long fetchedAtMillis) {
+        byte[] price = utf8(car.getPrice() != null ? car.getPrice().toPlainString() : null);
+        byte[] make = utf8(car.getMake());
+        byte[] model = utf8(car.getModel());
+        byte[] color = utf8(car.getColor());
+        if (tooLong(price, PRICE_MAX_BYTES) || tooLong(make, MAKE_MAX_BYTES)
+                || tooLong(model, MODEL_MAX_BYTES) || tooLong(color, COLOR_MAX_BYTES)) {
+            return;
+        }
+
+        Integer slot = slotsById.get(car.getId());
+        if (slot == null) {
+            slot = allocateSlot();
+            if (slot < 0) {
+                return;
+            }
+        }
+
+        int base = slotOffset(slot);
+        buffer.put(base, (byte) 0);
+        buffer.putLong(base + OFFSET_ID, car.getId().getMostSignificantBits());
+        buffer.putLong(base + OFFSET_ID + 8, car.getId().getLeastSignificantBits());
+        Instant lastUpdated = car.getLastUpdated();
+        buffer.putLong(base + OFFSET_LAST_UPDATED, lastUpdated != null ? lastUpdated.getEpochSecond() : Long.MIN_VALUE);
+        buffer.putInt(base + OFFSET_LAST_UPDATED + 8, lastUpdated != null ? lastUpdated.getNano() : 0);
+        buffer.putLong(base + OFFSET_FETCHED_AT, fetchedAtMillis);
+        buffer.putInt(base + OFFSET_YEAR, car.getYear() != null ? car.getYear() : Integer.MIN_VALUE);
+        int offset = base + OFFSET_TEXT;
+        offset = writeText(offset, price, PRICE_MAX_BYTES);
+        offset = writeText(offset, make, MAKE_MAX_BYTES);
+        offset = writeText(offset, model, MODEL_MAX_BYTES);
+        writeText(offset, color, COLOR_MAX_BYTES);
+        buffer.put(base, (byte) 1);
+
+        slotsById.put(car.getId(), slot);
+    }
+
+    @Override
+    public synchronized int size() {
+        return slotsById.size();
+    }
+
+    /**
+     * Flush dirty pages to disk
+     */
+    synchronized void force() {
+        buffer.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    // ===================== Slots =====================
+
+    private int allocateSlot() {
+        while (nextFreeSlot < slotCount && buffer.get(slotOffset(nextFreeSlot)) != 0) {
+            nextFreeSlot++;
+        }
+        if (nextFreeSlot >= slotCount) {
+            if (slotCount >= maxSlots) {
+                return -1;
+            }
+            try {
+                grow(Math.min(maxSlots, slotCount * 2));
+            } catch (IOException e) {
+                log.warn("Catalog cache file {} could not grow: {}", file, e.getMessage());
+                return -1;
+            }
+        }
+        return nextFreeSlot++;
+    }
+
+    private void grow(int newSlotCount) throws IOException {
+        buffer.force();
+        slotCount = newSlotCount;
+        map(slotCount);
+        buffer.putInt(12, slotCount);
+        log.debug("Catalog cache file {} grown to {} slots", file, slotCount);
+    }
+
+    private void map(int slots) throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) slots * RECORD_SIZE);
+    }
+
+    private boolean readHeaderValid() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        channel.read(header, 0);
+        return header.getInt(0) == MAGIC && header.getInt(4) == FORMAT_VERSION && header.getInt(8) == RECORD_SIZE;
+    }
+
+    private void loadIndex() {
+        for (int slot = 0; slot < slotCount; slot++) {
+            int base = slotOffset(slot);
+            if (buffer.get(base) != 1) {
+                continue;
+            }
+            UUID id = new UUID(buffer.getLong(base + OFFSET_ID), buffer.getLong(base + OFFSET_ID + 8));
+            Integer previous = slotsById.put(id, slot);
+            if (previous != null) {
+                // Keep the most recently fetched copy of a duplicated id
+                boolean keepPrevious = buffer.getLong(slotOffset(previous) + OFFSET_FETCHED_AT) > buffer
+                        .getLong(base + OFFSET_FETCHED_AT);
+                int discard = keepPrevious ? slot : previous;
+                slotsById.put(id, keepPrevious ? previous : slot);
+                buffer.put(slotOffset(discard), (byte) 0);
+            }
+        }
+    }
+
+    private CachedCar read(int slot) {
+        int base = slotOffset(slot);
+        CarResponse car = new CarResponse();
+        car.setId(new UUID(buffer.getLong(base + OFFSET_ID), buffer.getLong(base + OFFSET_ID + 8)));
+        long seconds = buffer.getLong(base + OFFSET_LAST_UPDATED);
+        if (seconds != Long.MIN_VALUE) {
+            car.setLastUpdated(Instant.ofEpochSecond(seconds, buffer.getInt(base + OFFSET_LAST_UPDATED + 8)));
+        }
+        int year = buffer.getInt(base + OFFSET_YEAR);
+        car.setYear(year != Integer.MIN_VALUE ? year : null);
+
+        int[] offset = { base + OFFSET_TEXT };
+        String price = readText(offset, PRICE_MAX_BYTES);
+        car.setPrice(price != null ? new BigDecimal(price) : null);
+        car.setMake(readText(offset, MAKE_MAX_BYTES));
+        car.setModel(readText(offset, MODEL_MAX_BYTES));
+        car.setColor(readText(offset, COLOR_MAX_BYTES));
+        return new CachedCar(car, buffer.getLong(base + OFFSET_FETCHED_AT));
+    }
+
+    private static int slotOffset(int slot) {
+        return HEADER_SIZE + slot * RECORD_SIZE;
+    }
+
+    // ===================== Text Fields =====================
+
+    private int writeText(int offset, byte[] bytes, int maxBytes) {
+        buffer.putShort(offset, (short) (bytes != null ? bytes.length : -1));
+        if (bytes != null) {
+            buffer.put(offset + 2, bytes);
+        }
+        return offset + 2 + maxBytes;
+    }
+
+    private String readText(int[] offset, int maxBytes) {
+        short length = buffer.getShort(offset[0]);
+        String value = null;
+        if (length >= 0) {
+            byte[] bytes = new byte[length];
+            buffer.get(offset[0] + 2, bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        offset[0] += 2 + maxBytes;
+        return value;
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static boolean tooLong(byte[] bytes, int maxBytes) {
+        return bytes != null && bytes.length > maxBytes;
+    }
+}
@@ -1,6 +1,9 @@
 package com.carplatform.gateway.client;
 
+import com.carplatform.gateway.dto.CarIdExportResponse;
 import com.carplatform.gateway.dto.CarResponse;
+import com.carplatform.gateway.exception.ServiceUnavailableException;
+import com.carplatform.gateway.loadbalancer.LoadBalancerRegistry;
 import com.carplatform.gateway.util.TraceIdManager;
 import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
@@ -11,8 +14,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -23,7 +28,7 @@ import java.util.UUID;
  * Used by Aggregation Service to fetch car details.
  * 
  * Configuration:
- * - Timeout: 5 seconds
+ * - Timeout: adaptive per operation (AdaptiveTimeouts), 3 seconds while warming up
  * - Retries: None (prefer fast fail)
  * - Circuit Breaker: Enabled
  * 
@@ -38,9 +43,13 @@ public class CatalogServiceClient {
     @Autowired(required = false)
     private MeterRegistry meterRegistry;
 
+    @Autowired(required = false)
+    private AdaptiveTimeouts adaptiveTimeouts;
+
     public CatalogServiceClient(
             WebClient.Builder webClientBuilder,
-            @Value("${external.services.catalog-url:http://localhost:8081}") String catalogServiceUrl) {
+            @Value("${external.services.catalog-url:http://localhost:8081}") String catalogServiceUrl,
+            LoadBalancerRegistry loadBalancerRegistry) {
         this.webClient = webClientBuilder
                 .filter((request, next) -> next.exchange(
                         org.springframework.web.reactive.function.client.ClientRequest.from(request)
@@ -52,6 +61,7 @@ public class CatalogServiceClient {
                                     }
                                 })
                                 .build()))
+                .filter(loadBalancerRegistry.exchangeFilter())
                 .baseUrl(catalogServiceUrl)
                 .build();
     }
@@ -76,7 +86,7 @@ public class CatalogServiceClient {
                     .uri("/catalog/{id}", carId)
                     .retrieve()
                     .bodyToMono(CarResponse.class)
-                    .timeout(Duration.ofSeconds(3))
+                    .transform(call -> withTimeout("catalog.getCarById", Duration.ofSeconds(3), call))
                     .block(); // Blocking for synchronous gateway
             if (sample != null) {
                 sample.stop(meterRegistry.timer("carplatform.gateway.downstream.catalog.latency", "operation",
@@ -118,7 +128,7 @@ public class CatalogServiceClient {
                     .uri("/catalog")
                     .retrieve()
                     .bodyToMono(CarResponse[].class)
-                    .timeout(Duration.ofSeconds(3))
+                    .transform(call -> withTimeout("catalog.listAllCars", Duration.ofSeconds(3), call))
                     .block();
 
             List<CarResponse> cars = carArray != null ? java.util.Arrays.asList(carArray)
@@ -148,6 +158,103 @@ public class CatalogServiceClient {
         return listAllCars();
     }
 
+    // ===================== BATCH LOOKUP =====================
+
+    /**
+     * Get several cars in one call (POST /catalog/batch)
+     * 
+     * @param carIds Car IDs (at most 500)
+     * @return Cars found; unknown IDs are omitted
+     * @throws ServiceUnavailableException if service unreachable
+     */
+    public List<CarResponse> getCarsByIds(Collection<UUID> carIds) {
+        log.debug("CatalogServiceClient: POST /catalog/batch ({} ids)", carIds.size());
+        Timer.Sample sample = meterRegistry != null ? Timer.start(meterRegistry) : null;
+
+        try {
+            CarResponse[] carArray = webClient
+                    .post()
+                    .uri("/catalog/batch")
+                    .bodyValue(carIds)
+                    .retrieve()
+                    .bodyToMono(CarResponse[].class)
+                    .transform(call -> withTimeout("catalog.getCarsByIds", Duration.ofSeconds(3), call))
+                    .block();
+
+            if (sample != null) {
+                sample.stop(meterRegistry.timer("carplatform.gateway.downstream.catalog.latency", "operation",
+                        "getCarsByIds"));
+            }
+            return carArray != null ? java.util.Arrays.asList(carArray) : java.util.Collections.emptyList();
+
+        } catch (Exception e) {
+            if (meterRegistry != null) {
+                meterRegistry.counter("carplatform.gateway.downstream.catalog.errors", "operation", "getCarsByIds")
+                        .increment();
+            }
+            log.error("Error calling Catalog Service for batch of {} cars: {}", carIds.size(), e.getMessage());
+            throw new ServiceUnavailableException("Catalog batch lookup temporarily unavailable", e);
+        }
+    }
+
+    /**
+     * Guarded batch lookup
+     * 
+     * @return Cars found, or null when the catalog is unavailable (callers
+     *         degrade instead of failing)
+     */
+    @CircuitBreaker(name = "catalogServiceCircuitBreaker", fallbackMethod = "getCarsByIdsFallback")
+    @Bulkhead(name = "catalogServiceBulkhead", type = Bulkhead.Type.SEMAPHORE, fallbackMethod = "getCarsByIdsFallback")
+    public List<CarResponse> guardedGetCarsByIds(Collection<UUID> carIds) {
+        return getCarsByIds(carIds);
+    }
+
+    // ===================== CAR ID EXPORT =====================
+
+    /**
+     * Fetch the car ID export
+     * 
+     * Used by the background known-car filter refresh, so it is deliberately
+     * not guarded: a failed refresh keeps the previous filter and must not
+     * count toward the request path's circuit breaker.
+     * 
+     * @param sinceVersion Version held by the caller, or null for every ID
+     * @return Full export or delta since the given version
+     * @throws ServiceUnavailableException if the service cannot be reached
+     */
+    public CarIdExportResponse fetchCarIds(Long sinceVersion) {
+        log.debug("CatalogServiceClient: GET /catalog/ids?since={}", sinceVersion);
+        Timer.Sample sample = meterRegistry != null ? Timer.start(meterRegistry) : null;
+        try {
+            CarIdExportResponse response = webClient
+                    .get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/catalog/ids")
+                            .queryParamIfPresent("since", java.util.Optional.ofNullable(sinceVersion))
+                            .build())
+                    .retrieve()
+                    .bodyToMono(CarIdExportResponse.class)
+                    .timeout(Duration.ofSeconds(5))
+                    .block();
+
+            if (sample != null) {
+                sample.stop(meterRegistry.timer("carplatform.gateway.downstream.catalog.latency", "operation",
+                        "fetchCarIds"));
+            }
+            return response;
+        } catch (Exception e) {
+            if (meterRegistry != null) {
+                meterRegistry.counter("carplatform.gateway.downstream.catalog.errors", "operation", "fetchCarIds")
+                        .increment();
+            }
+            throw new ServiceUnavailableException("Catalog ID export temporarily unavailable", e);
+        }
+    }
+
+    private <T> Mono<T> withTimeout(String operation, Duration fixed, Mono<T> call) {
+        return adaptiveTimeouts != null ? adaptiveTimeouts.apply(operation, fixed, call) : call.timeout(fixed);
+    }
+
     private CarResponse getCarByIdFallback(UUID carId, Throwable throwable) {
         log.warn("Catalog fallback for car {} due to {}", carId, throwable.getMessage());
         CarResponse fallback = new CarResponse();
@@ -157,6 +264,11 @@ public class CatalogServiceClient {
         return fallback;
     }
 
+    private List<CarResponse> getCarsByIdsFallback(Collection<UUID> carIds, Throwable throwable) {
+        log.warn("Catalog batch fallback for {} cars due to {}", carIds.size(), throwable.getMessage());
+        return null;
+    }
+
     private List<CarResponse> listAllCarsFallback(Throwable throwable) {
         log.warn("Catalog list fallback due to {}", throwable.getMessage());
         return java.util.Collections.emptyList();
@@ -1,8 +1,11 @@
 package com.carplatform.gateway.client;
 
+import com.carplatform.gateway.dto.InStockIndexResponse;
 import com.carplatform.gateway.dto.InventoryAvailabilityResponse;
+import com.carplatform.gateway.dto.InventoryRecordResponse;
 import com.carplatform.gateway.exception.ResourceNotFoundException;
 import com.carplatform.gateway.exception.ServiceUnavailableException;
+import com.carplatform.gateway.loadbalancer.LoadBalancerRegistry;
 import com.carplatform.gateway.util.TraceIdManager;
 import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
@@ -12,11 +15,16 @@ import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Inventory Service Client
@@ -25,7 +33,7 @@ import java.time.Duration;
  * Used by Aggregation Service to fetch availability information.
  * 
  * Configuration:
- * - Timeout: 3 seconds
+ * - Timeout: adaptive per operation (AdaptiveTimeouts), 2 seconds while warming up
  * - Retries: 2 attempts (3 total)
  * - Circuit Breaker: Enabled
  * - Fallback: Graceful degradation on failure
@@ -35,14 +43,21 @@ import java.time.Duration;
 @Component
 public class InventoryServiceClient {
 
+    // Largest page the inventory listing serves
+    private static final int LIST_PAGE_SIZE = 1000;
+
     private final WebClient webClient;
 
     @Autowired(required = false)
     private MeterRegistry meterRegistry;
 
+    @Autowired(required = false)
+    private AdaptiveTimeouts adaptiveTimeouts;
+
     public InventoryServiceClient(
             WebClient.Builder webClientBuilder,
-            @Value("${external.services.inventory-url:http://localhost:8082}") String inventoryServiceUrl) {
+            @Value("${external.services.inventory-url:http://localhost:8082}") String inventoryServiceUrl,
+            LoadBalancerRegistry loadBalancerRegistry) {
         this.webClient = webClientBuilder
                 .filter((request, next) -> next.exchange(
                         org.springframework.web.reactive.function.client.ClientRequest.from(request)
@@ -54,6 +69,7 @@ public class InventoryServiceClient {
                                     }
                                 })
                                 .build()))
+                .filter(loadBalancerRegistry.exchangeFilter())
                 .baseUrl(inventoryServiceUrl)
                 .build();
     }
@@ -84,7 +100,7 @@ public class InventoryServiceClient {
                             clientResponse -> reactor.core.publisher.Mono.error(
                                     new ResourceNotFoundException("Car not found in inventory: " + carId)))
                     .bodyToMono(InventoryAvailabilityResponse.class)
-                    .timeout(Duration.ofSeconds(2))
+                    .transform(call -> withTimeout("inventory.checkAvailability", Duration.ofSeconds(2), call))
                     .block();
 
             if (sample != null) {
@@ -119,6 +135,111 @@ public class InventoryServiceClient {
         return checkAvailability(carId);
     }
 
+    // ===================== IN-STOCK INDEX =====================
+
+    /**
+     * Fetch the in-stock car index
+     * 
+     * Used by the background index refresher, so it is deliberately not
+     * guarded: a failed refresh keeps the previous index and must not count
+     * toward the request path's circuit breaker.
+     * 
+     * @param sinceVersion Version of the index held by the caller, or null for
+     *                     a full snapshot
+     * @return Full index or delta since the given version
+     * @throws ServiceUnavailableException if the service cannot be reached
+     */
+    public InStockIndexResponse fetchInStockIndex(Long sinceVersion) {
+        log.debug("InventoryServiceClient: GET /inventory/in-stock?since={}", sinceVersion);
+        Timer.Sample sample = meterRegistry != null ? Timer.start(meterRegistry) : null;
+        try {
+            InStockIndexResponse response = webClient
+                    .get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/inventory/in-stock")
+                            .queryParamIfPresent("since", java.util.Optional.ofNullable(sinceVersion))
+                            .build())
+                    .retrieve()
+                    .bodyToMono(InStockIndexResponse.class)
+                    .timeout(Duration.ofSeconds(3))
+                    .block();
+
+            if (sample != null) {
+                sample.stop(meterRegistry.timer("carplatform.gateway.downstream.inventory.latency", "operation",
+                        "fetchInStockIndex"));
+            }
+            return response;
+        } catch (Exception exception) {
+            if (meterRegistry != null) {
+                meterRegistry
+                        .counter("carplatform.gateway.downstream.inventory.errors", "operation", "fetchInStockIndex")
+                        .increment();
+            }
+            throw new ServiceUnavailableException("Inventory in-stock index temporarily unavailable", exception);
+        }
+    }
+
+    // ===================== LIST ALL INVENTORY =====================
+
+    /**
+     * List every inventory record (all cars, all locations)
+     * 
+     * Used by the background listing snapshot build; not guarded for the
+     * same reason as {@link #fetchInStockIndex(Long)}. The inventory service
+     * pages the listing, so pages are followed through X-Next-Cursor.
+     * 
+     * @return Inventory records
+     * @throws ServiceUnavailableException if the service cannot be reached
+     */
+    public List<InventoryRecordResponse> listAllInventory() {
+        log.debug("InventoryServiceClient: GET /inventory (all pages)");
+        Timer.Sample sample = meterRegistry != null ? Timer.start(meterRegistry) : null;
+        try {
+            List<InventoryRecordResponse> records = new ArrayList<>();
+            String cursor = null;
+            do {
+                String after = cursor;
+                ResponseEntity<InventoryRecordResponse[]> page = webClient
+                        .get()
+                        .uri(uriBuilder -> {
+                            uriBuilder.path("/inventory").queryParam("limit", LIST_PAGE_SIZE);
+                            if (after != null) {
+                                uriBuilder.queryParam("cursor", after);
+                            }
+                            return uriBuilder.build();
+                        })
+                        .retrieve()
+                        .toEntity(InventoryRecordResponse[].class)
+                        .timeout(Duration.ofSeconds(5))
+                        .block();
+                if (page == null) {
+                    break;
+                }
+                if (page.getBody() != null) {
+                    records.addAll(Arrays.asList(page.getBody()));
+                }
+                cursor = page.getHeaders().getFirst("X-Next-Cursor");
+            } while (cursor != null);
+
+            if (sample != null) {
+                sample.stop(meterRegistry.timer("carplatform.gateway.downstream.inventory.latency", "operation",
+                        "listAllInventory"));
+            }
+            return records;
+        } catch (Exception exception) {
+            if (meterRegistry != null) {
+                meterRegistry
+                        .counter("carplatform.gateway.downstream.inventory.errors", "operation", "listAllInventory")
+                        .increment();
+            }
+            throw new ServiceUnavailableException("Inventory listing temporarily unavailable", exception);
+        }
+    }
+
+    private <T> Mono<T> withTimeout(String operation, Duration fixed, Mono<T> call) {
+        return adaptiveTimeouts != null ? adaptiveTimeouts.apply(operation, fixed, call) : call.timeout(fixed);
+    }
+
     private InventoryAvailabilityResponse checkAvailabilityFallback(String carId, Throwable throwable) {
         log.warn("Inventory fallback for car {} due to {}", carId, throwable.getMessage());
         InventoryAvailabilityResponse fallback = new InventoryAvailabilityResponse();
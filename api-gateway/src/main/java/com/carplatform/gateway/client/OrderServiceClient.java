@@ -0,0 +1,127 @@
+package com.carplatform.gateway.client;
+
+import com.carplatform.gateway.dto.OrderResponse;
+import com.carplatform.gateway.exception.ServiceUnavailableException;
+import com.carplatform.gateway.loadbalancer.LoadBalancerRegistry;
+import com.carplatform.gateway.util.TraceIdManager;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Order Service Client
+ *
+ * Makes HTTP requests to the Order Service.
+ * Used by Aggregation Service to fetch a user's orders.
+ *
+ * Configuration:
+ * - Timeout: adaptive per operation (AdaptiveTimeouts), 3 seconds while warming up
+ * - Retries: None
+ * - Circuit Breaker: Enabled
+ * - Fallback: None; orders are the core of every order view, so failures
+ *   surface as ServiceUnavailableException (503)
+ *
+ */
+@Slf4j
+@Component
+public class OrderServiceClient {
+
+    private final WebClient webClient;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Autowired(required = false)
+    private AdaptiveTimeouts adaptiveTimeouts;
+
+    public OrderServiceClient(
+            WebClient.Builder webClientBuilder,
+            @Value("${external.services.order-url:http://localhost:8083}") String orderServiceUrl,
+            LoadBalancerRegistry loadBalancerRegistry) {
+        this.webClient = webClientBuilder
+                .filter((request, next) -> next.exchange(
+                        org.springframework.web.reactive.function.client.ClientRequest.from(request)
+                                .headers(headers -> {
+                                    String traceId = TraceIdManager.get();
+                                    if (!traceId.isBlank()) {
+                                        headers.set(TraceIdManager.getHeaderName(), traceId);
+                                        headers.set(TraceIdManager.getCorrelationHeaderName(), traceId);
+                                    }
+                                })
+                                .build()))
+                .filter(loadBalancerRegistry.exchangeFilter())
+                .baseUrl(orderServiceUrl)
+                .build();
+    }
+
+    // ===================== ORDERS BY USER =====================
+
+    /**
+     * Get every order of a user
+     *
+     * @param userId User ID
+     * @return Orders (empty when the user has none)
+     * @throws ServiceUnavailableException if service unreachable
+     */
+    public List<OrderResponse> getOrdersByUser(UUID userId) {
+        log.debug("OrderServiceClient: GET /orders/user/{}", userId);
+        Timer.Sample sample = meterRegistry != null ? Timer.start(meterRegistry) : null;
+
+        try {
+            OrderResponse[] orders = webClient
+                    .get()
+                    .uri("/orders/user/{userId}", userId)
+                    .retrieve()
+                    .bodyToMono(OrderResponse[].class)
+                    .transform(call -> withTimeout("order.getOrdersByUser", Duration.ofSeconds(3), call))
+                    .block();
+
+            if (sample != null) {
+                sample.stop(meterRegistry.timer("carplatform.gateway.downstream.order.latency", "operation",
+                        "getOrdersByUser"));
+            }
+            return orders != null ? Arrays.asList(orders) : Collections.emptyList();
+
+        } catch (Exception e) {
+            if (meterRegistry != null) {
+                meterRegistry.counter("carplatform.gateway.downstream.order.errors", "operation", "getOrdersByUser")
+                        .increment();
+            }
+            log.error("Error calling Order Service for user {}: {}", userId, e.getMessage());
+            throw new ServiceUnavailableException("Order service temporarily unavailable", e);
+        }
+    }
+
+    @CircuitBreaker(name = "orderServiceCircuitBreaker", fallbackMethod = "getOrdersByUserFallback")
+    @Bulkhead(name = "orderServiceBulkhead", type = Bulkhead.Type.SEMAPHORE, fallbackMethod = "getOrdersByUserFallback")
+    public List<OrderResponse> guardedGetOrdersByUser(UUID userId) {
+        return getOrdersByUser(userId);
+    }
+
+    private <T> Mono<T> withTimeout(String operation, Duration fixed, Mono<T> call) {
+        return adaptiveTimeouts != null ? adaptiveTimeouts.apply(operation, fixed, call) : call.timeout(fixed);
+    }
+
+    private List<OrderResponse> getOrdersByUserFallback(UUID userId, Throwable throwable) {
+        // No degraded answer exists without orders: map open circuit / full
+        // bulkhead to the same 503 as a failed call
+        if (throwable instanceof ServiceUnavailableException unavailable) {
+            throw unavailable;
+        }
+        log.warn("Order service rejected call for user {}: {}", userId, throwable.getMessage());
+        throw new ServiceUnavailableException("Order service temporarily unavailable", throwable);
+    }
+}
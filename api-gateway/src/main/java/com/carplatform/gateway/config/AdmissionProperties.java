@@ -0,0 +1,58 @@
+package com.carplatform.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Priority Admission Configuration
+ * 
+ * Binds gateway.admission.*: global concurrency/queue limits and the
+ * request priority classes. A request belongs to the first class whose
+ * methods (if any) and path patterns match; unmatched requests fall into
+ * the default class.
+ * 
+ * Example:
+ * gateway.admission.classes[0].name=checkout
+ * gateway.admission.classes[0].priority=100
+ * gateway.admission.classes[0].methods=POST
+ * gateway.admission.classes[0].paths=/orders/**
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "gateway.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = false;
+
+    // Requests processed concurrently before new arrivals queue
+    private int maxConcurrent = 200;
+
+    // Requests allowed to wait for a slot; beyond this the lowest class is shed
+    private int maxQueue = 400;
+
+    private long maxQueueWaitMs = 2000;
+
+    private int retryAfterSeconds = 2;
+
+    private String defaultClass = "default";
+
+    private int defaultPriority = 40;
+
+    private List<RequestClass> classes = new ArrayList<>();
+
+    // Long-lived responses (SSE): admitted like any request, but the slot is
+    // released once the stream is admitted instead of when it ends
+    private List<String> streamPaths = new ArrayList<>();
+
+    @Data
+    public static class RequestClass {
+        private String name;
+        private int priority;
+        private List<String> methods = new ArrayList<>();
+        private List<String> paths = new ArrayList<>();
+    }
+}
@@ -1,8 +1,12 @@
 package com.carplatform.gateway.controller;
 
+import com.carplatform.gateway.diagnostics.BlockingOffload;
 import com.carplatform.gateway.dto.CarDetailsAggregatedResponse;
 import com.carplatform.gateway.dto.CarListingAggregatedResponse;
+import com.carplatform.gateway.dto.InventoryAvailabilityResponse;
+import com.carplatform.gateway.dto.ListingSort;
 import com.carplatform.gateway.service.AggregationService;
+import com.carplatform.gateway.stream.AvailabilityStream;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,12 +17,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 // import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -30,6 +40,10 @@ import java.util.UUID;
  * These are NEW endpoints at the Gateway level, not proxies to downstream
  * services.
  * 
+ * Details and listing send a strong ETag built from upstream versions. WebFlux
+ * answers a matching If-None-Match with 304 Not Modified before the body
+ * is serialized, so unchanged data costs headers only.
+ * 
  * Aggregation Pattern
  */
 @Slf4j
@@ -41,6 +55,12 @@ public class AggregationController {
         @Autowired
         private AggregationService aggregationService;
 
+        @Autowired
+        private AvailabilityStream availabilityStream;
+
+        @Value("${gateway.availability-stream.max-cars:50}")
+        private int maxStreamCars;
+
         // ===================== ENDPOINT 1: Car Details with Availability
         // =====================
 
@@ -58,11 +78,13 @@ public class AggregationController {
         @Operation(summary = "Get car details with availability", description = "Returns aggregated car information including real-time availability status. "
                         +
                         "Combines data from Catalog Service (car details) and Inventory Service (availability). " +
-                        "If inventory service is temporarily unavailable, returns car details with UNKNOWN availability status (HTTP 206).", tags = {
+                        "If inventory service is temporarily unavailable, returns car details with UNKNOWN availability status (HTTP 206). " +
+                        "Send the returned ETag in If-None-Match to receive 304 Not Modified while the car and its stock are unchanged.", tags = {
                                         "Cars" })
         @ApiResponses({
                         @ApiResponse(responseCode = "200", description = "Car details retrieved successfully with complete availability data", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CarDetailsAggregatedResponse.class), examples = @ExampleObject(value = "{\"carId\":\"3fa85f64-5717-4562-b3fc-2c963f66afa6\",\"make\":\"Tesla\",\"model\":\"Model S\",\"year\":2024,\"price\":89999.99,\"color\":\"Black\",\"availability\":{\"status\":\"IN_STOCK\",\"totalUnits\":10,\"availableUnits\":8,\"reservedUnits\":2},\"metadata\":{\"aggregationStatus\":200,\"aggregatedAt\":\"2026-02-16T16:45:00Z\"}}"))),
                         @ApiResponse(responseCode = "206", description = "Partial aggregation - car found but inventory service temporarily unavailable (degraded response)", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CarDetailsAggregatedResponse.class), examples = @ExampleObject(value = "{\"carId\":\"3fa85f64-5717-4562-b3fc-2c963f66afa6\",\"make\":\"Tesla\",\"model\":\"Model S\",\"year\":2024,\"price\":89999.99,\"color\":\"Black\",\"availability\":{\"status\":\"UNKNOWN\",\"reason\":\"Inventory service temporarily unavailable\"},\"metadata\":{\"aggregationStatus\":206}}"))),
+                        @ApiResponse(responseCode = "304", description = "Car details and availability unchanged since the ETag sent in If-None-Match"),
                         @ApiResponse(responseCode = "404", description = "Car not found in catalog service", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"error\":\"Car not found\",\"carId\":\"3fa85f64-5717-4562-b3fc-2c963f66afa6\"}"))),
                         @ApiResponse(responseCode = "503", description = "Catalog service unavailable - cannot retrieve car details", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"error\":\"Service unavailable\",\"service\":\"catalog\",\"message\":\"Catalog service is temporarily unavailable\"}"))),
                         @ApiResponse(responseCode = "400", description = "Invalid car ID format (must be valid UUID)")
@@ -72,11 +94,10 @@ public class AggregationController {
 
                 log.info("API Request: GET /cars/{}/details", carId);
 
-                return Mono.fromCallable(() -> aggregationService.getCarDetailsWithAvailability(carId))
-                                .subscribeOn(Schedulers.boundedElastic())
+                return BlockingOffload.submit(() -> aggregationService.getCarDetailsWithAvailability(carId))
                                 .map(response -> {
                                         log.debug("API Response 200: Car details retrieved for {}", carId);
-                                        return ResponseEntity.ok(response);
+                                        return withETag(response.getEtag()).body(response);
                                 })
                                 .doOnError(e -> log.error("API Error for car details: {}", carId, e));
         }
@@ -91,8 +112,14 @@ public class AggregationController {
          * - Catalog Service (all cars)
          * - Inventory Service (availability per car)
          * 
-         * @param page Page number (default 1)
-         * @param size Page size (default 20, max 100)
+         * Optional availability filter/sort is resolved against the gateway's
+         * cached in-stock index before pagination.
+         * 
+         * @param page    Page number (default 1)
+         * @param size    Page size (default 20, max 100)
+         * @param inStock Only list cars with available units (default false)
+         * @param sort    DEFAULT, AVAILABILITY, AVAILABILITY_PRICE_ASC or
+         *                AVAILABILITY_PRICE_DESC
          * @return Paginated list of cars with availability
          */
         @GetMapping("/listing")
@@ -100,18 +127,23 @@ public class AggregationController {
                         +
                         "Combines data from Catalog Service (all cars) and Inventory Service (per-car availability). " +
                         "Supports pagination with configurable page size (max 100). " +
-                        "If inventory service is unavailable for specific cars, shows UNKNOWN availability for those items.", tags = {
+                        "If inventory service is unavailable for specific cars, shows UNKNOWN availability for those items. " +
+                        "Use inStock=true to list only cars with available units, and sort=AVAILABILITY (optionally _PRICE_ASC/_PRICE_DESC) to list in-stock cars first; totals and pages reflect the filter. " +
+                        "Send the returned ETag in If-None-Match to receive 304 Not Modified while the page is unchanged.", tags = {
                                         "Cars" })
         @ApiResponses({
                         @ApiResponse(responseCode = "200", description = "Car listing retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CarListingAggregatedResponse.class), examples = @ExampleObject(value = "{\"cars\":[{\"carId\":\"3fa85f64-5717-4562-b3fc-2c963f66afa6\",\"make\":\"Tesla\",\"model\":\"Model S\",\"year\":2024,\"price\":89999.99,\"availabilityStatus\":\"IN_STOCK\",\"availableUnits\":8},{\"carId\":\"550e8400-e29b-41d4-a716-446655440000\",\"make\":\"BMW\",\"model\":\"X5\",\"year\":2024,\"price\":65000.00,\"availabilityStatus\":\"OUT_OF_STOCK\",\"availableUnits\":0}],\"pagination\":{\"totalCount\":50,\"pageSize\":20,\"currentPage\":1,\"totalPages\":3},\"metadata\":{\"aggregationStatus\":200,\"aggregatedAt\":\"2026-02-16T16:45:00Z\"}}"))),
+                        @ApiResponse(responseCode = "304", description = "Listing page unchanged since the ETag sent in If-None-Match"),
                         @ApiResponse(responseCode = "503", description = "Catalog service unavailable - cannot retrieve car list", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"error\":\"Service unavailable\",\"service\":\"catalog\",\"message\":\"Catalog service is temporarily unavailable\"}"))),
-                        @ApiResponse(responseCode = "400", description = "Invalid pagination parameters (page < 1 or size < 1 or size > 100)")
+                        @ApiResponse(responseCode = "400", description = "Invalid pagination parameters (page < 1 or size < 1 or size > 100) or unknown sort option")
         })
         public Mono<ResponseEntity<CarListingAggregatedResponse>> getCarListing(
                         @Parameter(name = "page", description = "Page number (1-indexed)", example = "1", required = false) @RequestParam(value = "page", defaultValue = "1") int page,
-                        @Parameter(name = "size", description = "Page size (1-100, default 20)", example = "20", required = false) @RequestParam(value = "size", defaultValue = "20") int size) {
+                        @Parameter(name = "size", description = "Page size (1-100, default 20)", example = "20", required = false) @RequestParam(value = "size", defaultValue = "20") int size,
+                        @Parameter(name = "inStock", description = "Only list cars with available units", example = "true", required = false) @RequestParam(value = "inStock", defaultValue = "false") boolean inStock,
+                        @Parameter(name = "sort", description = "DEFAULT, AVAILABILITY, AVAILABILITY_PRICE_ASC or AVAILABILITY_PRICE_DESC", example = "AVAILABILITY", required = false) @RequestParam(value = "sort", required = false) String sort) {
 
-                log.info("API Request: GET /cars/listing?page={}&size={}", page, size);
+                log.info("API Request: GET /cars/listing?page={}&size={}&inStock={}&sort={}", page, size, inStock, sort);
 
                 // Validate pagination
                 if (page < 1) {
@@ -122,17 +154,76 @@ public class AggregationController {
                         log.warn("Invalid page size: {} (must be 1-100)", size);
                         return Mono.just(ResponseEntity.badRequest().build());
                 }
+                ListingSort listingSort;
+                try {
+                        listingSort = ListingSort.fromParameter(sort);
+                } catch (IllegalArgumentException e) {
+                        log.warn("Invalid listing sort: {}", sort);
+                        return Mono.just(ResponseEntity.badRequest().build());
+                }
 
-                return Mono.fromCallable(() -> aggregationService.getCarListingWithAvailability(page, size))
-                                .subscribeOn(Schedulers.boundedElastic())
+                boolean availabilityAware = inStock || listingSort.isAvailabilityAware();
+                return BlockingOffload.submit(() -> availabilityAware
+                                ? aggregationService.getCarListingWithAvailability(page, size, inStock, listingSort)
+                                : aggregationService.getCarListingWithAvailability(page, size))
                                 .map(response -> {
                                         log.debug("API Response 200: Car listing retrieved, {} items",
                                                         response.getCars().size());
-                                        return ResponseEntity.ok(response);
+                                        return withETag(response.getEtag()).body(response);
                                 })
                                 .doOnError(e -> log.error("API Error for car listing", e));
         }
 
+        // ===================== ENDPOINT 3: Availability Stream
+        // =====================
+
+        /**
+         * Live availability of a set of cars (server-sent events)
+         * 
+         * Replaces polling of /cars/{carId}/details for stock: the current
+         * availability of every car is sent first, then one event per change.
+         * 
+         * @param carIds Comma-separated car IDs (1 to max-cars)
+         * @return Endless event stream
+         */
+        @GetMapping(value = "/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+        @Operation(summary = "Stream live availability of cars", description = "Server-sent event stream of availability for the given cars. "
+                        +
+                        "Sends the current availability of every car on subscribe, then an 'availability' event whenever a car's stock changes, "
+                        +
+                        "and a comment heartbeat while idle. Replaces polling /cars/{carId}/details for live stock.", tags = {
+                                        "Cars" })
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Event stream opened", content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, examples = @ExampleObject(value = "event:availability\nid:3fa85f64-5717-4562-b3fc-2c963f66afa6:1771260300000\ndata:{\"carId\":\"3fa85f64-5717-4562-b3fc-2c963f66afa6\",\"status\":\"IN_STOCK\",\"totalUnits\":10,\"availableUnits\":7,\"reservedUnits\":3}"))),
+                        @ApiResponse(responseCode = "400", description = "No car IDs, too many car IDs, or an invalid UUID")
+        })
+        public ResponseEntity<Flux<ServerSentEvent<InventoryAvailabilityResponse>>> streamAvailability(
+                        @Parameter(name = "carIds", description = "Comma-separated UUIDs of the cars to watch", required = true, example = "3fa85f64-5717-4562-b3fc-2c963f66afa6") @RequestParam("carIds") List<UUID> carIds) {
+
+                Set<UUID> distinct = new LinkedHashSet<>(carIds);
+                log.info("API Request: GET /cars/availability/stream ({} cars)", distinct.size());
+                if (distinct.isEmpty() || distinct.size() > maxStreamCars) {
+                        log.warn("Invalid availability stream car count: {} (must be 1-{})", distinct.size(),
+                                        maxStreamCars);
+                        return ResponseEntity.badRequest().build();
+                }
+                return ResponseEntity.ok(availabilityStream.subscribe(distinct));
+        }
+
+        // ===================== Helper: ETag =====================
+
+        /**
+         * Start a 200 response carrying the aggregated ETag (if any).
+         * ResponseEntityResultHandler turns a matching If-None-Match into 304.
+         */
+        private ResponseEntity.BodyBuilder withETag(String etag) {
+                ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+                if (etag != null) {
+                        builder.eTag(etag);
+                }
+                return builder;
+        }
+
         // ===================== HEALTH CHECK =====================
 
         /**
@@ -0,0 +1,93 @@
+package com.carplatform.gateway.controller;
+
+import com.carplatform.gateway.diagnostics.BlockingOffload;
+import com.carplatform.gateway.dto.UserOrderSummaryResponse;
+import com.carplatform.gateway.service.AggregationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * User Orders Aggregation Controller
+ *
+ * Aggregated order views for a user, combining Order Service and Catalog
+ * Service data in one response.
+ *
+ * Controller mappings take precedence over the gateway's /users/** proxy
+ * route, so only the paths mapped here are answered at the gateway; every
+ * other /users path is still proxied to the User Service.
+ *
+ * Aggregation Pattern
+ */
+@Slf4j
+@RestController
+@RequestMapping("/users")
+@Tag(name = "User Aggregation APIs", description = "Client-friendly aggregated user endpoints")
+public class UserOrdersController {
+
+        @Autowired
+        private AggregationService aggregationService;
+
+        // ===================== ENDPOINT: User Order Summary =====================
+
+        /**
+         * Get a user's orders with car details
+         *
+         * Aggregates data from:
+         * - Order Service (the user's orders)
+         * - Catalog Service (car details, one batched lookup per page)
+         *
+         * @param userId UUID of the user
+         * @param page   Page number (default 1)
+         * @param size   Page size (default 20, max 100)
+         * @return Paginated order summary, newest order first
+         */
+        @GetMapping("/{userId}/orders/summary")
+        @Operation(summary = "Get a user's order summary with car details", description = "Returns a paginated list of the user's orders, newest first, each enriched with the car's make, model, year and current price. "
+                        +
+                        "Combines data from Order Service (orders) and Catalog Service (one batched car lookup per page). " +
+                        "If catalog service is temporarily unavailable, returns the orders with carInfoStatus UNKNOWN and metadata.aggregationStatus 206.", tags = {
+                                        "Users" })
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Order summary retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = UserOrderSummaryResponse.class), examples = @ExampleObject(value = "{\"userId\":\"7c9e6679-7425-40de-944b-e07fc1f90ae7\",\"orders\":[{\"orderId\":\"a1b2c3d4-0000-4000-8000-000000000001\",\"status\":\"CONFIRMED\",\"priceAtPurchase\":89999.99,\"orderDate\":\"2026-02-16T16:45:00Z\",\"carId\":\"3fa85f64-5717-4562-b3fc-2c963f66afa6\",\"make\":\"Tesla\",\"model\":\"Model S\",\"year\":2024,\"currentPrice\":87999.99,\"carInfoStatus\":\"AVAILABLE\"}],\"pagination\":{\"totalCount\":1,\"pageSize\":20,\"currentPage\":1,\"totalPages\":1},\"metadata\":{\"aggregationStatus\":200}}"))),
+                        @ApiResponse(responseCode = "503", description = "Order service unavailable - cannot retrieve orders", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"error\":\"Service unavailable\",\"service\":\"order\",\"message\":\"Order service is temporarily unavailable\"}"))),
+                        @ApiResponse(responseCode = "400", description = "Invalid user ID format or pagination parameters (page < 1 or size < 1 or size > 100)")
+        })
+        public Mono<ResponseEntity<UserOrderSummaryResponse>> getUserOrderSummary(
+                        @Parameter(name = "userId", description = "UUID of the user", required = true, example = "7c9e6679-7425-40de-944b-e07fc1f90ae7") @PathVariable UUID userId,
+                        @Parameter(name = "page", description = "Page number (1-indexed)", example = "1", required = false) @RequestParam(value = "page", defaultValue = "1") int page,
+                        @Parameter(name = "size", description = "Page size (1-100, default 20)", example = "20", required = false) @RequestParam(value = "size", defaultValue = "20") int size) {
+
+                log.info("API Request: GET /users/{}/orders/summary?page={}&size={}", userId, page, size);
+
+                // Validate pagination
+                if (page < 1) {
+                        log.warn("Invalid page number: {}", page);
+                        return Mono.just(ResponseEntity.badRequest().build());
+                }
+                if (size < 1 || size > 100) {
+                        log.warn("Invalid page size: {} (must be 1-100)", size);
+                        return Mono.just(ResponseEntity.badRequest().build());
+                }
+
+                return BlockingOffload.submit(() -> aggregationService.getUserOrderSummary(userId, page, size))
+                                .map(response -> {
+                                        log.debug("API Response 200: Order summary for user {}, {} orders", userId,
+                                                        response.getOrders().size());
+                                        return ResponseEntity.ok(response);
+                                })
+                                .doOnError(e -> log.error("API Error for user order summary: {}", userId, e));
+        }
+}
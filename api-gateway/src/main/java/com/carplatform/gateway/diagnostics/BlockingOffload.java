@@ -0,0 +1,73 @@
+package com.carplatform.gateway.diagnostics;
+
+import org.slf4j.MDC;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Blocking Offload
+ * 
+ * Runs blocking aggregation work on boundedElastic, like
+ * Mono.fromCallable(task).subscribeOn(Schedulers.boundedElastic()), while
+ * recording handler start, queue wait and handler time on the request's
+ * timeline and binding the timeline to the worker thread for client hops.
+ */
+public final class BlockingOffload {
+
+    private BlockingOffload() {
+    }
+
+    public static <T> Mono<T> submit(Callable<T> task) {
+        return Mono.deferContextual(context -> {
+            RequestTimeline timeline = context.getOrDefault(RequestTimeline.CONTEXT_KEY, null);
+            if (timeline == null) {
+                return Mono.fromCallable(task).subscribeOn(Schedulers.boundedElastic());
+            }
+            timeline.markHandlerStart();
+            return Mono.fromCallable(() -> {
+                timeline.markDispatched();
+                RequestTimeline.bind(timeline);
+                try {
+                    return task.call();
+                } finally {
+                    RequestTimeline.unbind();
+                    timeline.markHandlerEnd();
+                }
+            }).subscribeOn(Schedulers.boundedElastic());
+        });
+    }
+
+    /**
+     * Wrap a task so it runs with the calling thread's request timeline and
+     * MDC (trace ID) bound, for work a handler fans out to other threads
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        RequestTimeline timeline = RequestTimeline.current();
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            if (timeline != null) {
+                RequestTimeline.bind(timeline);
+            }
+            try {
+                return task.get();
+            } finally {
+                if (timeline != null) {
+                    RequestTimeline.unbind();
+                }
+                if (previous != null) {
+                    MDC.setContextMap(previous);
+                } else {
+                    MDC.clear();
+                }
+            }
+        };
+    }
+}
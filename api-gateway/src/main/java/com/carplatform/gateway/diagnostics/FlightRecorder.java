@@ -0,0 +1,165 @@
+package com.carplatform.gateway.diagnostics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Flight Recorder
+ * 
+ * Always-on, in-memory store of completed request timelines:
+ * - recent: ring buffer of the last N requests
+ * - slowest: the N slowest requests since start (or last clear)
+ * 
+ * Recording is a few array writes under short locks, cheap enough to leave
+ * on in production. Exposed through the "flightrecorder" actuator endpoint,
+ * which can also dump both sets to a JSON file.
+ */
+@Slf4j
+@Component
+public class FlightRecorder {
+
+    private static final DateTimeFormatter DUMP_FILE_TIME = DateTimeFormatter
+            .ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+
+    private final boolean enabled;
+    private final Path dumpDirectory;
+    private final RequestTimeline.FlightRecord[] recent;
+    private final int slowestCapacity;
+    private final PriorityQueue<RequestTimeline.FlightRecord> slowest;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private int recentNext;
+    private long recordedCount;
+
+    public FlightRecorder(
+            @Value("${gateway.flight-recorder.enabled:true}") boolean enabled,
+            @Value("${gateway.flight-recorder.recent-size:200}") int recentSize,
+            @Value("${gateway.flight-recorder.slowest-size:50}") int slowestSize,
+            @Value("${gateway.flight-recorder.dump-directory:logs/flight-recorder}") String dumpDirectory) {
+        this.enabled = enabled;
+        this.recent = new RequestTimeline.FlightRecord[Math.max(1, recentSize)];
+        this.slowestCapacity = Math.max(1, slowestSize);
+        this.slowest = new PriorityQueue<>(slowestCapacity + 1,
+                Comparator.comparingDouble(RequestTimeline.FlightRecord::totalMs));
+        this.dumpDirectory = Paths.get(dumpDirectory);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Store a completed request
+     */
+    public void record(RequestTimeline.FlightRecord record) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (recent) {
+            recent[recentNext] = record;
+            recentNext = (recentNext + 1) % recent.length;
+            recordedCount++;
+        }
+        synchronized (slowest) {
+            if (slowest.size() < slowestCapacity) {
+                slowest.add(record);
+            } else if (record.totalMs() > slowest.peek().totalMs()) {
+                slowest.poll();
+                slowest.add(record);
+            }
+        }
+    }
+
+    /**
+     * @return Most recent requests, newest first
+     */
+    public List<RequestTimeline.FlightRecord> recent() {
+        List<RequestTimeline.FlightRecord> result = new ArrayList<>(recent.length);
+        synchronized (recent) {
+            for (int i = 1; i <= recent.length; i++) {
+                RequestTimeline.FlightRecord record = recent[Math.floorMod(recentNext - i, recent.length)];
+                if (record == null) {
+                    break;
+                }
+                result.add(record);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return Slowest requests, slowest first
+     */
+    public List<RequestTimeline.FlightRecord> slowest() {
+        List<RequestTimeline.FlightRecord> result;
+        synchronized (slowest) {
+            result = new ArrayList<>(slowest);
+        }
+        result.sort(Comparator.comparingDouble(RequestTimeline.FlightRecord::totalMs).reversed());
+        return result;
+    }
+
+    /**
+     * @return Summary plus slowest and recent requests
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", enabled);
+        synchronized (recent) {
+            snapshot.put("recordedCount", recordedCount);
+        }
+        snapshot.put("slowest", slowest());
+        snapshot.put("recent", recent());
+        return snapshot;
+    }
+
+    /**
+     * Write the current snapshot to a timestamped JSON file in the dump
+     * directory
+     *
+     * @return Path of the written file
+     * @throws IOException if the file cannot be written
+     */
+    public Path dump() throws IOException {
+        Files.createDirectories(dumpDirectory);
+        Path file = dumpDirectory.resolve("flight-recorder-" + DUMP_FILE_TIME.format(Instant.now()) + ".json");
+        objectMapper.writeValue(file.toFile(), snapshot());
+        log.info("Flight recorder dumped to {}", file.toAbsolutePath());
+        return file;
+    }
+
+    /**
+     * Drop all recorded requests
+     */
+    public void clear() {
+        synchronized (recent) {
+            java.util.Arrays.fill(recent, null);
+            recentNext = 0;
+            recordedCount = 0;
+        }
+        synchronized (slowest) {
+            slowest.clear();
+        }
+    }
+}
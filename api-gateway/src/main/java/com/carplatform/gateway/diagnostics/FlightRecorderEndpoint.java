@@ -0,0 +1,42 @@
+package com.carplatform.gateway.diagnostics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Flight Recorder Actuator Endpoint
+ * 
+ * - GET    /actuator/flightrecorder → slowest and recent request timelines
+ * - POST   /actuator/flightrecorder → dump them to a JSON file
+ * - DELETE /actuator/flightrecorder → clear recorded requests
+ */
+@Component
+@Endpoint(id = "flightrecorder")
+public class FlightRecorderEndpoint {
+
+    @Autowired
+    private FlightRecorder flightRecorder;
+
+    @ReadOperation
+    public Map<String, Object> recorded() {
+        return flightRecorder.snapshot();
+    }
+
+    @WriteOperation
+    public Map<String, Object> dump() throws IOException {
+        return Map.of("file", flightRecorder.dump().toAbsolutePath().toString());
+    }
+
+    @DeleteOperation
+    public Map<String, Object> clear() {
+        flightRecorder.clear();
+        return Map.of("cleared", true);
+    }
+}
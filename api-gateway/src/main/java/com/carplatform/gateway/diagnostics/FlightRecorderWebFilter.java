@@ -0,0 +1,64 @@
+package com.carplatform.gateway.diagnostics;
+
+import com.carplatform.gateway.util.TraceIdManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Flight Recorder Web Filter
+ * 
+ * Opens a RequestTimeline for every request (aggregated and routed),
+ * publishes it to the Reactor context and exchange attributes, marks the
+ * response commit and hands the completed timeline to the FlightRecorder.
+ * 
+ * Runs ahead of every other WebFilter so "filter" time covers the whole
+ * filter chain.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class FlightRecorderWebFilter implements WebFilter {
+
+    @Autowired
+    private FlightRecorder flightRecorder;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!flightRecorder.isEnabled()) {
+            return chain.filter(exchange);
+        }
+
+        RequestTimeline timeline = new RequestTimeline(
+                requestId(exchange),
+                exchange.getRequest().getMethod().name(),
+                exchange.getRequest().getPath().value());
+        exchange.getAttributes().put(RequestTimeline.CONTEXT_KEY, timeline);
+        exchange.getResponse().beforeCommit(() -> {
+            timeline.markCommit();
+            return Mono.empty();
+        });
+
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(RequestTimeline.CONTEXT_KEY, timeline))
+                .doFinally(signalType -> {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    flightRecorder.record(timeline.complete(status != null ? status.value() : 200));
+                });
+    }
+
+    private String requestId(ServerWebExchange exchange) {
+        String traceId = exchange.getRequest().getHeaders().getFirst(TraceIdManager.getHeaderName());
+        if (traceId == null || traceId.isBlank()) {
+            traceId = exchange.getRequest().getHeaders().getFirst(TraceIdManager.getCorrelationHeaderName());
+        }
+        return traceId != null && !traceId.isBlank() ? traceId : UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,34 @@
+package com.carplatform.gateway.diagnostics;
+
+import com.carplatform.gateway.cache.HotKeyTracker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hot Keys Actuator Endpoint
+ * 
+ * GET /actuator/hotkeys → current top-K car IDs with estimated request
+ * counts (decayed), plus sketch dimensions
+ */
+@Component
+@Endpoint(id = "hotkeys")
+public class HotKeysEndpoint {
+
+    @Autowired
+    private HotKeyTracker hotKeyTracker;
+
+    @ReadOperation
+    public Map<String, Object> hotKeys() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", hotKeyTracker.isEnabled());
+        result.put("totalCount", hotKeyTracker.totalCount());
+        result.put("sketch", Map.of("depth", hotKeyTracker.sketchDepth(), "width", hotKeyTracker.sketchWidth()));
+        result.put("top", hotKeyTracker.topKeys());
+        return result;
+    }
+}
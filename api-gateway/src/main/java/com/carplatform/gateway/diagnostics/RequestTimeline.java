@@ -0,0 +1,167 @@
+package com.carplatform.gateway.diagnostics;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request Timeline
+ * 
+ * Per-request timing record filled in as the request moves through the
+ * gateway:
+ * - filter: request entry until the controller handler is subscribed
+ * - queue wait: handler submitted until a boundedElastic thread picks it up
+ * - handler: blocking aggregation work on the boundedElastic thread
+ * - hops: each downstream client call, one entry per retry attempt
+ * - serialization: handler result until the response is committed
+ * 
+ * The timeline travels in the Reactor context (and exchange attributes)
+ * and is bound to the worker thread while the handler runs, so client
+ * calls can append hops without any parameter threading.
+ */
+public final class RequestTimeline {
+
+    public static final String CONTEXT_KEY = RequestTimeline.class.getName();
+
+    private static final ThreadLocal<RequestTimeline> CURRENT = new ThreadLocal<>();
+
+    private final String requestId;
+    private final String method;
+    private final String path;
+    private final Instant startedAt = Instant.now();
+    private final long startNanos = System.nanoTime();
+    private final List<Hop> hops = new ArrayList<>();
+
+    private volatile long handlerStartNanos;
+    private volatile long dispatchNanos;
+    private volatile long handlerEndNanos;
+    private volatile long commitNanos;
+
+    public RequestTimeline(String requestId, String method, String path) {
+        this.requestId = requestId;
+        this.method = method;
+        this.path = path;
+    }
+
+    // ===================== Thread Binding =====================
+
+    /**
+     * @return Timeline bound to the current worker thread, or null
+     */
+    public static RequestTimeline current() {
+        return CURRENT.get();
+    }
+
+    static void bind(RequestTimeline timeline) {
+        CURRENT.set(timeline);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    // ===================== Marks =====================
+
+    void markHandlerStart() {
+        handlerStartNanos = System.nanoTime();
+    }
+
+    void markDispatched() {
+        dispatchNanos = System.nanoTime();
+    }
+
+    void markHandlerEnd() {
+        handlerEndNanos = System.nanoTime();
+    }
+
+    void markCommit() {
+        if (commitNanos == 0L) {
+            commitNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Record one downstream call attempt
+     *
+     * @param target    Client name (e.g. InventoryServiceClient)
+     * @param operation Client method
+     * @param startNanos System.nanoTime() when the call started
+     * @param outcome   SUCCESS or the exception simple name
+     */
+    public void recordHop(String target, String operation, long startNanos, String outcome) {
+        long endNanos = System.nanoTime();
+        synchronized (hops) {
+            int attempt = 1;
+            for (Hop hop : hops) {
+                if (hop.target().equals(target) && hop.operation().equals(operation)) {
+                    attempt++;
+                }
+            }
+            hops.add(new Hop(target, operation, attempt, millisSince(startNanos),
+                    toMillis(endNanos - startNanos), outcome));
+        }
+    }
+
+    // ===================== Completion =====================
+
+    /**
+     * Freeze the timeline into an immutable record
+     *
+     * @param status HTTP status sent to the client
+     * @return Completed record
+     */
+    FlightRecord complete(int status) {
+        long endNanos = System.nanoTime();
+        List<Hop> hopsCopy;
+        synchronized (hops) {
+            hopsCopy = List.copyOf(hops);
+        }
+        return new FlightRecord(
+                requestId,
+                method,
+                path,
+                status,
+                startedAt,
+                toMillis(endNanos - startNanos),
+                handlerStartNanos != 0L ? toMillis(handlerStartNanos - startNanos) : null,
+                dispatchNanos != 0L ? toMillis(dispatchNanos - handlerStartNanos) : null,
+                handlerEndNanos != 0L && dispatchNanos != 0L ? toMillis(handlerEndNanos - dispatchNanos) : null,
+                commitNanos != 0L && handlerEndNanos != 0L ? toMillis(commitNanos - handlerEndNanos) : null,
+                hopsCopy);
+    }
+
+    private double millisSince(long nanos) {
+        return toMillis(nanos - startNanos);
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    // ===================== Records =====================
+
+    /**
+     * One downstream call attempt
+     */
+    public record Hop(String target, String operation, int attempt, double startOffsetMs, double durationMs,
+            String outcome) {
+    }
+
+    /**
+     * Completed request with its per-phase breakdown (null phases did not
+     * apply, e.g. routed requests have no handler)
+     */
+    public record FlightRecord(
+            String requestId,
+            String method,
+            String path,
+            int status,
+            Instant startedAt,
+            double totalMs,
+            Double filterMs,
+            Double queueWaitMs,
+            Double handlerMs,
+            Double serializationMs,
+            List<Hop> hops) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.carplatform.gateway.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import java.io.Serializable;
 import java.math.BigDecimal;
@@ -33,6 +34,10 @@ public class CarDetailsAggregatedResponse implements Serializable {
     private AvailabilityInfo availability;
     private AggregationMetadata metadata;
 
+    // Strong validator derived from upstream versions, sent as the ETag header
+    @JsonIgnore
+    private String etag;
+
     // ===================== Constructors =====================
 
     public CarDetailsAggregatedResponse() {
@@ -147,6 +152,14 @@ public class CarDetailsAggregatedResponse implements Serializable {
         this.metadata = metadata;
     }
 
+    public String getEtag() {
+        return etag;
+    }
+
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+
     // ===================== Nested: AvailabilityInfo =====================
 
     @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -0,0 +1,68 @@
+package com.carplatform.gateway.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Car ID Export Response DTO
+ * 
+ * Represents the versioned car ID export as returned from the Catalog
+ * Service (GET /catalog/ids).
+ * A full export lists every car ID; a delta lists the cars created or
+ * changed since the requested version.
+ * 
+ */
+public class CarIdExportResponse implements Serializable {
+
+    private long version;
+    private boolean full;
+    private List<UUID> ids = new ArrayList<>();
+
+    // ===================== Constructors =====================
+
+    public CarIdExportResponse() {
+    }
+
+    public CarIdExportResponse(long version, boolean full, List<UUID> ids) {
+        this.version = version;
+        this.full = full;
+        this.ids = ids;
+    }
+
+    // ===================== Getters & Setters =====================
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    public void setFull(boolean full) {
+        this.full = full;
+    }
+
+    public List<UUID> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<UUID> ids) {
+        this.ids = ids;
+    }
+
+    @Override
+    public String toString() {
+        return "CarIdExportResponse{" +
+                "version=" + version +
+                ", full=" + full +
+                ", ids=" + (ids != null ? ids.size() : 0) +
+                '}';
+    }
+}
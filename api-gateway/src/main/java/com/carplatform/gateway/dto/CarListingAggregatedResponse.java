@@ -1,5 +1,6 @@
 package com.carplatform.gateway.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import java.io.Serializable;
 import java.math.BigDecimal;
@@ -26,6 +27,10 @@ public class CarListingAggregatedResponse implements Serializable {
     private PaginationInfo pagination;
     private AggregationMetadata metadata;
 
+    // Strong validator derived from upstream versions, sent as the ETag header
+    @JsonIgnore
+    private String etag;
+
     // ===================== Constructors =====================
 
     public CarListingAggregatedResponse() {
@@ -66,6 +71,14 @@ public class CarListingAggregatedResponse implements Serializable {
         this.metadata = metadata;
     }
 
+    public String getEtag() {
+        return etag;
+    }
+
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+
     // ===================== Nested: CarListItem =====================
 
     @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -123,6 +136,21 @@ public class CarListingAggregatedResponse implements Serializable {
             this.availableUnits = availableUnits;
         }
 
+        /**
+         * List item of a catalog car; every listing path (live or snapshot)
+         * builds its items here, so they serialize identically
+         */
+        public static CarListItem of(CarResponse car, String availabilityStatus, Integer availableUnits) {
+            return new CarListItem(
+                    car.getId(),
+                    car.getMake(),
+                    car.getModel(),
+                    car.getYear(),
+                    car.getPrice().doubleValue(),
+                    availabilityStatus,
+                    availableUnits);
+        }
+
         // ===== Getters & Setters =====
 
         public UUID getCarId() {
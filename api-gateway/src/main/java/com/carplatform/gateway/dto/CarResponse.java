@@ -2,6 +2,7 @@ package com.carplatform.gateway.dto;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.UUID;
 
 /**
@@ -19,6 +20,7 @@ public class CarResponse implements Serializable {
     private Integer year;
     private BigDecimal price;
     private String color;
+    private Instant lastUpdated; // Catalog version, used for aggregated ETags
 
     // ===================== Constructors =====================
 
@@ -88,6 +90,14 @@ public class CarResponse implements Serializable {
         this.color = color;
     }
 
+    public Instant getLastUpdated() {
+        return lastUpdated;
+    }
+
+    public void setLastUpdated(Instant lastUpdated) {
+        this.lastUpdated = lastUpdated;
+    }
+
     @Override
     public String toString() {
         return "CarResponse{" +
@@ -97,6 +107,7 @@ public class CarResponse implements Serializable {
                 ", year=" + year +
                 ", price=" + price +
                 ", color='" + color + '\'' +
+                ", lastUpdated=" + lastUpdated +
                 '}';
     }
 }
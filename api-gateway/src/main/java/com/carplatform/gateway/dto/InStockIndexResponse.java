@@ -0,0 +1,80 @@
+package com.carplatform.gateway.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * In-Stock Index Response DTO
+ * 
+ * Represents the versioned in-stock car index as returned from the Inventory
+ * Service (GET /inventory/in-stock).
+ * A full snapshot lists every in-stock car; a delta lists the cars whose
+ * stock changed since the requested version (less the inventory's safety
+ * lag, so it may repeat cars and keep the version).
+ * 
+ */
+public class InStockIndexResponse implements Serializable {
+
+    private long version;
+    private boolean full;
+    private List<UUID> inStock = new ArrayList<>();
+    private List<UUID> outOfStock = new ArrayList<>();
+
+    // ===================== Constructors =====================
+
+    public InStockIndexResponse() {
+    }
+
+    public InStockIndexResponse(long version, boolean full, List<UUID> inStock, List<UUID> outOfStock) {
+        this.version = version;
+        this.full = full;
+        this.inStock = inStock;
+        this.outOfStock = outOfStock;
+    }
+
+    // ===================== Getters & Setters =====================
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    public void setFull(boolean full) {
+        this.full = full;
+    }
+
+    public List<UUID> getInStock() {
+        return inStock;
+    }
+
+    public void setInStock(List<UUID> inStock) {
+        this.inStock = inStock;
+    }
+
+    public List<UUID> getOutOfStock() {
+        return outOfStock;
+    }
+
+    public void setOutOfStock(List<UUID> outOfStock) {
+        this.outOfStock = outOfStock;
+    }
+
+    @Override
+    public String toString() {
+        return "InStockIndexResponse{" +
+                "version=" + version +
+                ", full=" + full +
+                ", inStock=" + (inStock != null ? inStock.size() : 0) +
+                ", outOfStock=" + (outOfStock != null ? outOfStock.size() : 0) +
+                '}';
+    }
+}
@@ -2,6 +2,7 @@ package com.carplatform.gateway.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import java.io.Serializable;
+import java.time.Instant;
 import java.util.UUID;
 
 /**
@@ -20,6 +21,7 @@ public class InventoryAvailabilityResponse implements Serializable {
     private Integer totalUnits;
     private Integer availableUnits;
     private Integer reservedUnits;
+    private Instant lastUpdated; // Inventory version, used for aggregated ETags
 
     // ===================== Constructors =====================
 
@@ -90,6 +92,14 @@ public class InventoryAvailabilityResponse implements Serializable {
         this.reservedUnits = reservedUnits;
     }
 
+    public Instant getLastUpdated() {
+        return lastUpdated;
+    }
+
+    public void setLastUpdated(Instant lastUpdated) {
+        this.lastUpdated = lastUpdated;
+    }
+
     @Override
     public String toString() {
         return "InventoryAvailabilityResponse{" +
@@ -98,6 +108,7 @@ public class InventoryAvailabilityResponse implements Serializable {
                 ", totalUnits=" + totalUnits +
                 ", availableUnits=" + availableUnits +
                 ", reservedUnits=" + reservedUnits +
+                ", lastUpdated=" + lastUpdated +
                 '}';
     }
 }
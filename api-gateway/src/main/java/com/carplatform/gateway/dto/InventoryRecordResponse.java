@@ -0,0 +1,99 @@
+package com.carplatform.gateway.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Inventory Record Response DTO
+ * 
+ * Represents one inventory row (car at a location) as returned from the
+ * Inventory Service listing (GET /inventory).
+ * 
+ */
+public class InventoryRecordResponse implements Serializable {
+
+    private UUID inventoryId;
+    private UUID carId;
+    private int availableUnits;
+    private int reservedUnits;
+    private String location;
+    private Instant lastUpdated;
+
+    // ===================== Constructors =====================
+
+    public InventoryRecordResponse() {
+    }
+
+    public InventoryRecordResponse(UUID inventoryId, UUID carId, int availableUnits, int reservedUnits,
+            String location, Instant lastUpdated) {
+        this.inventoryId = inventoryId;
+        this.carId = carId;
+        this.availableUnits = availableUnits;
+        this.reservedUnits = reservedUnits;
+        this.location = location;
+        this.lastUpdated = lastUpdated;
+    }
+
+    // ===================== Getters & Setters =====================
+
+    public UUID getInventoryId() {
+        return inventoryId;
+    }
+
+    public void setInventoryId(UUID inventoryId) {
+        this.inventoryId = inventoryId;
+    }
+
+    public UUID getCarId() {
+        return carId;
+    }
+
+    public void setCarId(UUID carId) {
+        this.carId = carId;
+    }
+
+    public int getAvailableUnits() {
+        return availableUnits;
+    }
+
+    public void setAvailableUnits(int availableUnits) {
+        this.availableUnits = availableUnits;
+    }
+
+    public int getReservedUnits() {
+        return reservedUnits;
+    }
+
+    public void setReservedUnits(int reservedUnits) {
+        this.reservedUnits = reservedUnits;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public Instant getLastUpdated() {
+        return lastUpdated;
+    }
+
+    public void setLastUpdated(Instant lastUpdated) {
+        this.lastUpdated = lastUpdated;
+    }
+
+    @Override
+    public String toString() {
+        return "InventoryRecordResponse{" +
+                "inventoryId=" + inventoryId +
+                ", carId=" + carId +
+                ", availableUnits=" + availableUnits +
+                ", reservedUnits=" + reservedUnits +
+                ", location='" + location + '\'' +
+                ", lastUpdated=" + lastUpdated +
+                '}';
+    }
+}
@@ -0,0 +1,40 @@
+package com.carplatform.gateway.dto;
+
+import java.util.Locale;
+
+/**
+ * Sort options for the aggregated car listing
+ * 
+ * - DEFAULT: catalog order
+ * - AVAILABILITY: in-stock cars first, catalog order within each group
+ * - AVAILABILITY_PRICE_ASC / AVAILABILITY_PRICE_DESC: in-stock cars first,
+ * then by price
+ * 
+ * Availability-aware options are resolved against the gateway's cached
+ * in-stock index, so sorting the whole catalog needs no per-car lookups.
+ */
+public enum ListingSort {
+    DEFAULT,
+    AVAILABILITY,
+    AVAILABILITY_PRICE_ASC,
+    AVAILABILITY_PRICE_DESC;
+
+    /**
+     * Parse a request parameter value (case-insensitive, e.g.
+     * "availability_price_asc")
+     *
+     * @param value Raw parameter value
+     * @return Matching sort, DEFAULT for blank values
+     * @throws IllegalArgumentException if the value is not a known sort
+     */
+    public static ListingSort fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return DEFAULT;
+        }
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+
+    public boolean isAvailabilityAware() {
+        return this != DEFAULT;
+    }
+}
@@ -0,0 +1,118 @@
+package com.carplatform.gateway.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Order Response DTO
+ * 
+ * Represents an order as returned from the Order Service.
+ * This is a mapping DTO used internally in the Gateway.
+ * 
+ */
+public class OrderResponse implements Serializable {
+
+    private UUID orderId;
+    private UUID carId;
+    private UUID userId;
+    private BigDecimal priceAtPurchase;
+    private String status;
+    private Instant orderDate;
+    private Instant reservationExpiry;
+    private Instant lastUpdated;
+
+    // ===================== Constructors =====================
+
+    public OrderResponse() {
+    }
+
+    public OrderResponse(UUID orderId, UUID carId, UUID userId, BigDecimal priceAtPurchase, String status,
+            Instant orderDate) {
+        this.orderId = orderId;
+        this.carId = carId;
+        this.userId = userId;
+        this.priceAtPurchase = priceAtPurchase;
+        this.status = status;
+        this.orderDate = orderDate;
+    }
+
+    // ===================== Getters & Setters =====================
+
+    public UUID getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(UUID orderId) {
+        this.orderId = orderId;
+    }
+
+    public UUID getCarId() {
+        return carId;
+    }
+
+    public void setCarId(UUID carId) {
+        this.carId = carId;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public BigDecimal getPriceAtPurchase() {
+        return priceAtPurchase;
+    }
+
+    public void setPriceAtPurchase(BigDecimal priceAtPurchase) {
+        this.priceAtPurchase = priceAtPurchase;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Instant getOrderDate() {
+        return orderDate;
+    }
+
+    public void setOrderDate(Instant orderDate) {
+        this.orderDate = orderDate;
+    }
+
+    public Instant getReservationExpiry() {
+        return reservationExpiry;
+    }
+
+    public void setReservationExpiry(Instant reservationExpiry) {
+        this.reservationExpiry = reservationExpiry;
+    }
+
+    public Instant getLastUpdated() {
+        return lastUpdated;
+    }
+
+    public void setLastUpdated(Instant lastUpdated) {
+        this.lastUpdated = lastUpdated;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderResponse{" +
+                "orderId=" + orderId +
+                ", carId=" + carId +
+                ", userId=" + userId +
+                ", priceAtPurchase=" + priceAtPurchase +
+                ", status='" + status + '\'' +
+                ", orderDate=" + orderDate +
+                '}';
+    }
+}
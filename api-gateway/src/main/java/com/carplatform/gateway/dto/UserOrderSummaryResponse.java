@@ -0,0 +1,64 @@
+package com.carplatform.gateway.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import lombok.Data;
+
+/**
+ * Aggregated Response: User Order Summary
+ *
+ * Combines data from:
+ * - Order Service (the user's orders: status, price paid, dates)
+ * - Catalog Service (car make, model and current price, one batched lookup
+ *   per page)
+ *
+ * Used for the "My orders" page: one client round trip per page instead of
+ * one car lookup per order.
+ *
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserOrderSummaryResponse implements Serializable {
+
+    private UUID userId;
+    private List<OrderSummaryItem> orders = new ArrayList<>();
+    private CarListingAggregatedResponse.PaginationInfo pagination = new CarListingAggregatedResponse.PaginationInfo();
+    private AggregationMetadata metadata = new AggregationMetadata();
+
+    // ===================== Nested: OrderSummaryItem =====================
+
+    @Data
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class OrderSummaryItem implements Serializable {
+
+        private UUID orderId;
+        private String status;
+        private BigDecimal priceAtPurchase;
+        private Instant orderDate;
+        private Instant reservationExpiry;
+
+        // Car, enriched from the catalog
+        private UUID carId;
+        private String make;
+        private String model;
+        private Integer year;
+        private BigDecimal currentPrice;
+        private String carInfoStatus; // AVAILABLE | NOT_FOUND | UNKNOWN
+    }
+
+    // ===================== Nested: AggregationMetadata =====================
+
+    @Data
+    public static class AggregationMetadata implements Serializable {
+
+        private LocalDateTime aggregatedAt = LocalDateTime.now();
+        private String[] sources = new String[] { "order:v1", "catalog:v1" };
+        private int aggregationStatus = 200; // 206 when car details could not be fetched
+    }
+}
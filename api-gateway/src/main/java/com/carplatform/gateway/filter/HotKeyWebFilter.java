@@ -0,0 +1,53 @@
+package com.carplatform.gateway.filter;
+
+import com.carplatform.gateway.cache.HotKeyTracker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Hot Key Web Filter
+ * 
+ * Counts every car details request in the HotKeyTracker. Ordered before
+ * the ResponseCacheWebFilter: a cache hit never reaches the controller, and
+ * the hottest cars are exactly the ones served from the cache.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 15)
+public class HotKeyWebFilter implements WebFilter {
+
+    private static final PathPattern CAR_DETAILS = PathPatternParser.defaultInstance.parse("/cars/{carId}/details");
+
+    @Autowired
+    private HotKeyTracker hotKeyTracker;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (hotKeyTracker.isEnabled() && HttpMethod.GET.equals(exchange.getRequest().getMethod())) {
+            PathPattern.PathMatchInfo match = CAR_DETAILS.matchAndExtract(
+                    exchange.getRequest().getPath().pathWithinApplication());
+            if (match != null) {
+                record(match.getUriVariables().get("carId"));
+            }
+        }
+        return chain.filter(exchange);
+    }
+
+    private void record(String carId) {
+        try {
+            hotKeyTracker.record(UUID.fromString(carId));
+        } catch (IllegalArgumentException e) {
+            // Not a car ID; the controller answers 400
+        }
+    }
+}
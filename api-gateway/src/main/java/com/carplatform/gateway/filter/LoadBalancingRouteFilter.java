@@ -0,0 +1,70 @@
+package com.carplatform.gateway.filter;
+
+import com.carplatform.gateway.loadbalancer.LoadBalancerRegistry;
+import com.carplatform.gateway.loadbalancer.ServiceInstance;
+import com.carplatform.gateway.loadbalancer.ServiceInstancePool;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.RouteToRequestUrlFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+
+/**
+ * Load Balancing Route Filter
+ *
+ * Global filter that balances proxied route traffic across the instances
+ * of a downstream service. Routes keep their single configured uri; when
+ * that host:port belongs to a pool in {@link LoadBalancerRegistry}, the
+ * request URL is rewritten to the chosen instance.
+ *
+ * Execution Order: after RouteToRequestUrlFilter (which resolves the
+ * route's target URL) and before the Netty routing filter sends it
+ *
+ * Outcome: a 5xx response or a connection error counts as an instance
+ * failure; a cancelled exchange (client went away) only releases the slot.
+ */
+@Component
+public class LoadBalancingRouteFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = RouteToRequestUrlFilter.ROUTE_TO_URL_FILTER_ORDER + 100;
+
+    @Autowired
+    private LoadBalancerRegistry loadBalancerRegistry;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        URI url = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+        ServiceInstancePool pool = loadBalancerRegistry.poolFor(url);
+        ServiceInstance instance = pool != null ? pool.choose() : null;
+        if (instance == null) {
+            return chain.filter(exchange);
+        }
+
+        exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, instance.rewrite(url));
+        ServiceInstance.Call call = instance.begin();
+        return chain.filter(exchange)
+                .doOnSuccess(ignored -> {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    if (status != null && status.is5xxServerError()) {
+                        call.failure();
+                    } else {
+                        call.success();
+                    }
+                })
+                .doOnError(error -> call.failure())
+                .doFinally(signal -> call.cancel());
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
@@ -0,0 +1,181 @@
+package com.carplatform.gateway.filter;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Priority Admission Queue
+ * 
+ * Concurrency limiter that admits waiting requests highest priority first
+ * (FIFO within a priority).
+ * 
+ * - Below maxConcurrent: admitted immediately
+ * - Otherwise queued, up to maxQueue waiters
+ * - Queue full: the arrival displaces the lowest-priority waiter if it
+ *   outranks it, otherwise the arrival itself is rejected
+ * - Waiters not admitted within maxQueueWait are rejected
+ * 
+ * Rejections surface as {@link Rejected} errors on the acquire Mono.
+ */
+public class PriorityAdmissionQueue {
+
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final Duration maxQueueWait;
+
+    private final TreeSet<Waiter> waiting = new TreeSet<>(Comparator
+            .comparingInt((Waiter waiter) -> -waiter.priority)
+            .thenComparingLong(waiter -> waiter.sequence));
+    private int inFlight;
+    private long nextSequence;
+
+    public PriorityAdmissionQueue(int maxConcurrent, int maxQueue, Duration maxQueueWait) {
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.maxQueue = Math.max(0, maxQueue);
+        this.maxQueueWait = maxQueueWait;
+    }
+
+    /**
+     * Wait for an execution slot
+     *
+     * @param requestClass Class name (carried into rejections)
+     * @param priority     Higher is admitted first
+     * @return Permit to release when the request completes
+     */
+    public Mono<Permit> acquire(String requestClass, int priority) {
+        return Mono.<Permit>create(sink -> {
+            Permit granted = null;
+            Waiter queued = null;
+            Waiter displaced = null;
+            synchronized (this) {
+                if (inFlight < maxConcurrent && waiting.isEmpty()) {
+                    inFlight++;
+                    granted = new Permit();
+                } else {
+                    Waiter waiter = new Waiter(requestClass, priority, nextSequence++, sink);
+                    if (waiting.size() < maxQueue) {
+                        waiting.add(waiter);
+                        queued = waiter;
+                    } else if (!waiting.isEmpty() && priority > waiting.last().priority) {
+                        displaced = waiting.pollLast();
+                        waiting.add(waiter);
+                        queued = waiter;
+                    }
+                }
+            }
+
+            if (granted != null) {
+                sink.success(granted);
+                return;
+            }
+            if (queued == null) {
+                sink.error(new Rejected(requestClass, "queue_full"));
+                return;
+            }
+            if (displaced != null) {
+                displaced.sink.error(new Rejected(displaced.requestClass, "displaced"));
+            }
+            Waiter waiter = queued;
+            sink.onCancel(() -> cancel(waiter));
+        }).timeout(maxQueueWait, Mono.defer(() -> Mono.error(new Rejected(requestClass, "queue_timeout"))));
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    public synchronized int queued() {
+        return waiting.size();
+    }
+
+    private void release() {
+        Waiter next;
+        Permit handoff = null;
+        synchronized (this) {
+            next = waiting.pollFirst();
+            if (next == null) {
+                inFlight--;
+            } else {
+                handoff = new Permit();
+                next.granted = handoff;
+            }
+        }
+        if (next != null) {
+            next.sink.success(handoff);
+        }
+    }
+
+    private void cancel(Waiter waiter) {
+        Permit leaked;
+        synchronized (this) {
+            if (waiting.remove(waiter)) {
+                return;
+            }
+            leaked = waiter.granted;
+        }
+        // Slot was handed over just as the waiter gave up; pass it on
+        if (leaked != null) {
+            leaked.release();
+        }
+    }
+
+    // ===================== Permit / Waiter =====================
+
+    /**
+     * Execution slot; release is idempotent
+     */
+    public final class Permit {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                PriorityAdmissionQueue.this.release();
+            }
+        }
+    }
+
+    private static final class Waiter {
+        private final String requestClass;
+        private final int priority;
+        private final long sequence;
+        private final MonoSink<Permit> sink;
+        private Permit granted;
+
+        private Waiter(String requestClass, int priority, long sequence, MonoSink<Permit> sink) {
+            this.requestClass = requestClass;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.sink = sink;
+        }
+    }
+
+    /**
+     * Request was shed (queue full, displaced by a higher class, or waited
+     * too long)
+     */
+    public static final class Rejected extends RuntimeException {
+
+        private final String requestClass;
+        private final String reason;
+
+        public Rejected(String requestClass, String reason) {
+            super("Request class '" + requestClass + "' shed: " + reason, null, false, false);
+            this.requestClass = requestClass;
+            this.reason = reason;
+        }
+
+        public String getRequestClass() {
+            return requestClass;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.carplatform.gateway.filter;
+
+import com.carplatform.gateway.config.AdmissionProperties;
+import com.carplatform.gateway.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Priority Admission Web Filter
+ * 
+ * Classifies every request (aggregated and routed) into a configured
+ * priority class and admits it through a shared PriorityAdmissionQueue.
+ * Under overload the lowest classes wait or are shed first with
+ * 503 + Retry-After, so checkout traffic keeps its latency during a
+ * browsing spike.
+ * 
+ * Metrics (tag "class"):
+ * - carplatform.gateway.admission.admitted
+ * - carplatform.gateway.admission.rejected (extra tag "reason")
+ * - carplatform.gateway.admission.wait
+ * - carplatform.gateway.admission.in_flight / .queued (gauges)
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class PriorityAdmissionWebFilter implements WebFilter {
+
+    @Autowired
+    private AdmissionProperties properties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private PriorityAdmissionQueue queue;
+    private List<ClassMatcher> matchers;
+    private List<PathPattern> streamPatterns;
+
+    @PostConstruct
+    void init() {
+        queue = new PriorityAdmissionQueue(
+                properties.getMaxConcurrent(),
+                properties.getMaxQueue(),
+                Duration.ofMillis(properties.getMaxQueueWaitMs()));
+
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        matchers = new ArrayList<>();
+        for (AdmissionProperties.RequestClass requestClass : properties.getClasses()) {
+            matchers.add(new ClassMatcher(
+                    requestClass.getName(),
+                    requestClass.getPriority(),
+                    requestClass.getMethods().stream()
+                            .map(method -> method.toUpperCase(Locale.ROOT))
+                            .collect(Collectors.toSet()),
+                    requestClass.getPaths().stream().map(parser::parse).collect(Collectors.toList())));
+        }
+
+        streamPatterns = properties.getStreamPaths().stream().map(parser::parse).collect(Collectors.toList());
+
+        if (meterRegistry != null && properties.isEnabled()) {
+            Gauge.builder("carplatform.gateway.admission.in_flight", queue, PriorityAdmissionQueue::inFlight)
+                    .description("Requests currently admitted by the gateway")
+                    .register(meterRegistry);
+            Gauge.builder("carplatform.gateway.admission.queued", queue, PriorityAdmissionQueue::queued)
+                    .description("Requests waiting for admission")
+                    .register(meterRegistry);
+        }
+        log.info("Priority admission {}: maxConcurrent={}, maxQueue={}, classes={}",
+                properties.isEnabled() ? "enabled" : "disabled",
+                properties.getMaxConcurrent(), properties.getMaxQueue(),
+                matchers.stream().map(ClassMatcher::name).collect(Collectors.toList()));
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+
+        ClassMatcher requestClass = classify(exchange);
+        long waitStart = System.nanoTime();
+
+        return queue.acquire(requestClass.name(), requestClass.priority())
+                .onErrorResume(PriorityAdmissionQueue.Rejected.class, rejected -> {
+                    recordRejection(requestClass.name(), rejected.getReason());
+                    return reject(exchange, rejected).then(Mono.<PriorityAdmissionQueue.Permit>empty());
+                })
+                .flatMap(permit -> {
+                    recordAdmission(requestClass.name(), System.nanoTime() - waitStart);
+                    if (isStream(exchange)) {
+                        permit.release();
+                        return chain.filter(exchange);
+                    }
+                    return chain.filter(exchange).doFinally(signalType -> permit.release());
+                });
+    }
+
+    // ===================== Classification =====================
+
+    private ClassMatcher classify(ServerWebExchange exchange) {
+        String method = exchange.getRequest().getMethod().name();
+        PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+        for (ClassMatcher matcher : matchers) {
+            if (matcher.matches(method, path)) {
+                return matcher;
+            }
+        }
+        return new ClassMatcher(properties.getDefaultClass(), properties.getDefaultPriority(), Set.of(), List.of());
+    }
+
+    private boolean isStream(ServerWebExchange exchange) {
+        PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+        return streamPatterns.stream().anyMatch(pattern -> pattern.matches(path));
+    }
+
+    private record ClassMatcher(String name, int priority, Set<String> methods, List<PathPattern> paths) {
+
+        boolean matches(String method, PathContainer path) {
+            if (!methods.isEmpty() && !methods.contains(method)) {
+                return false;
+            }
+            return paths.stream().anyMatch(pattern -> pattern.matches(path));
+        }
+    }
+
+    // ===================== Rejection =====================
+
+    private Mono<Void> reject(ServerWebExchange exchange, PriorityAdmissionQueue.Rejected rejected) {
+        log.warn("Admission rejected: {} {} class={} reason={}",
+                exchange.getRequest().getMethod(), exchange.getRequest().getPath(),
+                rejected.getRequestClass(), rejected.getReason());
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(properties.getRetryAfterSeconds()));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+        ErrorResponse body = new ErrorResponse(
+                Instant.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "SERVICE_UNAVAILABLE",
+                "Gateway overloaded, please retry",
+                exchange.getRequest().getPath().value());
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(body);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+        } catch (Exception e) {
+            return response.setComplete();
+        }
+    }
+
+    // ===================== Metrics =====================
+
+    private void recordAdmission(String requestClass, long waitNanos) {
+        if (meterRegistry == null) {
+            return;
+        }
+        meterRegistry.counter("carplatform.gateway.admission.admitted", "class", requestClass).increment();
+        Timer.builder("carplatform.gateway.admission.wait")
+                .tag("class", requestClass)
+                .register(meterRegistry)
+                .record(Duration.ofNanos(waitNanos));
+    }
+
+    private void recordRejection(String requestClass, String reason) {
+        if (meterRegistry == null) {
+            return;
+        }
+        meterRegistry.counter("carplatform.gateway.admission.rejected", "class", requestClass, "reason", reason)
+                .increment();
+    }
+}
@@ -0,0 +1,238 @@
+package com.carplatform.gateway.filter;
+
+import com.carplatform.gateway.cache.EncodedResponseCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Response Cache Web Filter
+ * 
+ * Serves hot aggregated GET responses (listing pages, car details) from
+ * pre-encoded bytes:
+ * - Miss: the response body is captured once, gzip-compressed if the client
+ *   accepts it, stored per (request, encoding) and written out
+ * - Hit: stored bytes are wrapped and written directly, with no Jackson or
+ *   compression work; a matching If-None-Match gets 304
+ * 
+ * Only 200 responses that carry an ETag are stored, so degraded (206) or
+ * fallback data is never replayed.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class ResponseCacheWebFilter implements WebFilter {
+
+    private static final String GZIP = "gzip";
+    private static final String IDENTITY = "identity";
+
+    @Autowired
+    private EncodedResponseCache cache;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${gateway.response-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gateway.response-cache.paths:/cars/listing,/cars/*/details}")
+    private List<String> paths;
+
+    @Value("${gateway.response-cache.gzip-min-bytes:1024}")
+    private int gzipMinBytes;
+
+    private List<PathPattern> patterns;
+
+    @PostConstruct
+    void init() {
+        patterns = paths.stream().map(PathPatternParser.defaultInstance::parse).collect(Collectors.toList());
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!enabled || !HttpMethod.GET.equals(request.getMethod()) || !isCacheable(request)) {
+            return chain.filter(exchange);
+        }
+
+        String encoding = acceptsGzip(request) ? GZIP : IDENTITY;
+        String key = request.getPath().value() + '?' + request.getURI().getRawQuery() + '|' + encoding;
+
+        EncodedResponseCache.Entry entry = cache.get(key);
+        if (entry != null) {
+            count("carplatform.gateway.response_cache.hits", encoding);
+            return writeCached(exchange, entry);
+        }
+        count("carplatform.gateway.response_cache.misses", encoding);
+        return chain.filter(exchange.mutate().response(new CapturingResponse(exchange.getResponse(), key,
+                encoding)).build());
+    }
+
+    private boolean isCacheable(ServerHttpRequest request) {
+        String cacheControl = request.getHeaders().getCacheControl();
+        if (cacheControl != null && cacheControl.contains("no-cache")) {
+            return false;
+        }
+        return patterns.stream().anyMatch(pattern -> pattern.matches(request.getPath().pathWithinApplication()));
+    }
+
+    private static boolean acceptsGzip(ServerHttpRequest request) {
+        return acceptsGzip(request.getHeaders().getOrEmpty(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    /**
+     * Whether Accept-Encoding allows gzip: an explicit gzip entry decides by
+     * its q-value, otherwise a "*" entry does; q=0 (0.0, 0.000) refuses
+     */
+    static boolean acceptsGzip(List<String> acceptEncoding) {
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String value : acceptEncoding) {
+            for (String token : value.split(",")) {
+                String[] parts = token.trim().toLowerCase(Locale.ROOT).split(";");
+                String coding = parts[0].trim();
+                if (coding.equals(GZIP)) {
+                    gzipQuality = quality(parts);
+                } else if (coding.equals("*")) {
+                    wildcardQuality = quality(parts);
+                }
+            }
+        }
+        if (gzipQuality != null) {
+            return gzipQuality > 0;
+        }
+        return wildcardQuality != null && wildcardQuality > 0;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    // Malformed weight: do not risk sending an encoding the client refused
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    // ===================== Hit =====================
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, EncodedResponseCache.Entry entry) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(entry.etag());
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        headers.set("X-Cache", "HIT");
+
+        List<String> ifNoneMatch = exchange.getRequest().getHeaders().getIfNoneMatch();
+        if (ifNoneMatch.contains(entry.etag()) || ifNoneMatch.contains("*")) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatus.OK);
+        headers.set(HttpHeaders.CONTENT_TYPE, entry.contentType());
+        if (entry.contentEncoding() != null) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, entry.contentEncoding());
+        }
+        headers.setContentLength(entry.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(entry.body())));
+    }
+
+    // ===================== Miss =====================
+
+    /**
+     * Captures the body written by the handler, encodes it once, stores it
+     * and writes the encoded bytes to the client
+     */
+    private final class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private final String key;
+        private final String encoding;
+
+        private CapturingResponse(ServerHttpResponse delegate, String key, String encoding) {
+            super(delegate);
+            this.key = key;
+            this.encoding = encoding;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatus status = HttpStatus.resolve(getStatusCode() != null ? getStatusCode().value() : 200);
+            String etag = getHeaders().getETag();
+            if (status != HttpStatus.OK || etag == null || getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)) {
+                return super.writeWith(body);
+            }
+
+            return DataBufferUtils.join(body).flatMap(joined -> {
+                byte[] identity = new byte[joined.readableByteCount()];
+                joined.read(identity);
+                DataBufferUtils.release(joined);
+
+                byte[] encoded = identity;
+                String contentEncoding = null;
+                if (GZIP.equals(encoding) && identity.length >= gzipMinBytes) {
+                    encoded = gzip(identity);
+                    contentEncoding = GZIP;
+                    getHeaders().set(HttpHeaders.CONTENT_ENCODING, GZIP);
+                }
+                getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                getHeaders().setContentLength(encoded.length);
+                getHeaders().set("X-Cache", "MISS");
+
+                String contentType = getHeaders().getContentType() != null
+                        ? getHeaders().getContentType().toString()
+                        : "application/json";
+                cache.put(key, encoded, contentType, contentEncoding, etag);
+                return super.writeWith(Mono.just(bufferFactory().wrap(encoded)));
+            });
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new IllegalStateException("gzip failed", e);
+        }
+        return out.toByteArray();
+    }
+
+    private void count(String name, String encoding) {
+        if (meterRegistry != null) {
+            meterRegistry.counter(name, "encoding", encoding).increment();
+        }
+    }
+}
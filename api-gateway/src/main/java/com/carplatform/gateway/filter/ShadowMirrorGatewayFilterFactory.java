@@ -0,0 +1,240 @@
+package com.carplatform.gateway.filter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shadow Mirror Gateway Filter Factory
+ * 
+ * Route filter that mirrors a percentage of GET requests to a shadow
+ * upstream (e.g. a candidate catalog or inventory build) and discards the
+ * shadow response.
+ * 
+ * The shadow call is fire-and-forget on a separate subscription: the
+ * primary exchange never waits for it. When both finish, latency and
+ * status code of primary vs shadow are compared and exported:
+ * - carplatform.gateway.shadow.latency (tag target=primary|shadow)
+ * - carplatform.gateway.shadow.latency.diff (shadow - primary, ms)
+ * - carplatform.gateway.shadow.status (tag match=true|false)
+ * - carplatform.gateway.shadow.errors / .skipped
+ * 
+ * The shadow upstream is a candidate build, not a trusted service, so
+ * credential headers (Authorization, Cookie, API keys and the like) are
+ * removed from the mirrored copy unless forwardCredentials is set.
+ * 
+ * Usage in a route:
+ * filters:
+ *   - name: ShadowMirror
+ *     args:
+ *       shadowUri: http://inventory-candidate:8082
+ *       percentage: 5
+ */
+@Slf4j
+@Component
+public class ShadowMirrorGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ShadowMirrorGatewayFilterFactory.Config> {
+
+    // Never sent to the shadow upstream unless forwardCredentials is set
+    static final List<String> CREDENTIAL_HEADERS = List.of(
+            HttpHeaders.AUTHORIZATION,
+            HttpHeaders.PROXY_AUTHORIZATION,
+            HttpHeaders.COOKIE,
+            "X-Api-Key",
+            "X-Auth-Token",
+            "X-Amz-Security-Token");
+
+    private final WebClient webClient;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    public ShadowMirrorGatewayFilterFactory(WebClient.Builder webClientBuilder) {
+        super(Config.class);
+        this.webClient = webClientBuilder.build();
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Semaphore inFlight = new Semaphore(Math.max(1, config.getMaxInFlight()));
+
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (config.getShadowUri() == null || config.getPercentage() <= 0
+                    || !HttpMethod.GET.equals(request.getMethod())
+                    || ThreadLocalRandom.current().nextDouble(100.0) >= config.getPercentage()) {
+                return chain.filter(exchange);
+            }
+
+            String routeId = routeId(exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR));
+            if (!inFlight.tryAcquire()) {
+                increment("carplatform.gateway.shadow.skipped", routeId);
+                return chain.filter(exchange);
+            }
+
+            Sinks.One<Outcome> primaryOutcome = Sinks.one();
+            mirror(config, request, routeId, primaryOutcome.asMono(), inFlight);
+
+            long primaryStart = System.nanoTime();
+            return chain.filter(exchange).doFinally(signalType -> {
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                primaryOutcome.tryEmitValue(new Outcome(status != null ? status.value() : 0,
+                        System.nanoTime() - primaryStart));
+            });
+        };
+    }
+
+    /**
+     * Send the shadow copy and compare it with the primary once both finish
+     */
+    private void mirror(Config config, ServerHttpRequest request, String routeId, Mono<Outcome> primary,
+            Semaphore inFlight) {
+        URI shadowUri = UriComponentsBuilder.fromUri(URI.create(config.getShadowUri()))
+                .path(request.getPath().value())
+                .query(request.getURI().getRawQuery())
+                .build(true)
+                .toUri();
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(request.getHeaders());
+        headers.remove(HttpHeaders.HOST);
+        if (!config.isForwardCredentials()) {
+            CREDENTIAL_HEADERS.forEach(headers::remove);
+        }
+        headers.set("X-Shadow-Request", "true");
+
+        long shadowStart = System.nanoTime();
+        Mono<Outcome> shadow = webClient.get()
+                .uri(shadowUri)
+                .headers(target -> target.addAll(headers))
+                .exchangeToMono(response -> response.releaseBody()
+                        .thenReturn(new Outcome(response.statusCode().value(), System.nanoTime() - shadowStart)))
+                .timeout(Duration.ofMillis(config.getTimeoutMs()));
+
+        Mono.zip(primary, shadow)
+                .subscribeOn(Schedulers.parallel())
+                .doFinally(signalType -> inFlight.release())
+                .subscribe(
+                        outcomes -> record(routeId, outcomes.getT1(), outcomes.getT2()),
+                        error -> {
+                            log.debug("Shadow request {} failed: {}", shadowUri, error.toString());
+                            increment("carplatform.gateway.shadow.errors", routeId);
+                        });
+    }
+
+    // ===================== Metrics =====================
+
+    private void record(String routeId, Outcome primary, Outcome shadow) {
+        if (meterRegistry == null) {
+            return;
+        }
+        meterRegistry.timer("carplatform.gateway.shadow.latency", "route", routeId, "target", "primary")
+                .record(primary.latencyNanos(), TimeUnit.NANOSECONDS);
+        meterRegistry.timer("carplatform.gateway.shadow.latency", "route", routeId, "target", "shadow")
+                .record(shadow.latencyNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("carplatform.gateway.shadow.latency.diff")
+                .description("Shadow minus primary latency; positive means the shadow is slower")
+                .baseUnit("milliseconds")
+                .tag("route", routeId)
+                .register(meterRegistry)
+                .record((shadow.latencyNanos() - primary.latencyNanos()) / 1_000_000.0);
+        meterRegistry.counter("carplatform.gateway.shadow.status", "route", routeId,
+                "match", String.valueOf(primary.status() == shadow.status()),
+                "primary", String.valueOf(primary.status()),
+                "shadow", String.valueOf(shadow.status()))
+                .increment();
+    }
+
+    private void increment(String name, String routeId) {
+        if (meterRegistry != null) {
+            meterRegistry.counter(name, "route", routeId).increment();
+        }
+    }
+
+    private static String routeId(Object route) {
+        return route instanceof Route r ? r.getId() : "unknown";
+    }
+
+    private record Outcome(int status, long latencyNanos) {
+    }
+
+    // ===================== Config =====================
+
+    public static class Config {
+
+        // Base URI of the shadow upstream; the request path and query are appended
+        private String shadowUri;
+
+        // Share of GET requests mirrored, 0-100
+        private double percentage = 0;
+
+        private long timeoutMs = 5000;
+
+        // Mirrors outstanding at once; beyond this requests are not mirrored
+        private int maxInFlight = 50;
+
+        // Send credential headers to the shadow too (only for a trusted shadow)
+        private boolean forwardCredentials = false;
+
+        public String getShadowUri() {
+            return shadowUri;
+        }
+
+        public void setShadowUri(String shadowUri) {
+            this.shadowUri = shadowUri;
+        }
+
+        public double getPercentage() {
+            return percentage;
+        }
+
+        public void setPercentage(double percentage) {
+            this.percentage = percentage;
+        }
+
+        public long getTimeoutMs() {
+            return timeoutMs;
+        }
+
+        public void setTimeoutMs(long timeoutMs) {
+            this.timeoutMs = timeoutMs;
+        }
+
+        public int getMaxInFlight() {
+            return maxInFlight;
+        }
+
+        public void setMaxInFlight(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+        }
+
+        public boolean isForwardCredentials() {
+            return forwardCredentials;
+        }
+
+        public void setForwardCredentials(boolean forwardCredentials) {
+            this.forwardCredentials = forwardCredentials;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.carplatform.gateway.loadbalancer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Load Balancer Registry
+ *
+ * Client-side load balancing for the downstream services, shared by the
+ * gateway routes ({@link com.carplatform.gateway.filter.LoadBalancingRouteFilter})
+ * and the aggregation WebClients ({@link #exchangeFilter()}).
+ *
+ * Routes and clients keep pointing at one logical URL per service
+ * (gateway.load-balancer.services.<name>.url); a request to that
+ * host:port is sent to an instance chosen from the service's pool instead.
+ * A service without instances configured is not balanced.
+ *
+ * Configuration per service:
+ * - instances: comma-separated instance URLs
+ * - instances-file: file with one instance URL per line, re-read on change
+ */
+@Slf4j
+@Component
+public class LoadBalancerRegistry {
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${gateway.load-balancer.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gateway.load-balancer.service-names:catalog,inventory,order,user}")
+    private String serviceNames;
+
+    @Value("${gateway.load-balancer.file-check-interval-ms:5000}")
+    private long fileCheckIntervalMs;
+
+    @Value("${gateway.load-balancer.ejection.consecutive-failures:5}")
+    private int failuresBeforeEjection;
+
+    @Value("${gateway.load-balancer.ejection.base-ms:10000}")
+    private long baseEjectionMs;
+
+    @Value("${gateway.load-balancer.ejection.max-ms:120000}")
+    private long maxEjectionMs;
+
+    // host:port of the logical URL → pool
+    private final Map<String, ServiceInstancePool> poolsByAuthority = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            log.info("Load balancer: disabled");
+            return;
+        }
+        for (String name : serviceNames.split(",")) {
+            String service = name.trim();
+            if (service.isEmpty()) {
+                continue;
+            }
+            String prefix = "gateway.load-balancer.services." + service + ".";
+            String url = environment.getProperty(prefix + "url", "");
+            String instances = environment.getProperty(prefix + "instances", "");
+            String instancesFile = environment.getProperty(prefix + "instances-file", "");
+            if (url.isBlank() || (instances.isBlank() && instancesFile.isBlank())) {
+                continue;
+            }
+
+            URI logicalUri = URI.create(url.trim());
+            List<String> staticInstances = instances.isBlank() ? List.of() : Arrays.asList(instances.split(","));
+            ServiceInstancePool pool = new ServiceInstancePool(service, logicalUri, staticInstances,
+                    instancesFile.isBlank() ? null : Path.of(instancesFile.trim()), fileCheckIntervalMs,
+                    failuresBeforeEjection, baseEjectionMs, maxEjectionMs, meterRegistry);
+            poolsByAuthority.put(authority(logicalUri), pool);
+        }
+    }
+
+    // ===================== LOOKUP =====================
+
+    /**
+     * @param uri Request URI (route target or client request)
+     * @return Pool balancing the URI's host:port, or null if not balanced
+     */
+    public ServiceInstancePool poolFor(URI uri) {
+        if (uri == null || uri.getHost() == null || poolsByAuthority.isEmpty()) {
+            return null;
+        }
+        return poolsByAuthority.get(authority(uri));
+    }
+
+    public Collection<ServiceInstancePool> getPools() {
+        return poolsByAuthority.values();
+    }
+
+    // ===================== WEBCLIENT FILTER =====================
+
+    /**
+     * WebClient filter that sends requests for a balanced service to the
+     * chosen instance and feeds the outcome back into its health state
+     * (connection errors and 5xx responses count as failures)
+     */
+    public ExchangeFilterFunction exchangeFilter() {
+        return (request, next) -> {
+            ServiceInstancePool pool = poolFor(request.url());
+            ServiceInstance instance = pool != null ? pool.choose() : null;
+            if (instance == null) {
+                return next.exchange(request);
+            }
+
+            ClientRequest routed = ClientRequest.from(request).url(instance.rewrite(request.url())).build();
+            return Mono.defer(() -> {
+                ServiceInstance.Call call = instance.begin();
+                return next.exchange(routed)
+                        .doOnNext(response -> {
+                            if (response.statusCode().is5xxServerError()) {
+                                call.failure();
+                            } else {
+                                call.success();
+                            }
+                        })
+                        .doOnError(error -> call.failure())
+                        .doFinally(signal -> call.cancel());
+            });
+        };
+    }
+
+    static String authority(URI uri) {
+        int port = uri.getPort();
+        if (port == -1) {
+            port = "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        }
+        return uri.getHost().toLowerCase(Locale.ROOT) + ":" + port;
+    }
+}
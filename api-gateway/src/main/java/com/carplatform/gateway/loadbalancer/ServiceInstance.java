@@ -0,0 +1,225 @@
+package com.carplatform.gateway.loadbalancer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service Instance
+ *
+ * One downstream instance (scheme://host:port) of a balanced service, with
+ * the passive health state the pool selects on:
+ * - outstanding requests (in flight right now)
+ * - EWMA latency of completed requests
+ * - consecutive failures (connection errors and 5xx responses)
+ * - ejection deadline after too many consecutive failures
+ *
+ * Ejection time doubles with every ejection that is not followed by a
+ * success, capped at the configured maximum.
+ */
+@Slf4j
+public class ServiceInstance {
+
+    private static final double EWMA_WEIGHT = 0.2;
+
+    private final String service;
+    private final URI uri;
+    private final String id;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final Timer latencyTimer;
+    private final Counter failureCounter;
+    private final Counter ejectionCounter;
+
+    private final int failuresBeforeEjection;
+    private final long baseEjectionMs;
+    private final long maxEjectionMs;
+
+    private volatile double ewmaMillis;
+    private volatile long ejectedUntil;
+    private int ejections;
+
+    ServiceInstance(String service, URI uri, int failuresBeforeEjection, long baseEjectionMs, long maxEjectionMs,
+            MeterRegistry meterRegistry) {
+        this.service = service;
+        this.uri = uri;
+        this.failuresBeforeEjection = Math.max(1, failuresBeforeEjection);
+        this.baseEjectionMs = Math.max(1L, baseEjectionMs);
+        this.maxEjectionMs = Math.max(this.baseEjectionMs, maxEjectionMs);
+        this.id = uri.getHost() + ":" + port(uri);
+        if (meterRegistry != null) {
+            this.latencyTimer = meterRegistry.timer("carplatform.gateway.lb.latency", "service", service,
+                    "instance", id);
+            this.failureCounter = meterRegistry.counter("carplatform.gateway.lb.failures", "service", service,
+                    "instance", id);
+            this.ejectionCounter = meterRegistry.counter("carplatform.gateway.lb.ejections", "service", service,
+                    "instance", id);
+            Gauge.builder("carplatform.gateway.lb.outstanding", outstanding, AtomicInteger::get)
+                    .description("Requests in flight to a downstream instance")
+                    .tags("service", service, "instance", id)
+                    .register(meterRegistry);
+            Gauge.builder("carplatform.gateway.lb.ejected", this, instance -> instance.isEjected() ? 1 : 0)
+                    .description("1 while a downstream instance is ejected as an outlier")
+                    .tags("service", service, "instance", id)
+                    .register(meterRegistry);
+        } else {
+            this.latencyTimer = null;
+            this.failureCounter = null;
+            this.ejectionCounter = null;
+        }
+    }
+
+    // ===================== SELECTION STATE =====================
+
+    public URI getUri() {
+        return uri;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    public double getEwmaMillis() {
+        return ewmaMillis;
+    }
+
+    public boolean isEjected() {
+        return ejectedUntil > System.currentTimeMillis();
+    }
+
+    long getEjectedUntil() {
+        return ejectedUntil;
+    }
+
+    /**
+     * Load score used by the power-of-two-choices comparison: outstanding
+     * requests weighted by observed latency, so a slow instance with few
+     * requests in flight still loses against a fast one
+     */
+    double score() {
+        return (outstanding.get() + 1) * Math.max(ewmaMillis, 1.0);
+    }
+
+    /**
+     * Rewrite a request URI to target this instance, keeping path and query
+     */
+    public URI rewrite(URI original) {
+        StringBuilder target = new StringBuilder(uri.getScheme()).append("://").append(uri.getRawAuthority());
+        if (original.getRawPath() != null) {
+            target.append(original.getRawPath());
+        }
+        if (original.getRawQuery() != null) {
+            target.append('?').append(original.getRawQuery());
+        }
+        return URI.create(target.toString());
+    }
+
+    // ===================== CALL TRACKING =====================
+
+    /**
+     * Start a call; the returned handle must be finished exactly once
+     * (further calls are ignored)
+     */
+    public Call begin() {
+        outstanding.incrementAndGet();
+        return new Call(System.nanoTime());
+    }
+
+    private void complete(long elapsedNanos, Boolean success) {
+        outstanding.decrementAndGet();
+        double millis = elapsedNanos / 1_000_000.0;
+        double previous = ewmaMillis;
+        ewmaMillis = previous == 0.0 ? millis : previous + EWMA_WEIGHT * (millis - previous);
+        if (latencyTimer != null) {
+            latencyTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+        if (success == null) {
+            return; // cancelled: latency counts, outcome does not
+        }
+        if (success) {
+            consecutiveFailures.set(0);
+            if (!isEjected()) {
+                synchronized (this) {
+                    ejections = 0;
+                }
+            }
+            return;
+        }
+
+        if (failureCounter != null) {
+            failureCounter.increment();
+        }
+        if (consecutiveFailures.incrementAndGet() >= failuresBeforeEjection) {
+            eject();
+        }
+    }
+
+    private synchronized void eject() {
+        if (isEjected()) {
+            return;
+        }
+        long duration = Math.min(maxEjectionMs, baseEjectionMs << Math.min(ejections, 16));
+        ejections++;
+        ejectedUntil = System.currentTimeMillis() + duration;
+        consecutiveFailures.set(0);
+        if (ejectionCounter != null) {
+            ejectionCounter.increment();
+        }
+        log.warn("Load balancer: ejecting {} instance {} for {}ms after consecutive failures",
+                service, id, duration);
+    }
+
+    private static int port(URI uri) {
+        if (uri.getPort() != -1) {
+            return uri.getPort();
+        }
+        return "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+    }
+
+    /**
+     * In-flight call handle
+     */
+    public final class Call {
+
+        private final long startNanos;
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        private Call(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        public ServiceInstance instance() {
+            return ServiceInstance.this;
+        }
+
+        public void success() {
+            finish(Boolean.TRUE);
+        }
+
+        public void failure() {
+            finish(Boolean.FALSE);
+        }
+
+        public void cancel() {
+            finish(null);
+        }
+
+        private void finish(Boolean outcome) {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            complete(System.nanoTime() - startNanos, outcome);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.carplatform.gateway.loadbalancer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Service Instance Pool
+ *
+ * The instances of one downstream service and the selection over them.
+ *
+ * Instance list:
+ * - Static: comma-separated URLs from configuration
+ * - File: one URL per line ('#' comments allowed), re-read when the file's
+ *   modification time changes; a missing or empty file keeps the last list
+ *
+ * Selection (power of two choices):
+ * - Pick two distinct non-ejected instances at random
+ * - Keep the one with the lower load score (outstanding requests weighted
+ *   by EWMA latency)
+ * - If every instance is ejected, select among all of them rather than
+ *   failing the request outright
+ */
+@Slf4j
+public class ServiceInstancePool {
+
+    private final String service;
+    private final URI logicalUri;
+    private final Path instancesFile;
+    private final long fileCheckIntervalMs;
+    private final int failuresBeforeEjection;
+    private final long baseEjectionMs;
+    private final long maxEjectionMs;
+    private final MeterRegistry meterRegistry;
+
+    // Instances ever seen, reused when a URL comes back so metrics stay bound
+    private final Map<URI, ServiceInstance> known = new HashMap<>();
+
+    private volatile ServiceInstance[] instances = new ServiceInstance[0];
+    private volatile long nextFileCheck;
+    private long fileModified = -1L;
+
+    public ServiceInstancePool(String service, URI logicalUri, List<String> staticInstances, Path instancesFile,
+            long fileCheckIntervalMs, int failuresBeforeEjection, long baseEjectionMs, long maxEjectionMs,
+            MeterRegistry meterRegistry) {
+        this.service = service;
+        this.logicalUri = logicalUri;
+        this.instancesFile = instancesFile;
+        this.fileCheckIntervalMs = fileCheckIntervalMs;
+        this.failuresBeforeEjection = failuresBeforeEjection;
+        this.baseEjectionMs = baseEjectionMs;
+        this.maxEjectionMs = maxEjectionMs;
+        this.meterRegistry = meterRegistry;
+        update(staticInstances);
+        reloadFileIfChanged();
+    }
+
+    public String getService() {
+        return service;
+    }
+
+    /**
+     * @return URL the routes and clients are configured with; requests to
+     *         this authority are balanced across the pool
+     */
+    public URI getLogicalUri() {
+        return logicalUri;
+    }
+
+    public List<ServiceInstance> getInstances() {
+        return List.of(instances);
+    }
+
+    // ===================== SELECTION =====================
+
+    /**
+     * Choose an instance for the next request
+     *
+     * @return Chosen instance, or null when the pool is empty
+     */
+    public ServiceInstance choose() {
+        if (instancesFile != null && System.currentTimeMillis() >= nextFileCheck) {
+            reloadFileIfChanged();
+        }
+
+        ServiceInstance[] current = instances;
+        if (current.length == 0) {
+            return null;
+        }
+        if (current.length == 1) {
+            return current[0];
+        }
+
+        ServiceInstance[] candidates = available(current);
+        if (candidates.length == 1) {
+            return candidates[0];
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.length);
+        int second = random.nextInt(candidates.length - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = candidates[first];
+        ServiceInstance b = candidates[second];
+        return a.score() <= b.score() ? a : b;
+    }
+
+    private static ServiceInstance[] available(ServiceInstance[] current) {
+        int healthy = 0;
+        for (ServiceInstance instance : current) {
+            if (!instance.isEjected()) {
+                healthy++;
+            }
+        }
+        if (healthy == current.length || healthy == 0) {
+            return current; // nothing ejected, or all ejected (panic: use every instance)
+        }
+        ServiceInstance[] result = new ServiceInstance[healthy];
+        int i = 0;
+        for (ServiceInstance instance : current) {
+            if (!instance.isEjected()) {
+                result[i++] = instance;
+            }
+        }
+        return result;
+    }
+
+    // ===================== INSTANCE LIST =====================
+
+    private synchronized void update(List<String> urls) {
+        Set<URI> uris = new LinkedHashSet<>();
+        for (String url : urls) {
+            String trimmed = url.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            try {
+                URI uri = URI.create(trimmed);
+                if (uri.getHost() == null) {
+                    throw new IllegalArgumentException("no host");
+                }
+                uris.add(URI.create(uri.getScheme() + "://" + uri.getRawAuthority()));
+            } catch (IllegalArgumentException e) {
+                log.warn("Load balancer: ignoring invalid {} instance '{}': {}", service, trimmed, e.getMessage());
+            }
+        }
+        if (uris.isEmpty()) {
+            return;
+        }
+
+        List<ServiceInstance> next = new ArrayList<>(uris.size());
+        for (URI uri : uris) {
+            next.add(known.computeIfAbsent(uri, key -> new ServiceInstance(service, key, failuresBeforeEjection,
+                    baseEjectionMs, maxEjectionMs, meterRegistry)));
+        }
+        instances = next.toArray(new ServiceInstance[0]);
+        log.info("Load balancer: {} instances {}", service, uris);
+    }
+
+    private synchronized void reloadFileIfChanged() {
+        if (instancesFile == null) {
+            return;
+        }
+        nextFileCheck = System.currentTimeMillis() + fileCheckIntervalMs;
+        try {
+            long modified = Files.getLastModifiedTime(instancesFile).toMillis();
+            if (modified == fileModified) {
+                return;
+            }
+            fileModified = modified;
+            List<String> lines = Files.readAllLines(instancesFile);
+            update(lines);
+        } catch (IOException e) {
+            if (fileModified != -2L) {
+                log.warn("Load balancer: cannot read {} instances file {}: {}", service, instancesFile,
+                        e.getMessage());
+                fileModified = -2L;
+            }
+        }
+    }
+}
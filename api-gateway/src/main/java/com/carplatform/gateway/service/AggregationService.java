@@ -1,26 +1,50 @@
 package com.carplatform.gateway.service;
 
+import com.carplatform.gateway.aggregation.AggregationEngine;
+import com.carplatform.gateway.aggregation.AggregationPlan;
+import com.carplatform.gateway.aggregation.AggregationResults;
+import com.carplatform.gateway.aggregation.BatchLoader;
+import com.carplatform.gateway.aggregation.NodeKey;
+import com.carplatform.gateway.cache.AvailabilityCache;
+import com.carplatform.gateway.cache.CachedCar;
+import com.carplatform.gateway.cache.CatalogCache;
+import com.carplatform.gateway.cache.InStockIndex;
+import com.carplatform.gateway.cache.KnownCarIds;
+import com.carplatform.gateway.cache.ListingSnapshotCache;
 import com.carplatform.gateway.dto.CarDetailsAggregatedResponse;
 import com.carplatform.gateway.dto.CarListingAggregatedResponse;
 import com.carplatform.gateway.client.CatalogServiceClient;
 import com.carplatform.gateway.client.InventoryServiceClient;
+import com.carplatform.gateway.client.OrderServiceClient;
 import com.carplatform.gateway.dto.CarResponse;
 import com.carplatform.gateway.dto.InventoryAvailabilityResponse;
+import com.carplatform.gateway.dto.ListingSort;
+import com.carplatform.gateway.dto.OrderResponse;
+import com.carplatform.gateway.dto.UserOrderSummaryResponse;
 import com.carplatform.gateway.exception.ResourceNotFoundException;
 import com.carplatform.gateway.exception.ServiceUnavailableException;
+import com.carplatform.gateway.util.ETagBuilder;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
  * Aggregation Service
  * 
- * Orchestrates calls to multiple microservices (Catalog, Inventory)
+ * Orchestrates calls to multiple microservices (Catalog, Inventory, Order)
  * and merges their responses into a single aggregated response for clients.
  * 
  * 
@@ -35,16 +59,66 @@ public class AggregationService {
     @Autowired
     private InventoryServiceClient inventoryServiceClient;
 
+    @Autowired(required = false)
+    private CatalogCache catalogCache;
+
+    @Autowired(required = false)
+    private AvailabilityCache availabilityCache;
+
+    @Autowired(required = false)
+    private InStockIndex inStockIndex;
+
+    @Autowired(required = false)
+    private ListingSnapshotCache listingSnapshotCache;
+
+    @Autowired(required = false)
+    private KnownCarIds knownCarIds;
+
+    @Autowired(required = false)
+    private OrderServiceClient orderServiceClient;
+
+    @Autowired
+    private AggregationEngine aggregationEngine;
+
+    // ===================== Aggregation Plans =====================
+
+    private record OrderSummaryQuery(UUID userId, int page, int size) {
+    }
+
+    private static final NodeKey<List<OrderResponse>> USER_ORDERS = NodeKey.of("orders");
+    private static final NodeKey<Map<UUID, CarResponse>> ORDER_CARS = NodeKey.of("cars");
+
+    private final BatchLoader<UUID, CarResponse> catalogCars = BatchLoader.of("catalog.cars", 500,
+            this::loadCars);
+
+    private final AggregationPlan<OrderSummaryQuery, UserOrderSummaryResponse> userOrderSummaryPlan = AggregationPlan
+            .<OrderSummaryQuery, UserOrderSummaryResponse>builder("user-order-summary")
+            .fetch(USER_ORDERS, results -> fetchOrdersNewestFirst(results.input().userId()),
+                    node -> node.timeout(Duration.ofSeconds(5)))
+            .batch(ORDER_CARS, catalogCars,
+                    results -> pageOf(results.get(USER_ORDERS), results.input()).stream()
+                            .map(OrderResponse::getCarId)
+                            .filter(Objects::nonNull)
+                            .toList(),
+                    node -> node.dependsOn(USER_ORDERS)
+                            .timeout(Duration.ofSeconds(4))
+                            .fallback(error -> null))
+            .assemble(this::assembleOrderSummary);
+
     // ===================== AGGREGATION: Car Details =====================
 
     /**
      * Get car details with availability (Aggregated API)
      * 
      * Flow:
-     * 1. Fetch car from Catalog (mandatory)
+     * 0. Reject IDs the known-car filter rules out (404, no downstream call)
+     * 1. Fetch car from Catalog via the catalog cache (mandatory)
      * 2. Fetch availability from Inventory (optional, with fallback)
      * 3. Merge and return
      * 
+     * The response carries a strong ETag derived from the catalog and
+     * inventory versions; degraded responses carry none.
+     * 
      * @param carId UUID of car
      * @return Aggregated response with car details + availability
      * @throws ResourceNotFoundException   if car not found in catalog
@@ -55,8 +129,14 @@ public class AggregationService {
 
         long startTime = System.currentTimeMillis();
 
+        if (knownCarIds != null && knownCarIds.isDefinitelyUnknown(carId)) {
+            log.debug("Car {} ruled out by the known-car filter, skipping catalog call", carId);
+            throw new ResourceNotFoundException("Car not found: " + carId);
+        }
+
         log.debug("Calling Catalog Service for car: {}", carId);
-        CarResponse carDetails = catalogServiceClient.guardedGetCarById(carId);
+        CarResponse carDetails = catalogCache != null ? catalogCache.getCar(carId)
+                : catalogServiceClient.guardedGetCarById(carId);
 
         if (carDetails == null) {
             log.warn("Car not found in catalog: {}", carId);
@@ -65,30 +145,37 @@ public class AggregationService {
 
         log.debug("Catalog response received: {} {}", carDetails.getMake(), carDetails.getModel());
 
+        ETagBuilder etag = ETagBuilder.forResource("car-details")
+                .part(carId)
+                .version(carDetails.getLastUpdated());
+
         CarDetailsAggregatedResponse.AvailabilityInfo availability;
         boolean partialResponse = false;
         try {
             log.debug("Calling Inventory Service for car: {}", carId);
-            InventoryAvailabilityResponse inventoryResponse = inventoryServiceClient
-                    .guardedCheckAvailability(carId.toString());
+            InventoryAvailabilityResponse inventoryResponse = checkAvailability(carId.toString());
 
             if (inventoryResponse != null) {
                 log.debug("Inventory response received: status={}", inventoryResponse.getStatus());
                 availability = mapToAvailabilityInfo(inventoryResponse);
+                etag.version(inventoryResponse.getLastUpdated());
             } else {
                 log.warn("Inventory returned null response for car: {}", carId);
                 availability = CarDetailsAggregatedResponse.AvailabilityInfo
                         .unknown("Inventory service returned empty response");
                 partialResponse = true;
+                etag.invalidate();
             }
         } catch (ResourceNotFoundException e) {
             log.warn("Car not found in inventory (expected for new cars): {}", carId);
             availability = CarDetailsAggregatedResponse.AvailabilityInfo.outOfStock();
+            etag.part("inventory:none");
         } catch (Exception e) {
             log.warn("Inventory service unavailable, returning degraded response for car: {}", carId, e);
             availability = CarDetailsAggregatedResponse.AvailabilityInfo
                     .unknown("Inventory service temporarily unavailable");
             partialResponse = true;
+            etag.invalidate();
         }
 
         CarDetailsAggregatedResponse.AggregationMetadata metadata = new CarDetailsAggregatedResponse.AggregationMetadata();
@@ -106,6 +193,7 @@ public class AggregationService {
                 .availability(availability)
                 .metadata(metadata)
                 .build();
+        response.setEtag(etag.build());
 
         long duration = System.currentTimeMillis() - startTime;
         log.info("Aggregation complete for car {}: {}ms, availability: {}",
@@ -124,13 +212,42 @@ public class AggregationService {
      * 2. For each car, fetch availability from Inventory
      * 3. Merge and return
      * 
+     * The response carries a strong ETag covering the page position, the
+     * total count and every item's catalog/inventory version.
+     * 
      * @param page Page number (1-indexed)
      * @param size Page size (max 100)
      * @return Aggregated response with car list + availability
      * @throws ServiceUnavailableException if catalog service down
      */
     public CarListingAggregatedResponse getCarListingWithAvailability(int page, int size) {
-        log.info("Aggregation: Fetching car listing (page={}, size={})", page, size);
+        return getCarListingWithAvailability(page, size, false, ListingSort.DEFAULT);
+    }
+
+    /**
+     * Get car listing filtered and/or sorted by availability (Aggregated API)
+     * 
+     * Availability-aware requests are resolved against the cached in-stock
+     * index before pagination, so totals and page boundaries are correct
+     * without one inventory call per catalog car. Only the cars on the
+     * returned page that the index reports in stock are looked up for unit
+     * counts; the rest are reported OUT_OF_STOCK straight from the index.
+     * 
+     * When the listing snapshot mode is enabled and a snapshot is available,
+     * the page is sliced from it without any downstream call.
+     * 
+     * @param page        Page number (1-indexed)
+     * @param size        Page size (max 100)
+     * @param inStockOnly Only list cars with available units
+     * @param sort        Listing order
+     * @return Aggregated response with car list + availability
+     * @throws ServiceUnavailableException if catalog service down or the
+     *                                     in-stock index is not loaded yet
+     */
+    public CarListingAggregatedResponse getCarListingWithAvailability(int page, int size, boolean inStockOnly,
+            ListingSort sort) {
+        log.info("Aggregation: Fetching car listing (page={}, size={}, inStock={}, sort={})",
+                page, size, inStockOnly, sort);
 
         // Validate pagination
         if (size > 100) {
@@ -141,6 +258,14 @@ public class AggregationService {
             page = 1;
         }
 
+        if (listingSnapshotCache != null) {
+            CarListingAggregatedResponse snapshotPage = listingSnapshotCache.getPage(page, size, inStockOnly, sort);
+            if (snapshotPage != null) {
+                log.debug("Car listing served from snapshot (age {}s)", listingSnapshotCache.ageSeconds());
+                return snapshotPage;
+            }
+        }
+
         long startTime = System.currentTimeMillis();
 
         log.debug("Calling Catalog Service for car listing");
@@ -152,17 +277,42 @@ public class AggregationService {
         }
 
         log.debug("Catalog returned {} cars", allCars.size());
+        if (catalogCache != null) {
+            catalogCache.putAll(allCars);
+        }
+
+        InStockIndex.Snapshot index = null;
+        if (inStockOnly || sort.isAvailabilityAware()) {
+            index = inStockIndex != null ? inStockIndex.current() : null;
+            if (index == null) {
+                throw new ServiceUnavailableException("In-stock index not loaded yet");
+            }
+            allCars = filterAndSort(allCars, index, inStockOnly, sort);
+            log.debug("In-stock index v{} applied: {} cars after filtering", index.version(), allCars.size());
+        }
 
         int totalCount = allCars.size();
         int totalPages = (int) Math.ceil((double) totalCount / size);
         int startIndex = (page - 1) * size;
         int endIndex = Math.min(startIndex + size, totalCount);
 
-        List<CarResponse> pageItems = allCars.subList(startIndex, endIndex);
+        List<CarResponse> pageItems = startIndex < totalCount ? allCars.subList(startIndex, endIndex)
+                : List.of();
         log.debug("Paginated: {} items on page {} of {}", pageItems.size(), page, totalPages);
 
+        ETagBuilder etag = ETagBuilder.forResource("car-listing")
+                .part(page)
+                .part(size)
+                .part(totalCount);
+        if (index != null) {
+            etag.part(inStockOnly).part(sort).part(index.version());
+        }
+
+        InStockIndex.Snapshot pageIndex = index;
         List<CarListingAggregatedResponse.CarListItem> listItems = pageItems.stream()
-                .map(car -> mapToCarListItem(car))
+                .map(car -> pageIndex != null && !pageIndex.contains(car.getId())
+                        ? mapToOutOfStockListItem(car, etag)
+                        : mapToCarListItem(car, etag))
                 .collect(Collectors.toList());
 
         CarListingAggregatedResponse response = new CarListingAggregatedResponse(
@@ -170,6 +320,7 @@ public class AggregationService {
                 totalCount,
                 size,
                 page);
+        response.setEtag(etag.build());
 
         long duration = System.currentTimeMillis() - startTime;
         log.info("Aggregation complete for car listing: {}ms, {} items", duration, listItems.size());
@@ -177,6 +328,173 @@ public class AggregationService {
         return response;
     }
 
+    // ===================== AGGREGATION: User Order Summary =====================
+
+    /**
+     * Get a user's orders enriched with car details (Aggregated API)
+     * 
+     * Runs the user-order-summary plan:
+     * 1. orders: the user's orders from Order, newest first (required)
+     * 2. cars: the distinct cars on the requested page, from the catalog
+     *    cache first and one batched catalog call for the misses
+     * 
+     * Catalog failure degrades: orders are still returned with
+     * carInfoStatus UNKNOWN and metadata.aggregationStatus 206.
+     * 
+     * @param userId User ID
+     * @param page   Page number (1-indexed)
+     * @param size   Page size (max 100)
+     * @return Aggregated order summary
+     * @throws ServiceUnavailableException if order service down
+     */
+    public UserOrderSummaryResponse getUserOrderSummary(UUID userId, int page, int size) {
+        log.info("Aggregation: Fetching order summary for user {} (page={}, size={})", userId, page, size);
+        if (orderServiceClient == null) {
+            throw new ServiceUnavailableException("Order service client not configured");
+        }
+
+        if (size > 100) {
+            log.warn("Page size {} exceeds maximum 100, capping to 100", size);
+            size = 100;
+        }
+        if (page < 1) {
+            page = 1;
+        }
+
+        return aggregationEngine.execute(userOrderSummaryPlan, new OrderSummaryQuery(userId, page, size));
+    }
+
+    private List<OrderResponse> fetchOrdersNewestFirst(UUID userId) {
+        List<OrderResponse> orders = new ArrayList<>(orderServiceClient.guardedGetOrdersByUser(userId));
+        orders.sort(Comparator.comparing(OrderResponse::getOrderDate,
+                Comparator.nullsLast(Comparator.reverseOrder())));
+        return orders;
+    }
+
+    private static List<OrderResponse> pageOf(List<OrderResponse> orders, OrderSummaryQuery query) {
+        int startIndex = (query.page() - 1) * query.size();
+        int endIndex = Math.min(startIndex + query.size(), orders.size());
+        return startIndex < orders.size() ? orders.subList(startIndex, endIndex) : List.of();
+    }
+
+    private UserOrderSummaryResponse assembleOrderSummary(AggregationResults<OrderSummaryQuery> results) {
+        OrderSummaryQuery query = results.input();
+        List<OrderResponse> orders = results.get(USER_ORDERS);
+        List<OrderResponse> pageOrders = pageOf(orders, query);
+        Map<UUID, CarResponse> cars = results.get(ORDER_CARS);
+
+        UserOrderSummaryResponse response = new UserOrderSummaryResponse();
+        response.setUserId(query.userId());
+        response.setPagination(new CarListingAggregatedResponse.PaginationInfo(orders.size(), query.size(),
+                query.page()));
+        for (OrderResponse order : pageOrders) {
+            response.getOrders().add(mapToOrderSummaryItem(order, cars));
+        }
+        if (cars == null && !pageOrders.isEmpty()) {
+            response.getMetadata().setAggregationStatus(206);
+        }
+        log.info("Aggregation complete for user {} order summary: {} orders", query.userId(), pageOrders.size());
+        return response;
+    }
+
+    /**
+     * Batch loader for catalog cars: cached entries first, IDs the known-car
+     * filter rules out are skipped, the rest go in one catalog call
+     * 
+     * @return Cars found by ID
+     * @throws ServiceUnavailableException when the catalog could not be
+     *                                     reached for the misses
+     */
+    private Map<UUID, CarResponse> loadCars(Set<UUID> carIds) {
+        Map<UUID, CarResponse> cars = new HashMap<>();
+        Set<UUID> misses = new LinkedHashSet<>();
+        for (UUID carId : carIds) {
+            CachedCar cached = catalogCache != null ? catalogCache.peek(carId) : null;
+            if (cached != null) {
+                cars.put(carId, cached.car());
+            } else if (knownCarIds == null || !knownCarIds.isDefinitelyUnknown(carId)) {
+                misses.add(carId);
+            }
+        }
+        if (misses.isEmpty()) {
+            return cars;
+        }
+
+        log.debug("Calling Catalog Service for {} cars ({} cached)", misses.size(), cars.size());
+        List<CarResponse> fetched = catalogServiceClient.guardedGetCarsByIds(misses);
+        if (fetched == null) {
+            throw new ServiceUnavailableException("Catalog batch lookup unavailable", "catalog");
+        }
+        if (catalogCache != null) {
+            catalogCache.putAll(fetched);
+        }
+        fetched.forEach(car -> cars.put(car.getId(), car));
+        return cars;
+    }
+
+    private UserOrderSummaryResponse.OrderSummaryItem mapToOrderSummaryItem(OrderResponse order,
+            Map<UUID, CarResponse> cars) {
+        UserOrderSummaryResponse.OrderSummaryItem item = new UserOrderSummaryResponse.OrderSummaryItem();
+        item.setOrderId(order.getOrderId());
+        item.setStatus(order.getStatus());
+        item.setPriceAtPurchase(order.getPriceAtPurchase());
+        item.setOrderDate(order.getOrderDate());
+        item.setReservationExpiry(order.getReservationExpiry());
+        item.setCarId(order.getCarId());
+
+        CarResponse car = cars != null ? cars.get(order.getCarId()) : null;
+        if (car != null) {
+            item.setMake(car.getMake());
+            item.setModel(car.getModel());
+            item.setYear(car.getYear());
+            item.setCurrentPrice(car.getPrice());
+            item.setCarInfoStatus("AVAILABLE");
+        } else {
+            item.setCarInfoStatus(cars != null ? "NOT_FOUND" : "UNKNOWN");
+        }
+        return item;
+    }
+
+    // ===================== Helper: Availability Lookup =====================
+
+    /**
+     * Availability through the availability cache when present (it reads
+     * through to the guarded client when disabled)
+     */
+    private InventoryAvailabilityResponse checkAvailability(String carId) {
+        return availabilityCache != null ? availabilityCache.getAvailability(carId)
+                : inventoryServiceClient.guardedCheckAvailability(carId);
+    }
+
+    // ===================== Helper: Availability Filter & Sort =====================
+
+    /**
+     * Apply the in-stock filter and availability-aware ordering. The sort is
+     * stable, so cars keep catalog order within equal keys.
+     */
+    private List<CarResponse> filterAndSort(List<CarResponse> cars, InStockIndex.Snapshot index,
+            boolean inStockOnly, ListingSort sort) {
+        List<CarResponse> result = inStockOnly
+                ? cars.stream().filter(car -> index.contains(car.getId())).collect(Collectors.toList())
+                : new ArrayList<>(cars);
+
+        Comparator<CarResponse> inStockFirst = Comparator
+                .comparing((CarResponse car) -> !index.contains(car.getId()));
+        Comparator<BigDecimal> priceAsc = Comparator.nullsLast(Comparator.<BigDecimal>naturalOrder());
+        Comparator<BigDecimal> priceDesc = Comparator.nullsLast(Comparator.<BigDecimal>reverseOrder());
+        switch (sort) {
+            case AVAILABILITY -> result.sort(inStockFirst);
+            case AVAILABILITY_PRICE_ASC -> result.sort(inStockFirst
+                    .thenComparing(CarResponse::getPrice, priceAsc));
+            case AVAILABILITY_PRICE_DESC -> result.sort(inStockFirst
+                    .thenComparing(CarResponse::getPrice, priceDesc));
+            default -> {
+                // catalog order
+            }
+        }
+        return result;
+    }
+
     // ===================== Helper: Map Inventory Response to Availability
     // =====================
 
@@ -208,17 +526,17 @@ public class AggregationService {
 
     /**
      * Convert CarResponse to CarListingAggregatedResponse.CarListItem with
-     * availability
+     * availability, recording the item's upstream versions in the listing ETag
      */
-    private CarListingAggregatedResponse.CarListItem mapToCarListItem(CarResponse car) {
+    private CarListingAggregatedResponse.CarListItem mapToCarListItem(CarResponse car, ETagBuilder etag) {
 
         String availabilityStatus = "UNKNOWN";
         Integer availableUnits = null;
+        etag.part(car.getId()).version(car.getLastUpdated());
 
         try {
             // Try to fetch availability (with timeout/retry handled by client)
-            InventoryAvailabilityResponse invResponse = inventoryServiceClient
-                    .guardedCheckAvailability(car.getId().toString());
+            InventoryAvailabilityResponse invResponse = checkAvailability(car.getId().toString());
 
             if (invResponse != null) {
                 if (invResponse.getAvailableUnits() != null && invResponse.getAvailableUnits() > 0) {
@@ -228,19 +546,25 @@ public class AggregationService {
                     availabilityStatus = "OUT_OF_STOCK";
                     availableUnits = 0;
                 }
+                etag.version(invResponse.getLastUpdated());
+            } else {
+                etag.invalidate();
             }
         } catch (Exception e) {
             log.debug("Could not fetch availability for car {}, using UNKNOWN status", car.getId(), e);
             availabilityStatus = "UNKNOWN";
+            etag.invalidate();
         }
 
-        return new CarListingAggregatedResponse.CarListItem(
-                car.getId(),
-                car.getMake(),
-                car.getModel(),
-                car.getYear(),
-                car.getPrice().doubleValue(),
-                availabilityStatus,
-                availableUnits);
+        return CarListingAggregatedResponse.CarListItem.of(car, availabilityStatus, availableUnits);
+    }
+
+    /**
+     * Build an OUT_OF_STOCK list item from the in-stock index alone; the
+     * index version already recorded in the listing ETag covers its stock
+     */
+    private CarListingAggregatedResponse.CarListItem mapToOutOfStockListItem(CarResponse car, ETagBuilder etag) {
+        etag.part(car.getId()).version(car.getLastUpdated());
+        return CarListingAggregatedResponse.CarListItem.of(car, "OUT_OF_STOCK", 0);
     }
 }
@@ -0,0 +1,261 @@
+package com.carplatform.gateway.stream;
+
+import com.carplatform.gateway.client.InventoryServiceClient;
+import com.carplatform.gateway.dto.InventoryAvailabilityResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Availability Stream
+ *
+ * Live availability push for clients viewing car pages (SSE), replacing
+ * polling of /cars/{carId}/details.
+ *
+ * One shared channel per watched car, however many clients watch it:
+ * - The channel is opened by its first subscriber (initial availability
+ *   fetched once) and dropped with its last one
+ * - Changes come from the in-stock index deltas, which list every car whose
+ *   stock changed since the previous refresh; only watched cars among them
+ *   are refetched, one inventory call per car regardless of subscribers
+ * - A periodic resync refetches every watched car, covering missed deltas
+ *   and a disabled in-stock index
+ * - An event is pushed only when the availability actually changed
+ *
+ * Each channel replays its latest value to new subscribers. Slow clients
+ * get onBackpressureLatest per car: intermediate states they could not
+ * consume are dropped and the newest one is delivered when they catch up.
+ *
+ * Metrics:
+ * - carplatform.gateway.availability_stream.channels (watched cars)
+ * - carplatform.gateway.availability_stream.subscribers (car subscriptions)
+ * - carplatform.gateway.availability_stream.events (changes published)
+ * - carplatform.gateway.availability_stream.refreshes (inventory calls)
+ */
+@Slf4j
+@Component
+public class AvailabilityStream {
+
+    @Autowired
+    private InventoryServiceClient inventoryServiceClient;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${gateway.availability-stream.heartbeat-interval-ms:15000}")
+    private long heartbeatIntervalMs;
+
+    private final Map<UUID, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    @PostConstruct
+    void registerMetrics() {
+        if (meterRegistry == null) {
+            return;
+        }
+        Gauge.builder("carplatform.gateway.availability_stream.channels", channels, Map::size)
+                .description("Cars with at least one availability stream subscriber")
+                .register(meterRegistry);
+        Gauge.builder("carplatform.gateway.availability_stream.subscribers", subscribers, AtomicInteger::get)
+                .description("Open per-car availability stream subscriptions")
+                .register(meterRegistry);
+    }
+
+    // ===================== SUBSCRIBE =====================
+
+    /**
+     * Stream availability of a set of cars as server-sent events
+     *
+     * Emits the current availability of every car first, then one event per
+     * change, plus a comment-only heartbeat so idle connections stay open
+     * through proxies.
+     *
+     * @param carIds Cars to watch (deduplicated by the caller)
+     * @return Endless event stream; cancelling it releases the channels
+     */
+    public Flux<ServerSentEvent<InventoryAvailabilityResponse>> subscribe(Collection<UUID> carIds) {
+        Flux<ServerSentEvent<InventoryAvailabilityResponse>> events = Flux
+                .merge(carIds.stream().map(this::watch).toList())
+                .map(availability -> ServerSentEvent.builder(availability)
+                        .event("availability")
+                        .id(availability.getCarId() + ":" + versionOf(availability))
+                        .build());
+        Flux<ServerSentEvent<InventoryAvailabilityResponse>> heartbeat = Flux
+                .interval(Duration.ofMillis(heartbeatIntervalMs))
+                .map(tick -> ServerSentEvent.<InventoryAvailabilityResponse>builder().comment("keep-alive").build())
+                .onBackpressureDrop();
+        return Flux.merge(events, heartbeat);
+    }
+
+    /**
+     * One subscriber's view of a car's shared channel
+     */
+    private Flux<InventoryAvailabilityResponse> watch(UUID carId) {
+        return Flux.defer(() -> {
+            Channel channel = acquire(carId);
+            return channel.sink.asFlux()
+                    .onBackpressureLatest()
+                    .doFinally(signalType -> release(channel));
+        });
+    }
+
+    private Channel acquire(UUID carId) {
+        AtomicBoolean created = new AtomicBoolean();
+        Channel channel = channels.compute(carId, (id, existing) -> {
+            Channel current = existing;
+            if (current == null) {
+                current = new Channel(id);
+                created.set(true);
+            }
+            current.subscribers++;
+            return current;
+        });
+        subscribers.incrementAndGet();
+        if (created.get()) {
+            refreshAsync(channel);
+        }
+        return channel;
+    }
+
+    private void release(Channel channel) {
+        subscribers.decrementAndGet();
+        channels.computeIfPresent(channel.carId, (id, current) -> {
+            if (current != channel || --current.subscribers > 0) {
+                return current;
+            }
+            current.sink.tryEmitComplete();
+            return null;
+        });
+    }
+
+    // ===================== CHANGES =====================
+
+    /**
+     * Cars whose stock changed (from an in-stock index delta); watched ones
+     * are refetched
+     */
+    public void onStockChanged(Collection<UUID> carIds) {
+        if (channels.isEmpty()) {
+            return;
+        }
+        for (UUID carId : carIds) {
+            Channel channel = channels.get(carId);
+            if (channel != null) {
+                refreshAsync(channel);
+            }
+        }
+    }
+
+    /**
+     * Refetch every watched car
+     */
+    @Scheduled(fixedDelayString = "${gateway.availability-stream.resync-interval-ms:30000}")
+    public void resync() {
+        channels.values().forEach(this::refreshAsync);
+    }
+
+    public int channelCount() {
+        return channels.size();
+    }
+
+    /**
+     * Refetch a car in the background; a change arriving while a refetch is
+     * in flight triggers exactly one more
+     */
+    private void refreshAsync(Channel channel) {
+        channel.pending.set(true);
+        if (!channel.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        Mono.fromRunnable(() -> {
+            while (channel.pending.getAndSet(false)) {
+                refresh(channel);
+            }
+        })
+                .subscribeOn(Schedulers.boundedElastic())
+                .doFinally(signalType -> {
+                    channel.refreshing.set(false);
+                    if (channel.pending.get() && channels.get(channel.carId) == channel) {
+                        refreshAsync(channel);
+                    }
+                })
+                .subscribe(null, error -> log.debug("Availability stream refresh for car {} failed: {}",
+                        channel.carId, error.getMessage()));
+    }
+
+    private void refresh(Channel channel) {
+        count("carplatform.gateway.availability_stream.refreshes");
+        InventoryAvailabilityResponse availability = inventoryServiceClient
+                .guardedCheckAvailability(channel.carId.toString());
+        if (availability == null) {
+            return;
+        }
+        availability.setCarId(channel.carId);
+        InventoryAvailabilityResponse last = channel.last;
+        // A failed lookup (fallback UNKNOWN) must not overwrite a known state
+        if (last != null && "UNKNOWN".equals(availability.getStatus())) {
+            return;
+        }
+        if (last != null && sameAvailability(last, availability)) {
+            return;
+        }
+        synchronized (channel) {
+            channel.last = availability;
+            channel.sink.tryEmitNext(availability);
+        }
+        count("carplatform.gateway.availability_stream.events");
+    }
+
+    private static boolean sameAvailability(InventoryAvailabilityResponse a, InventoryAvailabilityResponse b) {
+        return Objects.equals(a.getStatus(), b.getStatus())
+                && Objects.equals(a.getTotalUnits(), b.getTotalUnits())
+                && Objects.equals(a.getAvailableUnits(), b.getAvailableUnits())
+                && Objects.equals(a.getReservedUnits(), b.getReservedUnits());
+    }
+
+    private static long versionOf(InventoryAvailabilityResponse availability) {
+        return availability.getLastUpdated() != null ? availability.getLastUpdated().toEpochMilli() : 0L;
+    }
+
+    private void count(String name) {
+        if (meterRegistry != null) {
+            meterRegistry.counter(name).increment();
+        }
+    }
+
+    /**
+     * Shared state of one watched car
+     */
+    private static final class Channel {
+
+        private final UUID carId;
+        private final Sinks.Many<InventoryAvailabilityResponse> sink = Sinks.many().replay().latest();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private final AtomicBoolean pending = new AtomicBoolean();
+        private volatile InventoryAvailabilityResponse last;
+        private int subscribers; // guarded by channels.compute
+
+        private Channel(UUID carId) {
+            this.carId = carId;
+        }
+    }
+}
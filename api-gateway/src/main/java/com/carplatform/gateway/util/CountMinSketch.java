@@ -0,0 +1,86 @@
+package com.carplatform.gateway.util;
+
+import java.util.UUID;
+
+/**
+ * Count-Min Sketch
+ * 
+ * Fixed-size frequency estimator for UUID keys: depth rows of width
+ * counters, one hash per row. Estimates never undercount and overcount by
+ * at most ~e/width of the total with probability 1 - e^-depth.
+ * 
+ * Not thread-safe; callers synchronize.
+ */
+public final class CountMinSketch {
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x27D4EB2F165667C5L, 0x94D049BB133111EBL };
+
+    private final int depth;
+    private final int width;
+    private final long[][] counters;
+    private long total;
+
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || depth > SEEDS.length || width < 1) {
+            throw new IllegalArgumentException("depth must be 1-" + SEEDS.length + " and width positive");
+        }
+        this.depth = depth;
+        this.width = width;
+        this.counters = new long[depth][width];
+    }
+
+    /**
+     * Count one occurrence and return the updated estimate
+     */
+    public long add(UUID key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int index = index(key, row);
+            estimate = Math.min(estimate, ++counters[row][index]);
+        }
+        total++;
+        return estimate;
+    }
+
+    public long estimate(UUID key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[row][index(key, row)]);
+        }
+        return estimate;
+    }
+
+    /**
+     * Halve every counter so old traffic fades out
+     */
+    public void decay() {
+        for (long[] row : counters) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] >>>= 1;
+            }
+        }
+        total >>>= 1;
+    }
+
+    public long total() {
+        return total;
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    private int index(UUID key, int row) {
+        long hash = (key.getMostSignificantBits() ^ Long.rotateLeft(key.getLeastSignificantBits(), 31)) * SEEDS[row];
+        hash ^= hash >>> 29;
+        hash *= SEEDS[(row + 1) % SEEDS.length];
+        hash ^= hash >>> 32;
+        return (int) Math.floorMod(hash, (long) width);
+    }
+}
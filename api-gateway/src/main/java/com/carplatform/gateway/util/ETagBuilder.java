@@ -0,0 +1,100 @@
+package com.carplatform.gateway.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * ETag Builder
+ *
+ * Builds strong entity tags for aggregated responses from the versions of
+ * the upstream data they were assembled from (catalog and inventory
+ * lastUpdated timestamps), instead of hashing the serialized body.
+ *
+ * Usage:
+ * - ETagBuilder.forResource("car-details").part(carId).version(lastUpdated)
+ * - build() → quoted tag, or null when any version was missing
+ *
+ * A missing version (degraded or fallback data) makes the whole tag
+ * unavailable, so clients never cache a response that was not built from
+ * authoritative upstream state.
+ */
+public final class ETagBuilder {
+
+    private static final byte SEPARATOR = 0x1F;
+    private static final int TAG_BYTES = 16;
+
+    private final MessageDigest digest;
+    private boolean complete = true;
+
+    private ETagBuilder(String resource) {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        part(resource);
+    }
+
+    /**
+     * Start a tag for the given resource type
+     *
+     * @param resource Resource discriminator (e.g. "car-details")
+     * @return New builder
+     */
+    public static ETagBuilder forResource(String resource) {
+        return new ETagBuilder(resource);
+    }
+
+    /**
+     * Add an identifying part (id, page number, count)
+     *
+     * @param value Part value (null is recorded as an explicit marker)
+     * @return this builder
+     */
+    public ETagBuilder part(Object value) {
+        digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        digest.update(SEPARATOR);
+        return this;
+    }
+
+    /**
+     * Add an upstream version
+     *
+     * @param version Upstream lastUpdated timestamp; null marks the tag as
+     *                unavailable
+     * @return this builder
+     */
+    public ETagBuilder version(Instant version) {
+        if (version == null) {
+            complete = false;
+            return this;
+        }
+        return part(version.getEpochSecond() + "." + version.getNano());
+    }
+
+    /**
+     * Mark the tag as unavailable (e.g. degraded upstream data)
+     *
+     * @return this builder
+     */
+    public ETagBuilder invalidate() {
+        complete = false;
+        return this;
+    }
+
+    /**
+     * Build the quoted strong ETag value
+     *
+     * @return Quoted tag, or null when the tag is unavailable
+     */
+    public String build() {
+        if (!complete) {
+            return null;
+        }
+        byte[] hash = digest.digest();
+        return "\"" + HexFormat.of().formatHex(hash, 0, TAG_BYTES) + "\"";
+    }
+}
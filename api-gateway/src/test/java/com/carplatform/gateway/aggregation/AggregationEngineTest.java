@@ -0,0 +1,212 @@
+package com.carplatform.gateway.aggregation;
+
+import com.carplatform.gateway.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for AggregationEngine
+ *
+ * Tests plan execution:
+ * - Independent nodes run in parallel
+ * - Batch nodes sharing a loader are merged and their keys deduplicated
+ * - Failed nodes use their fallback, or fail the plan without one
+ * - Abandoned fetches are interrupted
+ */
+@DisplayName("AggregationEngine Unit Tests")
+class AggregationEngineTest {
+
+        private static final NodeKey<String> FIRST = NodeKey.of("first");
+        private static final NodeKey<String> SECOND = NodeKey.of("second");
+        private static final NodeKey<Map<Integer, String>> LEFT = NodeKey.of("left");
+        private static final NodeKey<Map<Integer, String>> RIGHT = NodeKey.of("right");
+        private static final NodeKey<Map<Integer, String>> LATER = NodeKey.of("later");
+
+        private AggregationEngine engine;
+
+        @BeforeEach
+        void setUp() {
+                engine = new AggregationEngine();
+                ReflectionTestUtils.setField(engine, "parallelism", 8);
+                ReflectionTestUtils.setField(engine, "queueCapacity", 100);
+                ReflectionTestUtils.setField(engine, "defaultTimeoutMs", 2000L);
+                engine.start();
+        }
+
+        @AfterEach
+        void tearDown() {
+                engine.stop();
+        }
+
+        @Test
+        @DisplayName("Should run independent nodes in parallel and record their timings")
+        void testIndependentNodesRunInParallel() {
+                // GIVEN: Two independent 300ms fetches
+                AggregationPlan<String, String> plan = AggregationPlan.<String, String>builder("parallel")
+                                .fetch(FIRST, results -> sleepThen(300, results.input() + "-1"))
+                                .fetch(SECOND, results -> sleepThen(300, results.input() + "-2"))
+                                .assemble(results -> results.get(FIRST) + "," + results.get(SECOND));
+
+                // WHEN
+                long start = System.nanoTime();
+                String result = engine.execute(plan, "x");
+                long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+                // THEN: Both ran at once
+                assertEquals("x-1,x-2", result);
+                assertTrue(elapsedMs < 550, "elapsed " + elapsedMs + "ms");
+        }
+
+        @Test
+        @DisplayName("Should merge batch nodes sharing a loader and deduplicate their keys")
+        void testBatchNodesMergedAndDeduplicated() {
+                // GIVEN: A loader that knows even keys, used by two nodes of one level and one later node
+                List<Set<Integer>> calls = Collections.synchronizedList(new ArrayList<>());
+                BatchLoader<Integer, String> loader = BatchLoader.of("numbers", 100, keys -> {
+                        calls.add(Set.copyOf(keys));
+                        Map<Integer, String> found = new HashMap<>();
+                        keys.stream().filter(key -> key % 2 == 0).forEach(key -> found.put(key, "n" + key));
+                        return found;
+                });
+                AggregationPlan<Void, List<Map<Integer, String>>> plan = AggregationPlan
+                                .<Void, List<Map<Integer, String>>>builder("batched")
+                                .batch(LEFT, loader, results -> List.of(1, 2, 3, 2))
+                                .batch(RIGHT, loader, results -> List.of(2, 4))
+                                .batch(LATER, loader, results -> List.of(3, 4, 6), node -> node.dependsOn(LEFT))
+                                .assemble(results -> List.of(results.get(LEFT), results.get(RIGHT),
+                                                results.get(LATER)));
+
+                // WHEN
+                List<Map<Integer, String>> result = engine.execute(plan, null);
+
+                // THEN: One call per level, each key requested once per request
+                assertEquals(List.of(Set.of(1, 2, 3, 4), Set.of(6)), calls);
+                assertEquals(Map.of(2, "n2"), result.get(0));
+                assertEquals(Map.of(2, "n2", 4, "n4"), result.get(1));
+                assertEquals(Map.of(4, "n4", 6, "n6"), result.get(2));
+        }
+
+        @Test
+        @DisplayName("Should use the fallback of a timed-out node and fail the plan for a node without one")
+        void testFallbackAndFailure() {
+                // GIVEN: A slow node with a fallback
+                AggregationPlan<Void, String> degraded = AggregationPlan.<Void, String>builder("degraded")
+                                .fetch(FIRST, results -> "ok")
+                                .fetch(SECOND, results -> sleepThen(1000, "late"),
+                                                node -> node.timeout(Duration.ofMillis(100))
+                                                                .fallback(error -> "fallback"))
+                                .assemble(results -> results.get(FIRST) + "," + results.get(SECOND) + ","
+                                                + results.isDegraded(SECOND));
+
+                // THEN: The plan completes with the fallback value
+                assertEquals("ok,fallback,true", engine.execute(degraded, null));
+
+                // GIVEN: A failing node without a fallback
+                AggregationPlan<Void, String> failing = AggregationPlan.<Void, String>builder("failing")
+                                .fetch(FIRST, results -> {
+                                        throw new ServiceUnavailableException("down");
+                                })
+                                .assemble(results -> results.get(FIRST));
+
+                // THEN: Its error fails the plan
+                ServiceUnavailableException error = assertThrows(ServiceUnavailableException.class,
+                                () -> engine.execute(failing, null));
+                assertEquals("down", error.getMessage());
+        }
+
+        @Test
+        @DisplayName("Should interrupt the fetch of a timed-out node")
+        void testTimedOutFetchInterrupted() throws InterruptedException {
+                // GIVEN: A node whose fetch outlives its timeout
+                CountDownLatch interrupted = new CountDownLatch(1);
+                AggregationPlan<Void, String> plan = AggregationPlan.<Void, String>builder("timeout")
+                                .fetch(FIRST, results -> sleepUntilInterrupted(interrupted),
+                                                node -> node.timeout(Duration.ofMillis(100))
+                                                                .fallback(error -> "fallback"))
+                                .assemble(results -> results.get(FIRST));
+
+                // WHEN
+                assertEquals("fallback", engine.execute(plan, null));
+
+                // THEN: The worker running the fetch was interrupted
+                assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+        }
+
+        @Test
+        @DisplayName("Should cancel the rest of the level when a node fails the plan")
+        void testFailureCancelsLevel() throws InterruptedException {
+                // GIVEN: A failing node without a fallback next to a slow one,
+                // failing only once the slow fetch is running
+                CountDownLatch started = new CountDownLatch(1);
+                CountDownLatch interrupted = new CountDownLatch(1);
+                AggregationPlan<Void, String> plan = AggregationPlan.<Void, String>builder("failing-level")
+                                .fetch(FIRST, results -> {
+                                        awaitQuietly(started);
+                                        throw new ServiceUnavailableException("down");
+                                })
+                                .fetch(SECOND, results -> {
+                                        started.countDown();
+                                        return sleepUntilInterrupted(interrupted);
+                                })
+                                .assemble(results -> results.get(FIRST) + results.get(SECOND));
+
+                // WHEN
+                long start = System.nanoTime();
+                assertThrows(ServiceUnavailableException.class, () -> engine.execute(plan, null));
+                long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+                // THEN: The plan failed at once and the slow fetch was interrupted
+                assertTrue(elapsedMs < 1000, "elapsed " + elapsedMs + "ms");
+                assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+        }
+
+        @Test
+        @DisplayName("Should reject a node depending on an undeclared node")
+        void testUndeclaredDependencyRejected() {
+                assertThrows(IllegalArgumentException.class, () -> AggregationPlan.<Void, String>builder("invalid")
+                                .fetch(FIRST, results -> results.get(SECOND), node -> node.dependsOn(SECOND)));
+        }
+
+        // =============== Helper Methods ===============
+
+        private static String sleepUntilInterrupted(CountDownLatch interrupted) {
+                try {
+                        Thread.sleep(10000);
+                } catch (InterruptedException e) {
+                        interrupted.countDown();
+                }
+                return "late";
+        }
+
+        private static void awaitQuietly(CountDownLatch latch) {
+                try {
+                        assertTrue(latch.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                }
+        }
+
+        private static String sleepThen(long millis, String value) {
+                try {
+                        Thread.sleep(millis);
+                } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                }
+                return value;
+        }
+}
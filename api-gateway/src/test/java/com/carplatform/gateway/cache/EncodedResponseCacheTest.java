@@ -0,0 +1,80 @@
+package com.carplatform.gateway.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for EncodedResponseCache
+ *
+ * Tests the bounds of the encoded byte store:
+ * - Least recently used entries are evicted beyond max-entries
+ * - Total bytes stay within max-bytes; oversized bodies are not stored
+ * - Entries expire after ttl-ms
+ */
+@DisplayName("EncodedResponseCache Unit Tests")
+class EncodedResponseCacheTest {
+
+        @Test
+        @DisplayName("Should evict the least recently used entry beyond max-entries")
+        void testEntryBound() {
+                EncodedResponseCache cache = cache(60000, 2, 1024);
+                cache.put("a", new byte[10], "application/json", null, "\"a\"");
+                cache.put("b", new byte[10], "application/json", null, "\"b\"");
+
+                // WHEN: "a" is read, then a third entry is added
+                assertNotNull(cache.get("a"));
+                cache.put("c", new byte[10], "application/json", "gzip", "\"c\"");
+
+                // THEN: "b", the least recently used, was evicted
+                assertNotNull(cache.get("a"));
+                assertNull(cache.get("b"));
+                assertEquals("gzip", cache.get("c").contentEncoding());
+                assertEquals(20, cache.totalBytes());
+        }
+
+        @Test
+        @DisplayName("Should keep total bytes within max-bytes")
+        void testByteBound() {
+                EncodedResponseCache cache = cache(60000, 100, 400);
+
+                // WHEN: Bodies over a quarter of the budget, and several within it, are added
+                cache.put("huge", new byte[101], "application/json", null, "\"h\"");
+                for (int i = 0; i < 5; i++) {
+                        cache.put("k" + i, new byte[100], "application/json", null, "\"" + i + "\"");
+                }
+
+                // THEN: The huge body was skipped and the oldest entry evicted to fit
+                assertNull(cache.get("huge"));
+                assertNull(cache.get("k0"));
+                assertNotNull(cache.get("k4"));
+                assertEquals(400, cache.totalBytes());
+
+                // AND: Replacing an entry does not count its bytes twice
+                cache.put("k4", new byte[50], "application/json", null, "\"4b\"");
+                assertEquals(350, cache.totalBytes());
+        }
+
+        @Test
+        @DisplayName("Should expire entries after ttl-ms")
+        void testExpiry() throws InterruptedException {
+                EncodedResponseCache cache = cache(20, 10, 1024);
+                cache.put("a", new byte[10], "application/json", null, "\"a\"");
+                assertNotNull(cache.get("a"));
+
+                Thread.sleep(50);
+
+                assertNull(cache.get("a"));
+                assertEquals(0, cache.totalBytes());
+        }
+
+        private static EncodedResponseCache cache(long ttlMs, int maxEntries, long maxBytes) {
+                EncodedResponseCache cache = new EncodedResponseCache();
+                ReflectionTestUtils.setField(cache, "ttlMs", ttlMs);
+                ReflectionTestUtils.setField(cache, "maxEntries", maxEntries);
+                ReflectionTestUtils.setField(cache, "maxBytes", maxBytes);
+                return cache;
+        }
+}
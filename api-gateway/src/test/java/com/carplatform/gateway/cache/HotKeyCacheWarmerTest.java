@@ -0,0 +1,99 @@
+package com.carplatform.gateway.cache;
+
+import com.carplatform.gateway.dto.CarResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for HotKeyCacheWarmer
+ *
+ * Tests refresh-ahead of hot cars:
+ * - The warm interval follows the shortest enabled cache lifetime
+ * - Only entries past refresh-ahead-ratio of their lifetime are refreshed
+ * - Ticks within the interval do not warm again
+ */
+@DisplayName("HotKeyCacheWarmer Unit Tests")
+class HotKeyCacheWarmerTest {
+
+        private final HotKeyTracker hotKeyTracker = mock(HotKeyTracker.class);
+        private final CatalogCache catalogCache = mock(CatalogCache.class);
+        private final AvailabilityCache availabilityCache = mock(AvailabilityCache.class);
+        private final UUID hot = UUID.randomUUID();
+        private HotKeyCacheWarmer warmer;
+
+        @BeforeEach
+        void setUp() {
+                when(hotKeyTracker.isEnabled()).thenReturn(true);
+                when(hotKeyTracker.topKeys()).thenReturn(List.of(new HotKeyTracker.HotKey(hot, 100)));
+                when(catalogCache.getRevalidateAfterMs()).thenReturn(60000L);
+                when(availabilityCache.getTtlMs()).thenReturn(2000L);
+                when(availabilityCache.isEnabled()).thenReturn(true);
+
+                warmer = new HotKeyCacheWarmer();
+                ReflectionTestUtils.setField(warmer, "hotKeyTracker", hotKeyTracker);
+                ReflectionTestUtils.setField(warmer, "catalogCache", catalogCache);
+                ReflectionTestUtils.setField(warmer, "availabilityCache", availabilityCache);
+                ReflectionTestUtils.setField(warmer, "refreshAheadRatio", 0.8);
+                ReflectionTestUtils.setField(warmer, "minWarmIntervalMs", 100L);
+        }
+
+        @Test
+        @DisplayName("Should warm often enough for the shortest enabled lifetime")
+        void testWarmIntervalFollowsShortestLifetime() {
+                // THEN: 2000 ms availability TTL leaves 400 ms after an entry becomes due
+                assertEquals(400, warmer.warmIntervalMs());
+
+                // WHEN: The availability cache is off
+                when(availabilityCache.isEnabled()).thenReturn(false);
+
+                // THEN: The catalog lifetime decides
+                assertEquals(12000, warmer.warmIntervalMs());
+
+                // AND: The interval never drops below the floor
+                when(catalogCache.getRevalidateAfterMs()).thenReturn(200L);
+                assertEquals(100, warmer.warmIntervalMs());
+        }
+
+        @Test
+        @DisplayName("Should refresh only entries past the refresh-ahead point")
+        void testRefreshesDueEntries() {
+                // GIVEN: A catalog entry 50 s old (due at 48 s) and an availability entry 1 s old (due at 1.6 s)
+                long now = System.currentTimeMillis();
+                when(catalogCache.peek(hot)).thenReturn(new CachedCar(new CarResponse(), now - 50000));
+                when(availabilityCache.ageMillis(hot.toString())).thenReturn(1000L);
+
+                warmer.warm();
+
+                verify(catalogCache).revalidateAsync(hot);
+                verify(availabilityCache, never()).refreshAsync(hot.toString());
+
+                // WHEN: The catalog entry is fresh and the availability entry is due (or missing)
+                when(catalogCache.peek(hot)).thenReturn(new CachedCar(new CarResponse(), now));
+                when(availabilityCache.ageMillis(hot.toString())).thenReturn(1700L, -1L);
+                warmer.warm();
+                warmer.warm();
+
+                // THEN: Only availability was refreshed, both times
+                verify(catalogCache, times(1)).revalidateAsync(hot);
+                verify(availabilityCache, times(2)).refreshAsync(hot.toString());
+        }
+
+        @Test
+        @DisplayName("Should not warm again within the interval")
+        void testTickWithinInterval() {
+                when(availabilityCache.ageMillis(hot.toString())).thenReturn(-1L);
+
+                warmer.tick();
+                warmer.tick();
+
+                verify(hotKeyTracker, times(1)).topKeys();
+        }
+}
@@ -0,0 +1,68 @@
+package com.carplatform.gateway.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for HotKeyTracker
+ * 
+ * Tests heavy-hitter detection:
+ * - Frequent cars surface in the top K over a long tail
+ * - Decay lets new traffic overtake old totals
+ */
+@DisplayName("HotKeyTracker Unit Tests")
+class HotKeyTrackerTest {
+
+        @Test
+        @DisplayName("Should keep the most requested cars in the top K")
+        void testTopKeysOverLongTail() {
+                // GIVEN: Tracker keeping the top 2
+                HotKeyTracker tracker = new HotKeyTracker(true, 2, 4, 1024);
+                UUID hot = UUID.randomUUID();
+                UUID warm = UUID.randomUUID();
+
+                // WHEN: Two cars are requested often among many one-off cars
+                for (int i = 0; i < 500; i++) {
+                        tracker.record(UUID.randomUUID());
+                        if (i % 2 == 0) {
+                                tracker.record(hot);
+                        }
+                        if (i % 5 == 0) {
+                                tracker.record(warm);
+                        }
+                }
+
+                // THEN: They are the top 2, hottest first
+                List<HotKeyTracker.HotKey> top = tracker.topKeys();
+                assertEquals(2, top.size());
+                assertEquals(hot, top.get(0).carId());
+                assertEquals(warm, top.get(1).carId());
+                assertTrue(top.get(0).estimatedCount() >= 250);
+        }
+
+        @Test
+        @DisplayName("Should let recent traffic overtake decayed counts")
+        void testDecay() {
+                HotKeyTracker tracker = new HotKeyTracker(true, 1, 4, 1024);
+                UUID old = UUID.randomUUID();
+                UUID fresh = UUID.randomUUID();
+                for (int i = 0; i < 100; i++) {
+                        tracker.record(old);
+                }
+
+                // WHEN: Counts decay, then a new car gets more traffic than what remains
+                tracker.decay();
+                tracker.decay();
+                for (int i = 0; i < 40; i++) {
+                        tracker.record(fresh);
+                }
+
+                // THEN: The new car leads
+                assertEquals(fresh, tracker.topKeys().get(0).carId());
+        }
+}
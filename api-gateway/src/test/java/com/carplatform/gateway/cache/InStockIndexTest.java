@@ -0,0 +1,85 @@
+package com.carplatform.gateway.cache;
+
+import com.carplatform.gateway.dto.InStockIndexResponse;
+import com.carplatform.gateway.stream.AvailabilityStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for InStockIndex
+ *
+ * Tests how deltas are applied to the held snapshot:
+ * - A newer delta moves cars in and out of stock
+ * - A delta at an unchanged version still applies late commits
+ * - Re-sent cars that changed nothing are not reported as changes
+ */
+@DisplayName("InStockIndex Unit Tests")
+class InStockIndexTest {
+
+        private final AvailabilityStream availabilityStream = mock(AvailabilityStream.class);
+        private final UUID held = UUID.randomUUID();
+        private InStockIndex index;
+
+        @BeforeEach
+        void setUp() {
+                index = new InStockIndex();
+                ReflectionTestUtils.setField(index, "availabilityStream", availabilityStream);
+                index.apply(new InStockIndexResponse(100L, true, List.of(held), List.of()));
+                reset(availabilityStream);
+        }
+
+        @Test
+        @DisplayName("Should apply a newer delta and report its cars")
+        void testNewerDelta() {
+                // GIVEN
+                UUID restocked = UUID.randomUUID();
+
+                // WHEN: A delta moves one car in and the held one out
+                index.apply(new InStockIndexResponse(200L, false, List.of(restocked), List.of(held)));
+
+                // THEN
+                assertEquals(200L, index.version());
+                assertTrue(index.isInStock(restocked));
+                assertFalse(index.isInStock(held));
+                verify(availabilityStream).onStockChanged(List.of(restocked));
+                verify(availabilityStream).onStockChanged(List.of(held));
+        }
+
+        @Test
+        @DisplayName("Should apply a late commit re-sent at an unchanged version")
+        void testLateCommitAtUnchangedVersion() {
+                // GIVEN: A car whose stock change committed late, with an older lastUpdated
+                UUID late = UUID.randomUUID();
+
+                // WHEN: The delta re-sends the held car and the late one at the same version
+                index.apply(new InStockIndexResponse(100L, false, List.of(held, late), List.of()));
+
+                // THEN: The late car is in stock and only it is reported
+                assertEquals(100L, index.version());
+                assertTrue(index.isInStock(late));
+                assertTrue(index.isInStock(held));
+                verify(availabilityStream).onStockChanged(List.of(late));
+        }
+
+        @Test
+        @DisplayName("Should ignore a delta that only repeats what is held")
+        void testRepeatedDelta() {
+                // GIVEN
+                InStockIndex.Snapshot before = index.current();
+
+                // WHEN: A delta re-sends the held car at the same version
+                index.apply(new InStockIndexResponse(100L, false, List.of(held), List.of()));
+
+                // THEN: Nothing changed and nothing was reported
+                assertSame(before, index.current());
+                verifyNoInteractions(availabilityStream);
+        }
+}
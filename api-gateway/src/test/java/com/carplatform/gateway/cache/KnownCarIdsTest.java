@@ -0,0 +1,90 @@
+package com.carplatform.gateway.cache;
+
+import com.carplatform.gateway.dto.CarIdExportResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for KnownCarIds
+ *
+ * Tests the known-car Bloom filter:
+ * - Nothing is ruled out before the first export is loaded
+ * - Exported and delta-added IDs are never ruled out
+ * - Deltas that repeat IDs or keep the version are still applied
+ * - Unknown IDs are ruled out at roughly the configured false-positive rate
+ */
+@DisplayName("KnownCarIds Unit Tests")
+class KnownCarIdsTest {
+
+        private KnownCarIds knownCarIds() {
+                KnownCarIds knownCarIds = new KnownCarIds();
+                ReflectionTestUtils.setField(knownCarIds, "enabled", true);
+                ReflectionTestUtils.setField(knownCarIds, "falsePositiveRate", 0.01);
+                ReflectionTestUtils.setField(knownCarIds, "minCapacity", 1000L);
+                ReflectionTestUtils.setField(knownCarIds, "headroom", 2.0);
+                return knownCarIds;
+        }
+
+        @Test
+        @DisplayName("Should rule out nothing until the first export is loaded")
+        void testNotReady() {
+                KnownCarIds knownCarIds = knownCarIds();
+
+                assertFalse(knownCarIds.isReady());
+                assertFalse(knownCarIds.isDefinitelyUnknown(UUID.randomUUID()));
+        }
+
+        @Test
+        @DisplayName("Should keep exported and delta IDs and rule out most unknown IDs")
+        void testFullExportAndDelta() {
+                // GIVEN: A full export of 500 cars, then a delta with one new car
+                KnownCarIds knownCarIds = knownCarIds();
+                List<UUID> ids = new ArrayList<>();
+                for (int i = 0; i < 500; i++) {
+                        ids.add(UUID.randomUUID());
+                }
+                knownCarIds.apply(new CarIdExportResponse(100L, true, ids));
+                UUID created = UUID.randomUUID();
+                knownCarIds.apply(new CarIdExportResponse(200L, false, List.of(created)));
+
+                // THEN: No known ID is ruled out
+                assertTrue(knownCarIds.isReady());
+                assertEquals(501, knownCarIds.size());
+                ids.forEach(id -> assertFalse(knownCarIds.isDefinitelyUnknown(id)));
+                assertFalse(knownCarIds.isDefinitelyUnknown(created));
+
+                // AND: Random IDs are almost all ruled out
+                int passed = 0;
+                for (int i = 0; i < 10000; i++) {
+                        if (!knownCarIds.isDefinitelyUnknown(UUID.randomUUID())) {
+                                passed++;
+                        }
+                }
+                assertTrue(passed < 200, "false positives: " + passed);
+                assertTrue(knownCarIds.expectedFalsePositiveRate() < 0.01);
+        }
+
+        @Test
+        @DisplayName("Should apply a delta that keeps the version and count repeated IDs once")
+        void testDeltaWithUnchangedVersion() {
+                // GIVEN: A full export of one car
+                KnownCarIds knownCarIds = knownCarIds();
+                UUID exported = UUID.randomUUID();
+                knownCarIds.apply(new CarIdExportResponse(100L, true, List.of(exported)));
+
+                // WHEN: A late commit arrives with the same version, alongside a re-sent ID
+                UUID late = UUID.randomUUID();
+                knownCarIds.apply(new CarIdExportResponse(100L, false, List.of(exported, late)));
+
+                // THEN: The late car is known and only it was counted
+                assertFalse(knownCarIds.isDefinitelyUnknown(late));
+                assertEquals(2, knownCarIds.size());
+        }
+}
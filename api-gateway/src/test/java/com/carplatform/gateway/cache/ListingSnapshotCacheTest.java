@@ -0,0 +1,152 @@
+package com.carplatform.gateway.cache;
+
+import com.carplatform.gateway.client.CatalogServiceClient;
+import com.carplatform.gateway.client.InventoryServiceClient;
+import com.carplatform.gateway.dto.CarListingAggregatedResponse;
+import com.carplatform.gateway.dto.CarResponse;
+import com.carplatform.gateway.dto.InventoryRecordResponse;
+import com.carplatform.gateway.dto.ListingSort;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for ListingSnapshotCache
+ *
+ * Tests the snapshot and its rebuild triggers:
+ * - Pages are sliced from the pre-sorted views
+ * - Only an in-stock index newer than the snapshot triggers a rebuild
+ * - Inventory-triggered rebuilds are rate limited
+ * - Snapshot items serialize like the live listing's items
+ */
+@DisplayName("ListingSnapshotCache Unit Tests")
+class ListingSnapshotCacheTest {
+
+        private static final Instant INVENTORY_VERSION = Instant.ofEpochMilli(1_700_000_000_000L);
+
+        private final CatalogServiceClient catalogServiceClient = mock(CatalogServiceClient.class);
+        private final InventoryServiceClient inventoryServiceClient = mock(InventoryServiceClient.class);
+        private final InStockIndex inStockIndex = mock(InStockIndex.class);
+        private final UUID cheap = UUID.randomUUID();
+        private final UUID pricey = UUID.randomUUID();
+        private final UUID soldOut = UUID.randomUUID();
+        private ListingSnapshotCache cache;
+
+        @BeforeEach
+        void setUp() {
+                when(catalogServiceClient.listAllCars()).thenReturn(List.of(
+                                car(soldOut, "10000"), car(pricey, "30000"), car(cheap, "20000")));
+                when(inventoryServiceClient.listAllInventory()).thenReturn(List.of(
+                                new InventoryRecordResponse(UUID.randomUUID(), cheap, 2, 0, "a", INVENTORY_VERSION),
+                                new InventoryRecordResponse(UUID.randomUUID(), pricey, 1, 0, "a", INVENTORY_VERSION),
+                                new InventoryRecordResponse(UUID.randomUUID(), soldOut, 0, 1, "a",
+                                                INVENTORY_VERSION)));
+                when(inStockIndex.isReady()).thenReturn(true);
+
+                cache = new ListingSnapshotCache();
+                ReflectionTestUtils.setField(cache, "catalogServiceClient", catalogServiceClient);
+                ReflectionTestUtils.setField(cache, "inventoryServiceClient", inventoryServiceClient);
+                ReflectionTestUtils.setField(cache, "inStockIndex", inStockIndex);
+                ReflectionTestUtils.setField(cache, "enabled", true);
+                ReflectionTestUtils.setField(cache, "maxAgeMs", 60000L);
+                ReflectionTestUtils.setField(cache, "minRebuildIntervalMs", 0L);
+        }
+
+        @Test
+        @DisplayName("Should serve pages from the matching pre-sorted view")
+        void testPagesFromSortedViews() {
+                // GIVEN: A built snapshot
+                cache.refreshIfStale();
+
+                // WHEN: The in-stock view sorted by price is paged
+                CarListingAggregatedResponse first = cache.getPage(1, 1, true, ListingSort.AVAILABILITY_PRICE_ASC);
+                CarListingAggregatedResponse second = cache.getPage(2, 1, true, ListingSort.AVAILABILITY_PRICE_ASC);
+
+                // THEN: Sold-out cars are left out and pages follow the price order
+                assertEquals(2, first.getPagination().getTotalCount());
+                assertEquals(cheap, first.getCars().get(0).getCarId());
+                assertEquals(pricey, second.getCars().get(0).getCarId());
+
+                // AND: The unfiltered availability view lists the sold-out car last
+                CarListingAggregatedResponse all = cache.getPage(1, 10, false, ListingSort.AVAILABILITY);
+                assertEquals(soldOut, all.getCars().get(2).getCarId());
+        }
+
+        @Test
+        @DisplayName("Should not rebuild when the snapshot is as new as or newer than the index")
+        void testSnapshotAheadOfIndex() {
+                // GIVEN: A snapshot built from inventory newer than the index
+                cache.refreshIfStale();
+                when(inStockIndex.version()).thenReturn(INVENTORY_VERSION.toEpochMilli() - 1000);
+
+                // WHEN: The stale check runs repeatedly
+                cache.refreshIfStale();
+                cache.refreshIfStale();
+
+                // THEN: Nothing is rebuilt
+                verify(catalogServiceClient, times(1)).listAllCars();
+
+                // WHEN: The index catches up to exactly the snapshot's version
+                when(inStockIndex.version()).thenReturn(INVENTORY_VERSION.toEpochMilli());
+                cache.refreshIfStale();
+
+                // THEN: Still nothing to rebuild
+                verify(catalogServiceClient, times(1)).listAllCars();
+        }
+
+        @Test
+        @DisplayName("Should rebuild for a newer index at most once per minimum interval")
+        void testInventoryRebuildRateLimited() {
+                // GIVEN: A built snapshot and an index that has moved past it
+                ReflectionTestUtils.setField(cache, "minRebuildIntervalMs", 60000L);
+                cache.refreshIfStale();
+                when(inStockIndex.version()).thenReturn(INVENTORY_VERSION.toEpochMilli() + 1000);
+
+                // WHEN: The stale check runs within the minimum interval
+                cache.refreshIfStale();
+
+                // THEN: The snapshot is kept
+                verify(catalogServiceClient, times(1)).listAllCars();
+
+                // WHEN: The minimum interval has passed
+                ReflectionTestUtils.setField(cache, "minRebuildIntervalMs", 0L);
+                cache.refreshIfStale();
+
+                // THEN: The snapshot is rebuilt
+                verify(catalogServiceClient, times(2)).listAllCars();
+                verify(inventoryServiceClient, times(2)).listAllInventory();
+        }
+
+        @Test
+        @DisplayName("Should build items exactly as the live listing does")
+        void testItemsMatchLiveListing() throws JsonProcessingException {
+                // GIVEN: A built snapshot
+                cache.refreshIfStale();
+                ObjectMapper objectMapper = new ObjectMapper();
+
+                // WHEN: An item is served from the snapshot
+                CarListingAggregatedResponse page = cache.getPage(1, 1, true, ListingSort.AVAILABILITY_PRICE_ASC);
+
+                // THEN: Its JSON equals the live path's item for the same car and stock
+                CarListingAggregatedResponse.CarListItem live = CarListingAggregatedResponse.CarListItem
+                                .of(car(cheap, "20000"), "IN_STOCK", 2);
+                assertEquals(objectMapper.writeValueAsString(live),
+                                objectMapper.writeValueAsString(page.getCars().get(0)));
+                assertNull(page.getCars().get(0).getColor());
+        }
+
+        private static CarResponse car(UUID id, String price) {
+                return new CarResponse(id, "Make", "Model", 2024, new BigDecimal(price), "black");
+        }
+}
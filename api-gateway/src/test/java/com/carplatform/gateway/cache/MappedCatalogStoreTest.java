@@ -0,0 +1,79 @@
+package com.carplatform.gateway.cache;
+
+import com.carplatform.gateway.dto.CarResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for MappedCatalogStore
+ * 
+ * Tests the memory-mapped catalog file:
+ * - Entries survive closing and re-opening the file
+ * - Updates rewrite the existing slot
+ * - The file grows past its initial slot count
+ */
+@DisplayName("MappedCatalogStore Unit Tests")
+class MappedCatalogStoreTest {
+
+        @TempDir
+        Path tempDir;
+
+        @Test
+        @DisplayName("Should reload stored cars after re-opening the file")
+        void testEntriesSurviveReopen() throws Exception {
+                // GIVEN: A car written to a fresh file
+                Path file = tempDir.resolve("catalog.dat");
+                CarResponse car = car("Tesla", "Model S", 2024, "89999.99", "Black");
+                try (MappedCatalogStore store = new MappedCatalogStore(file, 4, 100)) {
+                        store.put(car, 1_000L);
+                }
+
+                // WHEN: The file is opened again
+                try (MappedCatalogStore reopened = new MappedCatalogStore(file, 4, 100)) {
+                        CachedCar cached = reopened.get(car.getId());
+
+                        // THEN: The record is decoded intact
+                        assertNotNull(cached);
+                        assertEquals(1_000L, cached.fetchedAtMillis());
+                        assertEquals(car.getId(), cached.car().getId());
+                        assertEquals("Tesla", cached.car().getMake());
+                        assertEquals("Model S", cached.car().getModel());
+                        assertEquals(2024, cached.car().getYear());
+                        assertEquals(new BigDecimal("89999.99"), cached.car().getPrice());
+                        assertEquals("Black", cached.car().getColor());
+                        assertEquals(car.getLastUpdated(), cached.car().getLastUpdated());
+                }
+        }
+
+        @Test
+        @DisplayName("Should update in place and grow beyond the initial slots")
+        void testUpdateAndGrow() throws Exception {
+                try (MappedCatalogStore store = new MappedCatalogStore(tempDir.resolve("grow.dat"), 2, 100)) {
+                        CarResponse first = car("BMW", "X5", 2023, "65000.00", null);
+                        store.put(first, 1L);
+                        first.setModel("X6");
+                        store.put(first, 2L);
+                        for (int i = 0; i < 5; i++) {
+                                store.put(car("Make" + i, "Model" + i, 2020 + i, "1000", "Red"), 3L);
+                        }
+
+                        assertEquals(6, store.size());
+                        assertEquals("X6", store.get(first.getId()).car().getModel());
+                        assertNull(store.get(first.getId()).car().getColor());
+                }
+        }
+
+        private static CarResponse car(String make, String model, int year, String price, String color) {
+                CarResponse car = new CarResponse(UUID.randomUUID(), make, model, year, new BigDecimal(price), color);
+                car.setLastUpdated(Instant.parse("2026-02-16T16:45:00.123456Z"));
+                return car;
+        }
+}
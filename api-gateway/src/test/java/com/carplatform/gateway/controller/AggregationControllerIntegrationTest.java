@@ -1,7 +1,12 @@
 package com.carplatform.gateway.controller;
 
+import com.carplatform.gateway.cache.EncodedResponseCache;
+import com.carplatform.gateway.diagnostics.FlightRecorder;
+import com.carplatform.gateway.diagnostics.RequestTimeline;
 import com.carplatform.gateway.dto.CarDetailsAggregatedResponse;
 import com.carplatform.gateway.dto.CarListingAggregatedResponse;
+import com.carplatform.gateway.dto.ListingSort;
+import com.carplatform.gateway.dto.UserOrderSummaryResponse;
 import com.carplatform.gateway.service.AggregationService;
 import com.carplatform.gateway.exception.ResourceNotFoundException;
 import com.carplatform.gateway.exception.ServiceUnavailableException;
@@ -21,6 +26,7 @@ import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 /**
@@ -44,12 +50,19 @@ class AggregationControllerIntegrationTest {
         @MockBean
         private AggregationService aggregationService;
 
+        @Autowired
+        private FlightRecorder flightRecorder;
+
+        @Autowired
+        private EncodedResponseCache responseCache;
+
         private UUID testCarId;
         private CarDetailsAggregatedResponse testDetailsResponse;
         private CarListingAggregatedResponse testListingResponse;
 
         @BeforeEach
         void setUp() {
+                responseCache.clear();
                 testCarId = UUID.randomUUID();
 
                 // Create test details response
@@ -249,6 +262,114 @@ class AggregationControllerIntegrationTest {
                                 .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
         }
 
+        @Test
+        @DisplayName("GET /cars/listing should pass in-stock filter and availability sort to the service")
+        void testGetCarListing_InStockSortedByAvailability() {
+                // GIVEN: Service returns the filtered listing
+                when(aggregationService.getCarListingWithAvailability(1, 20, true,
+                                ListingSort.AVAILABILITY_PRICE_ASC))
+                                .thenReturn(testListingResponse);
+
+                // WHEN & THEN: Sort parameter is case-insensitive
+                webTestClient.get()
+                                .uri("/cars/listing?page=1&size=20&inStock=true&sort=availability_price_asc")
+                                .accept(MediaType.APPLICATION_JSON)
+                                .exchange()
+                                .expectStatus().isOk();
+
+                // VERIFY: Availability-aware overload used, plain listing not called
+                verify(aggregationService, times(1)).getCarListingWithAvailability(1, 20, true,
+                                ListingSort.AVAILABILITY_PRICE_ASC);
+                verify(aggregationService, never()).getCarListingWithAvailability(1, 20);
+        }
+
+        @Test
+        @DisplayName("GET /cars/listing should return 400 for unknown sort option")
+        void testGetCarListing_InvalidSort() {
+                webTestClient.get()
+                                .uri("/cars/listing?page=1&size=20&sort=cheapest")
+                                .accept(MediaType.APPLICATION_JSON)
+                                .exchange()
+                                .expectStatus().isBadRequest();
+        }
+
+        // ===================== CONDITIONAL REQUEST TESTS =====================
+
+        @Test
+        @DisplayName("GET /cars/{carId}/details should return ETag and 304 on matching If-None-Match")
+        void testGetCarDetails_NotModified() {
+                // GIVEN: Service returns a response tagged with upstream versions
+                testDetailsResponse.setEtag("\"car-details-v1\"");
+                when(aggregationService.getCarDetailsWithAvailability(testCarId))
+                                .thenReturn(testDetailsResponse);
+
+                // WHEN & THEN: First call returns the tag
+                webTestClient.get()
+                                .uri("/cars/{carId}/details", testCarId)
+                                .accept(MediaType.APPLICATION_JSON)
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectHeader().valueEquals("ETag", "\"car-details-v1\"");
+
+                // AND: Revalidation with the same tag returns headers only
+                webTestClient.get()
+                                .uri("/cars/{carId}/details", testCarId)
+                                .header("If-None-Match", "\"car-details-v1\"")
+                                .exchange()
+                                .expectStatus().isNotModified()
+                                .expectBody().isEmpty();
+        }
+
+        @Test
+        @DisplayName("GET /cars/listing should return 200 when If-None-Match no longer matches")
+        void testGetCarListing_ModifiedSinceETag() {
+                // GIVEN: Listing changed since the client's tag
+                testListingResponse.setEtag("\"car-listing-v2\"");
+                when(aggregationService.getCarListingWithAvailability(1, 20))
+                                .thenReturn(testListingResponse);
+
+                // WHEN & THEN: Stale tag gets the full body and the new tag
+                webTestClient.get()
+                                .uri("/cars/listing?page=1&size=20")
+                                .header("If-None-Match", "\"car-listing-v1\"")
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectHeader().valueEquals("ETag", "\"car-listing-v2\"")
+                                .expectBody(CarListingAggregatedResponse.class)
+                                .consumeWith(response -> {
+                                        assert response.getResponseBody().getCars().size() == 2;
+                                });
+        }
+
+        @Test
+        @DisplayName("GET /cars/listing should replay cached encoded bytes for tagged responses")
+        void testGetCarListing_ServedFromResponseCache() {
+                // GIVEN: Tagged listing response
+                testListingResponse.setEtag("\"car-listing-v3\"");
+                when(aggregationService.getCarListingWithAvailability(1, 20))
+                                .thenReturn(testListingResponse);
+
+                // WHEN: Same page is requested twice
+                webTestClient.get()
+                                .uri("/cars/listing?page=1&size=20")
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectHeader().valueEquals("X-Cache", "MISS");
+                webTestClient.get()
+                                .uri("/cars/listing?page=1&size=20")
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectHeader().valueEquals("X-Cache", "HIT")
+                                .expectHeader().valueEquals("ETag", "\"car-listing-v3\"")
+                                .expectBody(CarListingAggregatedResponse.class)
+                                .consumeWith(response -> {
+                                        assert response.getResponseBody().getCars().size() == 2;
+                                });
+
+                // THEN: Aggregation ran only for the first request
+                verify(aggregationService, times(1)).getCarListingWithAvailability(1, 20);
+        }
+
         // ===================== HEALTH CHECK ENDPOINT TESTS =====================
 
         @Test
@@ -265,6 +386,44 @@ class AggregationControllerIntegrationTest {
                                 .jsonPath("$.timestamp").exists();
         }
 
+        // ===================== FLIGHT RECORDER TESTS =====================
+
+        @Test
+        @DisplayName("Aggregated requests should be captured by the flight recorder with phase timings")
+        void testFlightRecorder_RecordsAggregatedRequest() throws InterruptedException {
+                // GIVEN: Service returns valid details
+                flightRecorder.clear();
+                when(aggregationService.getCarDetailsWithAvailability(testCarId))
+                                .thenReturn(testDetailsResponse);
+
+                // WHEN: Request is served
+                webTestClient.get()
+                                .uri("/cars/{carId}/details", testCarId)
+                                .header("X-Trace-Id", "flight-test-1")
+                                .exchange()
+                                .expectStatus().isOk();
+
+                // THEN: Timeline is recorded once the exchange completes
+                RequestTimeline.FlightRecord record = null;
+                for (int i = 0; i < 50 && record == null; i++) {
+                        record = flightRecorder.recent().stream()
+                                        .filter(r -> "flight-test-1".equals(r.requestId()))
+                                        .findFirst()
+                                        .orElse(null);
+                        if (record == null) {
+                                Thread.sleep(20);
+                        }
+                }
+                assert record != null;
+                assert record.status() == 200;
+                assert record.path().equals("/cars/" + testCarId + "/details");
+                assert record.filterMs() != null;
+                assert record.queueWaitMs() != null;
+                assert record.handlerMs() != null;
+                assert record.serializationMs() != null;
+                assert flightRecorder.slowest().contains(record);
+        }
+
         // ===================== RESPONSE VALIDATION TESTS =====================
 
         @Test
@@ -307,4 +466,40 @@ class AggregationControllerIntegrationTest {
                                         assert response.getResponseBody().getPagination().getTotalPages() > 0;
                                 });
         }
+
+        @Test
+        @DisplayName("User order summary should be answered by the gateway, not proxied")
+        void testGetUserOrderSummary_Success() {
+                // GIVEN: Service returns a one-order summary
+                UUID userId = UUID.randomUUID();
+                UserOrderSummaryResponse summary = new UserOrderSummaryResponse();
+                summary.setUserId(userId);
+                UserOrderSummaryResponse.OrderSummaryItem item = new UserOrderSummaryResponse.OrderSummaryItem();
+                item.setOrderId(UUID.randomUUID());
+                item.setCarId(testCarId);
+                item.setMake("Tesla");
+                item.setCarInfoStatus("AVAILABLE");
+                summary.getOrders().add(item);
+                summary.setPagination(new CarListingAggregatedResponse.PaginationInfo(1, 20, 1));
+                when(aggregationService.getUserOrderSummary(userId, 1, 20)).thenReturn(summary);
+
+                // WHEN & THEN: The controller answers despite the /users/** proxy route
+                webTestClient.get()
+                                .uri("/users/{userId}/orders/summary", userId)
+                                .accept(MediaType.APPLICATION_JSON)
+                                .exchange()
+                                .expectStatus().isOk()
+                                .expectBody()
+                                .jsonPath("$.userId").isEqualTo(userId.toString())
+                                .jsonPath("$.orders[0].make").isEqualTo("Tesla")
+                                .jsonPath("$.orders[0].carInfoStatus").isEqualTo("AVAILABLE")
+                                .jsonPath("$.metadata.aggregationStatus").isEqualTo(200);
+
+                // AND: Invalid page size is rejected before aggregation
+                webTestClient.get()
+                                .uri("/users/{userId}/orders/summary?size=0", userId)
+                                .exchange()
+                                .expectStatus().isBadRequest();
+                verify(aggregationService, times(1)).getUserOrderSummary(any(), anyInt(), anyInt());
+        }
 }
@@ -0,0 +1,83 @@
+package com.carplatform.gateway.filter;
+
+import com.carplatform.gateway.cache.HotKeyTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.annotation.OrderUtils;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for HotKeyWebFilter
+ *
+ * Tests that car details requests are counted ahead of the response cache:
+ * - The filter runs before the ResponseCacheWebFilter
+ * - Requests answered without reaching the handler are still counted
+ * - Other paths and invalid car IDs are not counted
+ */
+@DisplayName("HotKeyWebFilter Unit Tests")
+class HotKeyWebFilterTest {
+
+        // Stands in for a cache hit: the handler is never reached
+        private static final WebFilterChain CACHE_HIT = exchange -> Mono.empty();
+
+        private HotKeyTracker tracker;
+        private HotKeyWebFilter filter;
+
+        @BeforeEach
+        void setUp() {
+                tracker = new HotKeyTracker(true, 5, 4, 256);
+                filter = new HotKeyWebFilter();
+                ReflectionTestUtils.setField(filter, "hotKeyTracker", tracker);
+        }
+
+        @Test
+        @DisplayName("Should run before the response cache")
+        void testOrderedBeforeResponseCache() {
+                assertTrue(OrderUtils.getOrder(HotKeyWebFilter.class)
+                                < OrderUtils.getOrder(ResponseCacheWebFilter.class));
+        }
+
+        @Test
+        @DisplayName("Should count car details requests the cache answers")
+        void testCountsCacheHits() {
+                // GIVEN
+                UUID carId = UUID.randomUUID();
+
+                // WHEN: Three details requests are answered from the cache
+                for (int i = 0; i < 3; i++) {
+                        filter.filter(get("/cars/" + carId + "/details"), CACHE_HIT).block();
+                }
+
+                // THEN: All three are counted
+                assertEquals(List.of(new HotKeyTracker.HotKey(carId, 3)), tracker.topKeys());
+        }
+
+        @Test
+        @DisplayName("Should ignore other paths and invalid car IDs")
+        void testIgnoresOtherRequests() {
+                // WHEN
+                filter.filter(get("/cars/listing"), CACHE_HIT).block();
+                filter.filter(get("/cars/not-a-uuid/details"), CACHE_HIT).block();
+                filter.filter(MockServerWebExchange.from(MockServerHttpRequest
+                                .post("/cars/" + UUID.randomUUID() + "/details")), CACHE_HIT).block();
+
+                // THEN
+                assertTrue(tracker.topKeys().isEmpty());
+        }
+
+        // =============== Helper Methods ===============
+
+        private static MockServerWebExchange get(String path) {
+                return MockServerWebExchange.from(MockServerHttpRequest.get(path));
+        }
+}
@@ -0,0 +1,89 @@
+package com.carplatform.gateway.filter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.atomic.AtomicReference;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for PriorityAdmissionQueue
+ * 
+ * Tests admission order and shedding under saturation:
+ * - Higher priority waiters are admitted first
+ * - A full queue sheds the lowest class
+ * - Waiters time out with a rejection
+ */
+@DisplayName("PriorityAdmissionQueue Unit Tests")
+class PriorityAdmissionQueueTest {
+
+        @Test
+        @DisplayName("Should admit queued requests highest priority first")
+        void testAdmitsByPriority() {
+                // GIVEN: One slot, already taken
+                PriorityAdmissionQueue queue = new PriorityAdmissionQueue(1, 10, Duration.ofSeconds(5));
+                PriorityAdmissionQueue.Permit running = queue.acquire("listing", 50).block();
+
+                List<String> admitted = new ArrayList<>();
+                List<PriorityAdmissionQueue.Permit> permits = new ArrayList<>();
+                queue.acquire("listing", 50).subscribe(p -> {
+                        admitted.add("listing");
+                        permits.add(p);
+                });
+                queue.acquire("checkout", 100).subscribe(p -> {
+                        admitted.add("checkout");
+                        permits.add(p);
+                });
+                assertEquals(2, queue.queued());
+
+                // WHEN: Slots free up one at a time
+                running.release();
+                permits.get(0).release();
+
+                // THEN: Checkout overtook the earlier listing request
+                assertEquals(List.of("checkout", "listing"), admitted);
+                permits.get(1).release();
+                assertEquals(0, queue.inFlight());
+        }
+
+        @Test
+        @DisplayName("Should shed the lowest class when the queue is full")
+        void testShedsLowestPriorityWhenFull() {
+                // GIVEN: One slot taken and a queue of one holding a listing request
+                PriorityAdmissionQueue queue = new PriorityAdmissionQueue(1, 1, Duration.ofSeconds(5));
+                queue.acquire("listing", 50).block();
+
+                AtomicReference<Throwable> listingError = new AtomicReference<>();
+                queue.acquire("listing", 50).subscribe(p -> {
+                }, listingError::set);
+
+                // WHEN: A checkout request arrives
+                queue.acquire("checkout", 100).subscribe();
+
+                // THEN: The listing waiter is displaced
+                PriorityAdmissionQueue.Rejected displaced = assertInstanceOf(PriorityAdmissionQueue.Rejected.class,
+                                listingError.get());
+                assertEquals("displaced", displaced.getReason());
+
+                // AND: Another low-priority arrival is rejected outright
+                PriorityAdmissionQueue.Rejected rejected = assertThrows(PriorityAdmissionQueue.Rejected.class,
+                                () -> queue.acquire("actuator", 10).block());
+                assertEquals("queue_full", rejected.getReason());
+        }
+
+        @Test
+        @DisplayName("Should reject waiters after the maximum queue wait")
+        void testQueueTimeout() {
+                PriorityAdmissionQueue queue = new PriorityAdmissionQueue(1, 10, Duration.ofMillis(50));
+                queue.acquire("checkout", 100).block();
+
+                PriorityAdmissionQueue.Rejected rejected = assertThrows(PriorityAdmissionQueue.Rejected.class,
+                                () -> queue.acquire("listing", 50).block(Duration.ofSeconds(1)));
+                assertEquals("queue_timeout", rejected.getReason());
+                assertEquals(0, queue.queued());
+        }
+}
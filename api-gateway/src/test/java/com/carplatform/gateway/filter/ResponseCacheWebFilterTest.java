@@ -0,0 +1,164 @@
+package com.carplatform.gateway.filter;
+
+import com.carplatform.gateway.cache.EncodedResponseCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for ResponseCacheWebFilter
+ *
+ * Tests the pre-encoded response cache:
+ * - Accept-Encoding q-values are parsed numerically, including "*"
+ * - A miss stores the encoded body and a hit replays it without the handler
+ * - A matching If-None-Match gets 304 from the cache
+ * - Responses without an ETag or not 200 are never stored
+ */
+@DisplayName("ResponseCacheWebFilter Unit Tests")
+class ResponseCacheWebFilterTest {
+
+        private static final String BODY = "{\"cars\":[" + "{\"make\":\"Make\",\"model\":\"Model\"},".repeat(100)
+                        + "{}]}";
+
+        private final AtomicInteger handlerCalls = new AtomicInteger();
+        private ResponseCacheWebFilter filter;
+
+        @BeforeEach
+        void setUp() {
+                EncodedResponseCache cache = new EncodedResponseCache();
+                ReflectionTestUtils.setField(cache, "ttlMs", 60000L);
+                ReflectionTestUtils.setField(cache, "maxEntries", 10);
+                ReflectionTestUtils.setField(cache, "maxBytes", 1024L * 1024);
+
+                filter = new ResponseCacheWebFilter();
+                ReflectionTestUtils.setField(filter, "cache", cache);
+                ReflectionTestUtils.setField(filter, "enabled", true);
+                ReflectionTestUtils.setField(filter, "paths", List.of("/cars/listing", "/cars/*/details"));
+                ReflectionTestUtils.setField(filter, "gzipMinBytes", 1024);
+                filter.init();
+        }
+
+        @Test
+        @DisplayName("Should parse Accept-Encoding q-values numerically")
+        void testAcceptsGzip() {
+                assertTrue(ResponseCacheWebFilter.acceptsGzip(List.of("gzip")));
+                assertTrue(ResponseCacheWebFilter.acceptsGzip(List.of("br, GZIP;q=0.5")));
+                assertTrue(ResponseCacheWebFilter.acceptsGzip(List.of("deflate", "*")));
+                assertTrue(ResponseCacheWebFilter.acceptsGzip(List.of("*;q=0.1")));
+
+                assertFalse(ResponseCacheWebFilter.acceptsGzip(List.of()));
+                assertFalse(ResponseCacheWebFilter.acceptsGzip(List.of("gzip;q=0")));
+                assertFalse(ResponseCacheWebFilter.acceptsGzip(List.of("gzip;q=0.0")));
+                assertFalse(ResponseCacheWebFilter.acceptsGzip(List.of("gzip; q=0.000")));
+                assertFalse(ResponseCacheWebFilter.acceptsGzip(List.of("*;q=0")));
+                assertFalse(ResponseCacheWebFilter.acceptsGzip(List.of("gzip;q=0, *")));
+                assertFalse(ResponseCacheWebFilter.acceptsGzip(List.of("gzip;q=abc")));
+        }
+
+        @Test
+        @DisplayName("Should store a gzip-encoded miss and replay it on a hit")
+        void testMissThenHit() throws IOException {
+                // WHEN: The same listing page is requested twice by a gzip client
+                MockServerWebExchange miss = exchange(MockServerHttpRequest.get("/cars/listing?page=1")
+                                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+                filter.filter(miss, handler(HttpStatus.OK, "\"v1\"")).block();
+                MockServerWebExchange hit = exchange(MockServerHttpRequest.get("/cars/listing?page=1")
+                                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+                filter.filter(hit, handler(HttpStatus.OK, "\"v1\"")).block();
+
+                // THEN: The handler ran once; both responses carry the gzip body
+                assertEquals(1, handlerCalls.get());
+                assertEquals("MISS", miss.getResponse().getHeaders().getFirst("X-Cache"));
+                assertEquals("HIT", hit.getResponse().getHeaders().getFirst("X-Cache"));
+                assertEquals("gzip", hit.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+                assertEquals(BODY, gunzip(bodyBytes(hit)));
+
+                // AND: An identity client gets its own entry
+                MockServerWebExchange identity = exchange(MockServerHttpRequest.get("/cars/listing?page=1")
+                                .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0.0"));
+                filter.filter(identity, handler(HttpStatus.OK, "\"v1\"")).block();
+                assertEquals(2, handlerCalls.get());
+                assertNull(identity.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+                assertEquals(BODY, identity.getResponse().getBodyAsString().block());
+        }
+
+        @Test
+        @DisplayName("Should answer a matching If-None-Match from the cache with 304")
+        void testNotModifiedFromCache() {
+                filter.filter(exchange(MockServerHttpRequest.get("/cars/1/details")), handler(HttpStatus.OK, "\"v1\""))
+                                .block();
+
+                MockServerWebExchange revalidation = exchange(MockServerHttpRequest.get("/cars/1/details")
+                                .ifNoneMatch("\"v1\""));
+                filter.filter(revalidation, handler(HttpStatus.OK, "\"v1\"")).block();
+
+                assertEquals(HttpStatus.NOT_MODIFIED, revalidation.getResponse().getStatusCode());
+                assertEquals(1, handlerCalls.get());
+        }
+
+        @Test
+        @DisplayName("Should not store degraded or unversioned responses")
+        void testOnlyVersionedOkResponsesStored() {
+                filter.filter(exchange(MockServerHttpRequest.get("/cars/listing")),
+                                handler(HttpStatus.PARTIAL_CONTENT, "\"v1\"")).block();
+                filter.filter(exchange(MockServerHttpRequest.get("/cars/listing")), handler(HttpStatus.OK, null))
+                                .block();
+                filter.filter(exchange(MockServerHttpRequest.get("/cars/listing")), handler(HttpStatus.OK, null))
+                                .block();
+
+                assertEquals(3, handlerCalls.get());
+        }
+
+        // =============== Helper Methods ===============
+
+        private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+                return MockServerWebExchange.from(request);
+        }
+
+        private WebFilterChain handler(HttpStatus status, String etag) {
+                return exchange -> {
+                        handlerCalls.incrementAndGet();
+                        ServerHttpResponse response = exchange.getResponse();
+                        response.setStatusCode(status);
+                        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                        if (etag != null) {
+                                response.getHeaders().setETag(etag);
+                        }
+                        return response.writeWith(Mono.just(response.bufferFactory()
+                                        .wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+                };
+        }
+
+        private static byte[] bodyBytes(MockServerWebExchange exchange) {
+                DataBuffer joined = DataBufferUtils.join(exchange.getResponse().getBody()).block();
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                return bytes;
+        }
+
+        private static String gunzip(byte[] gzipped) throws IOException {
+                try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+                        return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                }
+        }
+}
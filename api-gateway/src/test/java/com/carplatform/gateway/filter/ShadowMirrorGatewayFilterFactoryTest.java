@@ -0,0 +1,180 @@
+package com.carplatform.gateway.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for ShadowMirrorGatewayFilterFactory
+ *
+ * Tests the mirroring rules against a stubbed shadow upstream:
+ * - Credential headers are not sent to the shadow
+ * - Only the sampled share of GET requests is mirrored
+ * - Mirrors beyond maxInFlight are skipped
+ * - A slow shadow never delays the primary exchange
+ */
+@DisplayName("ShadowMirrorGatewayFilterFactory Unit Tests")
+class ShadowMirrorGatewayFilterFactoryTest {
+
+        private static final GatewayFilterChain PRIMARY = exchange -> {
+                exchange.getResponse().setStatusCode(HttpStatus.OK);
+                return Mono.empty();
+        };
+
+        private final List<ClientRequest> shadowRequests = new CopyOnWriteArrayList<>();
+        private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        @Test
+        @DisplayName("Should strip credential headers from the shadow copy by default")
+        void testCredentialHeadersStripped() {
+                // GIVEN: Every GET mirrored
+                GatewayFilter filter = filter(Duration.ZERO, config(100, 10));
+
+                // WHEN: A request with credentials and an ordinary header passes
+                MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/cars/1?x=1")
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer secret")
+                                .header(HttpHeaders.COOKIE, "session=abc")
+                                .header("x-api-key", "key")
+                                .header("X-Correlation-Id", "c-1"));
+                filter.filter(exchange, PRIMARY).block();
+                awaitShadowRequests(1);
+
+                // THEN: The shadow got the path and ordinary headers, no credentials
+                HttpHeaders sent = shadowRequests.get(0).headers();
+                assertEquals("/cars/1", shadowRequests.get(0).url().getPath());
+                assertEquals("x=1", shadowRequests.get(0).url().getQuery());
+                assertNull(sent.getFirst(HttpHeaders.AUTHORIZATION));
+                assertNull(sent.getFirst(HttpHeaders.COOKIE));
+                assertNull(sent.getFirst("X-Api-Key"));
+                assertEquals("c-1", sent.getFirst("X-Correlation-Id"));
+                assertEquals("true", sent.getFirst("X-Shadow-Request"));
+        }
+
+        @Test
+        @DisplayName("Should forward credentials only when configured to")
+        void testCredentialsForwardedWhenEnabled() {
+                ShadowMirrorGatewayFilterFactory.Config config = config(100, 10);
+                config.setForwardCredentials(true);
+                GatewayFilter filter = filter(Duration.ZERO, config);
+
+                filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/cars")
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer secret")), PRIMARY).block();
+                awaitShadowRequests(1);
+
+                assertEquals("Bearer secret", shadowRequests.get(0).headers().getFirst(HttpHeaders.AUTHORIZATION));
+        }
+
+        @Test
+        @DisplayName("Should mirror only the sampled share of GET requests")
+        void testSampling() throws InterruptedException {
+                // GIVEN: Filters mirroring none, 30% and all GETs
+                GatewayFilter none = filter(Duration.ZERO, config(0, 1000));
+                GatewayFilter share = filter(Duration.ZERO, config(30, 1000));
+                GatewayFilter all = filter(Duration.ZERO, config(100, 1000));
+
+                // WHEN: Non-sampled traffic passes
+                for (int i = 0; i < 50; i++) {
+                        none.filter(get(), PRIMARY).block();
+                }
+                all.filter(MockServerWebExchange.from(MockServerHttpRequest.post("/orders")), PRIMARY).block();
+                Thread.sleep(200);
+
+                // THEN: Nothing was mirrored (0% or not a GET)
+                assertEquals(0, shadowRequests.size());
+
+                // WHEN: 400 requests pass the 30% filter
+                for (int i = 0; i < 400; i++) {
+                        share.filter(get(), PRIMARY).block();
+                }
+                Thread.sleep(500);
+
+                // THEN: Roughly 120 were mirrored
+                int mirrored = shadowRequests.size();
+                assertTrue(mirrored >= 70 && mirrored <= 170, "mirrored " + mirrored);
+        }
+
+        @Test
+        @DisplayName("Should skip mirrors beyond maxInFlight")
+        void testConcurrencyCap() throws InterruptedException {
+                // GIVEN: A slow shadow and room for one outstanding mirror
+                GatewayFilter filter = filter(Duration.ofSeconds(2), config(100, 1));
+
+                // WHEN: Three requests pass while the first mirror is outstanding
+                filter.filter(get(), PRIMARY).block();
+                filter.filter(get(), PRIMARY).block();
+                filter.filter(get(), PRIMARY).block();
+                Thread.sleep(200);
+
+                // THEN: Only the first was mirrored, the others counted as skipped
+                assertEquals(1, shadowRequests.size());
+                assertEquals(2.0, meterRegistry.counter("carplatform.gateway.shadow.skipped",
+                                "route", "unknown").count());
+        }
+
+        @Test
+        @DisplayName("Should complete the primary exchange without waiting for the shadow")
+        void testPrimaryNotDelayed() {
+                // GIVEN: A shadow that takes 3 seconds to answer
+                GatewayFilter filter = filter(Duration.ofSeconds(3), config(100, 10));
+                MockServerWebExchange exchange = get();
+
+                // WHEN: The request is mirrored
+                long start = System.nanoTime();
+                filter.filter(exchange, PRIMARY).block(Duration.ofSeconds(1));
+                long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+                // THEN: The primary finished well before the shadow
+                awaitShadowRequests(1);
+                assertTrue(elapsedMs < 1000, "primary took " + elapsedMs + " ms");
+                assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        }
+
+        // =============== Helper Methods ===============
+
+        private GatewayFilter filter(Duration shadowDelay, ShadowMirrorGatewayFilterFactory.Config config) {
+                WebClient.Builder shadow = WebClient.builder().exchangeFunction(request -> {
+                        shadowRequests.add(request);
+                        return Mono.just(ClientResponse.create(HttpStatus.OK).build()).delayElement(shadowDelay);
+                });
+                ShadowMirrorGatewayFilterFactory factory = new ShadowMirrorGatewayFilterFactory(shadow);
+                ReflectionTestUtils.setField(factory, "meterRegistry", meterRegistry);
+                return factory.apply(config);
+        }
+
+        private static ShadowMirrorGatewayFilterFactory.Config config(double percentage, int maxInFlight) {
+                ShadowMirrorGatewayFilterFactory.Config config = new ShadowMirrorGatewayFilterFactory.Config();
+                config.setShadowUri("http://shadow.test");
+                config.setPercentage(percentage);
+                config.setMaxInFlight(maxInFlight);
+                return config;
+        }
+
+        private static MockServerWebExchange get() {
+                return MockServerWebExchange.from(MockServerHttpRequest.get("/cars"));
+        }
+
+        private void awaitShadowRequests(int count) {
+                long deadline = System.currentTimeMillis() + 2000;
+                while (shadowRequests.size() < count && System.currentTimeMillis() < deadline) {
+                        Thread.onSpinWait();
+                }
+                assertTrue(shadowRequests.size() >= count, "shadow requests: " + shadowRequests.size());
+        }
+}
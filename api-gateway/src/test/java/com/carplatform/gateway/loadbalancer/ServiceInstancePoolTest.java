@@ -0,0 +1,94 @@
+package com.carplatform.gateway.loadbalancer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for ServiceInstancePool
+ *
+ * Tests client-side balancing:
+ * - Power-of-two-choices prefers the less loaded instance
+ * - Consecutive failures eject an instance; a fully ejected pool still serves
+ * - File-based instance lists are re-read on change
+ */
+@DisplayName("ServiceInstancePool Unit Tests")
+class ServiceInstancePoolTest {
+
+        private static final URI LOGICAL = URI.create("http://localhost:8081");
+
+        private ServiceInstancePool pool(List<String> instances, Path file) {
+                return new ServiceInstancePool("catalog", LOGICAL, instances, file, 0L, 3, 60000L, 120000L, null);
+        }
+
+        @Test
+        @DisplayName("Should prefer the instance with fewer outstanding requests")
+        void testChoosesLessLoadedInstance() {
+                // GIVEN: Two instances, one with many requests in flight
+                ServiceInstancePool pool = pool(List.of("http://localhost:8081", "http://localhost:8091"), null);
+                ServiceInstance busy = pool.getInstances().get(0);
+                for (int i = 0; i < 10; i++) {
+                        busy.begin();
+                }
+
+                // WHEN / THEN: With two instances both are always compared, so the idle one wins
+                for (int i = 0; i < 20; i++) {
+                        assertEquals("localhost:8091", pool.choose().getId());
+                }
+        }
+
+        @Test
+        @DisplayName("Should eject an instance after consecutive failures")
+        void testEjectsFailingInstance() {
+                // GIVEN: Two instances
+                ServiceInstancePool pool = pool(List.of("http://localhost:8081", "http://localhost:8091"), null);
+                ServiceInstance failing = pool.getInstances().get(1);
+
+                // WHEN: One fails three times in a row (threshold)
+                for (int i = 0; i < 3; i++) {
+                        failing.begin().failure();
+                }
+
+                // THEN: It is ejected and no longer chosen
+                assertTrue(failing.isEjected());
+                for (int i = 0; i < 20; i++) {
+                        assertEquals("localhost:8081", pool.choose().getId());
+                }
+
+                // AND: If the other one is ejected too, the pool still returns an instance
+                ServiceInstance other = pool.getInstances().get(0);
+                for (int i = 0; i < 3; i++) {
+                        other.begin().failure();
+                }
+                assertNotNull(pool.choose());
+        }
+
+        @Test
+        @DisplayName("Should re-read the instances file when it changes")
+        void testReloadsInstancesFile(@TempDir Path dir) throws Exception {
+                // GIVEN: A file listing one instance
+                Path file = dir.resolve("catalog-instances.txt");
+                Files.writeString(file, "# catalog\nhttp://localhost:8081\n");
+                ServiceInstancePool pool = pool(List.of(), file);
+                assertEquals(1, pool.getInstances().size());
+
+                // WHEN: A second instance is added
+                Files.writeString(file, "http://localhost:8081\nhttp://localhost:8091\n");
+                Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 5000));
+                pool.choose();
+
+                // THEN: Both are in the pool
+                assertEquals(2, pool.getInstances().size());
+                assertEquals("http://localhost:8091/catalog/1?x=1",
+                                pool.getInstances().get(1).rewrite(URI.create("http://localhost:8081/catalog/1?x=1"))
+                                                .toString());
+        }
+}
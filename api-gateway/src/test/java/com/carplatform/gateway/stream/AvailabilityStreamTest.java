@@ -0,0 +1,88 @@
+package com.carplatform.gateway.stream;
+
+import com.carplatform.gateway.client.InventoryServiceClient;
+import com.carplatform.gateway.dto.InventoryAvailabilityResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.Disposable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for AvailabilityStream
+ *
+ * Tests the shared per-car channels:
+ * - Subscribers of the same car share one inventory lookup
+ * - Only actual stock changes are pushed
+ * - The channel is dropped with its last subscriber
+ */
+@DisplayName("AvailabilityStream Unit Tests")
+class AvailabilityStreamTest {
+
+        @Test
+        @DisplayName("Should share one lookup per car and push only changes")
+        void testSharedChannelPushesChanges() throws InterruptedException {
+                // GIVEN: A car with 5 available units, then 4
+                UUID carId = UUID.randomUUID();
+                InventoryServiceClient inventoryServiceClient = mock(InventoryServiceClient.class);
+                when(inventoryServiceClient.guardedCheckAvailability(carId.toString()))
+                                .thenReturn(availability(carId, 5), availability(carId, 5), availability(carId, 4));
+                AvailabilityStream stream = new AvailabilityStream();
+                ReflectionTestUtils.setField(stream, "inventoryServiceClient", inventoryServiceClient);
+                ReflectionTestUtils.setField(stream, "heartbeatIntervalMs", 60000L);
+
+                // WHEN: Two clients watch the car
+                List<Integer> first = new CopyOnWriteArrayList<>();
+                List<Integer> second = new CopyOnWriteArrayList<>();
+                Disposable firstClient = stream.subscribe(List.of(carId))
+                                .map(ServerSentEvent::data)
+                                .subscribe(data -> first.add(data.getAvailableUnits()));
+                awaitSize(first, 1);
+                Disposable secondClient = stream.subscribe(List.of(carId))
+                                .map(ServerSentEvent::data)
+                                .subscribe(data -> second.add(data.getAvailableUnits()));
+                awaitSize(second, 1);
+
+                // THEN: The second client got the latest value without a new lookup
+                verify(inventoryServiceClient, times(1)).guardedCheckAvailability(carId.toString());
+                assertEquals(1, stream.channelCount());
+
+                // WHEN: An unchanged car, then a changed one, is reported
+                stream.onStockChanged(List.of(carId));
+                Thread.sleep(200);
+                stream.onStockChanged(List.of(carId));
+                awaitSize(first, 2);
+                awaitSize(second, 2);
+
+                // THEN: Only the change was pushed, to both clients
+                assertEquals(List.of(5, 4), first);
+                assertEquals(List.of(5, 4), second);
+
+                // AND: The channel closes with its last subscriber
+                firstClient.dispose();
+                assertEquals(1, stream.channelCount());
+                secondClient.dispose();
+                assertEquals(0, stream.channelCount());
+        }
+
+        private static InventoryAvailabilityResponse availability(UUID carId, int available) {
+                return new InventoryAvailabilityResponse(carId, available > 0 ? "IN_STOCK" : "OUT_OF_STOCK", 10,
+                                available, 10 - available);
+        }
+
+        private static void awaitSize(List<?> values, int size) throws InterruptedException {
+                long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+                while (values.size() < size && System.nanoTime() < deadline) {
+                        Thread.sleep(10);
+                }
+                assertEquals(size, values.size());
+        }
+}
@@ -0,0 +1,48 @@
+package com.carplatform.gateway.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for RollingLatencyHistogram
+ *
+ * Tests percentile estimation used by the adaptive downstream timeouts:
+ * - Percentiles land within one bin (10%) of the true value
+ * - An empty window reports no percentile
+ */
+@DisplayName("RollingLatencyHistogram Unit Tests")
+class RollingLatencyHistogramTest {
+
+        @Test
+        @DisplayName("Should estimate high percentiles within one bin")
+        void testPercentileEstimate() {
+                // GIVEN: 990 fast calls (~40ms) and 10 slow ones (~400ms)
+                RollingLatencyHistogram histogram = new RollingLatencyHistogram(60000, 6);
+                for (int i = 0; i < 990; i++) {
+                        histogram.record(40_000_000L);
+                }
+                for (int i = 0; i < 10; i++) {
+                        histogram.record(400_000_000L);
+                }
+
+                // THEN: p50/p99 track the fast calls, p100 the slow ones
+                assertEquals(1000, histogram.count());
+                long p50 = histogram.percentileNanos(0.50);
+                long p99 = histogram.percentileNanos(0.99);
+                long max = histogram.percentileNanos(1.0);
+                assertTrue(p50 >= 40_000_000L && p50 <= 44_000_000L, "p50=" + p50);
+                assertEquals(p50, p99);
+                assertTrue(max >= 400_000_000L && max <= 440_000_000L, "max=" + max);
+        }
+
+        @Test
+        @DisplayName("Should report no percentile for an empty window")
+        void testEmptyWindow() {
+                RollingLatencyHistogram histogram = new RollingLatencyHistogram(60000, 6);
+
+                assertEquals(0, histogram.count());
+                assertEquals(-1L, histogram.percentileNanos(0.99));
+        }
+}
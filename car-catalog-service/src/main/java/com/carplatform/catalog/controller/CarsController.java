@@ -4,6 +4,7 @@ import com.carplatform.catalog.dto.CreateCarRequest;
 import com.carplatform.catalog.dto.SearchCarRequest;
 import com.carplatform.catalog.dto.UpdateCarRequest;
 import com.carplatform.catalog.dto.CarResponse;
+import com.carplatform.catalog.dto.CarIdExportResponse;
 import com.carplatform.catalog.service.CatalogService;
 import com.carplatform.catalog.exception.ResourceNotFoundException;
 import jakarta.validation.Valid;
@@ -19,6 +20,8 @@ import java.util.UUID;
 @RequestMapping("/catalog")
 public class CarsController {
 
+    private static final int MAX_BATCH_SIZE = 500;
+
     @Autowired
     private CatalogService catalogService;
 
@@ -28,6 +31,20 @@ public class CarsController {
                 .body(catalogService.createCar(request));
     }
 
+    /**
+     * Compact, versioned export of car IDs (any status)
+     * 
+     * Called by: API Gateway (known-car Bloom filter)
+     * 
+     * @param since Version from a previous response; omit for every ID
+     * @return 200 with all IDs or the IDs changed since the given version
+     */
+    @GetMapping("/ids")
+    public ResponseEntity<CarIdExportResponse> exportCarIds(
+            @RequestParam(value = "since", required = false) Long since) {
+        return ResponseEntity.ok(catalogService.exportCarIds(since));
+    }
+
     @GetMapping("/{carId}")
     public ResponseEntity<CarResponse> getCarById(@PathVariable UUID carId) {
         return catalogService.getCarById(carId)
@@ -35,6 +52,23 @@ public class CarsController {
                 .orElseThrow(() -> new ResourceNotFoundException("Car not found: " + carId));
     }
 
+    /**
+     * Batch lookup: cars for the given IDs in one call (unknown IDs are
+     * omitted from the result)
+     * 
+     * Called by: API Gateway (order summary enrichment)
+     * 
+     * @param carIds Car IDs, at most MAX_BATCH_SIZE
+     * @return 200 with the cars found, 400 when the batch is too large
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<CarResponse>> getCarsByIds(@RequestBody List<UUID> carIds) {
+        if (carIds == null || carIds.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(catalogService.getCarsByIds(carIds));
+    }
+
     @GetMapping
     public ResponseEntity<List<CarResponse>> listAllCars() {
         return ResponseEntity.ok(catalogService.listAllCars());
@@ -0,0 +1,22 @@
+package com.carplatform.catalog.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compact, versioned export of car IDs.
+ * 
+ * Used by: API Gateway (known-car Bloom filter)
+ * Endpoint: GET /catalog/ids?since={version}
+ * 
+ * A full export (full=true) lists every car ID regardless of status. A
+ * delta lists the IDs of cars created or changed since the requested
+ * version (version = latest lastUpdated in epoch millis), starting a
+ * safety lag (catalog.id-export.safety-lag-ms) earlier so late commits are
+ * not missed; it may repeat IDs already sent.
+ */
+public record CarIdExportResponse(
+        long version,
+        boolean full,
+        List<UUID> ids) {
+}
@@ -19,5 +19,6 @@ public record CarResponse(
         BigDecimal price,
         CarStatus status,
         String description,
-        Instant createdAt) {
+        Instant createdAt,
+        Instant lastUpdated) {
 }
@@ -3,8 +3,11 @@ package com.carplatform.catalog.repository;
 import com.carplatform.catalog.model.Car;
 import com.carplatform.catalog.model.CarStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -36,4 +39,22 @@ public interface CarRepository extends JpaRepository<Car, UUID> {
      * Find cars within a price range
      */
     List<Car> findByPriceBetween(java.math.BigDecimal minPrice, java.math.BigDecimal maxPrice);
+
+    /**
+     * IDs of every car (any status), for the ID export
+     */
+    @Query("SELECT c.carId FROM Car c")
+    List<UUID> findAllCarIds();
+
+    /**
+     * IDs of cars created or changed at or after the given instant
+     */
+    @Query("SELECT c.carId FROM Car c WHERE c.lastUpdated >= :since")
+    List<UUID> findCarIdsUpdatedSince(@Param("since") Instant since);
+
+    /**
+     * Most recent modification time across all cars, or null when empty
+     */
+    @Query("SELECT MAX(c.lastUpdated) FROM Car c")
+    Instant findLatestUpdate();
 }
@@ -1,10 +1,12 @@
 package com.carplatform.catalog.service;
 
+import com.carplatform.catalog.dto.CarIdExportResponse;
 import com.carplatform.catalog.dto.CarResponse;
 import com.carplatform.catalog.dto.CreateCarRequest;
 import com.carplatform.catalog.dto.SearchCarRequest;
 import com.carplatform.catalog.dto.UpdateCarRequest;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -27,6 +29,11 @@ public interface CatalogService {
      */
     Optional<CarResponse> getCarById(UUID carId);
 
+    /**
+     * Get several cars by ID in one lookup; unknown IDs are skipped
+     */
+    List<CarResponse> getCarsByIds(Collection<UUID> carIds);
+
     /**
      * List all cars
      */
@@ -46,4 +53,11 @@ public interface CatalogService {
      * Delete car (mark as discontinued)
      */
     void deleteCar(UUID carId);
+
+    /**
+     * Export car IDs: every ID when sinceVersion is null, otherwise the IDs
+     * of cars created or changed since that version, less a safety lag for
+     * late commits (may repeat IDs from earlier deltas)
+     */
+    CarIdExportResponse exportCarIds(Long sinceVersion);
 }
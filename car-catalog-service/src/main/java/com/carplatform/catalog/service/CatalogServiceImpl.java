@@ -1,5 +1,6 @@
 package com.carplatform.catalog.service;
 
+import com.carplatform.catalog.dto.CarIdExportResponse;
 import com.carplatform.catalog.dto.CarResponse;
 import com.carplatform.catalog.dto.CreateCarRequest;
 import com.carplatform.catalog.dto.SearchCarRequest;
@@ -8,6 +9,7 @@ import com.carplatform.catalog.model.Car;
 import com.carplatform.catalog.model.CarStatus;
 import com.carplatform.catalog.repository.CarRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -25,6 +27,15 @@ public class CatalogServiceImpl implements CatalogService {
     @Autowired
     private CarRepository carRepository;
 
+    /**
+     * How far before the requested version a delta starts. lastUpdated is
+     * set by the writer before its transaction commits, so a slow commit
+     * (or a writer with a lagging clock) can become visible with a
+     * lastUpdated older than a version already exported.
+     */
+    @Value("${catalog.id-export.safety-lag-ms:30000}")
+    private long safetyLagMs;
+
     @Override
     public CarResponse createCar(CreateCarRequest request) {
         Car car = new Car(
@@ -47,6 +58,14 @@ public class CatalogServiceImpl implements CatalogService {
                 .map(this::mapToResponse);
     }
 
+    @Override
+    public List<CarResponse> getCarsByIds(Collection<UUID> carIds) {
+        return carRepository.findAllById(new LinkedHashSet<>(carIds))
+                .stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<CarResponse> listAllCars() {
         return carRepository.findByStatus(CarStatus.ACTIVE)
@@ -107,6 +126,21 @@ public class CatalogServiceImpl implements CatalogService {
         carRepository.save(car);
     }
 
+    @Override
+    public CarIdExportResponse exportCarIds(Long sinceVersion) {
+        // Read the version first so that changes racing with the query are
+        // picked up again by the next delta rather than lost
+        Instant latestUpdate = carRepository.findLatestUpdate();
+        long version = latestUpdate != null ? latestUpdate.toEpochMilli() : 0L;
+
+        if (sinceVersion == null) {
+            return new CarIdExportResponse(version, true, carRepository.findAllCarIds());
+        }
+        // Re-sending recent IDs is harmless: consumers only add them
+        return new CarIdExportResponse(version, false,
+                carRepository.findCarIdsUpdatedSince(Instant.ofEpochMilli(sinceVersion - safetyLagMs)));
+    }
+
     /**
      * Convert Car entity to CarResponse DTO
      */
@@ -122,6 +156,7 @@ public class CatalogServiceImpl implements CatalogService {
                 car.getPrice(),
                 car.getStatus(),
                 car.getDescription(),
-                car.getCreatedAt());
+                car.getCreatedAt(),
+                car.getLastUpdated());
     }
 }
@@ -18,10 +18,12 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -53,6 +55,7 @@ class CarsControllerTest {
                 BigDecimal.valueOf(25000),
                 CarStatus.ACTIVE,
                 "desc",
+                Instant.now(),
                 Instant.now());
 
         when(catalogService.createCar(any(CreateCarRequest.class))).thenReturn(response);
@@ -82,4 +85,30 @@ class CarsControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.errorCode").value("RESOURCE_NOT_FOUND"));
     }
+
+    @Test
+    void batchLookupShouldReturnFoundCars() throws Exception {
+        UUID carId = UUID.randomUUID();
+        CarResponse response = new CarResponse(
+                carId,
+                "Toyota",
+                "Corolla",
+                "XLE",
+                2024,
+                FuelType.PETROL,
+                TransmissionType.AUTOMATIC,
+                BigDecimal.valueOf(25000),
+                CarStatus.ACTIVE,
+                "desc",
+                Instant.now(),
+                Instant.now());
+        when(catalogService.getCarsByIds(anyCollection())).thenReturn(List.of(response));
+
+        mockMvc.perform(post("/catalog/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[\"" + carId + "\",\"" + UUID.randomUUID() + "\"]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].carId").value(carId.toString()));
+    }
 }
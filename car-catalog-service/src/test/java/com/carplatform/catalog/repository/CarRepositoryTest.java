@@ -10,9 +10,14 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 @ActiveProfiles("test")
@@ -53,4 +58,22 @@ class CarRepositoryTest {
 
         assertEquals(1, cars.size());
     }
+
+    @Test
+    void shouldExportAllCarIdsAndThoseChangedSince() {
+        Instant cutoff = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Car unchanged = CatalogTestDataFactory.activeCar();
+        unchanged.setLastUpdated(cutoff.minusSeconds(60));
+        Car changed = CatalogTestDataFactory.discontinuedCar();
+        changed.setLastUpdated(cutoff.plusSeconds(1));
+        UUID unchangedId = carRepository.save(unchanged).getCarId();
+        UUID changedId = carRepository.save(changed).getCarId();
+
+        List<UUID> all = carRepository.findAllCarIds();
+        List<UUID> delta = carRepository.findCarIdsUpdatedSince(cutoff);
+
+        assertEquals(Set.of(unchangedId, changedId), Set.copyOf(all));
+        assertEquals(List.of(changedId), delta);
+        assertTrue(!carRepository.findLatestUpdate().isBefore(cutoff.plusSeconds(1)));
+    }
 }
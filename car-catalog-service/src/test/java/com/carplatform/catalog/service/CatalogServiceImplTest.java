@@ -1,5 +1,6 @@
 package com.carplatform.catalog.service;
 
+import com.carplatform.catalog.dto.CarIdExportResponse;
 import com.carplatform.catalog.dto.CarResponse;
 import com.carplatform.catalog.dto.CreateCarRequest;
 import com.carplatform.catalog.dto.SearchCarRequest;
@@ -14,7 +15,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -91,4 +95,44 @@ class CatalogServiceImplTest {
         assertEquals(CarStatus.DISCONTINUED, car.getStatus());
         verify(carRepository).save(car);
     }
+
+    @Test
+    void idDeltaShouldIncludeCarCommittedLateWithOlderLastUpdated() {
+        ReflectionTestUtils.setField(catalogService, "safetyLagMs", 30000L);
+        Instant exportedAt = Instant.parse("2026-01-01T12:00:00Z");
+        List<Car> committed = new ArrayList<>();
+        committed.add(car(exportedAt));
+        stubRepositoryOver(committed);
+
+        CarIdExportResponse full = catalogService.exportCarIds(null);
+
+        // Stamped 5 s before the exported version, visible only after the export
+        Car late = car(exportedAt.minusSeconds(5));
+        committed.add(late);
+
+        CarIdExportResponse delta = catalogService.exportCarIds(full.version());
+
+        assertFalse(delta.full());
+        assertTrue(delta.ids().contains(late.getCarId()));
+        assertEquals(full.version(), delta.version());
+    }
+
+    private void stubRepositoryOver(List<Car> committed) {
+        when(carRepository.findLatestUpdate()).thenAnswer(invocation -> committed.stream()
+                .map(Car::getLastUpdated).max(Instant::compareTo).orElse(null));
+        when(carRepository.findAllCarIds()).thenAnswer(invocation -> committed.stream()
+                .map(Car::getCarId).toList());
+        when(carRepository.findCarIdsUpdatedSince(any(Instant.class))).thenAnswer(invocation -> {
+            Instant since = invocation.getArgument(0);
+            return committed.stream().filter(car -> !car.getLastUpdated().isBefore(since))
+                    .map(Car::getCarId).toList();
+        });
+    }
+
+    private static Car car(Instant lastUpdated) {
+        Car car = CatalogTestDataFactory.activeCar();
+        car.setCarId(UUID.randomUUID());
+        car.setLastUpdated(lastUpdated);
+        return car;
+    }
 }
@@ -4,19 +4,35 @@ import com.carplatform.inventory.dto.CreateInventoryRequest;
 import com.carplatform.inventory.dto.ReleaseInventoryRequest;
 import com.carplatform.inventory.dto.ReserveInventoryRequest;
 import com.carplatform.inventory.dto.UpdateInventoryRequest;
+import com.carplatform.inventory.dto.InventoryPage;
 import com.carplatform.inventory.dto.InventoryResponse;
 import com.carplatform.inventory.dto.AvailabilityCheckResponse;
+import com.carplatform.inventory.dto.BatchReservationRequest;
+import com.carplatform.inventory.dto.BatchReservationResponse;
 import com.carplatform.inventory.dto.ReservationRequest;
 import com.carplatform.inventory.dto.ReservationResponse;
+import com.carplatform.inventory.dto.InStockIndexResponse;
+import com.carplatform.inventory.dto.InventoryChangeFeedResponse;
+import com.carplatform.inventory.dto.LocationStockSummaryResponse;
+import com.carplatform.inventory.service.InventoryChangeStream;
 import com.carplatform.inventory.service.InventoryService;
+import com.carplatform.inventory.exception.BusinessLogicException;
+import com.carplatform.inventory.exception.IdempotencyKeyReusedException;
 import com.carplatform.inventory.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -28,6 +44,16 @@ public class InventoryController {
         @Autowired
         private InventoryService inventoryService;
 
+        @Autowired
+        private InventoryChangeStream inventoryChangeStream;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+        private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+        private static final String NDJSON = "application/x-ndjson";
+
         // ===== ORIGINAL CRUD ENDPOINTS =====
 
         @PostMapping
@@ -44,9 +70,51 @@ public class InventoryController {
                                 .orElseThrow(() -> new ResourceNotFoundException("Inventory not found"));
         }
 
+        /**
+         * 
+         * Purpose: List inventory one page at a time, in inventoryId order
+         * 
+         * @param cursor X-Next-Cursor of the previous page; omit for the first
+         * @param limit  Page size (default 100, capped at 1000)
+         * @return 200 with the page; X-Next-Cursor is set unless it is the last
+         */
         @GetMapping
-        public ResponseEntity<List<InventoryResponse>> listAll() {
-                return ResponseEntity.ok(inventoryService.listAllInventory());
+        public ResponseEntity<List<InventoryResponse>> listAll(
+                        @RequestParam(value = "cursor", required = false) UUID cursor,
+                        @RequestParam(value = "limit", required = false) Integer limit) {
+                InventoryPage page = inventoryService.listInventory(cursor, limit);
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                if (page.nextCursor() != null) {
+                        response.header(NEXT_CURSOR_HEADER, page.nextCursor().toString());
+                }
+                return response.body(page.items());
+        }
+
+        /**
+         * 
+         * Purpose: Export every inventory record as newline-delimited JSON,
+         * written while the rows are read, in constant memory
+         * 
+         * @param response Servlet response the rows are written to
+         */
+        @GetMapping(value = "/stream", produces = NDJSON)
+        public void streamAll(HttpServletResponse response) throws IOException {
+                response.setContentType(NDJSON);
+                OutputStream out = response.getOutputStream();
+                try {
+                        inventoryService.forEachInventory(row -> {
+                                try {
+                                        out.write(objectMapper.writeValueAsBytes(row));
+                                        out.write('\n');
+                                } catch (IOException e) {
+                                        throw new UncheckedIOException(e);
+                                }
+                        });
+                } catch (UncheckedIOException e) {
+                        // Client went away mid-stream
+                        throw e.getCause();
+                }
+                out.flush();
         }
 
         @PutMapping("/{inventoryId}")
@@ -70,6 +138,74 @@ public class InventoryController {
                 return ResponseEntity.ok(inventoryService.releaseInventory(inventoryId, request));
         }
 
+        /**
+         * 
+         * Called by: API Gateway (in-stock listing filter, availability sort)
+         * Purpose: Compact, versioned set of in-stock car IDs that callers can
+         * cache and refresh incrementally
+         * 
+         * @param since Version from a previous response; omit for a full
+         *              snapshot
+         * @return 200 with the full index or the delta since the given version
+         */
+        @GetMapping("/in-stock")
+        public ResponseEntity<InStockIndexResponse> getInStockIndex(
+                        @RequestParam(value = "since", required = false) Long since) {
+                InStockIndexResponse index = inventoryService.getInStockIndex(since);
+                log.debug("In-stock index requested (since={}): version={}, full={}, inStock={}, outOfStock={}",
+                                since, index.version(), index.full(), index.inStock().size(),
+                                index.outOfStock().size());
+                return ResponseEntity.ok(index);
+        }
+
+        /**
+         * 
+         * Called by: API Gateway (stock-by-location views)
+         * Purpose: Available units, reserved units and SKU count per location,
+         * read from the maintained rollup
+         * 
+         * @return 200 with one entry per location, ordered by location
+         */
+        @GetMapping("/locations/summary")
+        public ResponseEntity<List<LocationStockSummaryResponse>> getLocationSummaries() {
+                return ResponseEntity.ok(inventoryService.getLocationSummaries());
+        }
+
+        /**
+         * 
+         * Called by: Change feed consumers (gateway caches, order-service,
+         * dashboards)
+         * Purpose: Resumable feed of inventory changes, so caches are kept
+         * coherent incrementally instead of polling every car
+         * 
+         * @param since Last version applied by the consumer (0 for all retained)
+         * @param limit Maximum number of changes (capped server side)
+         * @return 200 with the changes after since and the version to resume from
+         */
+        @GetMapping("/changes")
+        public ResponseEntity<InventoryChangeFeedResponse> getChanges(
+                        @RequestParam(value = "since", defaultValue = "0") long since,
+                        @RequestParam(value = "limit", required = false) Integer limit) {
+                return ResponseEntity.ok(inventoryService.getChanges(since, limit));
+        }
+
+        /**
+         * 
+         * Called by: Change feed consumers
+         * Purpose: Server-Sent Events stream of the change feed
+         * 
+         * @param since       Last version applied; omit for new changes only
+         * @param lastEventId Sent by reconnecting EventSource clients, used when
+         *                    since is omitted
+         * @return event stream of inventory-change events (id = version)
+         */
+        @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+        public SseEmitter streamChanges(
+                        @RequestParam(value = "since", required = false) Long since,
+                        @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+                return inventoryChangeStream.subscribe(since != null ? since : lastEventId);
+        }
+
         /**
          * 
          * Called by: Order Service (when creating an order)
@@ -105,7 +241,8 @@ public class InventoryController {
                 if (inventory.availableUnits() <= 0) {
                         log.warn("Car out of stock: {} (total units: {})", carId, totalUnits);
                         return ResponseEntity.status(HttpStatus.CONFLICT)
-                                        .body(AvailabilityCheckResponse.outOfStock(carId, totalUnits));
+                                        .body(AvailabilityCheckResponse.outOfStock(carId, totalUnits,
+                                                        inventory.lastUpdated()));
                 }
 
                 log.info("Car available: {} (available: {}, reserved: {})",
@@ -115,7 +252,8 @@ public class InventoryController {
                                 carId,
                                 totalUnits,
                                 inventory.reservedUnits(),
-                                inventory.availableUnits()));
+                                inventory.availableUnits(),
+                                inventory.lastUpdated()));
         }
 
         /**
@@ -123,18 +261,25 @@ public class InventoryController {
          * Called by: Order Service (after availability check passes)
          * Purpose: Lock stock units for the order
          * 
-         * Business logic:
+         * Business logic (one conditional UPDATE, atomic in the database):
          * - Check available units
          * - Decrement availableUnits
          * - Increment reservedUnits
-         * - Set reservation expiry
+         * - Record the reservation with its expiry (same transaction)
+         * - Record the response under the idempotency key; a retry with the
+         *   same key gets the original response and reserves nothing
+         * - With group commit enabled, all of this happens in the batch
+         *   transaction of the car's concurrent reservations instead
          * 
-         * @param request Includes carId, orderId, units to reserve
+         * @param request        Includes carId, orderId, units to reserve
+         * @param idempotencyKey Optional key (at most 100 characters); the
+         *                       orderId is used when absent
          * @return 201 with reservation details, or error code if cannot reserve
          */
         @PostMapping("/reserve")
         public ResponseEntity<ReservationResponse> reserveInventory(
-                        @RequestBody @Valid ReservationRequest request) {
+                        @RequestBody @Valid ReservationRequest request,
+                        @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
 
                 log.debug("Reservation request - car: {}, order: {}, units: {}",
                                 request.getCarId(), request.getOrderId(), request.getUnits());
@@ -148,42 +293,110 @@ public class InventoryController {
                                         .body(ReservationResponse.carNotFound(request.getCarId()));
                 }
 
-                var inventoryOpt = inventoryService.getInventoryByCarId(carUUID);
+                if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > 100)) {
+                        return ResponseEntity.badRequest()
+                                        .body(ReservationResponse.idempotencyKeyReused(request.getCarId(),
+                                                        request.getOrderId(),
+                                                        IDEMPOTENCY_KEY_HEADER + " must be 1 to 100 characters"));
+                }
 
-                if (inventoryOpt.isEmpty()) {
+                // One conditional update decides; no read-check-write race
+                ReservationResponse reservation;
+                try {
+                        reservation = inventoryService.reserveForOrder(carUUID, request.getOrderId(),
+                                        request.getUnits(), idempotencyKey);
+                } catch (IdempotencyKeyReusedException e) {
+                        log.warn("Idempotency key reused - order: {}: {}", request.getOrderId(), e.getMessage());
+                        return ResponseEntity.unprocessableEntity()
+                                        .body(ReservationResponse.idempotencyKeyReused(request.getCarId(),
+                                                        request.getOrderId(), e.getMessage()));
+                } catch (ResourceNotFoundException e) {
                         log.warn("Car not found for reservation: {}", request.getCarId());
                         return ResponseEntity.status(HttpStatus.NOT_FOUND)
                                         .body(ReservationResponse.carNotFound(request.getCarId()));
-                }
-
-                InventoryResponse inventory = inventoryOpt.get();
-
-                // Check if we have enough available units
-                if (inventory.availableUnits() < request.getUnits()) {
-                        log.warn("Insufficient stock for reservation - car: {}, requested: {}, available: {}",
-                                        request.getCarId(), request.getUnits(), inventory.availableUnits());
-
+                } catch (BusinessLogicException e) {
+                        log.warn("Insufficient stock for reservation - car: {}, requested: {}",
+                                        request.getCarId(), request.getUnits());
                         return ResponseEntity.status(HttpStatus.CONFLICT)
                                         .body(ReservationResponse.insufficientStock(
                                                         request.getCarId(),
                                                         request.getOrderId()));
                 }
 
-                // Perform the reservation by reducing available and increasing reserved
-                ReserveInventoryRequest reserveRequest = new ReserveInventoryRequest(carUUID, request.getUnits());
-                InventoryResponse updatedInventory = inventoryService.reserveInventory(
-                                inventory.inventoryId(),
-                                reserveRequest);
+                log.info("Reservation successful - order: {}, reservation: {}, units: {}, remaining: {}",
+                                request.getOrderId(), reservation.getReservationId(), request.getUnits(),
+                                reservation.getUnitsRemaining());
 
-                log.info("Reservation successful - order: {}, units: {}, remaining: {}",
-                                request.getOrderId(), request.getUnits(), updatedInventory.availableUnits());
+                return ResponseEntity.status(HttpStatus.CREATED).body(reservation);
+        }
 
-                return ResponseEntity.status(HttpStatus.CREATED)
-                                .body(ReservationResponse.success(
-                                                updatedInventory.inventoryId(),
-                                                carUUID,
-                                                request.getOrderId(),
-                                                request.getUnits(),
-                                                updatedInventory.availableUnits()));
+        /**
+         * 
+         * Called by: Order Service (fleet and dealer orders)
+         * Purpose: Reserve several cars in one round trip, all or nothing
+         * 
+         * Business logic (one transaction):
+         * - Lock the rows of every requested car in (carId, inventoryId) order
+         * - Choose a location per line; if any line cannot be served, change
+         *   nothing and report a reason per line
+         * - Otherwise write all counter changes as one batch and record one
+         *   reservation per line
+         * 
+         * @param request Includes orderId and (carId, units) lines
+         * @return 201 with one reservation per line, or 409 with per-line reasons
+         */
+        @PostMapping("/reserve/batch")
+        public ResponseEntity<BatchReservationResponse> reserveBatch(
+                        @RequestBody @Valid BatchReservationRequest request) {
+
+                log.debug("Batch reservation request - order: {}, lines: {}",
+                                request.orderId(), request.lines().size());
+
+                BatchReservationResponse response = inventoryService.reserveBatch(request);
+                if (!BatchReservationResponse.RESERVED.equals(response.status())) {
+                        log.warn("Batch reservation rejected - order: {}, lines: {}",
+                                        request.orderId(), response.lines().stream()
+                                                        .filter(line -> !line.reserved())
+                                                        .map(line -> line.carId() + "=" + line.status())
+                                                        .toList());
+                        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+                }
+
+                log.info("Batch reservation successful - order: {}, lines: {}",
+                                request.orderId(), response.lines().size());
+                return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        }
+
+        /**
+         * 
+         * Called by: Order Service (order cancelled or abandoned)
+         * Purpose: Give a reservation's units back before it expires
+         * 
+         * @param reservationId Reservation returned by POST /inventory/reserve
+         * @return 200 with the inventory row after the release, or 404 if the
+         *         reservation was already released or expired
+         */
+        @PostMapping("/reservations/{reservationId}/release")
+        public ResponseEntity<InventoryResponse> releaseReservation(@PathVariable UUID reservationId) {
+                return ResponseEntity.ok(inventoryService.releaseReservation(reservationId));
+        }
+
+        /**
+         * 
+         * Called by: Order Service (order confirmed)
+         * Purpose: Turn a reservation into a sale before it expires
+         * 
+         * Business logic (one transaction):
+         * - Delete the reservation, so the sweeper never releases it
+         * - Decrement reservedUnits; availableUnits is unchanged, so the
+         *   units leave stock for good
+         * 
+         * @param reservationId Reservation returned by POST /inventory/reserve
+         * @return 200 with the inventory row after the confirmation, or 404 if
+         *         the reservation was already confirmed, released or expired
+         */
+        @PostMapping("/reservations/{reservationId}/confirm")
+        public ResponseEntity<InventoryResponse> confirmReservation(@PathVariable UUID reservationId) {
+                return ResponseEntity.ok(inventoryService.confirmReservation(reservationId));
         }
 }
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
+
 /**
  * 
  * Used by: Order Service (inter-service call)
@@ -22,18 +24,20 @@ public class AvailabilityCheckResponse {
     private int availableUnits;
     private String errorCode;
     private String message;
+    private Instant lastUpdated;
 
     /**
      * Factory method for success case
      */
     public static AvailabilityCheckResponse success(String carId, int totalUnits, int reservedUnits,
-            int availableUnits) {
+            int availableUnits, Instant lastUpdated) {
         AvailabilityCheckResponse response = new AvailabilityCheckResponse();
         response.setCarId(carId);
         response.setAvailable(availableUnits > 0);
         response.setTotalUnits(totalUnits);
         response.setReservedUnits(reservedUnits);
         response.setAvailableUnits(availableUnits);
+        response.setLastUpdated(lastUpdated);
         return response;
     }
 
@@ -52,7 +56,7 @@ public class AvailabilityCheckResponse {
     /**
      * Factory method for out of stock case
      */
-    public static AvailabilityCheckResponse outOfStock(String carId, int totalUnits) {
+    public static AvailabilityCheckResponse outOfStock(String carId, int totalUnits, Instant lastUpdated) {
         AvailabilityCheckResponse response = new AvailabilityCheckResponse();
         response.setCarId(carId);
         response.setAvailable(false);
@@ -61,6 +65,7 @@ public class AvailabilityCheckResponse {
         response.setAvailableUnits(0);
         response.setErrorCode("INSUFFICIENT_STOCK");
         response.setMessage("Insufficient stock for car: " + carId);
+        response.setLastUpdated(lastUpdated);
         return response;
     }
 }
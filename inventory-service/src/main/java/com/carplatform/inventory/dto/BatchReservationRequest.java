@@ -0,0 +1,27 @@
+package com.carplatform.inventory.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reservation of several cars for one order, all or nothing.
+ * 
+ * Used by: Order Service (fleet and dealer orders)
+ * Endpoint: POST /inventory/reserve/batch
+ */
+public record BatchReservationRequest(
+        @NotBlank String orderId,
+        @NotEmpty @Size(max = 100) List<@Valid @NotNull Line> lines) {
+
+    public record Line(
+            @NotNull UUID carId,
+            @Min(1) int units) {
+    }
+}
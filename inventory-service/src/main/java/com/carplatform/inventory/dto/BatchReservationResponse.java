@@ -0,0 +1,49 @@
+package com.carplatform.inventory.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of a batch reservation, with one result per requested line in
+ * request order.
+ * 
+ * Used by: Order Service (fleet and dealer orders)
+ * Endpoint: POST /inventory/reserve/batch
+ * 
+ * status is RESERVED when every line was reserved and REJECTED when none
+ * was. Line status is RESERVED, NOT_FOUND (no inventory for the car),
+ * INSUFFICIENT_STOCK (availableUnits is the best location's stock) or
+ * NOT_RESERVED (the line could be served but another line failed).
+ */
+public record BatchReservationResponse(
+        String orderId,
+        String status,
+        Instant reservationExpiry,
+        List<LineResult> lines) {
+
+    public static final String RESERVED = "RESERVED";
+    public static final String REJECTED = "REJECTED";
+
+    public record LineResult(
+            UUID carId,
+            int units,
+            String status,
+            UUID inventoryId,
+            UUID reservationId,
+            Integer availableUnits,
+            String message) {
+
+        public static final String NOT_FOUND = "NOT_FOUND";
+        public static final String INSUFFICIENT_STOCK = "INSUFFICIENT_STOCK";
+        public static final String NOT_RESERVED = "NOT_RESERVED";
+
+        public boolean reserved() {
+            return RESERVED.equals(status);
+        }
+
+        public LineResult withReservationId(UUID reservationId) {
+            return new LineResult(carId, units, status, inventoryId, reservationId, availableUnits, message);
+        }
+    }
+}
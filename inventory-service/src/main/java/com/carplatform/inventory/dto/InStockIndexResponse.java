@@ -0,0 +1,23 @@
+package com.carplatform.inventory.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compact, versioned set of in-stock car IDs.
+ * 
+ * Used by: API Gateway (in-stock listing filter and availability sort)
+ * Endpoint: GET /inventory/in-stock?since={version}
+ * 
+ * A full snapshot lists every in-stock car. A delta (full=false) lists the
+ * cars whose stock changed since the requested version, split into those
+ * now in stock and those now out of stock. It starts a safety lag
+ * (inventory.in-stock-index.safety-lag-ms) earlier so late commits are not
+ * missed, and may repeat cars already sent (with the same version).
+ */
+public record InStockIndexResponse(
+        long version,
+        boolean full,
+        List<UUID> inStock,
+        List<UUID> outOfStock) {
+}
@@ -0,0 +1,20 @@
+package com.carplatform.inventory.dto;
+
+import java.util.List;
+
+/**
+ * One page of the inventory change feed.
+ * 
+ * Used by: Change feed consumers
+ * Endpoint: GET /inventory/changes?since={version}
+ * 
+ * next is the version to pass as since for the following page (equal to
+ * since when there is nothing new). resync=true means changes after since
+ * were already pruned: the consumer must reload its state and continue
+ * from next.
+ */
+public record InventoryChangeFeedResponse(
+        long next,
+        boolean resync,
+        List<InventoryChangeResponse> changes) {
+}
@@ -0,0 +1,23 @@
+package com.carplatform.inventory.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Counters of one inventory row after a change.
+ * 
+ * Used by: Change feed consumers (gateway caches, order-service, dashboards)
+ * Endpoints: GET /inventory/changes, GET /inventory/changes/stream
+ * 
+ * Versions increase with every change; a consumer resumes from the last
+ * version it applied.
+ */
+public record InventoryChangeResponse(
+        long version,
+        UUID inventoryId,
+        UUID carId,
+        int availableUnits,
+        int reservedUnits,
+        String location,
+        Instant recordedAt) {
+}
@@ -0,0 +1,18 @@
+package com.carplatform.inventory.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One page of inventory records in inventoryId order.
+ * 
+ * Used by: GET /inventory?cursor={inventoryId}&limit={n}
+ * 
+ * nextCursor is the inventoryId to pass as cursor for the following page,
+ * or null on the last page. The controller returns the items as the body
+ * and nextCursor in the X-Next-Cursor header.
+ */
+public record InventoryPage(
+        List<InventoryResponse> items,
+        UUID nextCursor) {
+}
@@ -0,0 +1,16 @@
+package com.carplatform.inventory.dto;
+
+/**
+ * Stock totals of one location.
+ * 
+ * Used by: Ops dashboards
+ * Endpoint: GET /inventory/locations/summary
+ * 
+ * skuCount is the number of inventory rows (cars stocked) at the location.
+ */
+public record LocationStockSummaryResponse(
+        String location,
+        long availableUnits,
+        long reservedUnits,
+        long skuCount) {
+}
@@ -32,14 +32,14 @@ public class ReservationResponse {
      * Factory method for successful reservation
      */
     public static ReservationResponse success(UUID reservationId, UUID carId, String orderId,
-            int unitsReserved, int unitsRemaining) {
+            int unitsReserved, int unitsRemaining, Instant reservationExpiry) {
         ReservationResponse response = new ReservationResponse();
         response.setReservationId(reservationId.toString());
         response.setCarId(carId.toString());
         response.setOrderId(orderId);
         response.setUnitsReserved(unitsReserved);
         response.setUnitsRemaining(unitsRemaining);
-        response.setReservationExpiry(Instant.now().plusSeconds(24 * 60 * 60)); // 24 hours
+        response.setReservationExpiry(reservationExpiry);
         response.setStatus("ACTIVE");
         return response;
     }
@@ -56,6 +56,18 @@ public class ReservationResponse {
         return response;
     }
 
+    /**
+     * Factory method for an idempotency key replayed with a different request
+     */
+    public static ReservationResponse idempotencyKeyReused(String carId, String orderId, String message) {
+        ReservationResponse response = new ReservationResponse();
+        response.setCarId(carId);
+        response.setOrderId(orderId);
+        response.setErrorCode("IDEMPOTENCY_KEY_REUSED");
+        response.setMessage(message);
+        return response;
+    }
+
     /**
      * Factory method for car not found
      */
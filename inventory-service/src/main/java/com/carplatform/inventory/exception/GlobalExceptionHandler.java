@@ -1,6 +1,7 @@
 package com.carplatform.inventory.exception;
 
 import com.carplatform.inventory.dto.StandardErrorResponse;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -60,6 +61,16 @@ public class GlobalExceptionHandler {
                         SERVICE_NAME));
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<StandardErrorResponse> handleConcurrentUpdate(OptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new StandardErrorResponse(
+                        "CONCURRENT_UPDATE",
+                        "Inventory was changed concurrently, please retry",
+                        SERVICE_NAME));
+    }
+
     @ExceptionHandler(RuntimeException.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ResponseEntity<StandardErrorResponse> handleRuntimeError(RuntimeException ex) {
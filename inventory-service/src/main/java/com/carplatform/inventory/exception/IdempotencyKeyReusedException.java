@@ -0,0 +1,10 @@
+package com.carplatform.inventory.exception;
+
+/**
+ * Exception for an idempotency key replayed with a different request
+ */
+public class IdempotencyKeyReusedException extends BusinessLogicException {
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
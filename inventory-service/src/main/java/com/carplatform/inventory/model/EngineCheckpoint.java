@@ -0,0 +1,45 @@
+package com.carplatform.inventory.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Last reservation journal record of an in-memory engine shard whose
+ * counter change has been written to the inventory table
+ */
+@Entity
+@Table(name = "inventory_engine_checkpoint")
+public class EngineCheckpoint {
+
+        @Id
+        @Column(name = "shard")
+        private int shard;
+
+        @Column(name = "last_sequence", nullable = false)
+        private long lastSequence;
+
+        // Constructors
+        public EngineCheckpoint() {
+        }
+
+        public EngineCheckpoint(int shard, long lastSequence) {
+                this.shard = shard;
+                this.lastSequence = lastSequence;
+        }
+
+        // Getters and Setters
+        public int getShard() {
+                return shard;
+        }
+
+        public void setShard(int shard) {
+                this.shard = shard;
+        }
+
+        public long getLastSequence() {
+                return lastSequence;
+        }
+
+        public void setLastSequence(long lastSequence) {
+                this.lastSequence = lastSequence;
+        }
+}
@@ -1,6 +1,7 @@
 package com.carplatform.inventory.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.Instant;
 import java.util.UUID;
 
@@ -28,6 +29,13 @@ public class Inventory {
         @Column(name = "last_updated", nullable = false)
         private Instant lastUpdated;
 
+        // Optimistic lock for read-modify-write updates; the conditional
+        // reserve/release statements bump it themselves
+        @Version
+        @ColumnDefault("0")
+        @Column(name = "version", nullable = false)
+        private long version;
+
         // Constructors
         public Inventory() {
         }
@@ -90,4 +98,12 @@ public class Inventory {
         public void setLastUpdated(Instant lastUpdated) {
                 this.lastUpdated = lastUpdated;
         }
+
+        public long getVersion() {
+                return version;
+        }
+
+        public void setVersion(long version) {
+                this.version = version;
+        }
 }
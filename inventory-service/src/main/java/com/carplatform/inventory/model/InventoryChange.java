@@ -0,0 +1,110 @@
+package com.carplatform.inventory.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Outbox record of one inventory row's counters after a change, appended in
+ * the transaction that made the change. The version is assigned by the
+ * database sequence, so it increases with every change.
+ */
+@Entity
+@Table(name = "inventory_change", indexes = {
+                @Index(name = "idx_inventory_change_recorded_at", columnList = "recorded_at")
+})
+public class InventoryChange {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        @Column(name = "version")
+        private Long version;
+
+        @Column(name = "inventory_id", nullable = false)
+        private UUID inventoryId;
+
+        @Column(name = "car_id", nullable = false)
+        private UUID carId;
+
+        @Column(name = "available_units", nullable = false)
+        private int availableUnits;
+
+        @Column(name = "reserved_units", nullable = false)
+        private int reservedUnits;
+
+        @Column(name = "location", length = 255)
+        private String location;
+
+        @Column(name = "recorded_at", nullable = false)
+        private Instant recordedAt;
+
+        // Constructors
+        public InventoryChange() {
+        }
+
+        public InventoryChange(Inventory inventory, Instant recordedAt) {
+                this.inventoryId = inventory.getInventoryId();
+                this.carId = inventory.getCarId();
+                this.availableUnits = inventory.getAvailableUnits();
+                this.reservedUnits = inventory.getReservedUnits();
+                this.location = inventory.getLocation();
+                this.recordedAt = recordedAt;
+        }
+
+        // Getters and Setters
+        public Long getVersion() {
+                return version;
+        }
+
+        public void setVersion(Long version) {
+                this.version = version;
+        }
+
+        public UUID getInventoryId() {
+                return inventoryId;
+        }
+
+        public void setInventoryId(UUID inventoryId) {
+                this.inventoryId = inventoryId;
+        }
+
+        public UUID getCarId() {
+                return carId;
+        }
+
+        public void setCarId(UUID carId) {
+                this.carId = carId;
+        }
+
+        public int getAvailableUnits() {
+                return availableUnits;
+        }
+
+        public void setAvailableUnits(int availableUnits) {
+                this.availableUnits = availableUnits;
+        }
+
+        public int getReservedUnits() {
+                return reservedUnits;
+        }
+
+        public void setReservedUnits(int reservedUnits) {
+                this.reservedUnits = reservedUnits;
+        }
+
+        public String getLocation() {
+                return location;
+        }
+
+        public void setLocation(String location) {
+                this.location = location;
+        }
+
+        public Instant getRecordedAt() {
+                return recordedAt;
+        }
+
+        public void setRecordedAt(Instant recordedAt) {
+                this.recordedAt = recordedAt;
+        }
+}
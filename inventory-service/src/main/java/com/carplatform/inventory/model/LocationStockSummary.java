@@ -0,0 +1,106 @@
+package com.carplatform.inventory.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Running stock totals of one location, split into buckets by inventory
+ * row so that concurrent reservations at a busy location update different
+ * rows; a location's totals are the sum of its buckets.
+ */
+@Entity
+@Table(name = "location_stock_summary")
+@IdClass(LocationStockSummary.Key.class)
+public class LocationStockSummary {
+
+        @Id
+        @Column(name = "location", length = 255)
+        private String location;
+
+        @Id
+        @Column(name = "bucket")
+        private int bucket;
+
+        @Column(name = "available_units", nullable = false)
+        private long availableUnits;
+
+        @Column(name = "reserved_units", nullable = false)
+        private long reservedUnits;
+
+        @Column(name = "sku_count", nullable = false)
+        private long skuCount;
+
+        // Constructors
+        public LocationStockSummary() {
+        }
+
+        // Getters and Setters
+        public String getLocation() {
+                return location;
+        }
+
+        public void setLocation(String location) {
+                this.location = location;
+        }
+
+        public int getBucket() {
+                return bucket;
+        }
+
+        public void setBucket(int bucket) {
+                this.bucket = bucket;
+        }
+
+        public long getAvailableUnits() {
+                return availableUnits;
+        }
+
+        public void setAvailableUnits(long availableUnits) {
+                this.availableUnits = availableUnits;
+        }
+
+        public long getReservedUnits() {
+                return reservedUnits;
+        }
+
+        public void setReservedUnits(long reservedUnits) {
+                this.reservedUnits = reservedUnits;
+        }
+
+        public long getSkuCount() {
+                return skuCount;
+        }
+
+        public void setSkuCount(long skuCount) {
+                this.skuCount = skuCount;
+        }
+
+        /**
+         * Composite key (location, bucket)
+         */
+        public static class Key implements Serializable {
+
+                private String location;
+                private int bucket;
+
+                public Key() {
+                }
+
+                public Key(String location, int bucket) {
+                        this.location = location;
+                        this.bucket = bucket;
+                }
+
+                @Override
+                public boolean equals(Object other) {
+                        return other instanceof Key key && bucket == key.bucket
+                                        && Objects.equals(location, key.location);
+                }
+
+                @Override
+                public int hashCode() {
+                        return Objects.hash(location, bucket);
+                }
+        }
+}
@@ -0,0 +1,111 @@
+package com.carplatform.inventory.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Units of an inventory row held for an order until they are released or
+ * the reservation expires. A row exists only while the hold is active.
+ */
+@Entity
+@Table(name = "reservation", indexes = {
+                @Index(name = "idx_reservation_expires_at", columnList = "expires_at"),
+                @Index(name = "idx_reservation_order_id", columnList = "order_id")
+})
+public class Reservation {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.UUID)
+        @Column(name = "reservation_id")
+        private UUID reservationId;
+
+        @Column(name = "order_id", nullable = false, length = 100)
+        private String orderId;
+
+        @Column(name = "inventory_id", nullable = false)
+        private UUID inventoryId;
+
+        @Column(name = "car_id", nullable = false)
+        private UUID carId;
+
+        @Column(name = "units", nullable = false)
+        private int units;
+
+        @Column(name = "created_at", nullable = false)
+        private Instant createdAt;
+
+        @Column(name = "expires_at", nullable = false)
+        private Instant expiresAt;
+
+        // Constructors
+        public Reservation() {
+        }
+
+        public Reservation(String orderId, UUID inventoryId, UUID carId, int units, Instant createdAt,
+                        Instant expiresAt) {
+                this.orderId = orderId;
+                this.inventoryId = inventoryId;
+                this.carId = carId;
+                this.units = units;
+                this.createdAt = createdAt;
+                this.expiresAt = expiresAt;
+        }
+
+        // Getters and Setters
+        public UUID getReservationId() {
+                return reservationId;
+        }
+
+        public void setReservationId(UUID reservationId) {
+                this.reservationId = reservationId;
+        }
+
+        public String getOrderId() {
+                return orderId;
+        }
+
+        public void setOrderId(String orderId) {
+                this.orderId = orderId;
+        }
+
+        public UUID getInventoryId() {
+                return inventoryId;
+        }
+
+        public void setInventoryId(UUID inventoryId) {
+                this.inventoryId = inventoryId;
+        }
+
+        public UUID getCarId() {
+                return carId;
+        }
+
+        public void setCarId(UUID carId) {
+                this.carId = carId;
+        }
+
+        public int getUnits() {
+                return units;
+        }
+
+        public void setUnits(int units) {
+                this.units = units;
+        }
+
+        public Instant getCreatedAt() {
+                return createdAt;
+        }
+
+        public void setCreatedAt(Instant createdAt) {
+                this.createdAt = createdAt;
+        }
+
+        public Instant getExpiresAt() {
+                return expiresAt;
+        }
+
+        public void setExpiresAt(Instant expiresAt) {
+                this.expiresAt = expiresAt;
+        }
+}
@@ -0,0 +1,148 @@
+package com.carplatform.inventory.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Outcome of a reservation request, keyed by its idempotency key (the
+ * Idempotency-Key header, or the orderId), so a replayed request gets the
+ * original response instead of reserving again. The primary key is the
+ * unique constraint that lets only one of two concurrent requests commit.
+ * 
+ * New records are always inserted (never merged into an existing row), so
+ * a duplicate key fails instead of overwriting the recorded outcome.
+ */
+@Entity
+@Table(name = "reservation_idempotency", indexes = {
+                @Index(name = "idx_reservation_idempotency_created_at", columnList = "created_at")
+})
+public class ReservationIdempotencyRecord implements Persistable<String> {
+
+        @Id
+        @Column(name = "idempotency_key", length = 100)
+        private String idempotencyKey;
+
+        @Column(name = "car_id", nullable = false)
+        private UUID carId;
+
+        @Column(name = "units", nullable = false)
+        private int units;
+
+        @Column(name = "order_id", nullable = false, length = 100)
+        private String orderId;
+
+        @Column(name = "reservation_id", nullable = false)
+        private UUID reservationId;
+
+        @Column(name = "units_remaining", nullable = false)
+        private int unitsRemaining;
+
+        @Column(name = "reservation_expiry", nullable = false)
+        private Instant reservationExpiry;
+
+        @Column(name = "created_at", nullable = false)
+        private Instant createdAt;
+
+        @Transient
+        private boolean newRecord = true;
+
+        // Constructors
+        public ReservationIdempotencyRecord() {
+        }
+
+        public ReservationIdempotencyRecord(String idempotencyKey, UUID carId, int units, String orderId,
+                        UUID reservationId, int unitsRemaining, Instant reservationExpiry, Instant createdAt) {
+                this.idempotencyKey = idempotencyKey;
+                this.carId = carId;
+                this.units = units;
+                this.orderId = orderId;
+                this.reservationId = reservationId;
+                this.unitsRemaining = unitsRemaining;
+                this.reservationExpiry = reservationExpiry;
+                this.createdAt = createdAt;
+        }
+
+        @Override
+        public String getId() {
+                return idempotencyKey;
+        }
+
+        @Override
+        public boolean isNew() {
+                return newRecord;
+        }
+
+        @PostLoad
+        @PostPersist
+        void markStored() {
+                newRecord = false;
+        }
+
+        // Getters and Setters
+        public String getIdempotencyKey() {
+                return idempotencyKey;
+        }
+
+        public void setIdempotencyKey(String idempotencyKey) {
+                this.idempotencyKey = idempotencyKey;
+        }
+
+        public UUID getCarId() {
+                return carId;
+        }
+
+        public void setCarId(UUID carId) {
+                this.carId = carId;
+        }
+
+        public int getUnits() {
+                return units;
+        }
+
+        public void setUnits(int units) {
+                this.units = units;
+        }
+
+        public String getOrderId() {
+                return orderId;
+        }
+
+        public void setOrderId(String orderId) {
+                this.orderId = orderId;
+        }
+
+        public UUID getReservationId() {
+                return reservationId;
+        }
+
+        public void setReservationId(UUID reservationId) {
+                this.reservationId = reservationId;
+        }
+
+        public int getUnitsRemaining() {
+                return unitsRemaining;
+        }
+
+        public void setUnitsRemaining(int unitsRemaining) {
+                this.unitsRemaining = unitsRemaining;
+        }
+
+        public Instant getReservationExpiry() {
+                return reservationExpiry;
+        }
+
+        public void setReservationExpiry(Instant reservationExpiry) {
+                this.reservationExpiry = reservationExpiry;
+        }
+
+        public Instant getCreatedAt() {
+                return createdAt;
+        }
+
+        public void setCreatedAt(Instant createdAt) {
+                this.createdAt = createdAt;
+        }
+}
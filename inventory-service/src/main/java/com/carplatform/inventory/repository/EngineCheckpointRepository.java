@@ -0,0 +1,13 @@
+package com.carplatform.inventory.repository;
+
+import com.carplatform.inventory.model.EngineCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the in-memory reservation engine's write-behind
+ * checkpoints, one row per shard.
+ */
+@Repository
+public interface EngineCheckpointRepository extends JpaRepository<EngineCheckpoint, Integer> {
+}
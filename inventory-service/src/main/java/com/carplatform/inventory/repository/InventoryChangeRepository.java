@@ -0,0 +1,55 @@
+package com.carplatform.inventory.repository;
+
+import com.carplatform.inventory.model.InventoryChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository for the inventory change outbox.
+ */
+@Repository
+public interface InventoryChangeRepository extends JpaRepository<InventoryChange, Long> {
+
+    /**
+     * Changes after a version, oldest first.
+     * 
+     * @param version  last version seen by the caller
+     * @param pageable page size (first page)
+     * @return changes with a greater version
+     */
+    @Query("SELECT c FROM InventoryChange c WHERE c.version > :version ORDER BY c.version")
+    List<InventoryChange> findAfter(@Param("version") long version, Pageable pageable);
+
+    /**
+     * Newest version.
+     * 
+     * @return the largest version, or null if the outbox is empty
+     */
+    @Query("SELECT MAX(c.version) FROM InventoryChange c")
+    Long findLatestVersion();
+
+    /**
+     * Oldest retained version.
+     * 
+     * @return the smallest version, or null if the outbox is empty
+     */
+    @Query("SELECT MIN(c.version) FROM InventoryChange c")
+    Long findOldestVersion();
+
+    /**
+     * Remove changes recorded before a cut-off.
+     * 
+     * @param cutoff retention cut-off
+     * @return number of changes removed
+     */
+    @Modifying
+    @Query("DELETE FROM InventoryChange c WHERE c.recordedAt < :cutoff")
+    int deleteRecordedBefore(@Param("cutoff") Instant cutoff);
+}
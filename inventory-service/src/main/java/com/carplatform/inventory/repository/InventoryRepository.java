@@ -1,18 +1,41 @@
 package com.carplatform.inventory.repository;
 
+import com.carplatform.inventory.dto.InventoryResponse;
 import com.carplatform.inventory.model.Inventory;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository for Inventory entity persistence operations.
  * Extends JpaRepository to provide CRUD and query capabilities.
  */
 @Repository
-public interface InventoryRepository extends JpaRepository<Inventory, UUID> {
+public interface InventoryRepository extends JpaRepository<Inventory, UUID>, InventoryReservationRepository {
+
+    /**
+     * The one order in which any transaction locks several inventory rows:
+     * by inventoryId as the database sorts it (byte-wise, i.e. like the hex
+     * string; UUID.compareTo differs). lockByCarIds returns rows in this
+     * order and the ReservationSweeper releases rows in it, so reservation
+     * batches and sweeper chunks cannot deadlock each other.
+     */
+    Comparator<UUID> LOCK_ORDER = Comparator.comparing(UUID::toString);
 
     /**
      * Find inventory records by carId.
@@ -29,4 +52,142 @@ public interface InventoryRepository extends JpaRepository<Inventory, UUID> {
      * @return list of inventory records at the location
      */
     List<Inventory> findByLocation(String location);
+
+    /**
+     * First page of inventory records in inventoryId order.
+     * 
+     * @param pageable page size (first page)
+     * @return inventory records with the smallest IDs
+     */
+    @Query("SELECT i FROM Inventory i ORDER BY i.inventoryId")
+    List<Inventory> findFirstPage(Pageable pageable);
+
+    /**
+     * Next page of inventory records in inventoryId order (keyset
+     * pagination: served by the primary key index however deep the page).
+     * 
+     * @param after    last inventoryId of the previous page
+     * @param pageable page size (first page)
+     * @return inventory records with greater IDs
+     */
+    @Query("SELECT i FROM Inventory i WHERE i.inventoryId > :after ORDER BY i.inventoryId")
+    List<Inventory> findPageAfter(@Param("after") UUID after, Pageable pageable);
+
+    /**
+     * Every inventory record in inventoryId order, read through a
+     * server-side cursor in batches of the fetch size. Rows are projected
+     * to unmanaged DTOs, so the persistence context does not grow; must be
+     * consumed (and closed) within a transaction.
+     * 
+     * @return stream of all inventory records
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.carplatform.inventory.dto.InventoryResponse(i.inventoryId, i.carId, i.availableUnits, "
+            + "i.reservedUnits, i.location, i.lastUpdated) FROM Inventory i ORDER BY i.inventoryId")
+    Stream<InventoryResponse> streamAll();
+
+    /**
+     * Car IDs with at least one available unit at any location, sorted.
+     * 
+     * @return sorted in-stock car identifiers
+     */
+    @Query("SELECT DISTINCT i.carId FROM Inventory i WHERE i.availableUnits > 0 ORDER BY i.carId")
+    List<UUID> findInStockCarIds();
+
+    /**
+     * Current stock of every car that has a row changed at or after the given
+     * instant, summed across locations.
+     * 
+     * @param since lower bound (inclusive) on lastUpdated
+     * @return rows of [carId, total available units]
+     */
+    @Query("SELECT i.carId, SUM(i.availableUnits) FROM Inventory i "
+            + "WHERE i.carId IN (SELECT c.carId FROM Inventory c WHERE c.lastUpdated >= :since) "
+            + "GROUP BY i.carId ORDER BY i.carId")
+    List<Object[]> sumAvailableUnitsForCarsChangedSince(@Param("since") Instant since);
+
+    /**
+     * Most recent modification time across all inventory rows.
+     * 
+     * @return latest lastUpdated, or null when the table is empty
+     */
+    @Query("SELECT MAX(i.lastUpdated) FROM Inventory i")
+    Instant findLatestUpdate();
+
+    /**
+     * Lock every inventory row of the given cars, in LOCK_ORDER (by
+     * inventoryId, whatever the car): transactions locking overlapping rows
+     * acquire the row locks in the same order and cannot deadlock.
+     * 
+     * @param carIds the car identifiers
+     * @return the locked rows
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Inventory i WHERE i.carId IN :carIds ORDER BY i.inventoryId")
+    List<Inventory> lockByCarIds(@Param("carIds") Collection<UUID> carIds);
+
+    /**
+     * Reserve units in one conditional statement: the row changes only if it
+     * still has enough available units, so concurrent reservations cannot
+     * oversell.
+     * 
+     * @param inventoryId the inventory row
+     * @param units       units to move from available to reserved
+     * @param now         new lastUpdated
+     * @return 1 if reserved, 0 if the row is missing or short of units
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Inventory i SET i.availableUnits = i.availableUnits - :units, "
+            + "i.reservedUnits = i.reservedUnits + :units, i.lastUpdated = :now, i.version = i.version + 1 "
+            + "WHERE i.inventoryId = :inventoryId AND i.availableUnits >= :units")
+    int reserveUnits(@Param("inventoryId") UUID inventoryId, @Param("units") int units, @Param("now") Instant now);
+
+    /**
+     * Release reserved units in one conditional statement.
+     * 
+     * @param inventoryId the inventory row
+     * @param units       units to move from reserved back to available
+     * @param now         new lastUpdated
+     * @return 1 if released, 0 if the row is missing or has fewer reserved
+     *         units
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Inventory i SET i.availableUnits = i.availableUnits + :units, "
+            + "i.reservedUnits = i.reservedUnits - :units, i.lastUpdated = :now, i.version = i.version + 1 "
+            + "WHERE i.inventoryId = :inventoryId AND i.reservedUnits >= :units")
+    int releaseUnits(@Param("inventoryId") UUID inventoryId, @Param("units") int units, @Param("now") Instant now);
+
+    /**
+     * Take reserved units out of stock (reservation confirmed, units sold)
+     * in one conditional statement; available units are not touched.
+     * 
+     * @param inventoryId the inventory row
+     * @param units       reserved units to remove
+     * @param now         new lastUpdated
+     * @return 1 if removed, 0 if the row is missing or has fewer reserved
+     *         units
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Inventory i SET i.reservedUnits = i.reservedUnits - :units, i.lastUpdated = :now, "
+            + "i.version = i.version + 1 WHERE i.inventoryId = :inventoryId AND i.reservedUnits >= :units")
+    int consumeReservedUnits(@Param("inventoryId") UUID inventoryId, @Param("units") int units,
+            @Param("now") Instant now);
+
+    /**
+     * Add net counter changes decided elsewhere (the in-memory reservation
+     * engine's write-behind). Deltas commute, so batches can be applied in
+     * any order relative to other writers.
+     * 
+     * @param inventoryId    the inventory row
+     * @param availableDelta change of available units
+     * @param reservedDelta  change of reserved units
+     * @param now            new lastUpdated
+     * @return 1 if applied, 0 if the row is missing
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Inventory i SET i.availableUnits = i.availableUnits + :availableDelta, "
+            + "i.reservedUnits = i.reservedUnits + :reservedDelta, i.lastUpdated = :now, i.version = i.version + 1 "
+            + "WHERE i.inventoryId = :inventoryId")
+    int applyDelta(@Param("inventoryId") UUID inventoryId, @Param("availableDelta") int availableDelta,
+            @Param("reservedDelta") int reservedDelta, @Param("now") Instant now);
 }
@@ -0,0 +1,26 @@
+package com.carplatform.inventory.repository;
+
+import com.carplatform.inventory.model.Inventory;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Reservation statements that need database-specific SQL, mixed into
+ * InventoryRepository.
+ */
+public interface InventoryReservationRepository {
+
+    /**
+     * Reserve units of a car at the location with the most available units,
+     * picking the row and moving the units in one statement that returns
+     * the row as written (detached).
+     * 
+     * @param carId the car identifier
+     * @param units units to move from available to reserved
+     * @param now   new lastUpdated
+     * @return the reserved row, or empty if no location has enough units
+     */
+    Optional<Inventory> reserveBestRowOfCar(UUID carId, int units, Instant now);
+}
@@ -0,0 +1,82 @@
+package com.carplatform.inventory.repository;
+
+import com.carplatform.inventory.model.Inventory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * PostgreSQL returns the updated row with UPDATE ... RETURNING; H2 (tests)
+ * has no RETURNING and reads it from the statement's FINAL TABLE instead.
+ * 
+ * The row is picked by a locking subselect: a concurrent reservation of the
+ * same row makes it wait, and once that commits the row is re-checked and
+ * skipped in favour of the next location if it no longer has enough units.
+ * 
+ * The written row is returned detached, built from the statement's result:
+ * mapped as an entity, Hibernate would hand back a copy already loaded in
+ * the persistence context unchanged.
+ */
+public class InventoryReservationRepositoryImpl implements InventoryReservationRepository {
+
+    private static final String RESERVE_BEST_ROW = "UPDATE inventory SET available_units = available_units - :units, "
+            + "reserved_units = reserved_units + :units, last_updated = :now, version = version + 1 "
+            + "WHERE inventory_id = (SELECT inventory_id FROM inventory WHERE car_id = :carId "
+            + "AND available_units >= :units ORDER BY available_units DESC LIMIT 1 %s) "
+            + "AND available_units >= :units";
+
+    private static final String COLUMNS = "inventory_id, car_id, available_units, reserved_units, location, "
+            + "last_updated, version";
+
+    private static final String POSTGRES = String.format(RESERVE_BEST_ROW, "FOR UPDATE") + " RETURNING " + COLUMNS;
+
+    private static final String H2 = "SELECT " + COLUMNS + " FROM FINAL TABLE (" + String.format(RESERVE_BEST_ROW, "")
+            + ")";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile String reserveBestRowSql;
+
+    @Override
+    public Optional<Inventory> reserveBestRowOfCar(UUID carId, int units, Instant now) {
+        @SuppressWarnings("unchecked")
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(reserveBestRowSql()).unwrap(NativeQuery.class);
+        List<Object[]> rows = query
+                .addScalar("inventory_id", UUID.class)
+                .addScalar("car_id", UUID.class)
+                .addScalar("available_units", Integer.class)
+                .addScalar("reserved_units", Integer.class)
+                .addScalar("location", String.class)
+                .addScalar("last_updated", Instant.class)
+                .addScalar("version", Long.class)
+                .setParameter("carId", carId)
+                .setParameter("units", units)
+                .setParameter("now", now)
+                .getResultList();
+        return rows.stream().findFirst().map(row -> {
+            Inventory inventory = new Inventory((UUID) row[0], (UUID) row[1], (Integer) row[2], (Integer) row[3],
+                    (String) row[4], (Instant) row[5]);
+            inventory.setVersion((Long) row[6]);
+            return inventory;
+        });
+    }
+
+    private String reserveBestRowSql() {
+        String sql = reserveBestRowSql;
+        if (sql == null) {
+            boolean h2 = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect() instanceof H2Dialect;
+            sql = h2 ? H2 : POSTGRES;
+            reserveBestRowSql = sql;
+        }
+        return sql;
+    }
+}
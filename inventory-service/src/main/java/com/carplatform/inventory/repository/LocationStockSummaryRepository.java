@@ -0,0 +1,86 @@
+package com.carplatform.inventory.repository;
+
+import com.carplatform.inventory.model.LocationStockSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for the per-location stock rollup, maintained by
+ * LocationStockRollup in the transactions that change inventory.
+ */
+@Repository
+public interface LocationStockSummaryRepository
+        extends JpaRepository<LocationStockSummary, LocationStockSummary.Key> {
+
+    /**
+     * Create an empty bucket row unless it exists. A concurrent insert of
+     * the same bucket can still fail with a unique violation.
+     * 
+     * @param location the location
+     * @param bucket   the bucket
+     * @return 1 if created, 0 if it existed
+     */
+    @Modifying
+    @Query(value = "INSERT INTO location_stock_summary (location, bucket, available_units, reserved_units, sku_count) "
+            + "SELECT :location, :bucket, 0, 0, 0 WHERE NOT EXISTS (SELECT 1 FROM location_stock_summary "
+            + "WHERE location = :location AND bucket = :bucket)", nativeQuery = true)
+    int createBucketIfAbsent(@Param("location") String location, @Param("bucket") int bucket);
+
+    /**
+     * Add to a bucket of a location.
+     * 
+     * @return 1 if the bucket exists, 0 otherwise
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE LocationStockSummary s SET s.availableUnits = s.availableUnits + :availableDelta, "
+            + "s.reservedUnits = s.reservedUnits + :reservedDelta, s.skuCount = s.skuCount + :skuDelta "
+            + "WHERE s.location = :location AND s.bucket = :bucket")
+    int addToLocation(@Param("location") String location, @Param("bucket") int bucket,
+            @Param("availableDelta") long availableDelta, @Param("reservedDelta") long reservedDelta,
+            @Param("skuDelta") long skuDelta);
+
+    /**
+     * Add counter changes of an inventory row to the bucket of its location,
+     * looked up in the same statement.
+     * 
+     * @return 1 if applied, 0 if the row or bucket is missing
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE LocationStockSummary s SET s.availableUnits = s.availableUnits + :availableDelta, "
+            + "s.reservedUnits = s.reservedUnits + :reservedDelta "
+            + "WHERE s.bucket = :bucket "
+            + "AND s.location = (SELECT i.location FROM Inventory i WHERE i.inventoryId = :inventoryId)")
+    int addForInventory(@Param("inventoryId") UUID inventoryId, @Param("bucket") int bucket,
+            @Param("availableDelta") long availableDelta, @Param("reservedDelta") long reservedDelta);
+
+    /**
+     * Totals per location, summed over buckets.
+     * 
+     * @return rows of [location, available, reserved, sku count]
+     */
+    @Query("SELECT s.location, SUM(s.availableUnits), SUM(s.reservedUnits), SUM(s.skuCount) "
+            + "FROM LocationStockSummary s GROUP BY s.location ORDER BY s.location")
+    List<Object[]> sumByLocation();
+
+    /**
+     * Recompute the rollup from the inventory table into bucket 0 (the
+     * table must be empty). Locations whose bucket 0 exists are skipped, so
+     * a rebuild after another instance's committed one writes nothing; a
+     * rebuild racing an uncommitted one can still fail with a unique
+     * violation.
+     * 
+     * @return number of locations written
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO location_stock_summary (location, bucket, available_units, reserved_units, sku_count) "
+            + "SELECT location, 0, SUM(available_units), SUM(reserved_units), COUNT(*) FROM inventory "
+            + "WHERE location IS NOT NULL AND NOT EXISTS (SELECT 1 FROM location_stock_summary s "
+            + "WHERE s.location = inventory.location AND s.bucket = 0) GROUP BY location", nativeQuery = true)
+    int rebuildFromInventory();
+}
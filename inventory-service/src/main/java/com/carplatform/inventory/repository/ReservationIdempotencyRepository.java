@@ -0,0 +1,28 @@
+package com.carplatform.inventory.repository;
+
+import com.carplatform.inventory.model.ReservationIdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+/**
+ * Repository for recorded reservation outcomes, by idempotency key.
+ */
+@Repository
+public interface ReservationIdempotencyRepository extends JpaRepository<ReservationIdempotencyRecord, String> {
+
+    /**
+     * Remove outcomes recorded before a cut-off; requests replayed later
+     * reserve again.
+     * 
+     * @param cutoff retention cut-off
+     * @return number of outcomes removed
+     */
+    @Modifying
+    @Query("DELETE FROM ReservationIdempotencyRecord r WHERE r.createdAt < :cutoff")
+    int deleteRecordedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,60 @@
+package com.carplatform.inventory.repository;
+
+import com.carplatform.inventory.model.Reservation;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for active reservations (units held for an order).
+ */
+@Repository
+public interface ReservationRepository extends JpaRepository<Reservation, UUID> {
+
+    /**
+     * Lock a chunk of expired reservations, oldest expiry first, skipping
+     * rows locked by another sweeper so that concurrent sweepers never wait
+     * on or release the same reservation.
+     * 
+     * Lock timeout -2 is Hibernate's SKIP LOCKED: FOR UPDATE SKIP LOCKED on
+     * PostgreSQL (served by idx_reservation_expires_at); dialects without
+     * SKIP LOCKED, such as H2 in tests, fall back to a plain FOR UPDATE.
+     * 
+     * @param now      expiry cut-off
+     * @param pageable chunk size (first page)
+     * @return locked expired reservations
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT r FROM Reservation r WHERE r.expiresAt <= :now ORDER BY r.expiresAt")
+    List<Reservation> lockExpired(@Param("now") Instant now, Pageable pageable);
+
+    /**
+     * Lock one reservation for release.
+     * 
+     * @param reservationId the reservation
+     * @return the locked reservation, if still active
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Reservation r WHERE r.reservationId = :reservationId")
+    Optional<Reservation> lockById(@Param("reservationId") UUID reservationId);
+
+    /**
+     * Earliest expiry among active reservations.
+     * 
+     * @return earliest expiresAt, or null when there are none
+     */
+    @Query("SELECT MIN(r.expiresAt) FROM Reservation r")
+    Instant findEarliestExpiry();
+}
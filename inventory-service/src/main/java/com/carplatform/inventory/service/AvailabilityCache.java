@@ -0,0 +1,190 @@
+package com.carplatform.inventory.service;
+
+import com.carplatform.inventory.dto.InventoryResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Availability Cache
+ *
+ * In-process read-through cache of the inventory rows of a car, serving
+ * availability checks for hot cars without a database read.
+ *
+ * Every committed change of a row invalidates its car (through the change
+ * outbox, after commit), as does unloading a car from the
+ * ReservationEngine. A load only stores its result if no invalidation of
+ * the car happened since the load started, so a read racing with a write
+ * cannot cache the state from before the write. Invalidations are tracked
+ * per stripe of carIds; a collision only skips storing one load.
+ *
+ * Entries also expire after ttl-ms, which bounds staleness from writes made
+ * by other inventory instances. Beyond max-entries, the least recently
+ * read tenth of the entries is evicted.
+ *
+ * Metrics:
+ * - carplatform.inventory.availability_cache.hits / .misses
+ * - carplatform.inventory.availability_cache.evictions
+ * - carplatform.inventory.availability_cache.size
+ */
+@Component
+public class AvailabilityCache {
+
+    private static final int STRIPES = 1024;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${inventory.availability-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${inventory.availability-cache.max-entries:50000}")
+    private int maxEntries;
+
+    @Value("${inventory.availability-cache.ttl-ms:10000}")
+    private long ttlMs;
+
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLongArray invalidations = new AtomicLongArray(STRIPES);
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private Counter hits;
+    private Counter misses;
+    private Counter evictions;
+
+    /**
+     * Rows of a car and when they were loaded; lastRead is updated on every
+     * hit, racy by design (it only orders evictions)
+     */
+    private static final class Entry {
+        private final List<InventoryResponse> rows;
+        private final long loadedAtMillis;
+        private volatile long lastReadNanos = System.nanoTime();
+
+        private Entry(List<InventoryResponse> rows, long loadedAtMillis) {
+            this.rows = rows;
+            this.loadedAtMillis = loadedAtMillis;
+        }
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        if (meterRegistry == null) {
+            return;
+        }
+        hits = meterRegistry.counter("carplatform.inventory.availability_cache.hits");
+        misses = meterRegistry.counter("carplatform.inventory.availability_cache.misses");
+        evictions = meterRegistry.counter("carplatform.inventory.availability_cache.evictions");
+        Gauge.builder("carplatform.inventory.availability_cache.size", entries, Map::size)
+                .description("Cars cached by the availability cache")
+                .register(meterRegistry);
+    }
+
+    // ===================== READ =====================
+
+    /**
+     * Rows of a car, loaded on a miss or expiry
+     */
+    public List<InventoryResponse> get(UUID carId, Function<UUID, List<InventoryResponse>> loader) {
+        if (!enabled) {
+            return loader.apply(carId);
+        }
+        Entry entry = entries.get(carId);
+        if (entry != null && System.currentTimeMillis() - entry.loadedAtMillis < ttlMs) {
+            entry.lastReadNanos = System.nanoTime();
+            increment(hits);
+            return entry.rows;
+        }
+        increment(misses);
+        int stripe = stripeOf(carId);
+        long invalidationsBefore = invalidations.get(stripe);
+        long loadedAt = System.currentTimeMillis();
+        List<InventoryResponse> rows = List.copyOf(loader.apply(carId));
+        if (invalidations.get(stripe) == invalidationsBefore) {
+            entries.put(carId, new Entry(rows, loadedAt));
+            // A write can land between the check and the put; drop the entry
+            // again unless the stripe is still unchanged
+            if (invalidations.get(stripe) != invalidationsBefore) {
+                entries.remove(carId);
+            }
+            evictIfFull();
+        }
+        return rows;
+    }
+
+    // ===================== INVALIDATION =====================
+
+    /**
+     * Invalidate a car once the current transaction commits (immediately
+     * outside a transaction)
+     */
+    public void invalidateAfterCommit(UUID carId) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(carId);
+                }
+            });
+        } else {
+            invalidate(carId);
+        }
+    }
+
+    public void invalidate(UUID carId) {
+        if (!enabled) {
+            return;
+        }
+        invalidations.incrementAndGet(stripeOf(carId));
+        entries.remove(carId);
+    }
+
+    private void evictIfFull() {
+        if (entries.size() <= maxEntries || !evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            int excess = entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+            // Read times are copied first, as hits keep changing them
+            entries.entrySet().stream()
+                    .map(e -> Map.entry(e.getKey(), e.getValue().lastReadNanos))
+                    .sorted(Map.Entry.comparingByValue())
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(carId -> {
+                        entries.remove(carId);
+                        increment(evictions);
+                    });
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static int stripeOf(UUID carId) {
+        return Math.floorMod(carId.hashCode(), STRIPES);
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.carplatform.inventory.service;
+
+import com.carplatform.inventory.dto.BatchReservationRequest;
+import com.carplatform.inventory.dto.BatchReservationResponse;
+import com.carplatform.inventory.dto.BatchReservationResponse.LineResult;
+import com.carplatform.inventory.dto.InventoryResponse;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Batch Reservation Planner
+ * 
+ * Chooses an inventory row for every line of a batch reservation from a
+ * locked snapshot of the cars' rows: the location with the most available
+ * units that covers the line, lines of the same car drawing on the same
+ * remaining stock in request order.
+ * 
+ * The plan is all or nothing: if any line cannot be served, every line
+ * that could is reported NOT_RESERVED and nothing is to be applied.
+ */
+final class BatchReservationPlanner {
+
+    private BatchReservationPlanner() {
+    }
+
+    /**
+     * @param lines     requested lines
+     * @param rowsByCar current rows of the requested cars (cars without
+     *                  inventory absent)
+     * @return one result per line; RESERVED results carry the chosen row and
+     *         its available units after the batch
+     */
+    static List<LineResult> plan(List<BatchReservationRequest.Line> lines,
+            Map<UUID, List<InventoryResponse>> rowsByCar) {
+        Map<UUID, Integer> remaining = new HashMap<>();
+        rowsByCar.values().forEach(rows -> rows.forEach(row -> remaining.put(row.inventoryId(), row.availableUnits())));
+
+        LineResult[] results = new LineResult[lines.size()];
+        boolean allReserved = true;
+        for (int index = 0; index < lines.size(); index++) {
+            BatchReservationRequest.Line line = lines.get(index);
+            List<InventoryResponse> rows = rowsByCar.getOrDefault(line.carId(), List.of());
+            if (rows.isEmpty()) {
+                results[index] = new LineResult(line.carId(), line.units(), LineResult.NOT_FOUND, null, null, null,
+                        "Car not found in inventory: " + line.carId());
+                allReserved = false;
+                continue;
+            }
+            UUID best = null;
+            int bestAvailable = 0;
+            for (InventoryResponse row : rows) {
+                int available = remaining.get(row.inventoryId());
+                if (best == null || available > bestAvailable) {
+                    best = row.inventoryId();
+                    bestAvailable = available;
+                }
+            }
+            if (bestAvailable < line.units()) {
+                results[index] = new LineResult(line.carId(), line.units(), LineResult.INSUFFICIENT_STOCK, null, null,
+                        bestAvailable, "Insufficient available units. Available: " + bestAvailable
+                                + ", Requested: " + line.units());
+                allReserved = false;
+                continue;
+            }
+            remaining.put(best, bestAvailable - line.units());
+            results[index] = new LineResult(line.carId(), line.units(), BatchReservationResponse.RESERVED, best, null,
+                    bestAvailable - line.units(), null);
+        }
+
+        if (!allReserved) {
+            for (int index = 0; index < results.length; index++) {
+                if (results[index].reserved()) {
+                    results[index] = new LineResult(results[index].carId(), results[index].units(),
+                            LineResult.NOT_RESERVED, null, null, null, "Not reserved: another line of the batch failed");
+                }
+            }
+        }
+        return List.of(results);
+    }
+
+    static boolean allReserved(List<LineResult> results) {
+        return results.stream().allMatch(LineResult::reserved);
+    }
+}
@@ -0,0 +1,144 @@
+package com.carplatform.inventory.service;
+
+import com.carplatform.inventory.dto.InventoryChangeFeedResponse;
+import com.carplatform.inventory.dto.InventoryChangeResponse;
+import com.carplatform.inventory.model.Inventory;
+import com.carplatform.inventory.model.InventoryChange;
+import com.carplatform.inventory.repository.InventoryChangeRepository;
+import com.carplatform.inventory.repository.InventoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Inventory Change Outbox
+ *
+ * Every inventory write appends the row's new counters to the
+ * inventory_change table within its own transaction, so the feed holds
+ * exactly the committed changes, in version order. Recording a change also
+ * invalidates the car in the local AvailabilityCache once it commits.
+ *
+ * Versions come from the database sequence and are allocated before
+ * commit, so a change can become visible after one with a higher version.
+ * The feed therefore stops at a gap in the versions until the change after
+ * the gap is older than gap-settle-ms; by then the missing version has
+ * either committed or been rolled back. gap-settle-ms must exceed the
+ * longest inventory write transaction.
+ *
+ * Changes older than retention-ms are pruned; a consumer that falls
+ * further behind is told to resync.
+ */
+@Slf4j
+@Component
+public class InventoryChangeOutbox {
+
+    @Autowired
+    private InventoryChangeRepository changeRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AvailabilityCache availabilityCache;
+
+    @Value("${inventory.changes.page-size:500}")
+    private int defaultPageSize;
+
+    @Value("${inventory.changes.max-page-size:1000}")
+    private int maxPageSize;
+
+    @Value("${inventory.changes.gap-settle-ms:5000}")
+    private long gapSettleMs;
+
+    @Value("${inventory.changes.retention-ms:604800000}")
+    private long retentionMs;
+
+    // ===================== APPEND =====================
+
+    /**
+     * Record the current counters of a row
+     */
+    public void recorded(Inventory inventory) {
+        changeRepository.save(new InventoryChange(inventory, Instant.now()));
+        availabilityCache.invalidateAfterCommit(inventory.getCarId());
+    }
+
+    /**
+     * Record the counters of a row changed by a conditional update, read
+     * back in the same transaction
+     */
+    public void recorded(UUID inventoryId) {
+        inventoryRepository.findById(inventoryId).ifPresent(this::recorded);
+    }
+
+    // ===================== FEED =====================
+
+    /**
+     * Changes after a version, oldest first
+     *
+     * @param since    last version the consumer applied
+     * @param pageSize maximum number of changes, or null for the default
+     */
+    public InventoryChangeFeedResponse changesSince(long since, Integer pageSize) {
+        int size = Math.max(1, Math.min(pageSize != null ? pageSize : defaultPageSize, maxPageSize));
+        Long oldest = changeRepository.findOldestVersion();
+        boolean resync = oldest != null && since + 1 < oldest;
+        Instant settled = Instant.now().minusMillis(gapSettleMs);
+
+        List<InventoryChangeResponse> changes = new ArrayList<>();
+        long next = since;
+        for (InventoryChange change : changeRepository.findAfter(since, PageRequest.of(0, size))) {
+            boolean gap = change.getVersion() != next + 1 && !(resync && changes.isEmpty());
+            if (gap && change.getRecordedAt().isAfter(settled)) {
+                // Versions before this one may belong to transactions that have not committed yet
+                break;
+            }
+            changes.add(mapToResponse(change));
+            next = change.getVersion();
+        }
+        return new InventoryChangeFeedResponse(next, resync, changes);
+    }
+
+    /**
+     * Newest version, where a consumer without history starts
+     */
+    public long latestVersion() {
+        Long latest = changeRepository.findLatestVersion();
+        return latest != null ? latest : 0L;
+    }
+
+    // ===================== RETENTION =====================
+
+    @Scheduled(fixedDelayString = "${inventory.changes.prune-interval-ms:3600000}")
+    public int prune() {
+        Instant cutoff = Instant.now().minusMillis(retentionMs);
+        Integer pruned = transactionTemplate.execute(status -> changeRepository.deleteRecordedBefore(cutoff));
+        if (pruned != null && pruned > 0) {
+            log.info("Pruned {} inventory changes recorded before {}", pruned, cutoff);
+        }
+        return pruned != null ? pruned : 0;
+    }
+
+    private InventoryChangeResponse mapToResponse(InventoryChange change) {
+        return new InventoryChangeResponse(
+                change.getVersion(),
+                change.getInventoryId(),
+                change.getCarId(),
+                change.getAvailableUnits(),
+                change.getReservedUnits(),
+                change.getLocation(),
+                change.getRecordedAt());
+    }
+}
@@ -0,0 +1,143 @@
+package com.carplatform.inventory.service;
+
+import com.carplatform.inventory.dto.InventoryChangeFeedResponse;
+import com.carplatform.inventory.dto.InventoryChangeResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Inventory Change Stream
+ *
+ * Pushes the change feed to Server-Sent Events subscribers, so consumers
+ * keep caches coherent without polling.
+ *
+ * One scheduled publisher reads the outbox every poll-interval-ms and sends
+ * each subscriber the changes after its cursor; subscribers at the same
+ * cursor (all caught-up ones) share one read. Each event carries its
+ * version as the SSE id, so a reconnecting client resumes with
+ * Last-Event-ID. A "resync" event tells a client that changes it missed
+ * were pruned. Idle subscribers get a comment every heartbeat-ms.
+ *
+ * Metrics:
+ * - carplatform.inventory.changes.subscribers (open streams)
+ */
+@Slf4j
+@Component
+public class InventoryChangeStream {
+
+    @Autowired
+    private InventoryChangeOutbox changeOutbox;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${inventory.changes.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${inventory.changes.stream.heartbeat-ms:15000}")
+    private long heartbeatMs;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * An open stream and the last version sent to it; only the publisher
+     * thread advances the cursor
+     */
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private volatile long cursor;
+        private long lastSentNanos = System.nanoTime();
+
+        private Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        if (meterRegistry == null) {
+            return;
+        }
+        Gauge.builder("carplatform.inventory.changes.subscribers", subscribers, List::size)
+                .description("Open inventory change streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Open a stream of the changes after a version, or of new changes only
+     * when since is null
+     */
+    public SseEmitter subscribe(Long since) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, since != null ? since : changeOutbox.latestVersion());
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        log.debug("Change stream opened at version {} ({} open)", subscriber.cursor, subscribers.size());
+        return emitter;
+    }
+
+    // ===================== PUBLISH =====================
+
+    @Scheduled(fixedDelayString = "${inventory.changes.stream.poll-interval-ms:500}")
+    public void publish() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Map<Long, InventoryChangeFeedResponse> pages = new HashMap<>();
+        for (Subscriber subscriber : subscribers) {
+            InventoryChangeFeedResponse page = pages.computeIfAbsent(subscriber.cursor,
+                    cursor -> changeOutbox.changesSince(cursor, null));
+            try {
+                send(subscriber, page);
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the container completes the emitter
+                subscribers.remove(subscriber);
+                log.debug("Change stream closed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void send(Subscriber subscriber, InventoryChangeFeedResponse page) throws IOException {
+        if (page.resync()) {
+            subscriber.emitter.send(SseEmitter.event().name("resync").data(String.valueOf(subscriber.cursor)));
+        }
+        for (InventoryChangeResponse change : page.changes()) {
+            subscriber.emitter.send(SseEmitter.event()
+                    .id(String.valueOf(change.version()))
+                    .name("inventory-change")
+                    .data(change, MediaType.APPLICATION_JSON));
+        }
+        long now = System.nanoTime();
+        if (!page.changes().isEmpty() || page.resync()) {
+            subscriber.lastSentNanos = now;
+        } else if (now - subscriber.lastSentNanos >= heartbeatMs * 1_000_000L) {
+            subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            subscriber.lastSentNanos = now;
+        }
+        subscriber.cursor = page.next();
+    }
+
+    @PreDestroy
+    void close() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+}
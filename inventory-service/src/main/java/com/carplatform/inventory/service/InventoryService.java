@@ -1,14 +1,22 @@
 package com.carplatform.inventory.service;
 
+import com.carplatform.inventory.dto.BatchReservationRequest;
+import com.carplatform.inventory.dto.BatchReservationResponse;
+import com.carplatform.inventory.dto.InventoryPage;
 import com.carplatform.inventory.dto.InventoryResponse;
 import com.carplatform.inventory.dto.CreateInventoryRequest;
 import com.carplatform.inventory.dto.UpdateInventoryRequest;
 import com.carplatform.inventory.dto.ReserveInventoryRequest;
 import com.carplatform.inventory.dto.ReleaseInventoryRequest;
+import com.carplatform.inventory.dto.InStockIndexResponse;
+import com.carplatform.inventory.dto.InventoryChangeFeedResponse;
+import com.carplatform.inventory.dto.LocationStockSummaryResponse;
+import com.carplatform.inventory.dto.ReservationResponse;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Inventory Service Interface
@@ -34,9 +42,16 @@ public interface InventoryService {
     Optional<InventoryResponse> getInventoryByCarId(UUID carId);
 
     /**
-     * List all inventory
+     * List inventory one page at a time, after the given inventoryId (null
+     * for the first page)
      */
-    List<InventoryResponse> listAllInventory();
+    InventoryPage listInventory(UUID after, Integer limit);
+
+    /**
+     * Pass every inventory record to the action, in inventoryId order,
+     * without holding them all in memory
+     */
+    void forEachInventory(Consumer<InventoryResponse> action);
 
     /**
      * Update inventory (units only)
@@ -48,6 +63,46 @@ public interface InventoryService {
      */
     InventoryResponse reserveInventory(UUID inventoryId, ReserveInventoryRequest request);
 
+    /**
+     * Reserve units of a car at the location with the most available units
+     * 
+     * Throws ResourceNotFoundException when the car has no inventory and
+     * BusinessLogicException when no location has enough units.
+     */
+    InventoryResponse reserveByCarId(UUID carId, int units);
+
+    /**
+     * Reserve units of a car for an order and record the reservation, which
+     * expires (and is released by the sweeper) unless released before.
+     * A request already served under the same idempotency key (orderId when
+     * null) returns the original response without reserving again.
+     */
+    ReservationResponse reserveForOrder(UUID carId, String orderId, int units, String idempotencyKey);
+
+    /**
+     * Reserve several cars for an order in one transaction, all or nothing,
+     * recording one reservation per line
+     */
+    BatchReservationResponse reserveBatch(BatchReservationRequest request);
+
+    /**
+     * Release a recorded reservation's units and delete the reservation
+     * 
+     * Throws ResourceNotFoundException when it was already released or
+     * expired.
+     */
+    InventoryResponse releaseReservation(UUID reservationId);
+
+    /**
+     * Confirm a recorded reservation: delete it and take its units out of
+     * stock for good (reserved units decrease, available units stay as
+     * they are), so it is neither released nor swept later
+     * 
+     * Throws ResourceNotFoundException when it was already confirmed,
+     * released or expired.
+     */
+    InventoryResponse confirmReservation(UUID reservationId);
+
     /**
      * Release reserved units back to available
      */
@@ -57,4 +112,21 @@ public interface InventoryService {
      * Check availability
      */
     boolean isAvailable(UUID carId, int requiredUnits);
+
+    /**
+     * Get the in-stock car index: a full snapshot when sinceVersion is null,
+     * otherwise the cars whose stock changed since that version, less a
+     * safety lag for late commits (may repeat cars from earlier deltas)
+     */
+    InStockIndexResponse getInStockIndex(Long sinceVersion);
+
+    /**
+     * Get stock totals per location
+     */
+    List<LocationStockSummaryResponse> getLocationSummaries();
+
+    /**
+     * Get the inventory changes after a version, oldest first
+     */
+    InventoryChangeFeedResponse getChanges(long sinceVersion, Integer limit);
 }
@@ -1,18 +1,37 @@
 package com.carplatform.inventory.service;
 
+import com.carplatform.inventory.dto.BatchReservationRequest;
+import com.carplatform.inventory.dto.BatchReservationResponse;
+import com.carplatform.inventory.dto.BatchReservationResponse.LineResult;
+import com.carplatform.inventory.dto.InventoryPage;
 import com.carplatform.inventory.dto.InventoryResponse;
 import com.carplatform.inventory.dto.CreateInventoryRequest;
 import com.carplatform.inventory.dto.UpdateInventoryRequest;
 import com.carplatform.inventory.dto.ReserveInventoryRequest;
 import com.carplatform.inventory.dto.ReleaseInventoryRequest;
+import com.carplatform.inventory.dto.InStockIndexResponse;
+import com.carplatform.inventory.dto.InventoryChangeFeedResponse;
+import com.carplatform.inventory.dto.LocationStockSummaryResponse;
+import com.carplatform.inventory.dto.ReservationResponse;
+import com.carplatform.inventory.exception.BusinessLogicException;
+import com.carplatform.inventory.exception.ResourceNotFoundException;
 import com.carplatform.inventory.model.Inventory;
+import com.carplatform.inventory.model.Reservation;
 import com.carplatform.inventory.repository.InventoryRepository;
+import com.carplatform.inventory.repository.ReservationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Database-backed Implementation of Inventory Service
@@ -20,6 +39,28 @@ import java.util.stream.Collectors;
  * Uses InventoryRepository (Spring Data JPA) to persist inventory in
  * PostgreSQL.
  * Business Logic: availableUnits + reservedUnits <= total
+ * 
+ * Reserve and release are single conditional UPDATEs, so the stock check
+ * and the write are one atomic statement and concurrent reservations
+ * cannot oversell; a reservation by carId also picks its location and
+ * returns the written row in that statement. Other writes go through the
+ * entity's @Version.
+ * Reservations for orders are recorded in the same transaction as the
+ * counter change and expire after inventory.reservation.ttl-ms; each
+ * order's reservation is recorded under its idempotency key, so retries
+ * replay the original response.
+ * Every write also updates the per-location rollup and appends the row's
+ * new counters to the change outbox in its transaction. Reads by carId are
+ * served from the AvailabilityCache, which the outbox invalidates.
+ * 
+ * With inventory.reservation.group-commit.enabled, reservations by carId
+ * are applied by the ReservationGroupCommit instead, which batches
+ * concurrent reservations of a car into one transaction; an order's
+ * reservation and idempotency key are recorded in the batch's transaction.
+ * 
+ * When the in-memory ReservationEngine is enabled, reserve and release are
+ * decided by the engine instead, reads of loaded cars come from its
+ * counters, and direct writes go through its exclusive section.
  */
 @Service
 public class InventoryServiceImpl implements InventoryService {
@@ -27,7 +68,50 @@ public class InventoryServiceImpl implements InventoryService {
     @Autowired
     private InventoryRepository inventoryRepository;
 
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private LocationStockRollup locationStockRollup;
+
+    @Autowired
+    private InventoryChangeOutbox inventoryChangeOutbox;
+
+    @Autowired
+    private AvailabilityCache availabilityCache;
+
+    @Autowired
+    private ReservationIdempotency reservationIdempotency;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired(required = false)
+    private ReservationEngine reservationEngine;
+
+    @Autowired(required = false)
+    private ReservationGroupCommit reservationGroupCommit;
+
+    @Value("${inventory.reservation.ttl-ms:86400000}")
+    private long reservationTtlMs;
+
+    /**
+     * How far before the requested version an in-stock delta starts.
+     * lastUpdated is set before the writing transaction commits, so a slow
+     * commit can become visible with a lastUpdated older than a version
+     * already served.
+     */
+    @Value("${inventory.in-stock-index.safety-lag-ms:30000}")
+    private long inStockSafetyLagMs;
+
+    @Value("${inventory.listing.page-size:100}")
+    private int listingPageSize;
+
+    @Value("${inventory.listing.max-page-size:1000}")
+    private int listingMaxPageSize;
+
     @Override
+    @Transactional
     public InventoryResponse createInventory(CreateInventoryRequest request) {
         Inventory inventory = new Inventory();
         // Don't set inventoryId - let Hibernate/JPA generate it with @GeneratedValue
@@ -37,87 +121,393 @@ public class InventoryServiceImpl implements InventoryService {
         inventory.setLocation(request.location());
         inventory.setLastUpdated(Instant.now());
 
+        if (engineEnabled()) {
+            // Unloads the car so the new location is picked up on next use
+            return reservationEngine.exclusive(request.carId(), () -> create(inventory));
+        }
+        return create(inventory);
+    }
+
+    private InventoryResponse create(Inventory inventory) {
         Inventory savedInventory = inventoryRepository.save(inventory);
+        locationStockRollup.added(savedInventory);
+        inventoryChangeOutbox.recorded(savedInventory);
         return mapToResponse(savedInventory);
     }
 
     @Override
     public Optional<InventoryResponse> getInventoryById(UUID inventoryId) {
+        if (engineEnabled()) {
+            Optional<InventoryResponse> loaded = reservationEngine.loadedRow(inventoryId);
+            if (loaded.isPresent()) {
+                return loaded;
+            }
+        }
         return inventoryRepository.findById(inventoryId)
                 .map(this::mapToResponse);
     }
 
     @Override
     public Optional<InventoryResponse> getInventoryByCarId(UUID carId) {
-        return inventoryRepository.findByCarId(carId)
+        if (engineEnabled()) {
+            Optional<List<InventoryResponse>> loaded = reservationEngine.loadedRows(carId);
+            if (loaded.isPresent()) {
+                return loaded.get().stream().findFirst();
+            }
+        }
+        return availabilityCache.get(carId, this::loadRows)
                 .stream()
-                .findFirst()
-                .map(this::mapToResponse);
+                .findFirst();
     }
 
     @Override
-    public List<InventoryResponse> listAllInventory() {
-        return inventoryRepository.findAll()
-                .stream()
+    public InventoryPage listInventory(UUID after, Integer limit) {
+        int size = Math.max(1, Math.min(limit != null ? limit : listingPageSize, listingMaxPageSize));
+        // One extra row tells whether another page follows
+        PageRequest page = PageRequest.of(0, size + 1);
+        List<Inventory> rows = after == null
+                ? inventoryRepository.findFirstPage(page)
+                : inventoryRepository.findPageAfter(after, page);
+        List<InventoryResponse> items = rows.stream()
+                .limit(size)
                 .map(this::mapToResponse)
-                .collect(Collectors.toList());
+                .toList();
+        return new InventoryPage(items, rows.size() > size ? items.get(size - 1).inventoryId() : null);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public void forEachInventory(Consumer<InventoryResponse> action) {
+        try (Stream<InventoryResponse> rows = inventoryRepository.streamAll()) {
+            rows.forEach(action);
+        }
+    }
+
+    @Override
+    @Transactional
     public InventoryResponse updateInventory(UUID inventoryId, UpdateInventoryRequest request) {
+        if (engineEnabled()) {
+            UUID carId = inventoryRepository.findById(inventoryId)
+                    .orElseThrow(() -> new RuntimeException("Inventory not found: " + inventoryId))
+                    .getCarId();
+            // Re-read inside the exclusive section, after the car's flush
+            return reservationEngine.exclusive(carId, () -> update(inventoryId, request));
+        }
+        return update(inventoryId, request);
+    }
+
+    private InventoryResponse update(UUID inventoryId, UpdateInventoryRequest request) {
         Inventory inventory = inventoryRepository.findById(inventoryId)
                 .orElseThrow(() -> new RuntimeException("Inventory not found: " + inventoryId));
+        String previousLocation = inventory.getLocation();
+        int previousAvailable = inventory.getAvailableUnits();
 
         inventory.setAvailableUnits(request.units());
         inventory.setLocation(request.location());
         inventory.setLastUpdated(Instant.now());
 
         Inventory updatedInventory = inventoryRepository.save(inventory);
+        if (Objects.equals(previousLocation, updatedInventory.getLocation())) {
+            locationStockRollup.countersChanged(inventoryId,
+                    updatedInventory.getAvailableUnits() - previousAvailable, 0);
+        } else {
+            locationStockRollup.removed(inventoryId, previousLocation, previousAvailable,
+                    updatedInventory.getReservedUnits());
+            locationStockRollup.added(updatedInventory);
+        }
+        inventoryChangeOutbox.recorded(updatedInventory);
         return mapToResponse(updatedInventory);
     }
 
     @Override
+    @Transactional
     public InventoryResponse reserveInventory(UUID inventoryId, ReserveInventoryRequest request) {
-        Inventory inventory = inventoryRepository.findById(inventoryId)
-                .orElseThrow(() -> new RuntimeException("Inventory not found: " + inventoryId));
+        if (engineEnabled()) {
+            return reservationEngine.reserve(inventoryId, request.units());
+        }
+        if (inventoryRepository.reserveUnits(inventoryId, request.units(), Instant.now()) == 0) {
+            Inventory inventory = inventoryRepository.findById(inventoryId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Inventory not found: " + inventoryId));
+            throw new BusinessLogicException("Insufficient available units. Available: "
+                    + inventory.getAvailableUnits() + ", Requested: " + request.units());
+        }
+        locationStockRollup.countersChanged(inventoryId, -request.units(), request.units());
+        return mapToResponse(recorded(inventoryId));
+    }
 
-        if (inventory.getAvailableUnits() < request.units()) {
-            throw new RuntimeException("Insufficient available units. Available: " + inventory.getAvailableUnits() +
-                    ", Requested: " + request.units());
+    @Override
+    public InventoryResponse reserveByCarId(UUID carId, int units) {
+        if (engineEnabled()) {
+            return reservationEngine.reserveByCarId(carId, units);
         }
+        if (groupCommitEnabled()) {
+            // Waits for the batch outside any transaction of its own
+            return reservationGroupCommit.reserve(carId, units);
+        }
+        return transactionTemplate.execute(status -> reserveRowOfCar(carId, units));
+    }
 
-        inventory.setAvailableUnits(inventory.getAvailableUnits() - request.units());
-        inventory.setReservedUnits(inventory.getReservedUnits() + request.units());
-        inventory.setLastUpdated(Instant.now());
+    private InventoryResponse reserveRowOfCar(UUID carId, int units) {
+        // Picks the location, moves the units and returns the row in one statement
+        Optional<Inventory> reserved = inventoryRepository.reserveBestRowOfCar(carId, units, Instant.now());
+        if (reserved.isPresent()) {
+            Inventory inventory = reserved.get();
+            locationStockRollup.countersChanged(inventory.getInventoryId(), -units, units);
+            inventoryChangeOutbox.recorded(inventory);
+            return mapToResponse(inventory);
+        }
+        if (inventoryRepository.findByCarId(carId).isEmpty()) {
+            throw new ResourceNotFoundException("Inventory not found for car: " + carId);
+        }
+        throw new BusinessLogicException("Insufficient available units for car " + carId + ". Requested: " + units);
+    }
 
-        Inventory reservedInventory = inventoryRepository.save(inventory);
-        return mapToResponse(reservedInventory);
+    @Override
+    public ReservationResponse reserveForOrder(UUID carId, String orderId, int units, String idempotencyKey) {
+        String key = idempotencyKey != null ? idempotencyKey : orderId;
+        if (key == null) {
+            return reserveOnce(carId, orderId, units, null);
+        }
+        Optional<ReservationResponse> replayed = reservationIdempotency.replay(key, carId, units);
+        if (replayed.isPresent()) {
+            return replayed.get();
+        }
+        try {
+            // Own transaction, so a duplicate key can be handled after its rollback
+            return reserveOnce(carId, orderId, units, key);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request with the same key committed first
+            return reservationIdempotency.replay(key, carId, units).orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * Reserve and record the reservation in one transaction: the batch's,
+     * when the group commit applies it, or its own
+     */
+    private ReservationResponse reserveOnce(UUID carId, String orderId, int units, String idempotencyKey) {
+        if (!engineEnabled() && groupCommitEnabled()) {
+            // Waits for the batch outside any transaction of its own
+            return reservationGroupCommit.reserveForOrder(carId, orderId, units, idempotencyKey);
+        }
+        return transactionTemplate.execute(status -> reserveAndRecord(carId, orderId, units, idempotencyKey));
+    }
+
+    private ReservationResponse reserveAndRecord(UUID carId, String orderId, int units, String idempotencyKey) {
+        InventoryResponse inventory = reserveByCarId(carId, units);
+        Instant now = Instant.now();
+        try {
+            Reservation reservation = reservationRepository.saveAndFlush(new Reservation(orderId,
+                    inventory.inventoryId(), carId, units, now, now.plusMillis(reservationTtlMs)));
+            ReservationResponse response = ReservationResponse.success(reservation.getReservationId(), carId,
+                    orderId, units, inventory.availableUnits(), reservation.getExpiresAt());
+            if (idempotencyKey != null) {
+                reservationIdempotency.record(idempotencyKey, carId, units, response);
+            }
+            return response;
+        } catch (RuntimeException e) {
+            // A database reservation rolls back with the transaction; an
+            // engine decision is already applied and must be undone
+            if (engineEnabled()) {
+                reservationEngine.release(inventory.inventoryId(), units);
+            }
+            throw e;
+        }
     }
 
     @Override
-    public InventoryResponse releaseInventory(UUID inventoryId, ReleaseInventoryRequest request) {
-        Inventory inventory = inventoryRepository.findById(inventoryId)
-                .orElseThrow(() -> new RuntimeException("Inventory not found: " + inventoryId));
+    @Transactional
+    public BatchReservationResponse reserveBatch(BatchReservationRequest request) {
+        List<LineResult> results;
+        if (engineEnabled()) {
+            results = reservationEngine.reserveAll(request.lines());
+        } else {
+            // One locking read, in InventoryRepository.LOCK_ORDER like the
+            // sweeper's releases, so neither can deadlock the other; nothing
+            // changes between the plan and its writes
+            Set<UUID> carIds = request.lines().stream()
+                    .map(BatchReservationRequest.Line::carId)
+                    .collect(Collectors.toSet());
+            List<Inventory> locked = inventoryRepository.lockByCarIds(carIds);
+            results = BatchReservationPlanner.plan(request.lines(), locked.stream()
+                    .map(this::mapToResponse)
+                    .collect(Collectors.groupingBy(InventoryResponse::carId)));
+            if (BatchReservationPlanner.allReserved(results)) {
+                Map<UUID, Inventory> rows = locked.stream()
+                        .collect(Collectors.toMap(Inventory::getInventoryId, inventory -> inventory));
+                Instant now = Instant.now();
+                for (LineResult result : results) {
+                    Inventory inventory = rows.get(result.inventoryId());
+                    inventory.setAvailableUnits(inventory.getAvailableUnits() - result.units());
+                    inventory.setReservedUnits(inventory.getReservedUnits() + result.units());
+                    inventory.setLastUpdated(now);
+                    locationStockRollup.countersChanged(inventory.getInventoryId(), -result.units(),
+                            result.units());
+                }
+                // Dirty rows are written as one JDBC batch of versioned updates
+                inventoryRepository.flush();
+                results.stream()
+                        .map(result -> rows.get(result.inventoryId()))
+                        .distinct()
+                        .forEach(inventoryChangeOutbox::recorded);
+            }
+        }
+        if (!BatchReservationPlanner.allReserved(results)) {
+            return new BatchReservationResponse(request.orderId(), BatchReservationResponse.REJECTED, null, results);
+        }
+
+        Instant now = Instant.now();
+        Instant expiry = now.plusMillis(reservationTtlMs);
+        List<Reservation> reservations;
+        try {
+            reservations = reservationRepository.saveAllAndFlush(results.stream()
+                    .map(result -> new Reservation(request.orderId(), result.inventoryId(), result.carId(),
+                            result.units(), now, expiry))
+                    .toList());
+        } catch (RuntimeException e) {
+            if (engineEnabled()) {
+                results.forEach(result -> reservationEngine.release(result.inventoryId(), result.units()));
+            }
+            throw e;
+        }
+        List<LineResult> reserved = new ArrayList<>();
+        for (int index = 0; index < results.size(); index++) {
+            reserved.add(results.get(index).withReservationId(reservations.get(index).getReservationId()));
+        }
+        return new BatchReservationResponse(request.orderId(), BatchReservationResponse.RESERVED, expiry, reserved);
+    }
+
+    @Override
+    @Transactional
+    public InventoryResponse releaseReservation(UUID reservationId) {
+        Reservation reservation = reservationRepository.lockById(reservationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation not found: " + reservationId));
+        // Deleted first so an engine release is never repeated by the sweeper
+        reservationRepository.delete(reservation);
+        reservationRepository.flush();
+        return releaseInventory(reservation.getInventoryId(),
+                new ReleaseInventoryRequest(reservation.getCarId(), reservation.getUnits()));
+    }
+
+    @Override
+    @Transactional
+    public InventoryResponse confirmReservation(UUID reservationId) {
+        if (engineEnabled()) {
+            UUID carId = reservationRepository.findById(reservationId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Reservation not found: " + reservationId))
+                    .getCarId();
+            // Deletion and counter change commit together while the car is unloaded
+            return reservationEngine.exclusive(carId, () -> confirm(reservationId));
+        }
+        return confirm(reservationId);
+    }
+
+    private InventoryResponse confirm(UUID reservationId) {
+        Reservation reservation = reservationRepository.lockById(reservationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation not found: " + reservationId));
+        reservationRepository.delete(reservation);
+        reservationRepository.flush();
+        UUID inventoryId = reservation.getInventoryId();
+        if (inventoryRepository.consumeReservedUnits(inventoryId, reservation.getUnits(), Instant.now()) == 0) {
+            throw new BusinessLogicException("Cannot confirm reservation " + reservationId
+                    + ": inventory " + inventoryId + " has fewer reserved units than " + reservation.getUnits());
+        }
+        locationStockRollup.countersChanged(inventoryId, 0, -reservation.getUnits());
+        return mapToResponse(recorded(inventoryId));
+    }
 
-        if (inventory.getReservedUnits() < request.units()) {
-            throw new RuntimeException(
+    @Override
+    @Transactional
+    public InventoryResponse releaseInventory(UUID inventoryId, ReleaseInventoryRequest request) {
+        if (engineEnabled()) {
+            return reservationEngine.release(inventoryId, request.units());
+        }
+        if (inventoryRepository.releaseUnits(inventoryId, request.units(), Instant.now()) == 0) {
+            Inventory inventory = inventoryRepository.findById(inventoryId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Inventory not found: " + inventoryId));
+            throw new BusinessLogicException(
                     "Cannot release more units than reserved. Reserved: " + inventory.getReservedUnits() +
                             ", Requested: " + request.units());
         }
+        locationStockRollup.countersChanged(inventoryId, request.units(), -request.units());
+        return mapToResponse(recorded(inventoryId));
+    }
 
-        inventory.setAvailableUnits(inventory.getAvailableUnits() + request.units());
-        inventory.setReservedUnits(inventory.getReservedUnits() - request.units());
-        inventory.setLastUpdated(Instant.now());
-
-        Inventory releasedInventory = inventoryRepository.save(inventory);
-        return mapToResponse(releasedInventory);
+    /**
+     * Row as written by a conditional update (JPQL updates cannot return it,
+     * so it is read back by primary key in the same transaction), recorded
+     * in the change outbox
+     */
+    private Inventory recorded(UUID inventoryId) {
+        Inventory inventory = inventoryRepository.findById(inventoryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Inventory not found: " + inventoryId));
+        inventoryChangeOutbox.recorded(inventory);
+        return inventory;
     }
 
     @Override
     public boolean isAvailable(UUID carId, int requiredUnits) {
+        if (engineEnabled()) {
+            Optional<List<InventoryResponse>> loaded = reservationEngine.loadedRows(carId);
+            if (loaded.isPresent()) {
+                return loaded.get().stream().anyMatch(inv -> inv.availableUnits() >= requiredUnits);
+            }
+        }
+        return availabilityCache.get(carId, this::loadRows)
+                .stream()
+                .anyMatch(inv -> inv.availableUnits() >= requiredUnits);
+    }
+
+    @Override
+    public InStockIndexResponse getInStockIndex(Long sinceVersion) {
+        // Read the version first so that changes racing with the query are
+        // picked up again by the next delta rather than lost
+        Instant latestUpdate = inventoryRepository.findLatestUpdate();
+        long version = latestUpdate != null ? latestUpdate.toEpochMilli() : 0L;
+
+        if (sinceVersion == null) {
+            return new InStockIndexResponse(version, true, inventoryRepository.findInStockCarIds(), List.of());
+        }
+
+        List<UUID> inStock = new ArrayList<>();
+        List<UUID> outOfStock = new ArrayList<>();
+        // Re-sending recent cars is harmless: each carries its current stock
+        for (Object[] row : inventoryRepository.sumAvailableUnitsForCarsChangedSince(
+                Instant.ofEpochMilli(sinceVersion - inStockSafetyLagMs))) {
+            UUID carId = (UUID) row[0];
+            long available = ((Number) row[1]).longValue();
+            if (available > 0) {
+                inStock.add(carId);
+            } else {
+                outOfStock.add(carId);
+            }
+        }
+        return new InStockIndexResponse(version, false, inStock, outOfStock);
+    }
+
+    @Override
+    public List<LocationStockSummaryResponse> getLocationSummaries() {
+        return locationStockRollup.summary();
+    }
+
+    @Override
+    public InventoryChangeFeedResponse getChanges(long sinceVersion, Integer limit) {
+        return inventoryChangeOutbox.changesSince(sinceVersion, limit);
+    }
+
+    private List<InventoryResponse> loadRows(UUID carId) {
         return inventoryRepository.findByCarId(carId)
                 .stream()
-                .anyMatch(inv -> inv.getAvailableUnits() >= requiredUnits);
+                .map(this::mapToResponse)
+                .toList();
+    }
+
+    private boolean engineEnabled() {
+        return reservationEngine != null && reservationEngine.isEnabled();
+    }
+
+    private boolean groupCommitEnabled() {
+        return reservationGroupCommit != null && reservationGroupCommit.isEnabled();
     }
 
     /**
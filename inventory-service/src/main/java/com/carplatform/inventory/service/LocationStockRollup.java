@@ -0,0 +1,147 @@
+package com.carplatform.inventory.service;
+
+import com.carplatform.inventory.dto.LocationStockSummaryResponse;
+import com.carplatform.inventory.model.Inventory;
+import com.carplatform.inventory.repository.InventoryRepository;
+import com.carplatform.inventory.repository.LocationStockSummaryRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Location Stock Rollup
+ *
+ * Keeps available units, reserved units and SKU counts per location up to
+ * date, so stock-by-location views read one row per location bucket
+ * instead of summing every inventory row.
+ *
+ * Every inventory write calls in here within its own transaction, so the
+ * rollup commits or rolls back with the change. Each location is split
+ * into buckets (by inventory row) so reservations at a busy location do
+ * not all queue on one summary row lock. A missing bucket is created empty
+ * in a short transaction of its own, so a concurrent creation of the same
+ * bucket cannot abort the inventory write.
+ *
+ * On startup an empty rollup is rebuilt from the inventory table, which
+ * covers databases created before the rollup existed. Instances starting
+ * together may all rebuild: locations another instance already wrote are
+ * skipped, and a rebuild that loses the race to an uncommitted one (unique
+ * violation) is logged rather than failing startup, since the winner
+ * writes the same rows.
+ */
+@Slf4j
+@Component
+public class LocationStockRollup {
+
+    @Autowired
+    private LocationStockSummaryRepository summaryRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${inventory.location-summary.buckets:16}")
+    private int buckets;
+
+    private TransactionTemplate bucketTransaction;
+
+    @PostConstruct
+    void rebuildIfEmpty() {
+        bucketTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        bucketTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (summaryRepository.count() == 0 && inventoryRepository.count() > 0) {
+                    int locations = summaryRepository.rebuildFromInventory();
+                    log.info("Rebuilt location stock rollup for {} locations", locations);
+                }
+            });
+        } catch (DataAccessException e) {
+            log.warn("Could not rebuild location stock rollup; retried on next start: {}", e.getMessage());
+        }
+    }
+
+    // ===================== CHANGES =====================
+
+    /**
+     * A row was created at its location
+     */
+    public void added(Inventory inventory) {
+        if (inventory.getLocation() == null) {
+            return;
+        }
+        add(inventory.getLocation(), bucketOf(inventory.getInventoryId()),
+                inventory.getAvailableUnits(), inventory.getReservedUnits(), 1);
+    }
+
+    /**
+     * A row left a location (moved elsewhere) with the given counters
+     */
+    public void removed(UUID inventoryId, String location, int availableUnits, int reservedUnits) {
+        if (location == null) {
+            return;
+        }
+        add(location, bucketOf(inventoryId), -availableUnits, -reservedUnits, -1);
+    }
+
+    /**
+     * A row's counters changed in place
+     */
+    public void countersChanged(UUID inventoryId, int availableDelta, int reservedDelta) {
+        if (availableDelta == 0 && reservedDelta == 0) {
+            return;
+        }
+        int bucket = bucketOf(inventoryId);
+        if (summaryRepository.addForInventory(inventoryId, bucket, availableDelta, reservedDelta) == 0) {
+            // Bucket not created yet (rebuilt rollup, changed bucket count)
+            inventoryRepository.findById(inventoryId)
+                    .map(Inventory::getLocation)
+                    .ifPresent(location -> add(location, bucket, availableDelta, reservedDelta, 0));
+        }
+    }
+
+    /**
+     * Add to a bucket, creating it on first use; totals are sums over
+     * buckets, so any bucket of the location can take any change
+     */
+    private void add(String location, int bucket, long availableDelta, long reservedDelta, long skuDelta) {
+        if (summaryRepository.addToLocation(location, bucket, availableDelta, reservedDelta, skuDelta) == 0) {
+            createBucket(location, bucket);
+            summaryRepository.addToLocation(location, bucket, availableDelta, reservedDelta, skuDelta);
+        }
+    }
+
+    private void createBucket(String location, int bucket) {
+        try {
+            bucketTransaction.executeWithoutResult(status -> summaryRepository.createBucketIfAbsent(location, bucket));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Bucket {} of location {} was created concurrently", bucket, location);
+        }
+    }
+
+    // ===================== READ =====================
+
+    public List<LocationStockSummaryResponse> summary() {
+        return summaryRepository.sumByLocation().stream()
+                .map(row -> new LocationStockSummaryResponse((String) row[0],
+                        ((Number) row[1]).longValue(),
+                        ((Number) row[2]).longValue(),
+                        ((Number) row[3]).longValue()))
+                .toList();
+    }
+
+    private int bucketOf(UUID inventoryId) {
+        return Math.floorMod(inventoryId.hashCode(), buckets);
+    }
+}
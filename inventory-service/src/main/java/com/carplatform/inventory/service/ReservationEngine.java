@@ -0,0 +1,726 @@
+package com.carplatform.inventory.service;
+
+import com.carplatform.inventory.dto.BatchReservationRequest;
+import com.carplatform.inventory.dto.BatchReservationResponse.LineResult;
+import com.carplatform.inventory.dto.InventoryResponse;
+import com.carplatform.inventory.exception.BusinessLogicException;
+import com.carplatform.inventory.exception.ResourceNotFoundException;
+import com.carplatform.inventory.model.EngineCheckpoint;
+import com.carplatform.inventory.model.Inventory;
+import com.carplatform.inventory.repository.EngineCheckpointRepository;
+import com.carplatform.inventory.repository.InventoryRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * In-Memory Reservation Engine
+ *
+ * Optional engine mode (inventory.engine.in-memory.enabled, off by default)
+ * for flash sales, where row-lock contention on a popular car's inventory
+ * row caps reservations at a few hundred per second.
+ *
+ * - Counters of active cars are held in memory and are authoritative while
+ *   loaded; a car is loaded from the database on first use and dropped
+ *   after being idle
+ * - Cars are partitioned into shards by carId, each with its own lock, so
+ *   decisions on different shards run in parallel; a decision is a few
+ *   counter updates under the shard lock
+ * - Every decision is appended to the shard's journal and acknowledged only
+ *   once the journal is on disk (fsync shared by concurrent decisions)
+ * - A write-behind applies the net change of every row to the inventory
+ *   table in batches, together with the shard's journal checkpoint, in one
+ *   transaction; on startup, journal records past the checkpoint are
+ *   replayed into the table. The location rollup and change outbox are
+ *   updated by the write-behind, so the change feed sees engine decisions
+ *   once they are flushed
+ *
+ * The engine assumes it is the only writer of reservations: run a single
+ * inventory instance (or route cars to instances by carId) when enabled.
+ * Direct writes to a car (create, update) go through exclusive(), which
+ * flushes and unloads it first.
+ *
+ * Metrics:
+ * - carplatform.inventory.engine.cars (loaded cars)
+ * - carplatform.inventory.engine.decision.latency (operation, outcome)
+ * - carplatform.inventory.engine.flush.latency (write-behind batches)
+ */
+@Slf4j
+@Component
+public class ReservationEngine {
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private EngineCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private LocationStockRollup locationStockRollup;
+
+    @Autowired
+    private InventoryChangeOutbox inventoryChangeOutbox;
+
+    @Autowired
+    private AvailabilityCache availabilityCache;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${inventory.engine.in-memory.enabled:false}")
+    private boolean enabled;
+
+    @Value("${inventory.engine.in-memory.shards:64}")
+    private int shardCount;
+
+    @Value("${inventory.engine.in-memory.journal-dir:data/reservation-journal}")
+    private String journalDir;
+
+    @Value("${inventory.engine.in-memory.journal-fsync:true}")
+    private boolean journalFsync;
+
+    @Value("${inventory.engine.in-memory.segment-bytes:16777216}")
+    private long segmentBytes;
+
+    @Value("${inventory.engine.in-memory.idle-evict-ms:300000}")
+    private long idleEvictMs;
+
+    private Shard[] shards;
+    private final Map<UUID, UUID> carOfInventory = new ConcurrentHashMap<>();
+    private final Map<UUID, Object> loading = new ConcurrentHashMap<>();
+    private final AtomicInteger loadedCars = new AtomicInteger();
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Path directory = Path.of(journalDir);
+        Files.createDirectories(directory);
+        Map<Integer, Long> sequences = recover(directory);
+
+        Shard[] started = new Shard[shardCount];
+        for (int index = 0; index < shardCount; index++) {
+            long sequence = sequences.getOrDefault(index, 0L);
+            started[index] = new Shard(new ReservationJournal(directory, index, sequence + 1, journalFsync), index);
+            started[index].sequence = sequence;
+        }
+        shards = started;
+
+        if (meterRegistry != null) {
+            Gauge.builder("carplatform.inventory.engine.cars", loadedCars, AtomicInteger::get)
+                    .description("Cars whose counters are held by the in-memory reservation engine")
+                    .register(meterRegistry);
+        }
+        log.info("In-memory reservation engine started: {} shards, journal {} (fsync={})",
+                shardCount, directory.toAbsolutePath(), journalFsync);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (shards == null) {
+            return;
+        }
+        flush();
+        for (Shard shard : shards) {
+            try {
+                shard.journal.close();
+            } catch (IOException e) {
+                log.warn("Could not close reservation journal of shard {}: {}", shard.index, e.getMessage());
+            }
+        }
+        shards = null;
+    }
+
+    public boolean isEnabled() {
+        return shards != null;
+    }
+
+    // ===================== DECISIONS =====================
+
+    /**
+     * Reserve units of a car at the location with the most available units
+     */
+    public InventoryResponse reserveByCarId(UUID carId, int units) {
+        return decide("reserve", carId, car -> {
+            Row best = null;
+            for (Row row : car.rows) {
+                if (row.available >= units && (best == null || row.available > best.available)) {
+                    best = row;
+                }
+            }
+            if (best == null) {
+                throw new BusinessLogicException(
+                        "Insufficient available units for car " + carId + ". Requested: " + units);
+            }
+            return best;
+        }, -units, units);
+    }
+
+    /**
+     * Reserve units of one inventory row
+     */
+    public InventoryResponse reserve(UUID inventoryId, int units) {
+        return decide("reserve", carOf(inventoryId), car -> {
+            Row row = car.row(inventoryId);
+            if (row.available < units) {
+                throw new BusinessLogicException("Insufficient available units. Available: "
+                        + row.available + ", Requested: " + units);
+            }
+            return row;
+        }, -units, units);
+    }
+
+    /**
+     * Release reserved units of one inventory row
+     */
+    public InventoryResponse release(UUID inventoryId, int units) {
+        return decide("release", carOf(inventoryId), car -> {
+            Row row = car.row(inventoryId);
+            if (row.reserved < units) {
+                throw new BusinessLogicException("Cannot release more units than reserved. Reserved: "
+                        + row.reserved + ", Requested: " + units);
+            }
+            return row;
+        }, units, -units);
+    }
+
+    /**
+     * Apply a change to the row chosen by the selector under the shard lock,
+     * loading the car first if needed, and wait for its journal record
+     */
+    private InventoryResponse decide(String operation, UUID carId, Function<CarStock, Row> selector,
+            int availableDelta, int reservedDelta) {
+        long start = System.nanoTime();
+        String outcome = "rejected";
+        try {
+            Shard shard = shardOf(carId);
+            long sequence;
+            InventoryResponse response;
+            while (true) {
+                long evictions;
+                shard.lock.lock();
+                try {
+                    CarStock car = shard.cars.get(carId);
+                    if (car != null) {
+                        car.lastAccess = System.currentTimeMillis();
+                        Row row = selector.apply(car);
+                        sequence = apply(shard, row, availableDelta, reservedDelta);
+                        response = row.toResponse();
+                        break;
+                    }
+                    evictions = shard.evictions;
+                } finally {
+                    shard.lock.unlock();
+                }
+                if (!load(shard, carId, evictions)) {
+                    throw new ResourceNotFoundException("Inventory not found for car: " + carId);
+                }
+            }
+
+            try {
+                shard.journal.awaitDurable(sequence);
+            } catch (IOException e) {
+                // The change stays in memory and reaches the table with the
+                // next write-behind batch; only the acknowledgement is lost
+                outcome = "unknown";
+                log.error("Reservation journal write failed on shard {}: {}", shard.index, e.getMessage());
+                throw new IllegalStateException("Reservation journal write failed; the change may be applied", e);
+            }
+            outcome = "accepted";
+            return response;
+        } finally {
+            if (meterRegistry != null) {
+                Timer.builder("carplatform.inventory.engine.decision.latency")
+                        .tag("operation", operation)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Reserve several cars at once, all or nothing
+     * 
+     * The shards of all cars are locked in shard order (so concurrent
+     * batches cannot deadlock), the batch is planned against their current
+     * rows and applied only if every line can be served.
+     *
+     * @return one result per line (see BatchReservationPlanner)
+     */
+    public List<LineResult> reserveAll(List<BatchReservationRequest.Line> lines) {
+        long start = System.nanoTime();
+        String outcome = "rejected";
+        try {
+            Set<UUID> carIds = lines.stream().map(BatchReservationRequest.Line::carId)
+                    .collect(Collectors.toCollection(TreeSet::new));
+            List<Shard> involved = carIds.stream().map(this::shardOf).distinct()
+                    .sorted(Comparator.comparingInt(shard -> shard.index)).toList();
+            Set<UUID> unknown = new HashSet<>();
+            Map<Shard, Long> sequences = new HashMap<>();
+            List<LineResult> results;
+            while (true) {
+                UUID missing = null;
+                long evictions = 0;
+                involved.forEach(shard -> shard.lock.lock());
+                try {
+                    Map<UUID, List<Row>> rowsByCar = new HashMap<>();
+                    for (UUID carId : carIds) {
+                        Shard shard = shardOf(carId);
+                        CarStock car = shard.cars.get(carId);
+                        if (car != null) {
+                            car.lastAccess = System.currentTimeMillis();
+                            rowsByCar.put(carId, car.rows);
+                        } else if (!unknown.contains(carId)) {
+                            missing = carId;
+                            evictions = shard.evictions;
+                            break;
+                        }
+                    }
+                    if (missing == null) {
+                        results = BatchReservationPlanner.plan(lines, rowsByCar.entrySet().stream()
+                                .collect(Collectors.toMap(Map.Entry::getKey,
+                                        entry -> entry.getValue().stream().map(Row::toResponse).toList())));
+                        if (BatchReservationPlanner.allReserved(results)) {
+                            for (LineResult result : results) {
+                                Shard shard = shardOf(result.carId());
+                                Row row = shard.cars.get(result.carId()).row(result.inventoryId());
+                                sequences.put(shard, apply(shard, row, -result.units(), result.units()));
+                            }
+                        }
+                        break;
+                    }
+                } finally {
+                    for (int index = involved.size() - 1; index >= 0; index--) {
+                        involved.get(index).lock.unlock();
+                    }
+                }
+                if (!load(shardOf(missing), missing, evictions)) {
+                    unknown.add(missing);
+                }
+            }
+
+            for (Map.Entry<Shard, Long> shardSequence : sequences.entrySet()) {
+                try {
+                    shardSequence.getKey().journal.awaitDurable(shardSequence.getValue());
+                } catch (IOException e) {
+                    outcome = "unknown";
+                    log.error("Reservation journal write failed on shard {}: {}", shardSequence.getKey().index,
+                            e.getMessage());
+                    throw new IllegalStateException("Reservation journal write failed; the change may be applied", e);
+                }
+            }
+            outcome = sequences.isEmpty() ? "rejected" : "accepted";
+            return results;
+        } finally {
+            if (meterRegistry != null) {
+                Timer.builder("carplatform.inventory.engine.decision.latency")
+                        .tag("operation", "reserve_batch")
+                        .tag("outcome", outcome)
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Update a row's counters, journal the change and add it to the pending
+     * write-behind batch; called under the shard lock
+     */
+    private long apply(Shard shard, Row row, int availableDelta, int reservedDelta) {
+        row.available += availableDelta;
+        row.reserved += reservedDelta;
+        row.lastUpdated = Instant.now();
+        long sequence = ++shard.sequence;
+        shard.journal.append(sequence, row.inventoryId, availableDelta, reservedDelta);
+        int[] delta = shard.pending.computeIfAbsent(row.inventoryId, id -> new int[2]);
+        delta[0] += availableDelta;
+        delta[1] += reservedDelta;
+        return sequence;
+    }
+
+    // ===================== LOADED STATE =====================
+
+    /**
+     * Current rows of a car if it is loaded; the table may lag behind them
+     * by one write-behind interval
+     */
+    public Optional<List<InventoryResponse>> loadedRows(UUID carId) {
+        if (shards == null) {
+            return Optional.empty();
+        }
+        Shard shard = shardOf(carId);
+        shard.lock.lock();
+        try {
+            CarStock car = shard.cars.get(carId);
+            return car == null ? Optional.empty() : Optional.of(car.rows.stream().map(Row::toResponse).toList());
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * Current state of an inventory row if its car is loaded
+     */
+    public Optional<InventoryResponse> loadedRow(UUID inventoryId) {
+        UUID carId = carOfInventory.get(inventoryId);
+        if (carId == null) {
+            return Optional.empty();
+        }
+        return loadedRows(carId).flatMap(rows -> rows.stream()
+                .filter(row -> row.inventoryId().equals(inventoryId))
+                .findFirst());
+    }
+
+    /**
+     * Run a direct database write for a car: its pending changes are flushed
+     * and it is unloaded first, and no decision or load for its shard runs
+     * until the write has committed (it runs in its own transaction)
+     */
+    public <T> T exclusive(UUID carId, Supplier<T> write) {
+        Shard shard = shardOf(carId);
+        synchronized (shard.flushLock) {
+            shard.lock.lock();
+            try {
+                if (!flush(shard)) {
+                    throw new IllegalStateException("Pending reservations of car " + carId + " could not be flushed");
+                }
+                CarStock car = shard.cars.remove(carId);
+                if (car != null) {
+                    unloaded(carId, car);
+                }
+                // Also invalidates loads that read the table before this write
+                shard.evictions++;
+                TransactionTemplate ownTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+                ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+                return ownTransaction.execute(status -> write.get());
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    private UUID carOf(UUID inventoryId) {
+        UUID carId = carOfInventory.get(inventoryId);
+        if (carId != null) {
+            return carId;
+        }
+        return inventoryRepository.findById(inventoryId)
+                .map(Inventory::getCarId)
+                .orElseThrow(() -> new ResourceNotFoundException("Inventory not found: " + inventoryId));
+    }
+
+    /**
+     * Read a car's rows from the table and install them, unless another
+     * thread loaded the car meanwhile or it was evicted after the given
+     * eviction count was read (the rows might then predate its last flush).
+     * Concurrent loads of a car wait for the first one instead of all
+     * reading the table, as happens when a flash sale opens.
+     *
+     * @return false if the car has no inventory
+     */
+    private boolean load(Shard shard, UUID carId, long evictions) {
+        Object carLoad = loading.computeIfAbsent(carId, id -> new Object());
+        try {
+            synchronized (carLoad) {
+                shard.lock.lock();
+                try {
+                    if (shard.evictions != evictions || shard.cars.containsKey(carId)) {
+                        return true;
+                    }
+                } finally {
+                    shard.lock.unlock();
+                }
+
+                List<Inventory> rows = inventoryRepository.findByCarId(carId);
+                if (rows.isEmpty()) {
+                    return false;
+                }
+                shard.lock.lock();
+                try {
+                    if (shard.evictions != evictions || shard.cars.containsKey(carId)) {
+                        return true;
+                    }
+                    CarStock car = new CarStock(rows.stream().map(Row::new).toList());
+                    shard.cars.put(carId, car);
+                    car.rows.forEach(row -> carOfInventory.put(row.inventoryId, carId));
+                    loadedCars.incrementAndGet();
+                    return true;
+                } finally {
+                    shard.lock.unlock();
+                }
+            }
+        } finally {
+            loading.remove(carId, carLoad);
+        }
+    }
+
+    private void unloaded(UUID carId, CarStock car) {
+        car.rows.forEach(row -> carOfInventory.remove(row.inventoryId));
+        loadedCars.decrementAndGet();
+        // Reads of the car go to the database again; drop any snapshot
+        // cached before its flushed changes
+        availabilityCache.invalidate(carId);
+    }
+
+    private Shard shardOf(UUID carId) {
+        Shard[] current = shards;
+        if (current == null) {
+            throw new IllegalStateException("In-memory reservation engine is not enabled");
+        }
+        return current[Math.floorMod(carId.hashCode(), current.length)];
+    }
+
+    // ===================== WRITE-BEHIND =====================
+
+    /**
+     * Write the pending changes of every shard to the table and drop idle
+     * cars
+     */
+    @Scheduled(fixedDelayString = "${inventory.engine.in-memory.flush-interval-ms:100}")
+    public void flush() {
+        Shard[] current = shards;
+        if (current == null) {
+            return;
+        }
+        for (Shard shard : current) {
+            synchronized (shard.flushLock) {
+                if (flush(shard)) {
+                    evictIdle(shard);
+                }
+            }
+        }
+    }
+
+    /**
+     * Write a shard's pending changes and checkpoint in one transaction;
+     * caller holds the flush lock. On failure the batch is merged back into
+     * the pending changes and retried with the next flush.
+     */
+    private boolean flush(Shard shard) {
+        Map<UUID, int[]> batch;
+        long upTo;
+        shard.lock.lock();
+        try {
+            if (shard.pending.isEmpty()) {
+                return true;
+            }
+            batch = shard.pending;
+            shard.pending = new HashMap<>();
+            upTo = shard.sequence;
+            try {
+                shard.journal.rollIfLargerThan(segmentBytes);
+            } catch (IOException e) {
+                log.warn("Could not roll reservation journal of shard {}: {}", shard.index, e.getMessage());
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+
+        long start = System.nanoTime();
+        try {
+            write(shard.index, batch, upTo);
+        } catch (RuntimeException e) {
+            log.warn("Write-behind of {} inventory rows for shard {} failed, will retry: {}",
+                    batch.size(), shard.index, e.getMessage());
+            shard.lock.lock();
+            try {
+                batch.forEach((inventoryId, delta) -> {
+                    int[] pending = shard.pending.computeIfAbsent(inventoryId, id -> new int[2]);
+                    pending[0] += delta[0];
+                    pending[1] += delta[1];
+                });
+            } finally {
+                shard.lock.unlock();
+            }
+            return false;
+        }
+        if (meterRegistry != null) {
+            meterRegistry.timer("carplatform.inventory.engine.flush.latency")
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        try {
+            shard.journal.deleteCheckpointed(upTo);
+        } catch (IOException e) {
+            log.warn("Could not delete checkpointed journal segments of shard {}: {}", shard.index, e.getMessage());
+        }
+        return true;
+    }
+
+    private void write(int shard, Map<UUID, int[]> batch, long upTo) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Instant now = Instant.now();
+            batch.forEach((inventoryId, delta) -> {
+                if (delta[0] == 0 && delta[1] == 0) {
+                    return;
+                }
+                if (inventoryRepository.applyDelta(inventoryId, delta[0], delta[1], now) == 0) {
+                    log.warn("Inventory {} no longer exists; dropped change {}/{}", inventoryId, delta[0], delta[1]);
+                } else {
+                    locationStockRollup.countersChanged(inventoryId, delta[0], delta[1]);
+                    inventoryChangeOutbox.recorded(inventoryId);
+                }
+            });
+            checkpointRepository.save(new EngineCheckpoint(shard, upTo));
+        });
+    }
+
+    /**
+     * Drop cars idle for longer than the eviction delay; only cars without
+     * pending changes, so a later load reads their flushed state
+     */
+    private void evictIdle(Shard shard) {
+        if (idleEvictMs <= 0) {
+            return;
+        }
+        long cutoff = System.currentTimeMillis() - idleEvictMs;
+        shard.lock.lock();
+        try {
+            Iterator<Map.Entry<UUID, CarStock>> cars = shard.cars.entrySet().iterator();
+            while (cars.hasNext()) {
+                Map.Entry<UUID, CarStock> entry = cars.next();
+                CarStock car = entry.getValue();
+                if (car.lastAccess < cutoff
+                        && car.rows.stream().noneMatch(row -> shard.pending.containsKey(row.inventoryId))) {
+                    cars.remove();
+                    unloaded(entry.getKey(), car);
+                    shard.evictions++;
+                }
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    // ===================== RECOVERY =====================
+
+    /**
+     * Replay journal records past each shard's checkpoint into the table,
+     * then delete the journal
+     *
+     * @return last sequence of every known shard
+     */
+    private Map<Integer, Long> recover(Path directory) throws IOException {
+        Map<Integer, Long> sequences = new HashMap<>();
+        checkpointRepository.findAll()
+                .forEach(checkpoint -> sequences.put(checkpoint.getShard(), checkpoint.getLastSequence()));
+
+        Map<Integer, List<Path>> segments = ReservationJournal.segments(directory).stream()
+                .collect(Collectors.groupingBy(ReservationJournal::shardOf, TreeMap::new, Collectors.toList()));
+        for (Map.Entry<Integer, List<Path>> shardSegments : segments.entrySet()) {
+            int shard = shardSegments.getKey();
+            long checkpoint = sequences.getOrDefault(shard, 0L);
+            long last = checkpoint;
+            int replayed = 0;
+            Map<UUID, int[]> batch = new HashMap<>();
+            for (Path segment : shardSegments.getValue()) {
+                for (ReservationJournal.Entry entry : ReservationJournal.read(segment)) {
+                    if (entry.sequence() <= checkpoint) {
+                        continue;
+                    }
+                    int[] delta = batch.computeIfAbsent(entry.inventoryId(), id -> new int[2]);
+                    delta[0] += entry.availableDelta();
+                    delta[1] += entry.reservedDelta();
+                    last = Math.max(last, entry.sequence());
+                    replayed++;
+                }
+            }
+            if (replayed > 0) {
+                write(shard, batch, last);
+                log.info("Replayed {} journaled inventory changes of shard {} (sequence {} to {})",
+                        replayed, shard, checkpoint + 1, last);
+            }
+            for (Path segment : shardSegments.getValue()) {
+                Files.delete(segment);
+            }
+            sequences.put(shard, last);
+        }
+        return sequences;
+    }
+
+    // ===================== STATE =====================
+
+    private static final class Shard {
+
+        private final ReservationJournal journal;
+        private final int index;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Object flushLock = new Object(); // taken before lock
+        private final Map<UUID, CarStock> cars = new HashMap<>(); // guarded by lock
+        private Map<UUID, int[]> pending = new HashMap<>(); // guarded by lock
+        private long sequence; // guarded by lock
+        private long evictions; // guarded by lock
+
+        private Shard(ReservationJournal journal, int index) {
+            this.journal = journal;
+            this.index = index;
+        }
+    }
+
+    private static final class CarStock {
+
+        private final List<Row> rows;
+        private long lastAccess = System.currentTimeMillis();
+
+        private CarStock(List<Row> rows) {
+            this.rows = rows;
+        }
+
+        private Row row(UUID inventoryId) {
+            return rows.stream()
+                    .filter(row -> row.inventoryId.equals(inventoryId))
+                    .findFirst()
+                    .orElseThrow(() -> new ResourceNotFoundException("Inventory not found: " + inventoryId));
+        }
+    }
+
+    private static final class Row {
+
+        private final UUID inventoryId;
+        private final UUID carId;
+        private final String location;
+        private int available;
+        private int reserved;
+        private Instant lastUpdated;
+
+        private Row(Inventory inventory) {
+            this.inventoryId = inventory.getInventoryId();
+            this.carId = inventory.getCarId();
+            this.location = inventory.getLocation();
+            this.available = inventory.getAvailableUnits();
+            this.reserved = inventory.getReservedUnits();
+            this.lastUpdated = inventory.getLastUpdated();
+        }
+
+        private InventoryResponse toResponse() {
+            return new InventoryResponse(inventoryId, carId, available, reserved, location, lastUpdated);
+        }
+    }
+}
@@ -0,0 +1,418 @@
+package com.carplatform.inventory.service;
+
+import com.carplatform.inventory.dto.InventoryResponse;
+import com.carplatform.inventory.dto.ReservationResponse;
+import com.carplatform.inventory.exception.BusinessLogicException;
+import com.carplatform.inventory.exception.IdempotencyKeyReusedException;
+import com.carplatform.inventory.exception.ResourceNotFoundException;
+import com.carplatform.inventory.model.Inventory;
+import com.carplatform.inventory.model.Reservation;
+import com.carplatform.inventory.repository.InventoryRepository;
+import com.carplatform.inventory.repository.ReservationRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reservation Group Commit
+ *
+ * Batches concurrent reservations of the same car, so a popular car's
+ * inventory row is locked and updated once per batch instead of once per
+ * request (each request otherwise waits for the previous one's row lock).
+ *
+ * - The first reservation of a car opens a batch that collects further
+ *   reservations of that car for window-ms (or until max-batch-size)
+ * - Each car is served by one worker thread, which applies the batch in
+ *   one transaction: the car's rows are locked, units are allocated to
+ *   the requests in arrival order (each at the location with the most
+ *   available units, as for single reservations) and every touched row is
+ *   written with one update
+ * - A reservation for an order is recorded (reservation row and
+ *   idempotency key) in that same transaction, so its units and its record
+ *   commit or roll back together; records are written with the batch's
+ *   one flush (a flush per record would also write the row each time),
+ *   and a key repeated within a batch gets the first request's outcome
+ * - Each caller gets its own result once the transaction has committed:
+ *   the row as left by its allocation (or the recorded reservation), or
+ *   the reason it was rejected
+ * - If the batch's transaction fails (e.g. a key recorded concurrently by
+ *   another batch), its requests are applied again one per transaction,
+ *   so only the failing one is rejected
+ *
+ * Off by default: each request waits up to window-ms for its batch, and
+ * the workers are extra threads (and connections while applying), which
+ * only pays off when a car gets many concurrent reservations.
+ *
+ * Callers must not hold a transaction while waiting, or a burst of waiting
+ * callers can exhaust the connection pool the worker needs.
+ *
+ * Metrics:
+ * - carplatform.inventory.reservation.group_commit.batch_size
+ * - carplatform.inventory.reservation.group_commit.queue_wait (from
+ *   enqueue until the batch is applied)
+ */
+@Slf4j
+@Component
+public class ReservationGroupCommit {
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservationIdempotency reservationIdempotency;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private LocationStockRollup locationStockRollup;
+
+    @Autowired
+    private InventoryChangeOutbox inventoryChangeOutbox;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${inventory.reservation.group-commit.enabled:false}")
+    private boolean enabled;
+
+    @Value("${inventory.reservation.group-commit.window-ms:2}")
+    private long windowMs;
+
+    @Value("${inventory.reservation.group-commit.max-batch-size:200}")
+    private int maxBatchSize;
+
+    @Value("${inventory.reservation.group-commit.workers:4}")
+    private int workerCount;
+
+    @Value("${inventory.reservation.ttl-ms:86400000}")
+    private long reservationTtlMs;
+
+    private volatile ScheduledExecutorService[] workers;
+    private final Map<UUID, Batch> open = new ConcurrentHashMap<>();
+
+    /**
+     * One caller's reservation, in arrival order within its batch; order is
+     * set when the reservation is recorded for an order
+     */
+    private record Pending(int units, Order order, long enqueuedNanos, CompletableFuture<Allocation> result) {
+    }
+
+    /**
+     * The order a reservation is recorded for, and its idempotency key (if any)
+     */
+    private record Order(String orderId, String idempotencyKey) {
+    }
+
+    /**
+     * A caller's result: the row as left by its allocation, and the recorded
+     * reservation for an order
+     */
+    private record Allocation(InventoryResponse inventory, ReservationResponse reservation) {
+    }
+
+    /**
+     * Reservations of one car collected during a window; closed when it is
+     * applied or full, after which arrivals open the next batch
+     */
+    private final class Batch {
+        private final UUID carId;
+        private final List<Pending> requests = new ArrayList<>(); // guarded by this
+        private boolean closed; // guarded by this
+
+        private Batch(UUID carId) {
+            this.carId = carId;
+        }
+
+        synchronized boolean add(Pending pending) {
+            if (closed) {
+                return false;
+            }
+            requests.add(pending);
+            if (requests.size() >= maxBatchSize) {
+                // Applied when its window ends; new arrivals start the next one
+                closed = true;
+                open.remove(carId, this);
+            }
+            return true;
+        }
+
+        synchronized List<Pending> close() {
+            closed = true;
+            open.remove(carId, this);
+            return requests;
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        ScheduledExecutorService[] started = new ScheduledExecutorService[workerCount];
+        for (int index = 0; index < workerCount; index++) {
+            String name = "reservation-group-commit-" + index;
+            started[index] = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        workers = started;
+        log.info("Reservation group commit started: {} workers, window {} ms, batches of up to {}",
+                workerCount, windowMs, maxBatchSize);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (workers == null) {
+            return;
+        }
+        // Batches already collected are still applied
+        for (ScheduledExecutorService worker : workers) {
+            worker.shutdown();
+        }
+        for (ScheduledExecutorService worker : workers) {
+            worker.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        workers = null;
+    }
+
+    public boolean isEnabled() {
+        return workers != null;
+    }
+
+    // ===================== RESERVE =====================
+
+    /**
+     * Reserve units of a car with the next batch of that car, waiting until
+     * the batch has committed
+     *
+     * @throws ResourceNotFoundException if the car has no inventory
+     * @throws BusinessLogicException    if no location has enough units left
+     *                                   once earlier requests are served
+     * @throws IllegalStateException     if the group commit is not running
+     */
+    public InventoryResponse reserve(UUID carId, int units) {
+        return await(submit(carId, units));
+    }
+
+    /**
+     * Reserve units of a car for an order with the next batch of that car,
+     * recording the reservation (and its idempotency key) in the batch's
+     * transaction, and wait until the batch has committed; fails with a
+     * DataIntegrityViolationException if the key was recorded concurrently
+     *
+     * @throws ResourceNotFoundException     if the car has no inventory
+     * @throws BusinessLogicException        if no location has enough units
+     *                                       left once earlier requests are
+     *                                       served
+     * @throws IdempotencyKeyReusedException if an earlier request of the
+     *                                       batch used the key for other units
+     * @throws IllegalStateException         if the group commit is not
+     *                                       running
+     */
+    public ReservationResponse reserveForOrder(UUID carId, String orderId, int units, String idempotencyKey) {
+        return await(submit(carId, orderId, units, idempotencyKey));
+    }
+
+    CompletableFuture<InventoryResponse> submit(UUID carId, int units) {
+        return enqueue(carId, units, null).thenApply(Allocation::inventory);
+    }
+
+    CompletableFuture<ReservationResponse> submit(UUID carId, String orderId, int units, String idempotencyKey) {
+        return enqueue(carId, units, new Order(orderId, idempotencyKey)).thenApply(Allocation::reservation);
+    }
+
+    /**
+     * Add a reservation to the car's open batch, opening (and scheduling) a
+     * new one if there is none
+     */
+    private CompletableFuture<Allocation> enqueue(UUID carId, int units, Order order) {
+        Pending pending = new Pending(units, order, System.nanoTime(), new CompletableFuture<>());
+        Batch batch = open.computeIfAbsent(carId, this::openBatch);
+        while (!batch.add(pending)) {
+            // Closed between lookup and add (possibly before it was even
+            // mapped, with a zero window); the next lookup opens a new one
+            open.remove(carId, batch);
+            batch = open.computeIfAbsent(carId, this::openBatch);
+        }
+        return pending.result();
+    }
+
+    private Batch openBatch(UUID carId) {
+        ScheduledExecutorService[] running = workers;
+        if (running == null) {
+            throw new IllegalStateException("Reservation group commit is not running");
+        }
+        Batch batch = new Batch(carId);
+        try {
+            running[Math.floorMod(carId.hashCode(), running.length)]
+                    .schedule(() -> apply(batch), windowMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            throw new IllegalStateException("Reservation group commit is stopping", e);
+        }
+        return batch;
+    }
+
+    private static <T> T await(CompletableFuture<T> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // ===================== APPLY =====================
+
+    private void apply(Batch batch) {
+        List<Pending> requests = batch.close();
+        long now = System.nanoTime();
+        if (meterRegistry != null) {
+            DistributionSummary.builder("carplatform.inventory.reservation.group_commit.batch_size")
+                    .description("Reservations applied together in one transaction")
+                    .register(meterRegistry)
+                    .record(requests.size());
+            Timer queueWait = Timer.builder("carplatform.inventory.reservation.group_commit.queue_wait")
+                    .description("Time a reservation waited for its batch to be applied")
+                    .register(meterRegistry);
+            requests.forEach(pending -> queueWait.record(now - pending.enqueuedNanos(), TimeUnit.NANOSECONDS));
+        }
+
+        try {
+            complete(requests, transactionTemplate.execute(status -> allocate(batch.carId, requests)));
+        } catch (RuntimeException e) {
+            if (requests.size() == 1) {
+                requests.get(0).result().completeExceptionally(e);
+                return;
+            }
+            log.warn("Reservation batch of {} for car {} failed, applying one by one: {}",
+                    requests.size(), batch.carId, e.getMessage());
+            for (Pending pending : requests) {
+                List<Pending> single = List.of(pending);
+                try {
+                    complete(single, transactionTemplate.execute(status -> allocate(batch.carId, single)));
+                } catch (RuntimeException failure) {
+                    pending.result().completeExceptionally(failure);
+                }
+            }
+        }
+    }
+
+    /**
+     * Completed only after the commit, so no caller sees an uncommitted
+     * reservation
+     */
+    private static void complete(List<Pending> requests, List<Object> outcomes) {
+        for (int index = 0; index < requests.size(); index++) {
+            Object outcome = outcomes.get(index);
+            if (outcome instanceof Allocation allocation) {
+                requests.get(index).result().complete(allocation);
+            } else {
+                requests.get(index).result().completeExceptionally((RuntimeException) outcome);
+            }
+        }
+    }
+
+    /**
+     * Allocate units to the requests in arrival order, record the orders'
+     * reservations and write the touched rows; one outcome (Allocation or
+     * exception) per request
+     */
+    private List<Object> allocate(UUID carId, List<Pending> requests) {
+        List<Inventory> rows = inventoryRepository.lockByCarIds(List.of(carId));
+        List<Object> outcomes = new ArrayList<>(requests.size());
+        if (rows.isEmpty()) {
+            requests.forEach(pending -> outcomes.add(
+                    new ResourceNotFoundException("Inventory not found for car: " + carId)));
+            return outcomes;
+        }
+
+        Instant now = Instant.now();
+        Map<Inventory, Integer> reservedByRow = new IdentityHashMap<>();
+        Map<String, Integer> firstWithKey = new HashMap<>();
+        for (int index = 0; index < requests.size(); index++) {
+            Pending pending = requests.get(index);
+            String key = pending.order() != null ? pending.order().idempotencyKey() : null;
+            Integer first = key != null ? firstWithKey.putIfAbsent(key, index) : null;
+            if (first != null) {
+                // A retry of an earlier request in this batch: same outcome, reserved once
+                outcomes.add(requests.get(first).units() == pending.units() ? outcomes.get(first)
+                        : new IdempotencyKeyReusedException("Idempotency key " + key + " was used for "
+                                + requests.get(first).units() + " units of car " + carId));
+                continue;
+            }
+
+            Inventory best = null;
+            for (Inventory row : rows) {
+                if (row.getAvailableUnits() >= pending.units()
+                        && (best == null || row.getAvailableUnits() > best.getAvailableUnits())) {
+                    best = row;
+                }
+            }
+            if (best == null) {
+                outcomes.add(new BusinessLogicException("Insufficient available units for car " + carId
+                        + ". Requested: " + pending.units()));
+                continue;
+            }
+            best.setAvailableUnits(best.getAvailableUnits() - pending.units());
+            best.setReservedUnits(best.getReservedUnits() + pending.units());
+            best.setLastUpdated(now);
+            reservedByRow.merge(best, pending.units(), Integer::sum);
+            InventoryResponse inventory = new InventoryResponse(best.getInventoryId(), best.getCarId(),
+                    best.getAvailableUnits(), best.getReservedUnits(), best.getLocation(), now);
+            outcomes.add(new Allocation(inventory,
+                    pending.order() != null ? record(pending.order(), inventory, pending.units(), now) : null));
+        }
+
+        if (!reservedByRow.isEmpty()) {
+            // One versioned update per touched row, whatever the batch size,
+            // written together with the batch's reservation records
+            inventoryRepository.flush();
+            reservedByRow.forEach((row, units) -> {
+                locationStockRollup.countersChanged(row.getInventoryId(), -units, units);
+                inventoryChangeOutbox.recorded(row);
+            });
+        }
+        return outcomes;
+    }
+
+    private ReservationResponse record(Order order, InventoryResponse inventory, int units, Instant now) {
+        Reservation reservation = reservationRepository.save(new Reservation(order.orderId(),
+                inventory.inventoryId(), inventory.carId(), units, now, now.plusMillis(reservationTtlMs)));
+        ReservationResponse response = ReservationResponse.success(reservation.getReservationId(),
+                inventory.carId(), order.orderId(), units, inventory.availableUnits(), reservation.getExpiresAt());
+        if (order.idempotencyKey() != null) {
+            reservationIdempotency.recordWithoutFlush(order.idempotencyKey(), inventory.carId(), units, response);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,168 @@
+package com.carplatform.inventory.service;
+
+import com.carplatform.inventory.dto.ReservationResponse;
+import com.carplatform.inventory.exception.IdempotencyKeyReusedException;
+import com.carplatform.inventory.model.ReservationIdempotencyRecord;
+import com.carplatform.inventory.repository.ReservationIdempotencyRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Reservation Idempotency
+ *
+ * Records the outcome of every reservation for an order under its
+ * idempotency key, in the reservation's transaction, so a retried request
+ * (lost response, timeout, hedge) gets the original response and stock is
+ * reserved once.
+ *
+ * Lookups go to an in-memory LRU of recent outcomes first, then to the
+ * reservation_idempotency table; an outcome enters the LRU only once its
+ * transaction has committed. Two concurrent requests with the same key
+ * both reserve, but only one can insert the key: the other rolls back and
+ * replays the winner's outcome.
+ *
+ * A key replayed with a different car or unit count is rejected. Outcomes
+ * are kept for retention-ms.
+ *
+ * Metrics:
+ * - carplatform.inventory.reservation.idempotent_replays (source=cache|database)
+ */
+@Slf4j
+@Component
+public class ReservationIdempotency {
+
+    @Autowired
+    private ReservationIdempotencyRepository idempotencyRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${inventory.reservation.idempotency.cache-entries:10000}")
+    private int cacheEntries;
+
+    @Value("${inventory.reservation.idempotency.retention-ms:86400000}")
+    private long retentionMs;
+
+    // guarded by itself
+    private final LinkedHashMap<String, ReservationIdempotencyRecord> recent = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ReservationIdempotencyRecord> eldest) {
+            return size() > cacheEntries;
+        }
+    };
+
+    // ===================== REPLAY =====================
+
+    /**
+     * The recorded response for a key, if the request was already served
+     *
+     * @throws IdempotencyKeyReusedException if the key was recorded for a
+     *                                       different car or unit count
+     */
+    public Optional<ReservationResponse> replay(String key, UUID carId, int units) {
+        ReservationIdempotencyRecord record;
+        synchronized (recent) {
+            record = recent.get(key);
+        }
+        String source = "cache";
+        if (record == null) {
+            record = idempotencyRepository.findById(key).orElse(null);
+            if (record == null) {
+                return Optional.empty();
+            }
+            source = "database";
+            remember(record);
+        }
+        if (!record.getCarId().equals(carId) || record.getUnits() != units) {
+            throw new IdempotencyKeyReusedException("Idempotency key " + key + " was used for "
+                    + record.getUnits() + " units of car " + record.getCarId());
+        }
+        if (meterRegistry != null) {
+            meterRegistry.counter("carplatform.inventory.reservation.idempotent_replays", "source", source)
+                    .increment();
+        }
+        log.info("Replaying reservation {} for idempotency key {}", record.getReservationId(), key);
+        return Optional.of(toResponse(record));
+    }
+
+    // ===================== RECORD =====================
+
+    /**
+     * Record the outcome in the current transaction; fails with a
+     * DataIntegrityViolationException (on commit at the latest) if the key
+     * is already recorded
+     */
+    public void record(String key, UUID carId, int units, ReservationResponse response) {
+        record(key, carId, units, response, true);
+    }
+
+    /**
+     * Record the outcome in the current transaction without flushing, for
+     * callers that record several outcomes and flush once; fails with a
+     * DataIntegrityViolationException on the next flush (or commit) if the
+     * key is already recorded
+     */
+    public void recordWithoutFlush(String key, UUID carId, int units, ReservationResponse response) {
+        record(key, carId, units, response, false);
+    }
+
+    private void record(String key, UUID carId, int units, ReservationResponse response, boolean flush) {
+        ReservationIdempotencyRecord unsaved = new ReservationIdempotencyRecord(
+                key, carId, units, response.getOrderId(), UUID.fromString(response.getReservationId()),
+                response.getUnitsRemaining(), response.getReservationExpiry(), Instant.now());
+        ReservationIdempotencyRecord record = flush ? idempotencyRepository.saveAndFlush(unsaved)
+                : idempotencyRepository.save(unsaved);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remember(record);
+                }
+            });
+        } else {
+            remember(record);
+        }
+    }
+
+    // ===================== RETENTION =====================
+
+    @Scheduled(fixedDelayString = "${inventory.reservation.idempotency.prune-interval-ms:3600000}")
+    public int prune() {
+        Instant cutoff = Instant.now().minusMillis(retentionMs);
+        Integer pruned = transactionTemplate.execute(status -> idempotencyRepository.deleteRecordedBefore(cutoff));
+        synchronized (recent) {
+            recent.values().removeIf(record -> record.getCreatedAt().isBefore(cutoff));
+        }
+        if (pruned != null && pruned > 0) {
+            log.info("Pruned {} reservation idempotency records created before {}", pruned, cutoff);
+        }
+        return pruned != null ? pruned : 0;
+    }
+
+    private void remember(ReservationIdempotencyRecord record) {
+        synchronized (recent) {
+            recent.put(record.getIdempotencyKey(), record);
+        }
+    }
+
+    private ReservationResponse toResponse(ReservationIdempotencyRecord record) {
+        return ReservationResponse.success(record.getReservationId(), record.getCarId(), record.getOrderId(),
+                record.getUnits(), record.getUnitsRemaining(), record.getReservationExpiry());
+    }
+}
@@ -0,0 +1,270 @@
+package com.carplatform.inventory.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Reservation Journal
+ *
+ * Append-only log of the counter changes decided by one ReservationEngine
+ * shard, written before a decision is acknowledged.
+ *
+ * Records are appended to an in-memory buffer under the shard lock; the
+ * first caller waiting for durability writes (and fsyncs) everything
+ * buffered so far, so concurrent reservations share one fsync (group
+ * commit).
+ *
+ * The journal is split into segments named shard-{index}-{firstSequence}.log;
+ * a segment is deleted once the write-behind has checkpointed every record
+ * in it. A torn record at the end of a segment (crash mid-write) fails its
+ * checksum and ends replay; a write that fails while the process keeps
+ * running is cut off the segment again and retried with the next write, so
+ * records acknowledged after it are not hidden behind a torn one.
+ */
+final class ReservationJournal implements Closeable {
+
+    // sequence, inventoryId (2 longs), availableDelta, reservedDelta, crc
+    static final int RECORD_BYTES = 8 + 16 + 4 + 4 + 4;
+
+    /**
+     * One journaled counter change
+     */
+    record Entry(long sequence, UUID inventoryId, int availableDelta, int reservedDelta) {
+    }
+
+    private final Path directory;
+    private final int shard;
+    private final boolean fsync;
+
+    private final Object writeLock = new Object();
+    private ByteBuffer active = ByteBuffer.allocate(64 * 1024); // guarded by this
+    private ByteBuffer spare = ByteBuffer.allocate(64 * 1024); // guarded by writeLock
+    private long lastAppended; // guarded by this
+    private long durable; // guarded by writeLock
+    private FileChannel channel; // guarded by writeLock
+    private Path segment; // guarded by writeLock
+    private long segmentBytes; // guarded by writeLock
+    private final List<Segment> closedSegments = new ArrayList<>(); // guarded by writeLock
+
+    private IOException broken; // guarded by writeLock
+    private final Opener opener;
+
+    private record Segment(Path path, long lastSequence) {
+    }
+
+    /**
+     * Opens the channel of a segment file
+     */
+    @FunctionalInterface
+    interface Opener {
+        FileChannel open(Path segment) throws IOException;
+    }
+
+    ReservationJournal(Path directory, int shard, long nextSequence, boolean fsync) throws IOException {
+        this(directory, shard, nextSequence, fsync, segment -> FileChannel.open(segment,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+    }
+
+    ReservationJournal(Path directory, int shard, long nextSequence, boolean fsync, Opener opener)
+            throws IOException {
+        this.directory = directory;
+        this.shard = shard;
+        this.fsync = fsync;
+        this.opener = opener;
+        this.lastAppended = nextSequence - 1;
+        this.durable = nextSequence - 1;
+        this.channel = open(nextSequence);
+    }
+
+    // ===================== WRITE =====================
+
+    /**
+     * Buffer a record; called under the shard lock, so records are in
+     * sequence order
+     */
+    synchronized void append(long sequence, UUID inventoryId, int availableDelta, int reservedDelta) {
+        if (active.remaining() < RECORD_BYTES) {
+            ByteBuffer grown = ByteBuffer.allocate(active.capacity() * 2);
+            active.flip();
+            grown.put(active);
+            active = grown;
+        }
+        int start = active.position();
+        active.putLong(sequence)
+                .putLong(inventoryId.getMostSignificantBits())
+                .putLong(inventoryId.getLeastSignificantBits())
+                .putInt(availableDelta)
+                .putInt(reservedDelta);
+        CRC32 crc = new CRC32();
+        crc.update(active.array(), start, RECORD_BYTES - 4);
+        active.putInt((int) crc.getValue());
+        lastAppended = sequence;
+    }
+
+    /**
+     * Block until the record with the given sequence is on disk, writing
+     * every buffered record if no other caller already did
+     */
+    void awaitDurable(long sequence) throws IOException {
+        synchronized (writeLock) {
+            if (durable >= sequence) {
+                return;
+            }
+            writeBuffered();
+        }
+    }
+
+    /**
+     * Switch to a new segment once the current one exceeds the given size,
+     * so checkpointed records can be deleted; called under the shard lock
+     */
+    void rollIfLargerThan(long maxSegmentBytes) throws IOException {
+        synchronized (writeLock) {
+            if (segmentBytes < maxSegmentBytes) {
+                return;
+            }
+            writeBuffered();
+            channel.close();
+            closedSegments.add(new Segment(segment, durable));
+            channel = open(durable + 1);
+        }
+    }
+
+    /**
+     * Delete closed segments whose records are all checkpointed
+     */
+    void deleteCheckpointed(long checkpoint) throws IOException {
+        synchronized (writeLock) {
+            var iterator = closedSegments.iterator();
+            while (iterator.hasNext()) {
+                Segment segment = iterator.next();
+                if (segment.lastSequence() <= checkpoint) {
+                    Files.deleteIfExists(segment.path());
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (writeLock) {
+            writeBuffered();
+            channel.close();
+        }
+    }
+
+    private void writeBuffered() throws IOException {
+        if (broken != null) {
+            throw new IOException("Reservation journal of shard " + shard + " has a torn record", broken);
+        }
+        long upTo;
+        synchronized (this) {
+            ByteBuffer written = active;
+            active = spare;
+            spare = written;
+            upTo = lastAppended;
+        }
+        spare.flip();
+        long goodBytes = segmentBytes;
+        try {
+            while (spare.hasRemaining()) {
+                segmentBytes += channel.write(spare);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            undo(goodBytes, e);
+            throw e;
+        } finally {
+            spare.clear();
+        }
+        durable = upTo;
+    }
+
+    /**
+     * Cut a failed write off the segment, so a later record is not read
+     * after a torn one, and put its records back in front of the buffer to
+     * be written again; if the segment cannot be cut, later writes fail too
+     */
+    private void undo(long goodBytes, IOException failure) {
+        try {
+            channel.truncate(goodBytes);
+            segmentBytes = goodBytes;
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+            broken = failure;
+            return;
+        }
+        synchronized (this) {
+            spare.rewind();
+            active.flip();
+            ByteBuffer requeued = ByteBuffer.allocate(
+                    Math.max(active.capacity(), spare.remaining() + active.remaining() + RECORD_BYTES));
+            requeued.put(spare).put(active);
+            active = requeued;
+        }
+    }
+
+    private FileChannel open(long firstSequence) throws IOException {
+        segmentBytes = 0;
+        segment = directory.resolve(String.format("shard-%d-%020d.log", shard, firstSequence));
+        return opener.open(segment);
+    }
+
+    // ===================== RECOVERY =====================
+
+    /**
+     * Segment files of every shard present in the directory, by shard index
+     * and then by first sequence
+     */
+    static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().matches("shard-\\d+-\\d+\\.log"))
+                    .sorted(Comparator.comparing((Path path) -> shardOf(path))
+                            .thenComparing(path -> path.getFileName().toString()))
+                    .toList();
+        }
+    }
+
+    static int shardOf(Path segment) {
+        return Integer.parseInt(segment.getFileName().toString().split("-")[1]);
+    }
+
+    /**
+     * Read the intact records of a segment, stopping at the first torn one
+     */
+    static List<Entry> read(Path segment) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (InputStream in = Files.newInputStream(segment)) {
+            byte[] record = new byte[RECORD_BYTES];
+            while (in.readNBytes(record, 0, RECORD_BYTES) == RECORD_BYTES) {
+                ByteBuffer buffer = ByteBuffer.wrap(record);
+                CRC32 crc = new CRC32();
+                crc.update(record, 0, RECORD_BYTES - 4);
+                if (buffer.getInt(RECORD_BYTES - 4) != (int) crc.getValue()) {
+                    break;
+                }
+                entries.add(new Entry(buffer.getLong(), new UUID(buffer.getLong(), buffer.getLong()),
+                        buffer.getInt(), buffer.getInt()));
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,182 @@
+package com.carplatform.inventory.service;
+
+import com.carplatform.inventory.model.Reservation;
+import com.carplatform.inventory.repository.InventoryRepository;
+import com.carplatform.inventory.repository.ReservationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Reservation Expiry Sweeper
+ *
+ * Releases reservations whose expiry has passed, so abandoned orders do not
+ * hold stock forever.
+ *
+ * Each run releases up to max-chunks chunks of chunk-size reservations,
+ * oldest expiry first, one transaction per chunk:
+ * - The chunk is locked with SKIP LOCKED, so sweepers of several instances
+ *   (and explicit releases) never wait on or release the same reservation
+ * - Units are summed per inventory row and released with one conditional
+ *   update per row, in InventoryRepository.LOCK_ORDER (as reservation
+ *   batches lock rows) so concurrent chunks and batches cannot deadlock
+ * - The chunk's reservations are deleted with one statement
+ *
+ * With the in-memory ReservationEngine, the units are released through the
+ * engine after the chunk's deletion commits.
+ *
+ * Metrics:
+ * - carplatform.inventory.reservation.sweep.lag (how long the oldest
+ *   unreleased reservation has been expired, at the start of a run)
+ * - carplatform.inventory.reservation.sweep.released (released reservations;
+ *   its rate is the sweep throughput)
+ * - carplatform.inventory.reservation.sweep.latency (duration of a run)
+ */
+@Slf4j
+@Component
+public class ReservationSweeper {
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private LocationStockRollup locationStockRollup;
+
+    @Autowired
+    private InventoryChangeOutbox inventoryChangeOutbox;
+
+    @Autowired(required = false)
+    private ReservationEngine reservationEngine;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${inventory.reservation.sweeper.enabled:true}")
+    private boolean enabled;
+
+    @Value("${inventory.reservation.sweeper.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${inventory.reservation.sweeper.max-chunks:20}")
+    private int maxChunks;
+
+    private final AtomicLong lagMs = new AtomicLong();
+
+    /**
+     * Reservations released by one chunk; engineReleases holds the units
+     * still to release through the engine
+     */
+    private record Chunk(int released, Map<UUID, Integer> engineReleases) {
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        if (meterRegistry == null) {
+            return;
+        }
+        TimeGauge.builder("carplatform.inventory.reservation.sweep.lag", lagMs, TimeUnit.MILLISECONDS,
+                AtomicLong::get)
+                .description("How long the oldest unreleased reservation has been expired")
+                .register(meterRegistry);
+    }
+
+    // ===================== SWEEP =====================
+
+    /**
+     * Release expired reservations
+     *
+     * @return number of reservations released
+     */
+    @Scheduled(fixedDelayString = "${inventory.reservation.sweeper.interval-ms:30000}")
+    public int sweep() {
+        if (!enabled) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        Instant now = Instant.now();
+        Instant earliestExpiry = reservationRepository.findEarliestExpiry();
+        lagMs.set(earliestExpiry != null && earliestExpiry.isBefore(now)
+                ? Duration.between(earliestExpiry, now).toMillis()
+                : 0L);
+
+        int released = 0;
+        for (int chunkNumber = 0; chunkNumber < maxChunks; chunkNumber++) {
+            Chunk chunk = transactionTemplate.execute(status -> releaseChunk(now));
+            if (chunk == null || chunk.released() == 0) {
+                break;
+            }
+            chunk.engineReleases().forEach(this::releaseThroughEngine);
+            released += chunk.released();
+            if (chunk.released() < chunkSize) {
+                break;
+            }
+        }
+
+        if (meterRegistry != null) {
+            meterRegistry.counter("carplatform.inventory.reservation.sweep.released").increment(released);
+            meterRegistry.timer("carplatform.inventory.reservation.sweep.latency")
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (released > 0) {
+            log.info("Released {} expired reservations (oldest expired {} ms ago)", released, lagMs.get());
+        }
+        return released;
+    }
+
+    private Chunk releaseChunk(Instant now) {
+        List<Reservation> expired = reservationRepository.lockExpired(now, PageRequest.of(0, chunkSize));
+        if (expired.isEmpty()) {
+            return new Chunk(0, Map.of());
+        }
+        Map<UUID, Integer> unitsByInventory = expired.stream()
+                .collect(Collectors.groupingBy(Reservation::getInventoryId,
+                        () -> new TreeMap<>(InventoryRepository.LOCK_ORDER),
+                        Collectors.summingInt(Reservation::getUnits)));
+        reservationRepository.deleteAllByIdInBatch(expired.stream().map(Reservation::getReservationId).toList());
+
+        if (reservationEngine != null && reservationEngine.isEnabled()) {
+            return new Chunk(expired.size(), unitsByInventory);
+        }
+        unitsByInventory.forEach((inventoryId, units) -> {
+            if (inventoryRepository.releaseUnits(inventoryId, units, now) == 0) {
+                log.warn("Could not release {} expired units of inventory {}: row missing or fewer units reserved",
+                        units, inventoryId);
+            } else {
+                locationStockRollup.countersChanged(inventoryId, units, -units);
+                inventoryChangeOutbox.recorded(inventoryId);
+            }
+        });
+        return new Chunk(expired.size(), Map.of());
+    }
+
+    private void releaseThroughEngine(UUID inventoryId, int units) {
+        try {
+            reservationEngine.release(inventoryId, units);
+        } catch (RuntimeException e) {
+            log.warn("Could not release {} expired units of inventory {}: {}", units, inventoryId, e.getMessage());
+        }
+    }
+}
@@ -2,10 +2,16 @@ package com.carplatform.inventory.controller;
 
 import com.carplatform.inventory.dto.AvailabilityCheckResponse;
 import com.carplatform.inventory.dto.CreateInventoryRequest;
+import com.carplatform.inventory.dto.InventoryChangeFeedResponse;
+import com.carplatform.inventory.dto.InventoryChangeResponse;
+import com.carplatform.inventory.dto.InventoryPage;
 import com.carplatform.inventory.dto.InventoryResponse;
 import com.carplatform.inventory.dto.ReservationResponse;
+import com.carplatform.inventory.exception.BusinessLogicException;
+import com.carplatform.inventory.exception.IdempotencyKeyReusedException;
 import com.carplatform.inventory.exception.GlobalExceptionHandler;
 import com.carplatform.inventory.exception.ResourceNotFoundException;
+import com.carplatform.inventory.service.InventoryChangeStream;
 import com.carplatform.inventory.service.InventoryService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,6 +23,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -25,6 +32,7 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -39,6 +47,37 @@ class InventoryControllerTest {
     @MockBean
     private InventoryService inventoryService;
 
+    @MockBean
+    private InventoryChangeStream inventoryChangeStream;
+
+    @Test
+    void changesShouldReturnFeedPageAfterVersion() throws Exception {
+        UUID carId = UUID.randomUUID();
+        InventoryChangeResponse change = new InventoryChangeResponse(42L, UUID.randomUUID(), carId, 3, 1,
+                "warehouse-a", Instant.now());
+        when(inventoryService.getChanges(41L, null))
+                .thenReturn(new InventoryChangeFeedResponse(42L, false, List.of(change)));
+
+        mockMvc.perform(get("/inventory/changes").param("since", "41"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.next").value(42))
+                .andExpect(jsonPath("$.changes[0].carId").value(carId.toString()))
+                .andExpect(jsonPath("$.changes[0].availableUnits").value(3));
+    }
+
+    @Test
+    void listShouldReturnPageWithNextCursorHeader() throws Exception {
+        UUID cursor = UUID.randomUUID();
+        UUID last = UUID.randomUUID();
+        InventoryResponse row = new InventoryResponse(last, UUID.randomUUID(), 1, 0, "warehouse-a", Instant.now());
+        when(inventoryService.listInventory(cursor, 1)).thenReturn(new InventoryPage(List.of(row), last));
+
+        mockMvc.perform(get("/inventory").param("cursor", cursor.toString()).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", last.toString()))
+                .andExpect(jsonPath("$[0].inventoryId").value(last.toString()));
+    }
+
     @Test
     void createInventoryShouldReturn201() throws Exception {
         UUID inventoryId = UUID.randomUUID();
@@ -99,10 +138,9 @@ class InventoryControllerTest {
 
     @Test
     void reserveInventoryShouldReturn409WhenInsufficientStock() throws Exception {
-        UUID inventoryId = UUID.randomUUID();
         UUID carId = UUID.randomUUID();
-        InventoryResponse response = new InventoryResponse(inventoryId, carId, 1, 0, "warehouse-a", Instant.now());
-        when(inventoryService.getInventoryByCarId(carId)).thenReturn(Optional.of(response));
+        when(inventoryService.reserveForOrder(carId, "order-1", 2, null))
+                .thenThrow(new BusinessLogicException("Insufficient available units for car " + carId));
 
         mockMvc.perform(post("/inventory/reserve")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -110,4 +148,18 @@ class InventoryControllerTest {
                 .andExpect(status().isConflict())
                 .andExpect(jsonPath("$.errorCode").value("RESERVATION_FAILED"));
     }
+
+    @Test
+    void reserveInventoryShouldReturn422WhenIdempotencyKeyIsReused() throws Exception {
+        UUID carId = UUID.randomUUID();
+        when(inventoryService.reserveForOrder(carId, "order-1", 2, "attempt-1"))
+                .thenThrow(new IdempotencyKeyReusedException("Idempotency key attempt-1 was used for 1 units"));
+
+        mockMvc.perform(post("/inventory/reserve")
+                .header("Idempotency-Key", "attempt-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"carId\":\"" + carId + "\",\"orderId\":\"order-1\",\"units\":2}"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.errorCode").value("IDEMPOTENCY_KEY_REUSED"));
+    }
 }
@@ -12,9 +12,12 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.UUID;
 
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -49,8 +52,29 @@ class InventoryFlowIntegrationTest {
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.unitsReserved").value(2));
 
+        // A retry of the same order replays the reservation instead of reserving again
+        mockMvc.perform(post("/inventory/reserve")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"carId\":\"" + carId + "\",\"orderId\":\"order-1\",\"units\":2}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.unitsRemaining").value(3));
+
         assertEquals(1, inventoryRepository.count());
         assertEquals(3, inventoryRepository.findAll().get(0).getAvailableUnits());
         assertEquals(2, inventoryRepository.findAll().get(0).getReservedUnits());
+
+        mockMvc.perform(get("/inventory/locations/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.location == 'warehouse-a')].availableUnits").value(contains(3)))
+                .andExpect(jsonPath("$[?(@.location == 'warehouse-a')].reservedUnits").value(contains(2)));
+
+        mockMvc.perform(get("/inventory/changes").param("since", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[?(@.carId == '" + carId + "')].reservedUnits").value(contains(0, 2)));
+
+        mockMvc.perform(get("/inventory/stream"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(containsString("\"carId\":\"" + carId + "\"")));
     }
 }
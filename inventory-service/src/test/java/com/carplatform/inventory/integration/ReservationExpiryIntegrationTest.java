@@ -0,0 +1,104 @@
+package com.carplatform.inventory.integration;
+
+import com.carplatform.inventory.model.Inventory;
+import com.carplatform.inventory.repository.InventoryRepository;
+import com.carplatform.inventory.repository.ReservationRepository;
+import com.carplatform.inventory.service.ReservationSweeper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "inventory.reservation.ttl-ms=0",
+        "inventory.reservation.sweeper.interval-ms=3600000",
+        "inventory.reservation.sweeper.chunk-size=2"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Reservation Expiry Integration Test")
+class ReservationExpiryIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservationSweeper reservationSweeper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void shouldRecordReservationsAndReleaseThemOnceExpired() throws Exception {
+        UUID carId = UUID.randomUUID();
+
+        mockMvc.perform(post("/inventory")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"carId\":\"" + carId + "\",\"availableUnits\":5,\"location\":\"warehouse-a\"}"))
+                .andExpect(status().isCreated());
+
+        for (int order = 1; order <= 3; order++) {
+            mockMvc.perform(post("/inventory/reserve")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"carId\":\"" + carId + "\",\"orderId\":\"order-" + order + "\",\"units\":1}"))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.orderId").value("order-" + order));
+        }
+
+        // Expired on creation (ttl 0); released over two chunks of two
+        reservationSweeper.sweep();
+
+        Inventory inventory = inventoryRepository.findByCarId(carId).get(0);
+        assertEquals(5, inventory.getAvailableUnits());
+        assertEquals(0, inventory.getReservedUnits());
+        assertEquals(0, reservationRepository.count());
+    }
+
+    @Test
+    void confirmedReservationShouldLeaveStockAndNotBeSwept() throws Exception {
+        UUID carId = UUID.randomUUID();
+
+        mockMvc.perform(post("/inventory")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"carId\":\"" + carId + "\",\"availableUnits\":5,\"location\":\"warehouse-a\"}"))
+                .andExpect(status().isCreated());
+        String reserved = mockMvc.perform(post("/inventory/reserve")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"carId\":\"" + carId + "\",\"orderId\":\"order-sold\",\"units\":2}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String reservationId = objectMapper.readTree(reserved).get("reservationId").asText();
+
+        mockMvc.perform(post("/inventory/reservations/" + reservationId + "/confirm"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.availableUnits").value(3))
+                .andExpect(jsonPath("$.reservedUnits").value(0));
+        mockMvc.perform(post("/inventory/reservations/" + reservationId + "/confirm"))
+                .andExpect(status().isNotFound());
+
+        // Would have expired (ttl 0), but confirmed reservations are gone
+        reservationSweeper.sweep();
+
+        Inventory inventory = inventoryRepository.findByCarId(carId).get(0);
+        assertEquals(3, inventory.getAvailableUnits());
+        assertEquals(0, inventory.getReservedUnits());
+    }
+}
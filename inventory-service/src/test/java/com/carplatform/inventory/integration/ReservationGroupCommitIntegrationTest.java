@@ -0,0 +1,88 @@
+package com.carplatform.inventory.integration;
+
+import com.carplatform.inventory.dto.ReservationResponse;
+import com.carplatform.inventory.model.Inventory;
+import com.carplatform.inventory.model.ReservationIdempotencyRecord;
+import com.carplatform.inventory.repository.InventoryRepository;
+import com.carplatform.inventory.service.ReservationGroupCommit;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "inventory.reservation.group-commit.enabled=true",
+        "inventory.reservation.group-commit.window-ms=1000",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Reservation Group Commit Integration Test")
+class ReservationGroupCommitIntegrationTest {
+
+    private static final int ORDERS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ReservationGroupCommit reservationGroupCommit;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void batchOfOrdersShouldUpdateTheInventoryRowOnce() throws Exception {
+        UUID carId = UUID.randomUUID();
+        mockMvc.perform(post("/inventory")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"carId\":\"" + carId + "\",\"availableUnits\":10,\"location\":\"warehouse-a\"}"))
+                .andExpect(status().isCreated());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ExecutorService callers = Executors.newFixedThreadPool(ORDERS);
+        try {
+            List<Future<ReservationResponse>> results = new ArrayList<>();
+            for (int order = 1; order <= ORDERS; order++) {
+                String orderId = "order-" + order;
+                results.add(callers.submit(
+                        () -> reservationGroupCommit.reserveForOrder(carId, orderId, 1, "key-" + orderId)));
+            }
+            for (Future<ReservationResponse> result : results) {
+                result.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertEquals(1, statistics.getEntityStatistics(Inventory.class.getName()).getUpdateCount());
+        assertEquals(ORDERS,
+                statistics.getEntityStatistics(ReservationIdempotencyRecord.class.getName()).getInsertCount());
+        Inventory inventory = inventoryRepository.findByCarId(carId).get(0);
+        assertEquals(10 - ORDERS, inventory.getAvailableUnits());
+        assertEquals(ORDERS, inventory.getReservedUnits());
+    }
+}
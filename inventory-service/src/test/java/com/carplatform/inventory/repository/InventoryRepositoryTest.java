@@ -1,15 +1,22 @@
 package com.carplatform.inventory.repository;
 
+import com.carplatform.inventory.dto.InventoryResponse;
 import com.carplatform.inventory.model.Inventory;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -49,6 +56,118 @@ class InventoryRepositoryTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void shouldListInStockCarIdsAcrossLocations() {
+        UUID inStockCar = UUID.randomUUID();
+        UUID soldOutCar = UUID.randomUUID();
+        inventoryRepository.save(buildEntity(inStockCar, "warehouse-a", 0, 2));
+        inventoryRepository.save(buildEntity(inStockCar, "warehouse-b", 3, 0));
+        inventoryRepository.save(buildEntity(soldOutCar, "warehouse-a", 0, 1));
+
+        List<UUID> result = inventoryRepository.findInStockCarIds();
+
+        assertEquals(List.of(inStockCar), result);
+    }
+
+    @Test
+    void shouldSumAvailableUnitsForCarsChangedSince() {
+        Instant cutoff = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        UUID unchangedCar = UUID.randomUUID();
+        UUID changedCar = UUID.randomUUID();
+        Inventory unchanged = buildEntity(unchangedCar, "warehouse-a", 5, 0);
+        unchanged.setLastUpdated(cutoff.minusSeconds(60));
+        inventoryRepository.save(unchanged);
+        Inventory staleRow = buildEntity(changedCar, "warehouse-a", 2, 0);
+        staleRow.setLastUpdated(cutoff.minusSeconds(60));
+        inventoryRepository.save(staleRow);
+        Inventory changedRow = buildEntity(changedCar, "warehouse-b", 1, 0);
+        changedRow.setLastUpdated(cutoff.plusSeconds(1));
+        inventoryRepository.save(changedRow);
+
+        List<Object[]> result = inventoryRepository.sumAvailableUnitsForCarsChangedSince(cutoff);
+
+        assertEquals(1, result.size());
+        assertEquals(changedCar, result.get(0)[0]);
+        assertEquals(3L, ((Number) result.get(0)[1]).longValue());
+        assertEquals(cutoff.plusSeconds(1), inventoryRepository.findLatestUpdate());
+    }
+
+    @Test
+    void shouldReserveOnlyWhileEnoughUnitsRemain() {
+        Inventory saved = inventoryRepository.save(buildEntity(UUID.randomUUID(), "warehouse-a", 3, 0));
+        Instant now = Instant.now();
+
+        assertEquals(1, inventoryRepository.reserveUnits(saved.getInventoryId(), 2, now));
+        assertEquals(0, inventoryRepository.reserveUnits(saved.getInventoryId(), 2, now));
+        assertEquals(1, inventoryRepository.releaseUnits(saved.getInventoryId(), 1, now));
+        assertEquals(0, inventoryRepository.releaseUnits(saved.getInventoryId(), 2, now));
+
+        Inventory reloaded = inventoryRepository.findById(saved.getInventoryId()).orElseThrow();
+        assertEquals(2, reloaded.getAvailableUnits());
+        assertEquals(1, reloaded.getReservedUnits());
+        assertEquals(saved.getVersion() + 2, reloaded.getVersion());
+    }
+
+    @Test
+    void shouldReserveAtTheBestLocationAndReturnTheWrittenRow() {
+        UUID carId = UUID.randomUUID();
+        inventoryRepository.save(buildEntity(carId, "warehouse-a", 2, 0));
+        Inventory fullest = inventoryRepository.save(buildEntity(carId, "warehouse-b", 5, 1));
+        inventoryRepository.flush();
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        Inventory reserved = inventoryRepository.reserveBestRowOfCar(carId, 2, now).orElseThrow();
+
+        assertEquals(fullest.getInventoryId(), reserved.getInventoryId());
+        assertEquals(3, reserved.getAvailableUnits());
+        assertEquals(3, reserved.getReservedUnits());
+        assertEquals(now, reserved.getLastUpdated());
+        assertEquals(fullest.getVersion() + 1, reserved.getVersion());
+        assertTrue(inventoryRepository.reserveBestRowOfCar(carId, 4, now).isEmpty());
+        assertTrue(inventoryRepository.reserveBestRowOfCar(UUID.randomUUID(), 1, now).isEmpty());
+    }
+
+    @Test
+    void shouldLockRowsOfRequestedCarsInLockOrder() {
+        UUID firstCar = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID secondCar = UUID.fromString("00000000-0000-0000-0000-000000000002");
+        inventoryRepository.save(buildEntity(secondCar, "warehouse-a", 1, 0));
+        inventoryRepository.save(buildEntity(firstCar, "warehouse-a", 2, 0));
+        for (int i = 0; i < 6; i++) {
+            inventoryRepository.save(buildEntity(firstCar, "warehouse-" + i, 3, 0));
+        }
+        inventoryRepository.save(buildEntity(UUID.randomUUID(), "warehouse-a", 4, 0));
+
+        List<Inventory> result = inventoryRepository.lockByCarIds(List.of(secondCar, firstCar));
+
+        assertEquals(8, result.size());
+        assertEquals(Set.of(firstCar, secondCar), result.stream().map(Inventory::getCarId).collect(Collectors.toSet()));
+        // By inventoryId across cars, as the sweeper releases rows
+        List<UUID> lockedIds = result.stream().map(Inventory::getInventoryId).toList();
+        assertEquals(lockedIds.stream().sorted(InventoryRepository.LOCK_ORDER).toList(), lockedIds);
+    }
+
+    @Test
+    void shouldWalkEveryRowOnceWithKeysetPages() {
+        for (int i = 0; i < 5; i++) {
+            inventoryRepository.save(buildEntity(UUID.randomUUID(), "warehouse-k", i, 0));
+        }
+        List<UUID> expected;
+        try (Stream<InventoryResponse> rows = inventoryRepository.streamAll()) {
+            expected = rows.map(InventoryResponse::inventoryId).toList();
+        }
+
+        List<UUID> walked = new ArrayList<>();
+        List<Inventory> page = inventoryRepository.findFirstPage(PageRequest.of(0, 2));
+        while (!page.isEmpty()) {
+            page.forEach(inventory -> walked.add(inventory.getInventoryId()));
+            page = inventoryRepository.findPageAfter(walked.get(walked.size() - 1), PageRequest.of(0, 2));
+        }
+
+        assertEquals(5, expected.size());
+        assertEquals(expected, walked);
+    }
+
     private Inventory buildEntity(UUID carId, String location, int available, int reserved) {
         Inventory inventory = new Inventory();
         inventory.setCarId(carId);
@@ -0,0 +1,107 @@
+package com.carplatform.inventory.repository;
+
+import com.carplatform.inventory.model.Inventory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("LocationStockSummaryRepository JPA Tests")
+class LocationStockSummaryRepositoryTest {
+
+    @Autowired
+    private LocationStockSummaryRepository summaryRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Test
+    void shouldCreateBucketOnlyOnce() {
+        assertEquals(1, summaryRepository.createBucketIfAbsent("warehouse-a", 3));
+        assertEquals(0, summaryRepository.createBucketIfAbsent("warehouse-a", 3));
+
+        assertEquals(1, summaryRepository.count());
+    }
+
+    @Test
+    void shouldSumBucketsPerLocation() {
+        summaryRepository.createBucketIfAbsent("warehouse-a", 0);
+        summaryRepository.createBucketIfAbsent("warehouse-a", 1);
+        summaryRepository.createBucketIfAbsent("warehouse-b", 0);
+        summaryRepository.addToLocation("warehouse-a", 0, 5, 1, 1);
+        summaryRepository.addToLocation("warehouse-a", 1, 3, 0, 1);
+        summaryRepository.addToLocation("warehouse-b", 0, 2, 2, 1);
+
+        List<Object[]> rows = summaryRepository.sumByLocation();
+
+        assertEquals(2, rows.size());
+        assertEquals("warehouse-a", rows.get(0)[0]);
+        assertEquals(8L, ((Number) rows.get(0)[1]).longValue());
+        assertEquals(1L, ((Number) rows.get(0)[2]).longValue());
+        assertEquals(2L, ((Number) rows.get(0)[3]).longValue());
+    }
+
+    @Test
+    void shouldApplyInventoryChangesToTheBucketOfItsLocation() {
+        Inventory inventory = inventoryRepository.save(buildEntity("warehouse-c", 4, 0));
+        summaryRepository.createBucketIfAbsent("warehouse-c", 7);
+
+        assertEquals(1, summaryRepository.addForInventory(inventory.getInventoryId(), 7, -1, 1));
+        assertEquals(0, summaryRepository.addForInventory(inventory.getInventoryId(), 8, -1, 1));
+        assertEquals(0, summaryRepository.addForInventory(UUID.randomUUID(), 7, -1, 1));
+
+        Object[] row = summaryRepository.sumByLocation().get(0);
+        assertEquals(-1L, ((Number) row[1]).longValue());
+        assertEquals(1L, ((Number) row[2]).longValue());
+    }
+
+    @Test
+    void shouldRebuildFromInventory() {
+        inventoryRepository.save(buildEntity("warehouse-d", 4, 1));
+        inventoryRepository.save(buildEntity("warehouse-d", 6, 0));
+        inventoryRepository.save(buildEntity("warehouse-e", 1, 1));
+
+        assertEquals(2, summaryRepository.rebuildFromInventory());
+
+        Object[] row = summaryRepository.sumByLocation().get(0);
+        assertEquals("warehouse-d", row[0]);
+        assertEquals(10L, ((Number) row[1]).longValue());
+        assertEquals(2L, ((Number) row[3]).longValue());
+    }
+
+    @Test
+    void rebuildShouldSkipLocationsAnotherInstanceAlreadyWrote() {
+        inventoryRepository.save(buildEntity("warehouse-f", 4, 1));
+        inventoryRepository.save(buildEntity("warehouse-g", 2, 0));
+        summaryRepository.createBucketIfAbsent("warehouse-f", 0);
+        summaryRepository.addToLocation("warehouse-f", 0, 4, 1, 1);
+
+        assertEquals(1, summaryRepository.rebuildFromInventory());
+        assertEquals(0, summaryRepository.rebuildFromInventory());
+
+        List<Object[]> rows = summaryRepository.sumByLocation();
+        assertEquals(2, rows.size());
+        assertEquals(4L, ((Number) rows.get(0)[1]).longValue());
+        assertEquals(1L, ((Number) rows.get(0)[3]).longValue());
+        assertEquals(2L, ((Number) rows.get(1)[1]).longValue());
+    }
+
+    private Inventory buildEntity(String location, int available, int reserved) {
+        Inventory inventory = new Inventory();
+        inventory.setCarId(UUID.randomUUID());
+        inventory.setLocation(location);
+        inventory.setAvailableUnits(available);
+        inventory.setReservedUnits(reserved);
+        inventory.setLastUpdated(Instant.now());
+        return inventory;
+    }
+}
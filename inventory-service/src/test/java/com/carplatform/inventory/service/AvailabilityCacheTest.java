@@ -0,0 +1,82 @@
+package com.carplatform.inventory.service;
+
+import com.carplatform.inventory.dto.InventoryResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AvailabilityCache Tests")
+class AvailabilityCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AvailabilityCache cache = new AvailabilityCache();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void configure() {
+        ReflectionTestUtils.setField(cache, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxEntries", 10);
+        ReflectionTestUtils.setField(cache, "ttlMs", 60000L);
+        cache.registerMetrics();
+    }
+
+    @Test
+    void hotCarShouldBeLoadedOnceUntilInvalidated() {
+        UUID carId = UUID.randomUUID();
+
+        cache.get(carId, this::load);
+        cache.get(carId, this::load);
+        assertEquals(1, loads.get());
+
+        cache.invalidate(carId);
+        cache.get(carId, this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(1.0, meterRegistry.counter("carplatform.inventory.availability_cache.hits").count());
+        assertEquals(2.0, meterRegistry.counter("carplatform.inventory.availability_cache.misses").count());
+    }
+
+    @Test
+    void loadRacingWithInvalidationShouldNotBeCached() {
+        UUID carId = UUID.randomUUID();
+
+        cache.get(carId, id -> {
+            // A write commits while the (now stale) rows are being read
+            cache.invalidate(id);
+            return load(id);
+        });
+        cache.get(carId, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void cacheShouldStayBoundedEvictingLeastRecentlyRead() {
+        UUID hotCar = UUID.randomUUID();
+        cache.get(hotCar, this::load);
+        for (int i = 0; i < 20; i++) {
+            cache.get(UUID.randomUUID(), this::load);
+            cache.get(hotCar, this::load);
+        }
+
+        assertTrue(meterRegistry.get("carplatform.inventory.availability_cache.size").gauge().value() <= 10);
+        int loadsBefore = loads.get();
+        cache.get(hotCar, this::load);
+        assertEquals(loadsBefore, loads.get());
+    }
+
+    private List<InventoryResponse> load(UUID carId) {
+        loads.incrementAndGet();
+        return List.of(new InventoryResponse(UUID.randomUUID(), carId, 3, 0, "warehouse-a", Instant.now()));
+    }
+}
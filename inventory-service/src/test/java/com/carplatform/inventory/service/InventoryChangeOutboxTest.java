@@ -0,0 +1,87 @@
+package com.carplatform.inventory.service;
+
+import com.carplatform.inventory.dto.InventoryChangeFeedResponse;
+import com.carplatform.inventory.dto.InventoryChangeResponse;
+import com.carplatform.inventory.model.InventoryChange;
+import com.carplatform.inventory.repository.InventoryChangeRepository;
+import com.carplatform.inventory.testdata.InventoryTestDataFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InventoryChangeOutbox Tests")
+class InventoryChangeOutboxTest {
+
+    @Mock
+    private InventoryChangeRepository changeRepository;
+
+    @InjectMocks
+    private InventoryChangeOutbox changeOutbox;
+
+    @BeforeEach
+    void configure() {
+        ReflectionTestUtils.setField(changeOutbox, "defaultPageSize", 500);
+        ReflectionTestUtils.setField(changeOutbox, "maxPageSize", 1000);
+        ReflectionTestUtils.setField(changeOutbox, "gapSettleMs", 5000L);
+    }
+
+    @Test
+    void feedShouldStopAtRecentGapUntilItSettles() {
+        Instant now = Instant.now();
+        when(changeRepository.findOldestVersion()).thenReturn(1L);
+        when(changeRepository.findAfter(eq(10L), any(Pageable.class))).thenReturn(List.of(
+                change(11, now.minusSeconds(60)),
+                change(13, now.minusSeconds(60)),
+                change(15, now)));
+
+        InventoryChangeFeedResponse feed = changeOutbox.changesSince(10, null);
+
+        // 12 was rolled back long ago; 14 may still commit
+        assertEquals(List.of(11L, 13L), feed.changes().stream().map(InventoryChangeResponse::version).toList());
+        assertEquals(13, feed.next());
+        assertFalse(feed.resync());
+    }
+
+    @Test
+    void feedShouldAskForResyncWhenChangesWerePruned() {
+        when(changeRepository.findOldestVersion()).thenReturn(50L);
+        when(changeRepository.findAfter(eq(10L), any(Pageable.class)))
+                .thenReturn(List.of(change(50, Instant.now())));
+
+        InventoryChangeFeedResponse feed = changeOutbox.changesSince(10, null);
+
+        assertTrue(feed.resync());
+        assertEquals(50, feed.next());
+    }
+
+    @Test
+    void emptyFeedShouldResumeFromSameVersion() {
+        when(changeRepository.findAfter(eq(7L), any(Pageable.class))).thenReturn(List.of());
+
+        InventoryChangeFeedResponse feed = changeOutbox.changesSince(7, 5000);
+
+        assertEquals(7, feed.next());
+        assertTrue(feed.changes().isEmpty());
+    }
+
+    private InventoryChange change(long version, Instant recordedAt) {
+        InventoryChange change = new InventoryChange(InventoryTestDataFactory.inventoryEntity(1, 0), recordedAt);
+        change.setVersion(version);
+        return change;
+    }
+}
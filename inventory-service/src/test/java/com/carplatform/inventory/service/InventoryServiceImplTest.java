@@ -1,25 +1,41 @@
 package com.carplatform.inventory.service;
 
+import com.carplatform.inventory.dto.BatchReservationRequest;
+import com.carplatform.inventory.dto.BatchReservationResponse;
 import com.carplatform.inventory.dto.CreateInventoryRequest;
+import com.carplatform.inventory.dto.InStockIndexResponse;
 import com.carplatform.inventory.dto.InventoryResponse;
 import com.carplatform.inventory.dto.ReleaseInventoryRequest;
+import com.carplatform.inventory.dto.ReservationResponse;
 import com.carplatform.inventory.dto.ReserveInventoryRequest;
+import com.carplatform.inventory.dto.UpdateInventoryRequest;
+import com.carplatform.inventory.exception.BusinessLogicException;
+import com.carplatform.inventory.exception.ResourceNotFoundException;
 import com.carplatform.inventory.model.Inventory;
+import com.carplatform.inventory.model.Reservation;
 import com.carplatform.inventory.repository.InventoryRepository;
+import com.carplatform.inventory.repository.ReservationRepository;
 import com.carplatform.inventory.testdata.InventoryTestDataFactory;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +45,25 @@ class InventoryServiceImplTest {
     @Mock
     private InventoryRepository inventoryRepository;
 
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private LocationStockRollup locationStockRollup;
+
+    @Mock
+    private InventoryChangeOutbox inventoryChangeOutbox;
+
+    // Disabled (no @Value injection), so reads go straight to the repository
+    @Spy
+    private AvailabilityCache availabilityCache = new AvailabilityCache();
+
+    @Mock
+    private ReservationIdempotency reservationIdempotency;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private InventoryServiceImpl inventoryService;
 
@@ -43,20 +78,40 @@ class InventoryServiceImplTest {
 
         assertEquals(10, response.availableUnits());
         assertEquals(0, response.reservedUnits());
+        verify(locationStockRollup).added(entity);
+    }
+
+    @Test
+    void updateInventoryShouldMoveRowBetweenLocationRollups() {
+        Inventory inventory = InventoryTestDataFactory.inventoryEntity(5, 2);
+        String previousLocation = inventory.getLocation();
+
+        when(inventoryRepository.findById(inventory.getInventoryId())).thenReturn(Optional.of(inventory));
+        when(inventoryRepository.save(inventory)).thenReturn(inventory);
+
+        inventoryService.updateInventory(inventory.getInventoryId(), new UpdateInventoryRequest(inventory.getCarId(), 8, "warehouse-z"));
+
+        verify(locationStockRollup).removed(inventory.getInventoryId(), previousLocation, 5, 2);
+        verify(locationStockRollup).added(inventory);
+        verify(locationStockRollup, never()).countersChanged(any(UUID.class), anyInt(), anyInt());
     }
 
     @Test
     void reserveInventoryShouldDecreaseAvailableAndIncreaseReserved() {
-        Inventory inventory = InventoryTestDataFactory.inventoryEntity(10, 2);
+        Inventory inventory = InventoryTestDataFactory.inventoryEntity(7, 5);
         ReserveInventoryRequest request = new ReserveInventoryRequest(inventory.getCarId(), 3);
 
+        when(inventoryRepository.reserveUnits(eq(inventory.getInventoryId()), eq(3), any(Instant.class)))
+                .thenReturn(1);
         when(inventoryRepository.findById(inventory.getInventoryId())).thenReturn(Optional.of(inventory));
-        when(inventoryRepository.save(any(Inventory.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         InventoryResponse response = inventoryService.reserveInventory(inventory.getInventoryId(), request);
 
         assertEquals(7, response.availableUnits());
         assertEquals(5, response.reservedUnits());
+        verify(inventoryRepository, never()).save(any(Inventory.class));
+        verify(locationStockRollup).countersChanged(inventory.getInventoryId(), -3, 3);
+        verify(inventoryChangeOutbox).recorded(inventory);
     }
 
     @Test
@@ -64,21 +119,147 @@ class InventoryServiceImplTest {
         Inventory inventory = InventoryTestDataFactory.inventoryEntity(1, 0);
         ReserveInventoryRequest request = new ReserveInventoryRequest(inventory.getCarId(), 2);
 
+        when(inventoryRepository.reserveUnits(eq(inventory.getInventoryId()), eq(2), any(Instant.class)))
+                .thenReturn(0);
         when(inventoryRepository.findById(inventory.getInventoryId())).thenReturn(Optional.of(inventory));
 
-        RuntimeException exception = assertThrows(RuntimeException.class,
+        RuntimeException exception = assertThrows(BusinessLogicException.class,
                 () -> inventoryService.reserveInventory(inventory.getInventoryId(), request));
 
         assertTrue(exception.getMessage().contains("Insufficient available units"));
     }
 
+    @Test
+    void reserveByCarIdShouldUseTheRowReturnedByTheReservingStatement() {
+        Inventory reserved = InventoryTestDataFactory.inventoryEntity(3, 2);
+        UUID carId = reserved.getCarId();
+
+        when(inventoryRepository.reserveBestRowOfCar(eq(carId), eq(2), any(Instant.class)))
+                .thenReturn(Optional.of(reserved));
+
+        InventoryResponse response = inventoryService.reserveByCarId(carId, 2);
+
+        assertEquals(reserved.getInventoryId(), response.inventoryId());
+        assertEquals(3, response.availableUnits());
+        verify(locationStockRollup).countersChanged(reserved.getInventoryId(), -2, 2);
+        verify(inventoryChangeOutbox).recorded(reserved);
+        // No read-back of the written row
+        verify(inventoryRepository, never()).findById(any(UUID.class));
+    }
+
+    @Test
+    void reserveByCarIdShouldDistinguishUnknownCarFromInsufficientStock() {
+        UUID unknownCar = UUID.randomUUID();
+        Inventory soldOut = InventoryTestDataFactory.inventoryEntity(0, 4);
+
+        when(inventoryRepository.reserveBestRowOfCar(any(UUID.class), eq(1), any(Instant.class)))
+                .thenReturn(Optional.empty());
+        when(inventoryRepository.findByCarId(unknownCar)).thenReturn(List.of());
+        when(inventoryRepository.findByCarId(soldOut.getCarId())).thenReturn(List.of(soldOut));
+
+        assertThrows(ResourceNotFoundException.class, () -> inventoryService.reserveByCarId(unknownCar, 1));
+        assertThrows(BusinessLogicException.class, () -> inventoryService.reserveByCarId(soldOut.getCarId(), 1));
+    }
+
+    @Test
+    void reserveForOrderShouldRecordReservationWithExpiry() {
+        Inventory inventory = InventoryTestDataFactory.inventoryEntity(4, 1);
+        UUID carId = inventory.getCarId();
+
+        when(inventoryRepository.reserveBestRowOfCar(eq(carId), eq(1), any(Instant.class)))
+                .thenReturn(Optional.of(inventory));
+        when(reservationRepository.saveAndFlush(any(Reservation.class))).thenAnswer(invocation -> {
+            Reservation reservation = invocation.getArgument(0);
+            reservation.setReservationId(UUID.randomUUID());
+            return reservation;
+        });
+
+        ReservationResponse response = inventoryService.reserveForOrder(carId, "order-7", 1, null);
+
+        ArgumentCaptor<Reservation> saved = ArgumentCaptor.forClass(Reservation.class);
+        verify(reservationRepository).saveAndFlush(saved.capture());
+        assertEquals("order-7", saved.getValue().getOrderId());
+        assertEquals(inventory.getInventoryId(), saved.getValue().getInventoryId());
+        assertEquals(1, saved.getValue().getUnits());
+        assertEquals(saved.getValue().getExpiresAt(), response.getReservationExpiry());
+        assertEquals(4, response.getUnitsRemaining());
+        // Without a header the orderId is the idempotency key
+        verify(reservationIdempotency).record("order-7", carId, 1, response);
+    }
+
+    @Test
+    void reserveForOrderShouldReplayRecordedOutcomeWithoutReservingAgain() {
+        UUID carId = UUID.randomUUID();
+        ReservationResponse recorded = ReservationResponse.success(UUID.randomUUID(), carId, "order-7", 1, 3,
+                Instant.now().plusSeconds(900));
+        when(reservationIdempotency.replay("attempt-1", carId, 1)).thenReturn(Optional.of(recorded));
+
+        ReservationResponse response = inventoryService.reserveForOrder(carId, "order-7", 1, "attempt-1");
+
+        assertSame(recorded, response);
+        verify(inventoryRepository, never()).reserveUnits(any(UUID.class), anyInt(), any(Instant.class));
+        verify(reservationRepository, never()).saveAndFlush(any(Reservation.class));
+    }
+
+    @Test
+    void reserveBatchShouldReserveEveryLineFromTheLockedRows() {
+        Inventory first = InventoryTestDataFactory.inventoryEntity(3, 0);
+        Inventory second = InventoryTestDataFactory.inventoryEntity(5, 0);
+        second.setInventoryId(UUID.randomUUID());
+        second.setCarId(UUID.randomUUID());
+        BatchReservationRequest request = new BatchReservationRequest("fleet-1", List.of(
+                new BatchReservationRequest.Line(first.getCarId(), 2),
+                new BatchReservationRequest.Line(second.getCarId(), 4),
+                new BatchReservationRequest.Line(first.getCarId(), 1)));
+
+        when(inventoryRepository.lockByCarIds(anyCollection())).thenReturn(List.of(first, second));
+        when(reservationRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<Reservation> reservations = invocation.getArgument(0);
+            reservations.forEach(reservation -> reservation.setReservationId(UUID.randomUUID()));
+            return reservations;
+        });
+
+        BatchReservationResponse response = inventoryService.reserveBatch(request);
+
+        assertEquals(BatchReservationResponse.RESERVED, response.status());
+        assertEquals(List.of(1, 1, 0), response.lines().stream().map(line -> line.availableUnits()).toList());
+        assertTrue(response.lines().stream().allMatch(line -> line.reservationId() != null));
+        assertEquals(0, first.getAvailableUnits());
+        assertEquals(3, first.getReservedUnits());
+        assertEquals(4, second.getReservedUnits());
+        verify(inventoryRepository).flush();
+    }
+
+    @Test
+    void reserveBatchShouldChangeNothingWhenAnyLineFails() {
+        Inventory inventory = InventoryTestDataFactory.inventoryEntity(3, 0);
+        UUID unknownCar = UUID.randomUUID();
+        BatchReservationRequest request = new BatchReservationRequest("fleet-2", List.of(
+                new BatchReservationRequest.Line(inventory.getCarId(), 2),
+                new BatchReservationRequest.Line(unknownCar, 1),
+                new BatchReservationRequest.Line(inventory.getCarId(), 2)));
+
+        when(inventoryRepository.lockByCarIds(anyCollection())).thenReturn(List.of(inventory));
+
+        BatchReservationResponse response = inventoryService.reserveBatch(request);
+
+        assertEquals(BatchReservationResponse.REJECTED, response.status());
+        assertEquals(List.of("NOT_RESERVED", "NOT_FOUND", "INSUFFICIENT_STOCK"),
+                response.lines().stream().map(line -> line.status()).toList());
+        assertEquals(1, response.lines().get(2).availableUnits());
+        assertEquals(3, inventory.getAvailableUnits());
+        verify(inventoryRepository, never()).flush();
+        verifyNoInteractions(reservationRepository);
+    }
+
     @Test
     void releaseInventoryShouldMoveUnitsBackToAvailable() {
-        Inventory inventory = InventoryTestDataFactory.inventoryEntity(4, 6);
+        Inventory inventory = InventoryTestDataFactory.inventoryEntity(6, 4);
         ReleaseInventoryRequest request = new ReleaseInventoryRequest(inventory.getCarId(), 2);
 
+        when(inventoryRepository.releaseUnits(eq(inventory.getInventoryId()), eq(2), any(Instant.class)))
+                .thenReturn(1);
         when(inventoryRepository.findById(inventory.getInventoryId())).thenReturn(Optional.of(inventory));
-        when(inventoryRepository.save(any(Inventory.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         InventoryResponse response = inventoryService.releaseInventory(inventory.getInventoryId(), request);
 
@@ -97,4 +278,25 @@ class InventoryServiceImplTest {
 
         assertTrue(inventoryService.isAvailable(carId, 3));
     }
+
+    @Test
+    void inStockDeltaShouldIncludeCarCommittedLateWithOlderLastUpdated() {
+        // Version 1_000_000 was served before a write stamped 2 s earlier committed
+        Instant served = Instant.ofEpochMilli(1_000_000L);
+        Instant lateLastUpdated = served.minusMillis(2000);
+        UUID lateCar = UUID.randomUUID();
+        when(inventoryRepository.findLatestUpdate()).thenReturn(served);
+        when(inventoryRepository.sumAvailableUnitsForCarsChangedSince(any(Instant.class)))
+                .thenAnswer(invocation -> invocation.<Instant>getArgument(0).isAfter(lateLastUpdated)
+                        ? List.of()
+                        : List.<Object[]>of(new Object[] { lateCar, 3L }));
+        ReflectionTestUtils.setField(inventoryService, "inStockSafetyLagMs", 30000L);
+
+        InStockIndexResponse delta = inventoryService.getInStockIndex(served.toEpochMilli());
+
+        assertFalse(delta.full());
+        assertEquals(served.toEpochMilli(), delta.version());
+        assertEquals(List.of(lateCar), delta.inStock());
+        assertTrue(delta.outOfStock().isEmpty());
+    }
 }
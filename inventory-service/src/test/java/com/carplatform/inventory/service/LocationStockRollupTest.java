@@ -0,0 +1,43 @@
+package com.carplatform.inventory.service;
+
+import com.carplatform.inventory.repository.InventoryRepository;
+import com.carplatform.inventory.repository.LocationStockSummaryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("LocationStockRollup Tests")
+class LocationStockRollupTest {
+
+    private final LocationStockSummaryRepository summaryRepository = mock(LocationStockSummaryRepository.class);
+    private final InventoryRepository inventoryRepository = mock(InventoryRepository.class);
+    private final LocationStockRollup rollup = new LocationStockRollup();
+
+    @BeforeEach
+    void configure() {
+        ReflectionTestUtils.setField(rollup, "summaryRepository", summaryRepository);
+        ReflectionTestUtils.setField(rollup, "inventoryRepository", inventoryRepository);
+        ReflectionTestUtils.setField(rollup, "transactionTemplate",
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(rollup, "buckets", 16);
+    }
+
+    @Test
+    void failedRebuildShouldNotFailStartup() {
+        when(summaryRepository.count()).thenReturn(0L);
+        when(inventoryRepository.count()).thenReturn(3L);
+        when(summaryRepository.rebuildFromInventory())
+                .thenThrow(new DataIntegrityViolationException("duplicate key location_stock_summary_pkey"));
+
+        assertDoesNotThrow(rollup::rebuildIfEmpty);
+
+        verify(summaryRepository).rebuildFromInventory();
+    }
+}
@@ -0,0 +1,174 @@
+package com.carplatform.inventory.service;
+
+import com.carplatform.inventory.dto.BatchReservationRequest;
+import com.carplatform.inventory.dto.BatchReservationResponse.LineResult;
+import com.carplatform.inventory.exception.BusinessLogicException;
+import com.carplatform.inventory.exception.ResourceNotFoundException;
+import com.carplatform.inventory.model.EngineCheckpoint;
+import com.carplatform.inventory.model.Inventory;
+import com.carplatform.inventory.repository.EngineCheckpointRepository;
+import com.carplatform.inventory.repository.InventoryRepository;
+import com.carplatform.inventory.testdata.InventoryTestDataFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ReservationEngine Tests")
+class ReservationEngineTest {
+
+    @TempDir
+    Path journalDir;
+
+    private final InventoryRepository inventoryRepository = mock(InventoryRepository.class);
+    private final EngineCheckpointRepository checkpointRepository = mock(EngineCheckpointRepository.class);
+    private final List<ReservationEngine> started = new ArrayList<>();
+
+    @AfterEach
+    void stopEngines() {
+        started.forEach(ReservationEngine::stop);
+    }
+
+    @Test
+    void concurrentReservationsShouldNeverOversellAndFlushNetChange() throws Exception {
+        Inventory inventory = InventoryTestDataFactory.inventoryEntity(100, 0);
+        when(inventoryRepository.findByCarId(inventory.getCarId())).thenReturn(List.of(inventory));
+        when(inventoryRepository.applyDelta(any(UUID.class), anyInt(), anyInt(), any(Instant.class))).thenReturn(1);
+        ReservationEngine engine = startEngine();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            attempts.add(executor.submit(() -> {
+                try {
+                    engine.reserveByCarId(inventory.getCarId(), 1);
+                    return true;
+                } catch (BusinessLogicException e) {
+                    return false;
+                }
+            }));
+        }
+        int accepted = 0;
+        for (Future<Boolean> attempt : attempts) {
+            accepted += attempt.get(10, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        executor.shutdown();
+
+        assertEquals(100, accepted);
+        assertEquals(0, engine.loadedRows(inventory.getCarId()).orElseThrow().get(0).availableUnits());
+        verify(inventoryRepository, times(1)).findByCarId(inventory.getCarId());
+
+        engine.flush();
+
+        verify(inventoryRepository).applyDelta(eq(inventory.getInventoryId()), eq(-100), eq(100), any(Instant.class));
+        ArgumentCaptor<EngineCheckpoint> checkpoint = ArgumentCaptor.forClass(EngineCheckpoint.class);
+        verify(checkpointRepository).save(checkpoint.capture());
+        assertEquals(100, checkpoint.getValue().getLastSequence());
+    }
+
+    @Test
+    void journaledChangesShouldBeReplayedAfterCrash() throws Exception {
+        Inventory inventory = InventoryTestDataFactory.inventoryEntity(10, 0);
+        when(inventoryRepository.findById(inventory.getInventoryId())).thenReturn(Optional.of(inventory));
+        when(inventoryRepository.findByCarId(inventory.getCarId())).thenReturn(List.of(inventory));
+        when(inventoryRepository.applyDelta(any(UUID.class), anyInt(), anyInt(), any(Instant.class))).thenReturn(1);
+        ReservationEngine crashed = startEngine();
+        crashed.reserve(inventory.getInventoryId(), 3);
+        crashed.reserve(inventory.getInventoryId(), 2);
+        crashed.release(inventory.getInventoryId(), 1);
+        // No flush: the process dies with the changes only in the journal
+        started.remove(crashed);
+
+        startEngine();
+
+        verify(inventoryRepository).applyDelta(eq(inventory.getInventoryId()), eq(-4), eq(4), any(Instant.class));
+        ArgumentCaptor<EngineCheckpoint> checkpoint = ArgumentCaptor.forClass(EngineCheckpoint.class);
+        verify(checkpointRepository).save(checkpoint.capture());
+        assertEquals(3, checkpoint.getValue().getLastSequence());
+    }
+
+    @Test
+    void invalidDecisionsShouldBeRejectedWithoutChangingCounters() throws Exception {
+        Inventory inventory = InventoryTestDataFactory.inventoryEntity(2, 1);
+        UUID unknownCar = UUID.randomUUID();
+        when(inventoryRepository.findById(inventory.getInventoryId())).thenReturn(Optional.of(inventory));
+        when(inventoryRepository.findByCarId(inventory.getCarId())).thenReturn(List.of(inventory));
+        when(inventoryRepository.findByCarId(unknownCar)).thenReturn(List.of());
+        ReservationEngine engine = startEngine();
+
+        assertThrows(BusinessLogicException.class, () -> engine.reserve(inventory.getInventoryId(), 3));
+        assertThrows(BusinessLogicException.class, () -> engine.release(inventory.getInventoryId(), 2));
+        assertThrows(ResourceNotFoundException.class, () -> engine.reserveByCarId(unknownCar, 1));
+
+        assertEquals(2, engine.loadedRow(inventory.getInventoryId()).orElseThrow().availableUnits());
+        engine.flush();
+        verify(inventoryRepository, never()).applyDelta(any(UUID.class), anyInt(), anyInt(), any(Instant.class));
+    }
+
+    @Test
+    void batchReservationShouldApplyAllLinesOrNone() throws Exception {
+        Inventory first = InventoryTestDataFactory.inventoryEntity(2, 0);
+        Inventory second = InventoryTestDataFactory.inventoryEntity(1, 0);
+        second.setInventoryId(UUID.randomUUID());
+        second.setCarId(UUID.randomUUID());
+        when(inventoryRepository.findByCarId(first.getCarId())).thenReturn(List.of(first));
+        when(inventoryRepository.findByCarId(second.getCarId())).thenReturn(List.of(second));
+        ReservationEngine engine = startEngine();
+
+        List<LineResult> rejected = engine.reserveAll(List.of(
+                new BatchReservationRequest.Line(first.getCarId(), 2),
+                new BatchReservationRequest.Line(second.getCarId(), 2)));
+
+        assertEquals(List.of(LineResult.NOT_RESERVED, LineResult.INSUFFICIENT_STOCK),
+                rejected.stream().map(LineResult::status).toList());
+        assertEquals(2, engine.loadedRow(first.getInventoryId()).orElseThrow().availableUnits());
+
+        List<LineResult> reserved = engine.reserveAll(List.of(
+                new BatchReservationRequest.Line(first.getCarId(), 2),
+                new BatchReservationRequest.Line(second.getCarId(), 1)));
+
+        assertTrue(reserved.stream().allMatch(LineResult::reserved));
+        assertEquals(0, engine.loadedRow(first.getInventoryId()).orElseThrow().availableUnits());
+        assertEquals(1, engine.loadedRow(second.getInventoryId()).orElseThrow().reservedUnits());
+    }
+
+    private ReservationEngine startEngine() throws Exception {
+        ReservationEngine engine = new ReservationEngine();
+        ReflectionTestUtils.setField(engine, "inventoryRepository", inventoryRepository);
+        ReflectionTestUtils.setField(engine, "checkpointRepository", checkpointRepository);
+        ReflectionTestUtils.setField(engine, "transactionTemplate",
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(engine, "locationStockRollup", mock(LocationStockRollup.class));
+        ReflectionTestUtils.setField(engine, "inventoryChangeOutbox", mock(InventoryChangeOutbox.class));
+        ReflectionTestUtils.setField(engine, "availabilityCache", mock(AvailabilityCache.class));
+        ReflectionTestUtils.setField(engine, "enabled", true);
+        ReflectionTestUtils.setField(engine, "shardCount", 4);
+        ReflectionTestUtils.setField(engine, "journalDir", journalDir.toString());
+        ReflectionTestUtils.setField(engine, "journalFsync", true);
+        ReflectionTestUtils.setField(engine, "segmentBytes", 1024L * 1024);
+        ReflectionTestUtils.setField(engine, "idleEvictMs", 300000L);
+        engine.start();
+        started.add(engine);
+        return engine;
+    }
+}
@@ -0,0 +1,160 @@
+package com.carplatform.inventory.service;
+
+import com.carplatform.inventory.dto.InventoryResponse;
+import com.carplatform.inventory.dto.ReservationResponse;
+import com.carplatform.inventory.exception.BusinessLogicException;
+import com.carplatform.inventory.exception.ResourceNotFoundException;
+import com.carplatform.inventory.model.Inventory;
+import com.carplatform.inventory.model.Reservation;
+import com.carplatform.inventory.repository.InventoryRepository;
+import com.carplatform.inventory.repository.ReservationRepository;
+import com.carplatform.inventory.testdata.InventoryTestDataFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ReservationGroupCommit Tests")
+class ReservationGroupCommitTest {
+
+    private final InventoryRepository inventoryRepository = mock(InventoryRepository.class);
+    private final ReservationRepository reservationRepository = mock(ReservationRepository.class);
+    private final ReservationIdempotency reservationIdempotency = mock(ReservationIdempotency.class);
+    private final LocationStockRollup locationStockRollup = mock(LocationStockRollup.class);
+    private final InventoryChangeOutbox inventoryChangeOutbox = mock(InventoryChangeOutbox.class);
+    private ReservationGroupCommit groupCommit;
+
+    @AfterEach
+    void stop() throws InterruptedException {
+        groupCommit.stop();
+    }
+
+    @Test
+    void reservationsInOneWindowShouldBeAllocatedInArrivalOrderWithOneWrite() throws Exception {
+        Inventory inventory = InventoryTestDataFactory.inventoryEntity(4, 0);
+        when(inventoryRepository.lockByCarIds(List.of(inventory.getCarId()))).thenReturn(List.of(inventory));
+        groupCommit = start(200);
+
+        CompletableFuture<InventoryResponse> first = groupCommit.submit(inventory.getCarId(), 3);
+        CompletableFuture<InventoryResponse> second = groupCommit.submit(inventory.getCarId(), 3);
+        CompletableFuture<InventoryResponse> third = groupCommit.submit(inventory.getCarId(), 1);
+
+        assertEquals(1, first.get(5, TimeUnit.SECONDS).availableUnits());
+        ExecutionException rejected = assertThrows(ExecutionException.class,
+                () -> second.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(BusinessLogicException.class, rejected.getCause());
+        assertEquals(0, third.get(5, TimeUnit.SECONDS).availableUnits());
+        assertEquals(4, third.get().reservedUnits());
+
+        verify(inventoryRepository, times(1)).lockByCarIds(List.of(inventory.getCarId()));
+        verify(inventoryRepository, times(1)).flush();
+        verify(locationStockRollup).countersChanged(inventory.getInventoryId(), -4, 4);
+        verify(inventoryChangeOutbox).recorded(inventory);
+    }
+
+    @Test
+    void reserveShouldRethrowRejectionOfItsOwnRequest() throws Exception {
+        UUID unknownCar = UUID.randomUUID();
+        when(inventoryRepository.lockByCarIds(List.of(unknownCar))).thenReturn(List.of());
+        groupCommit = start(0);
+
+        assertThrows(ResourceNotFoundException.class, () -> groupCommit.reserve(unknownCar, 1));
+        verify(inventoryRepository, never()).flush();
+    }
+
+    @Test
+    void orderReservationsShouldBeRecordedInTheBatchTransaction() throws Exception {
+        Inventory inventory = InventoryTestDataFactory.inventoryEntity(4, 0);
+        when(inventoryRepository.lockByCarIds(List.of(inventory.getCarId()))).thenReturn(List.of(inventory));
+        savedReservationsGetIds();
+        groupCommit = start(200);
+
+        CompletableFuture<ReservationResponse> first = groupCommit.submit(inventory.getCarId(), "order-1", 1, "key-1");
+        CompletableFuture<ReservationResponse> retry = groupCommit.submit(inventory.getCarId(), "order-1", 1, "key-1");
+        CompletableFuture<ReservationResponse> second = groupCommit.submit(inventory.getCarId(), "order-2", 2, null);
+
+        ReservationResponse reserved = first.get(5, TimeUnit.SECONDS);
+        assertEquals("order-1", reserved.getOrderId());
+        assertEquals(3, reserved.getUnitsRemaining());
+        assertSame(reserved, retry.get(5, TimeUnit.SECONDS));
+        assertEquals(1, second.get(5, TimeUnit.SECONDS).getUnitsRemaining());
+        assertEquals(1, inventory.getAvailableUnits());
+        assertEquals(3, inventory.getReservedUnits());
+
+        verify(reservationRepository, times(2)).save(any(Reservation.class));
+        verify(reservationIdempotency).recordWithoutFlush("key-1", inventory.getCarId(), 1, reserved);
+        verify(reservationIdempotency, never()).record(any(), any(), anyInt(), any());
+        verify(inventoryRepository, times(1)).flush();
+    }
+
+    @Test
+    void failedBatchShouldBeAppliedOneByOneSoOnlyTheFailingRequestIsRejected() throws Exception {
+        Inventory inventory = InventoryTestDataFactory.inventoryEntity(4, 0);
+        // Each transaction reads the row afresh, as after a rollback
+        when(inventoryRepository.lockByCarIds(List.of(inventory.getCarId())))
+                .thenAnswer(invocation -> List.of(InventoryTestDataFactory.inventoryEntity(4, 0)));
+        savedReservationsGetIds();
+        doThrow(new DataIntegrityViolationException("duplicate key"))
+                .when(reservationIdempotency).recordWithoutFlush(eq("taken"), any(), anyInt(), any());
+        groupCommit = start(200);
+
+        CompletableFuture<ReservationResponse> duplicate = groupCommit.submit(inventory.getCarId(), "order-1", 1,
+                "taken");
+        CompletableFuture<ReservationResponse> other = groupCommit.submit(inventory.getCarId(), "order-2", 1,
+                "fresh");
+
+        ExecutionException rejected = assertThrows(ExecutionException.class,
+                () -> duplicate.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(DataIntegrityViolationException.class, rejected.getCause());
+        assertEquals("order-2", other.get(5, TimeUnit.SECONDS).getOrderId());
+        assertEquals(3, other.get().getUnitsRemaining());
+        verify(inventoryRepository, times(3)).lockByCarIds(List.of(inventory.getCarId()));
+    }
+
+    @Test
+    void reservationAfterStopShouldBeRejected() throws Exception {
+        groupCommit = start(0);
+        groupCommit.stop();
+
+        assertThrows(IllegalStateException.class, () -> groupCommit.reserve(UUID.randomUUID(), 1));
+        verify(inventoryRepository, never()).lockByCarIds(any());
+    }
+
+    private void savedReservationsGetIds() {
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> {
+            Reservation reservation = invocation.getArgument(0);
+            ReflectionTestUtils.setField(reservation, "reservationId", UUID.randomUUID());
+            return reservation;
+        });
+    }
+
+    private ReservationGroupCommit start(long windowMs) {
+        ReservationGroupCommit started = new ReservationGroupCommit();
+        ReflectionTestUtils.setField(started, "inventoryRepository", inventoryRepository);
+        ReflectionTestUtils.setField(started, "reservationRepository", reservationRepository);
+        ReflectionTestUtils.setField(started, "reservationIdempotency", reservationIdempotency);
+        ReflectionTestUtils.setField(started, "transactionTemplate",
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(started, "locationStockRollup", locationStockRollup);
+        ReflectionTestUtils.setField(started, "inventoryChangeOutbox", inventoryChangeOutbox);
+        ReflectionTestUtils.setField(started, "enabled", true);
+        ReflectionTestUtils.setField(started, "windowMs", windowMs);
+        ReflectionTestUtils.setField(started, "maxBatchSize", 200);
+        ReflectionTestUtils.setField(started, "workerCount", 2);
+        ReflectionTestUtils.setField(started, "reservationTtlMs", 60000L);
+        started.start();
+        return started;
+    }
+}
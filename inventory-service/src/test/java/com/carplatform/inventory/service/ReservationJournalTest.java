@@ -0,0 +1,181 @@
+package com.carplatform.inventory.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReservationJournal Tests")
+class ReservationJournalTest {
+
+    @TempDir
+    Path journalDir;
+
+    @Test
+    void recordsAfterFailedPartialWriteShouldSurviveReplay() throws Exception {
+        UUID inventoryId = UUID.randomUUID();
+        TearingChannel[] channel = new TearingChannel[1];
+        ReservationJournal journal = new ReservationJournal(journalDir, 0, 1, true,
+                segment -> channel[0] = new TearingChannel(open(segment), false));
+
+        journal.append(1, inventoryId, -1, 1);
+        journal.awaitDurable(1);
+        journal.append(2, inventoryId, -2, 2);
+        channel[0].tearNextWrite = true;
+        assertThrows(IOException.class, () -> journal.awaitDurable(2));
+        journal.append(3, inventoryId, -3, 3);
+        journal.awaitDurable(3);
+        journal.close();
+
+        List<Path> segments = ReservationJournal.segments(journalDir);
+        assertEquals(1, segments.size());
+        List<ReservationJournal.Entry> entries = ReservationJournal.read(segments.get(0));
+        assertEquals(List.of(1L, 2L, 3L), entries.stream().map(ReservationJournal.Entry::sequence).toList());
+        assertEquals(-3, entries.get(2).availableDelta());
+    }
+
+    @Test
+    void journalShouldRejectWritesWhenTornRecordCannotBeCutOff() throws Exception {
+        UUID inventoryId = UUID.randomUUID();
+        TearingChannel[] channel = new TearingChannel[1];
+        ReservationJournal journal = new ReservationJournal(journalDir, 0, 1, true,
+                segment -> channel[0] = new TearingChannel(open(segment), true));
+
+        journal.append(1, inventoryId, -1, 1);
+        channel[0].tearNextWrite = true;
+        assertThrows(IOException.class, () -> journal.awaitDurable(1));
+        journal.append(2, inventoryId, -2, 2);
+
+        assertThrows(IOException.class, () -> journal.awaitDurable(2));
+    }
+
+    private static FileChannel open(Path segment) throws IOException {
+        return FileChannel.open(segment,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * File channel that, when asked, writes half a record and then fails,
+     * like a full disk
+     */
+    private static final class TearingChannel extends FileChannel {
+
+        private final FileChannel delegate;
+        private final boolean failTruncate;
+        volatile boolean tearNextWrite;
+
+        TearingChannel(FileChannel delegate, boolean failTruncate) {
+            this.delegate = delegate;
+            this.failTruncate = failTruncate;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            if (!tearNextWrite) {
+                return delegate.write(src);
+            }
+            tearNextWrite = false;
+            ByteBuffer half = src.slice().limit(ReservationJournal.RECORD_BYTES / 2);
+            src.position(src.position() + delegate.write(half));
+            throw new IOException("No space left on device");
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            if (failTruncate) {
+                throw new IOException("Truncate failed");
+            }
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            delegate.force(metaData);
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return delegate.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return delegate.read(dsts, offset, length);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            return delegate.write(srcs, offset, length);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return delegate.read(dst, position);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            return delegate.write(src, position);
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return delegate.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return delegate.transferFrom(src, position, count);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return delegate.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            delegate.close();
+        }
+    }
+}
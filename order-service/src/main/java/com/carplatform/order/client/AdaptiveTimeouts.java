@@ -0,0 +1,143 @@
+package com.carplatform.order.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Adaptive Timeouts
+ *
+ * Per-operation downstream timeouts derived from observed latency instead
+ * of fixed values:
+ *
+ * timeout = multiplier × p(percentile) over the rolling window,
+ * clamped to [min-ms, max-ms]
+ *
+ * Until an operation has min-samples in the window, its fixed timeout is
+ * used. A call that times out is recorded at the timeout value, so a
+ * legitimate slowdown raises the percentile (and the next timeout) instead
+ * of being cut off forever at the old one.
+ *
+ * Effective timeouts are exported as
+ * carplatform.downstream.timeout.effective{operation} (ms).
+ */
+@Component
+public class AdaptiveTimeouts {
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${services.adaptive-timeout.enabled:true}")
+    private boolean enabled;
+
+    @Value("${services.adaptive-timeout.percentile:0.99}")
+    private double percentile;
+
+    @Value("${services.adaptive-timeout.multiplier:3.0}")
+    private double multiplier;
+
+    @Value("${services.adaptive-timeout.min-ms:50}")
+    private long minMs;
+
+    @Value("${services.adaptive-timeout.max-ms:3000}")
+    private long maxMs;
+
+    @Value("${services.adaptive-timeout.min-samples:50}")
+    private long minSamples;
+
+    @Value("${services.adaptive-timeout.window-ms:60000}")
+    private long windowMs;
+
+    @Value("${services.adaptive-timeout.slices:6}")
+    private int slices;
+
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+
+    /**
+     * Apply the operation's current timeout to a call and record its latency
+     *
+     * @param operation Operation name (e.g. "inventory.checkAvailability")
+     * @param fixed     Fixed timeout, used while disabled or warming up
+     * @param call      Downstream call
+     * @return Call with timeout applied
+     */
+    public <T> Mono<T> apply(String operation, Duration fixed, Mono<T> call) {
+        if (!enabled) {
+            return call.timeout(fixed);
+        }
+        Operation state = operation(operation, fixed);
+        Duration timeout = state.effective();
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.timeout(timeout)
+                    .doOnSuccess(ignored -> state.histogram.record(System.nanoTime() - start))
+                    .doOnError(TimeoutException.class, ignored -> state.histogram.record(timeout.toNanos()));
+        });
+    }
+
+    /**
+     * @return Current effective timeout for an operation (fixed value when
+     *         unknown or warming up)
+     */
+    public Duration timeoutFor(String operation, Duration fixed) {
+        return enabled ? operation(operation, fixed).effective() : fixed;
+    }
+
+    private Operation operation(String name, Duration fixed) {
+        return operations.computeIfAbsent(name, key -> {
+            Operation state = new Operation(fixed, new RollingLatencyHistogram(windowMs, slices));
+            if (meterRegistry != null) {
+                Gauge.builder("carplatform.downstream.timeout.effective", state,
+                        op -> op.effective().toMillis())
+                        .description("Effective adaptive timeout of a downstream operation (ms)")
+                        .tag("operation", key)
+                        .register(meterRegistry);
+            }
+            return state;
+        });
+    }
+
+    private final class Operation {
+
+        private static final long RECOMPUTE_INTERVAL_MS = 1000;
+
+        private final Duration fixed;
+        private final RollingLatencyHistogram histogram;
+        private volatile Duration cached;
+        private volatile long cachedAt;
+
+        private Operation(Duration fixed, RollingLatencyHistogram histogram) {
+            this.fixed = fixed;
+            this.histogram = histogram;
+            this.cached = fixed;
+        }
+
+        /**
+         * Recomputed at most once a second; merging the histogram slices on
+         * every call would cost more than the call's own bookkeeping
+         */
+        private Duration effective() {
+            long now = System.currentTimeMillis();
+            if (now - cachedAt < RECOMPUTE_INTERVAL_MS) {
+                return cached;
+            }
+            cachedAt = now;
+            Duration result = fixed;
+            if (histogram.count() >= minSamples) {
+                long observed = histogram.percentileNanos(percentile);
+                long millis = (long) Math.ceil(observed * multiplier / 1_000_000.0);
+                result = Duration.ofMillis(Math.max(minMs, Math.min(maxMs, millis)));
+            }
+            cached = result;
+            return result;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -26,6 +27,9 @@ public class CatalogServiceClient {
     private final WebClient webClient;
     private final String catalogBaseUrl;
 
+    @Autowired(required = false)
+    private AdaptiveTimeouts adaptiveTimeouts;
+
     public CatalogServiceClient(WebClient webClient,
             @Value("${services.catalog.base-url:http://localhost:8081}") String catalogBaseUrl) {
         this.webClient = webClient;
@@ -50,7 +54,7 @@ public class CatalogServiceClient {
                 .uri(catalogBaseUrl + "/catalog/cars/{carId}", carId)
                 .retrieve()
                 .bodyToMono(CarDetailsResponse.class)
-                .timeout(Duration.ofSeconds(2))
+                .transform(call -> withTimeout("catalog.getCarDetails", Duration.ofSeconds(2), call))
                 .doOnSuccess(response -> log.info("Car details fetched - car: {} {}", response.getBrand(),
                         response.getModel()))
                 .doOnError(error -> log.error("Failed to fetch car details for {}: {}", carId, error.getMessage()));
@@ -63,6 +67,10 @@ public class CatalogServiceClient {
         return getCarDetails(carId);
     }
 
+    private <T> Mono<T> withTimeout(String operation, Duration fixed, Mono<T> call) {
+        return adaptiveTimeouts != null ? adaptiveTimeouts.apply(operation, fixed, call) : call.timeout(fixed);
+    }
+
     private Mono<CarDetailsResponse> getCarDetailsFallback(String carId, Throwable throwable) {
         log.warn("Catalog degraded for car {}: {}", carId, throwable.getMessage());
         CarDetailsResponse fallback = new CarDetailsResponse();
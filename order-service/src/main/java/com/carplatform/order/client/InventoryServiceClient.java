@@ -3,16 +3,23 @@ package com.carplatform.order.client;
 import com.carplatform.order.dto.InventoryAvailabilityResponse;
 import com.carplatform.order.dto.InventoryReservationRequest;
 import com.carplatform.order.dto.InventoryReservationResponse;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
 import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.retry.RetryRegistry;
 import io.github.resilience4j.retry.annotation.Retry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
 /**
  * Inventory Service Client
@@ -20,6 +27,7 @@ import java.time.Duration;
  * Encapsulates all HTTP calls to Inventory Service
  * - Check availability before order creation
  * - Reserve stock after inventory confirmation
+ * - Confirm the reservation once the order is confirmed
  * - Handle timeouts and failures gracefully
  */
 @Slf4j
@@ -29,6 +37,25 @@ public class InventoryServiceClient {
         private final WebClient webClient;
         private final String inventoryBaseUrl;
 
+        @Autowired(required = false)
+        private AdaptiveTimeouts adaptiveTimeouts;
+
+        @Autowired
+        private RetryRegistry retryRegistry;
+
+        @Autowired
+        private CircuitBreakerRegistry circuitBreakerRegistry;
+
+        @Autowired
+        private BulkheadRegistry bulkheadRegistry;
+
+        // Waits between reservation retries (the attempts themselves run on the WebClient's threads)
+        private final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "inventory-reserve-retry");
+                thread.setDaemon(true);
+                return thread;
+        });
+
         public InventoryServiceClient(WebClient webClient,
                         @Value("${services.inventory.base-url:http://localhost:8082}") String inventoryBaseUrl) {
                 this.webClient = webClient;
@@ -54,7 +81,7 @@ public class InventoryServiceClient {
                                 .uri(inventoryBaseUrl + "/inventory/check-availability/{carId}", carId)
                                 .retrieve()
                                 .bodyToMono(InventoryAvailabilityResponse.class)
-                                .timeout(Duration.ofSeconds(2))
+                                .transform(call -> withTimeout("inventory.checkAvailability", Duration.ofSeconds(2), call))
                                 .doOnSuccess(response -> log.info("Availability check success for car {}: available={}",
                                                 carId,
                                                 response.isAvailable()))
@@ -72,34 +99,97 @@ public class InventoryServiceClient {
         /**
          * Reserve inventory for an order
          * 
-         * @param request Reservation request (carId, orderId, units)
+         * The idempotency key identifies this reservation attempt: inventory
+         * answers a repeated request with the same key with the original
+         * reservation, so the call can be retried after a timeout or lost
+         * response without reserving twice.
+         * 
+         * @param request        Reservation request (carId, orderId, units)
+         * @param idempotencyKey Key sent as the Idempotency-Key header
          * @return Mono<InventoryReservationResponse> with reservation details
          * 
          *         Error handling:
          *         - Insufficient stock: 409 Conflict
          *         - Car not found: 404 Not Found
+         *         - Key reused for a different request: 422
          *         - Service error: 5xx
          */
-        public Mono<InventoryReservationResponse> reserveInventory(InventoryReservationRequest request) {
-                log.debug("Reserving inventory - car: {}, order: {}, units: {}",
-                                request.getCarId(), request.getOrderId(), request.getUnits());
+        public Mono<InventoryReservationResponse> reserveInventory(InventoryReservationRequest request,
+                        String idempotencyKey) {
+                log.debug("Reserving inventory - car: {}, order: {}, units: {}, key: {}",
+                                request.getCarId(), request.getOrderId(), request.getUnits(), idempotencyKey);
 
                 return webClient.post()
                                 .uri(inventoryBaseUrl + "/inventory/reserve")
+                                .header("Idempotency-Key", idempotencyKey)
                                 .bodyValue(request)
                                 .retrieve()
                                 .bodyToMono(InventoryReservationResponse.class)
-                                .timeout(Duration.ofSeconds(2))
+                                .transform(call -> withTimeout("inventory.reserveInventory", Duration.ofSeconds(2), call))
                                 .doOnSuccess(response -> log.info("Reservation success - reservation: {}, units: {}",
                                                 response.getReservationId(), response.getUnitsReserved()))
                                 .doOnError(error -> log.error("Reservation failed for order {}: {}",
                                                 request.getOrderId(), error.getMessage()));
         }
 
-        @CircuitBreaker(name = "inventoryReserveCircuitBreaker", fallbackMethod = "reserveInventoryFallback")
-        @Bulkhead(name = "inventoryReserveBulkhead", type = Bulkhead.Type.SEMAPHORE, fallbackMethod = "reserveInventoryFallback")
-        public Mono<InventoryReservationResponse> guardedReserveInventory(InventoryReservationRequest request) {
-                return reserveInventory(request);
+        /**
+         * reserveInventory guarded as Retry(CircuitBreaker(Bulkhead(call)))
+         * 
+         * Applied to the subscription rather than with the annotations, which
+         * (without resilience4j's reactor module) only guard building the Mono
+         * and never see the call's errors. Each attempt re-subscribes with the
+         * same idempotency key; only once the retries are used up (or the
+         * error is not retried) does the fallback answer.
+         */
+        public Mono<InventoryReservationResponse> guardedReserveInventory(InventoryReservationRequest request,
+                        String idempotencyKey) {
+                io.github.resilience4j.retry.Retry retry = retryRegistry.retry("inventoryReserveRetry");
+                io.github.resilience4j.circuitbreaker.CircuitBreaker circuitBreaker = circuitBreakerRegistry
+                                .circuitBreaker("inventoryReserveCircuitBreaker");
+                io.github.resilience4j.bulkhead.Bulkhead bulkhead = bulkheadRegistry.bulkhead("inventoryReserveBulkhead");
+
+                return Mono.fromCompletionStage(() -> retry.executeCompletionStage(retryScheduler,
+                                () -> circuitBreaker.executeCompletionStage(
+                                                () -> bulkhead.executeCompletionStage(
+                                                                () -> reserveInventory(request, idempotencyKey).toFuture()))))
+                                .onErrorResume(error -> reserveInventoryFallback(request, idempotencyKey, error));
+        }
+
+        @PreDestroy
+        public void stop() {
+                retryScheduler.shutdownNow();
+        }
+
+        /**
+         * Confirm an order's reservation: inventory deletes it and takes its
+         * units out of stock, so it no longer expires
+         * 
+         * Not retried: a repeat after a lost response finds the reservation
+         * gone (404), which cannot be told apart from an expired one.
+         * 
+         * @param reservationId Reservation returned by reserveInventory
+         * @return Mono completing once inventory has confirmed the reservation
+         * 
+         *         Error handling:
+         *         - Already confirmed, released or expired: 404 Not Found
+         *         - Service error: 5xx
+         */
+        public Mono<Void> confirmReservation(String reservationId) {
+                log.debug("Confirming inventory reservation: {}", reservationId);
+
+                return webClient.post()
+                                .uri(inventoryBaseUrl + "/inventory/reservations/{reservationId}/confirm", reservationId)
+                                .retrieve()
+                                .toBodilessEntity()
+                                .then()
+                                .transform(call -> withTimeout("inventory.confirmReservation", Duration.ofSeconds(2), call))
+                                .doOnSuccess(ignored -> log.info("Reservation confirmed: {}", reservationId))
+                                .doOnError(error -> log.error("Reservation confirmation failed for {}: {}",
+                                                reservationId, error.getMessage()));
+        }
+
+        private <T> Mono<T> withTimeout(String operation, Duration fixed, Mono<T> call) {
+                return adaptiveTimeouts != null ? adaptiveTimeouts.apply(operation, fixed, call) : call.timeout(fixed);
         }
 
         private Mono<InventoryAvailabilityResponse> checkAvailabilityFallback(String carId, Throwable throwable) {
@@ -113,7 +203,7 @@ public class InventoryServiceClient {
         }
 
         private Mono<InventoryReservationResponse> reserveInventoryFallback(InventoryReservationRequest request,
-                        Throwable throwable) {
+                        String idempotencyKey, Throwable throwable) {
                 log.warn("Inventory reservation degraded for order {}: {}", request.getOrderId(), throwable.getMessage());
                 InventoryReservationResponse fallback = new InventoryReservationResponse();
                 fallback.setCarId(request.getCarId());
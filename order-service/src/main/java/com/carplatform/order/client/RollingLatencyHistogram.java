@@ -0,0 +1,128 @@
+package com.carplatform.order.client;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Rolling Latency Histogram
+ *
+ * Latency distribution over a sliding time window, for percentile queries
+ * on hot paths without keeping individual samples.
+ *
+ * Layout:
+ * - The window is split into N time slices; each slice is a log-scaled
+ *   histogram (bins grow by 10%, from 10µs to ~4 minutes)
+ * - Recording touches only the current slice; a slice is cleared when the
+ *   window wraps back onto it
+ * - A percentile sums the slices still inside the window and returns the
+ *   upper bound of the bin it falls in (≤10% over the true value)
+ */
+public final class RollingLatencyHistogram {
+
+    private static final double GROWTH = 1.1;
+    private static final double LOG_GROWTH = Math.log(GROWTH);
+    private static final long MIN_MICROS = 10;
+    private static final int BINS = 180;
+
+    private final long sliceMillis;
+    private final Slice[] slices;
+
+    public RollingLatencyHistogram(long windowMillis, int sliceCount) {
+        int count = Math.max(1, sliceCount);
+        this.sliceMillis = Math.max(1L, windowMillis / count);
+        this.slices = new Slice[count];
+        for (int i = 0; i < count; i++) {
+            slices[i] = new Slice();
+        }
+    }
+
+    /**
+     * Record one latency sample
+     */
+    public void record(long nanos) {
+        long epoch = System.currentTimeMillis() / sliceMillis;
+        Slice slice = slices[(int) (epoch % slices.length)];
+        if (slice.epoch != epoch) {
+            synchronized (slice) {
+                if (slice.epoch != epoch) {
+                    slice.reset(epoch);
+                }
+            }
+        }
+        slice.counts.incrementAndGet(bin(nanos / 1000));
+    }
+
+    /**
+     * @return Number of samples inside the window
+     */
+    public long count() {
+        long currentEpoch = System.currentTimeMillis() / sliceMillis;
+        long total = 0;
+        for (Slice slice : slices) {
+            if (currentEpoch - slice.epoch < slices.length) {
+                for (int bin = 0; bin < BINS; bin++) {
+                    total += slice.counts.get(bin);
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * @param quantile Quantile in (0, 1], e.g. 0.99
+     * @return Latency at the quantile in nanoseconds, or -1 when the window
+     *         is empty
+     */
+    public long percentileNanos(double quantile) {
+        long currentEpoch = System.currentTimeMillis() / sliceMillis;
+        long[] merged = new long[BINS];
+        long total = 0;
+        for (Slice slice : slices) {
+            if (currentEpoch - slice.epoch >= slices.length) {
+                continue;
+            }
+            for (int bin = 0; bin < BINS; bin++) {
+                long value = slice.counts.get(bin);
+                merged[bin] += value;
+                total += value;
+            }
+        }
+        if (total == 0) {
+            return -1L;
+        }
+
+        long rank = (long) Math.ceil(Math.min(1.0, Math.max(0.0, quantile)) * total);
+        long seen = 0;
+        for (int bin = 0; bin < BINS; bin++) {
+            seen += merged[bin];
+            if (seen >= rank && merged[bin] > 0) {
+                return upperBoundMicros(bin) * 1000;
+            }
+        }
+        return upperBoundMicros(BINS - 1) * 1000;
+    }
+
+    private static int bin(long micros) {
+        if (micros <= MIN_MICROS) {
+            return 0;
+        }
+        int bin = (int) Math.ceil(Math.log((double) micros / MIN_MICROS) / LOG_GROWTH);
+        return Math.min(bin, BINS - 1);
+    }
+
+    private static long upperBoundMicros(int bin) {
+        return (long) Math.ceil(MIN_MICROS * Math.pow(GROWTH, bin));
+    }
+
+    private static final class Slice {
+
+        private final AtomicLongArray counts = new AtomicLongArray(BINS);
+        private volatile long epoch = Long.MIN_VALUE / 2;
+
+        private void reset(long newEpoch) {
+            for (int bin = 0; bin < BINS; bin++) {
+                counts.set(bin, 0);
+            }
+            epoch = newEpoch;
+        }
+    }
+}
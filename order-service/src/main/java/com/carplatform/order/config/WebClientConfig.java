@@ -1,5 +1,6 @@
 package com.carplatform.order.config;
 
+import com.carplatform.order.loadbalancer.LoadBalancerRegistry;
 // import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -28,6 +29,7 @@ import java.util.concurrent.TimeUnit;
  * - Non-blocking HTTP client (WebClient over deprecated RestTemplate)
  * - Reactive patterns for future scalability
  * - Configurable timeouts per service (handled at call site)
+ * - Client-side load balancing across service instances (LoadBalancerRegistry)
  */
 @Configuration
 public class WebClientConfig {
@@ -36,7 +38,7 @@ public class WebClientConfig {
     private static final String CORRELATION_HEADER = "X-Correlation-Id";
 
     @Bean
-    public WebClient webClient() {
+    public WebClient webClient(LoadBalancerRegistry loadBalancerRegistry) {
         // Configure Netty HTTP client with timeouts
         HttpClient httpClient = HttpClient.create()
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 2000)
@@ -67,6 +69,7 @@ public class WebClientConfig {
         return WebClient.builder()
                 .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .filter(correlationFilter)
+                .filter(loadBalancerRegistry.exchangeFilter())
                 .build();
     }
 }
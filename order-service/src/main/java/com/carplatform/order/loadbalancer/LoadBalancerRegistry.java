@@ -0,0 +1,142 @@
+package com.carplatform.order.loadbalancer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Load Balancer Registry
+ *
+ * Client-side load balancing for the Inventory and Catalog service calls.
+ * The clients keep building URLs from services.*.base-url; the shared
+ * WebClient's {@link #exchangeFilter()} sends a request for that host:port
+ * to an instance chosen from the service's pool instead.
+ *
+ * Configuration per service (services.inventory.*, services.catalog.*):
+ * - instances: comma-separated instance URLs
+ * - instances-file: file with one instance URL per line, re-read on change
+ *
+ * With neither set, the service is called at base-url directly.
+ */
+@Slf4j
+@Component
+public class LoadBalancerRegistry {
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${services.inventory.base-url:http://localhost:8082}")
+    private String inventoryBaseUrl;
+
+    @Value("${services.inventory.instances:}")
+    private String inventoryInstances;
+
+    @Value("${services.inventory.instances-file:}")
+    private String inventoryInstancesFile;
+
+    @Value("${services.catalog.base-url:http://localhost:8081}")
+    private String catalogBaseUrl;
+
+    @Value("${services.catalog.instances:}")
+    private String catalogInstances;
+
+    @Value("${services.catalog.instances-file:}")
+    private String catalogInstancesFile;
+
+    @Value("${services.load-balancer.file-check-interval-ms:5000}")
+    private long fileCheckIntervalMs;
+
+    @Value("${services.load-balancer.ejection.consecutive-failures:5}")
+    private int failuresBeforeEjection;
+
+    @Value("${services.load-balancer.ejection.base-ms:10000}")
+    private long baseEjectionMs;
+
+    @Value("${services.load-balancer.ejection.max-ms:120000}")
+    private long maxEjectionMs;
+
+    // host:port of the base URL → pool
+    private final Map<String, ServiceInstancePool> poolsByAuthority = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        register("inventory", inventoryBaseUrl, inventoryInstances, inventoryInstancesFile);
+        register("catalog", catalogBaseUrl, catalogInstances, catalogInstancesFile);
+    }
+
+    private void register(String service, String baseUrl, String instances, String instancesFile) {
+        if (baseUrl == null || baseUrl.isBlank()
+                || (instances.isBlank() && instancesFile.isBlank())) {
+            return;
+        }
+        URI logicalUri = URI.create(baseUrl.trim());
+        List<String> staticInstances = instances.isBlank() ? List.of() : Arrays.asList(instances.split(","));
+        ServiceInstancePool pool = new ServiceInstancePool(service, logicalUri, staticInstances,
+                instancesFile.isBlank() ? null : Path.of(instancesFile.trim()), fileCheckIntervalMs,
+                failuresBeforeEjection, baseEjectionMs, maxEjectionMs, meterRegistry);
+        poolsByAuthority.put(authority(logicalUri), pool);
+    }
+
+    /**
+     * @param uri Request URI
+     * @return Pool balancing the URI's host:port, or null if not balanced
+     */
+    public ServiceInstancePool poolFor(URI uri) {
+        if (uri == null || uri.getHost() == null || poolsByAuthority.isEmpty()) {
+            return null;
+        }
+        return poolsByAuthority.get(authority(uri));
+    }
+
+    /**
+     * WebClient filter that sends requests for a balanced service to the
+     * chosen instance and feeds the outcome back into its health state
+     * (connection errors and 5xx responses count as failures)
+     */
+    public ExchangeFilterFunction exchangeFilter() {
+        return (request, next) -> {
+            ServiceInstancePool pool = poolFor(request.url());
+            ServiceInstance instance = pool != null ? pool.choose() : null;
+            if (instance == null) {
+                return next.exchange(request);
+            }
+
+            ClientRequest routed = ClientRequest.from(request).url(instance.rewrite(request.url())).build();
+            return Mono.defer(() -> {
+                ServiceInstance.Call call = instance.begin();
+                return next.exchange(routed)
+                        .doOnNext(response -> {
+                            if (response.statusCode().is5xxServerError()) {
+                                call.failure();
+                            } else {
+                                call.success();
+                            }
+                        })
+                        .doOnError(error -> call.failure())
+                        .doFinally(signal -> call.cancel());
+            });
+        };
+    }
+
+    static String authority(URI uri) {
+        int port = uri.getPort();
+        if (port == -1) {
+            port = "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        }
+        return uri.getHost().toLowerCase(Locale.ROOT) + ":" + port;
+    }
+}
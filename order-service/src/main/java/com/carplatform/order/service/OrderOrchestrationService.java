@@ -22,6 +22,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.UUID;
 // import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -153,8 +154,11 @@ public class OrderOrchestrationService {
                 1 // Reserve 1 unit
         );
 
+        // One key per creation attempt (tempOrderId repeats across a user's
+        // orders), so retries of this call reserve at most once
+        String idempotencyKey = UUID.randomUUID().toString();
         InventoryReservationResponse reservationResponse = inventoryServiceClient
-                .guardedReserveInventory(reservationRequest)
+                .guardedReserveInventory(reservationRequest, idempotencyKey)
                 .block(); // WARNING: blocking call
 
         if (reservationResponse == null || reservationResponse.getErrorCode() != null) {
@@ -1,5 +1,6 @@
 package com.carplatform.order.service;
 
+import com.carplatform.order.client.InventoryServiceClient;
 import com.carplatform.order.dto.OrderResponse;
 import com.carplatform.order.dto.CreateOrderRequest;
 import com.carplatform.order.dto.UpdateOrderStatusRequest;
@@ -19,6 +20,10 @@ import java.util.stream.Collectors;
  * Uses OrderRepository (Spring Data JPA) to persist orders in PostgreSQL.
  * Manages order lifecycle: CREATED -> CONFIRMED -> PROCESSING ->
  * COMPLETED/CANCELLED
+ * 
+ * Confirming an order confirms its inventory reservation first, which
+ * takes the units out of stock; otherwise the reservation would expire
+ * and its units be released while the order goes ahead.
  */
 @Service
 public class OrderServiceImpl implements OrderService {
@@ -26,6 +31,9 @@ public class OrderServiceImpl implements OrderService {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private InventoryServiceClient inventoryServiceClient;
+
     @Override
     public OrderResponse createOrder(CreateOrderRequest request) {
         // Calculate reservation expiry based on minutes provided
@@ -88,6 +96,16 @@ public class OrderServiceImpl implements OrderService {
             throw new RuntimeException("Reservation has expired. Cannot proceed to PROCESSING");
         }
 
+        if (request.status() == OrderStatus.CONFIRMED && order.getStatus() != OrderStatus.CONFIRMED
+                && order.getInventoryReservationId() != null) {
+            try {
+                inventoryServiceClient.confirmReservation(order.getInventoryReservationId()).block();
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Could not confirm inventory reservation "
+                        + order.getInventoryReservationId() + ": " + e.getMessage(), e);
+            }
+        }
+
         order.setStatus(request.status());
         order.setLastUpdated(Instant.now());
         Order updatedOrder = orderRepository.save(order);
@@ -0,0 +1,87 @@
+package com.carplatform.order.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AdaptiveTimeouts Tests")
+class AdaptiveTimeoutsTest {
+
+    private static final Duration FIXED = Duration.ofSeconds(1);
+
+    private AdaptiveTimeouts timeouts;
+
+    @BeforeEach
+    void setUp() {
+        timeouts = new AdaptiveTimeouts();
+        ReflectionTestUtils.setField(timeouts, "enabled", true);
+        ReflectionTestUtils.setField(timeouts, "percentile", 0.99);
+        ReflectionTestUtils.setField(timeouts, "multiplier", 3.0);
+        ReflectionTestUtils.setField(timeouts, "minMs", 50L);
+        ReflectionTestUtils.setField(timeouts, "maxMs", 100L);
+        ReflectionTestUtils.setField(timeouts, "minSamples", 5L);
+        ReflectionTestUtils.setField(timeouts, "windowMs", 60000L);
+        ReflectionTestUtils.setField(timeouts, "slices", 6);
+    }
+
+    @Test
+    void fixedTimeoutShouldApplyUntilEnoughSamples() throws InterruptedException {
+        call("op", Duration.ZERO, 4);
+        awaitRecompute();
+
+        assertEquals(FIXED, timeouts.timeoutFor("op", FIXED));
+
+        ReflectionTestUtils.setField(timeouts, "enabled", false);
+        assertEquals(FIXED, timeouts.timeoutFor("op", FIXED));
+    }
+
+    @Test
+    void fastOperationShouldBeClampedToMinimum() throws InterruptedException {
+        call("fast", Duration.ZERO, 5);
+        awaitRecompute();
+
+        assertEquals(Duration.ofMillis(50), timeouts.timeoutFor("fast", FIXED));
+    }
+
+    @Test
+    void slowOperationShouldBeClampedToMaximum() throws InterruptedException {
+        // 3 x ~60 ms is above the 100 ms ceiling
+        call("slow", Duration.ofMillis(60), 5);
+        awaitRecompute();
+
+        assertEquals(Duration.ofMillis(100), timeouts.timeoutFor("slow", FIXED));
+    }
+
+    @Test
+    void timedOutCallShouldBeRecordedAtTheTimeout() throws InterruptedException {
+        Duration fixed = Duration.ofMillis(20);
+        for (int i = 0; i < 5; i++) {
+            Mono<Integer> call = timeouts.apply("stuck", fixed, Mono.just(1).delayElement(Duration.ofSeconds(5)));
+            assertThrows(RuntimeException.class, call::block);
+        }
+        awaitRecompute();
+
+        // p99 of 20 ms timeouts x 3, inside [50, 100]
+        long millis = timeouts.timeoutFor("stuck", fixed).toMillis();
+        assertTrue(millis >= 60 && millis <= 70, "timeout=" + millis);
+    }
+
+    private void call(String operation, Duration latency, int count) {
+        for (int i = 0; i < count; i++) {
+            assertEquals(1, timeouts.apply(operation, FIXED, Mono.just(1).delayElement(latency)).block());
+        }
+    }
+
+    /**
+     * The effective timeout is recomputed at most once a second
+     */
+    private static void awaitRecompute() throws InterruptedException {
+        Thread.sleep(1100);
+    }
+}
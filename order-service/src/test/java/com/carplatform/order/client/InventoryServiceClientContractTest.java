@@ -5,7 +5,9 @@ import com.carplatform.order.dto.InventoryReservationRequest;
 import com.carplatform.order.dto.InventoryReservationResponse;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -21,6 +23,18 @@ class InventoryServiceClientContractTest {
     private MockWebServer mockWebServer;
     private InventoryServiceClient client;
 
+    /**
+     * The first WebClient call of the JVM sets up Reactor Netty's event
+     * loops and resolver, which can exceed the client's 2 s timeouts
+     */
+    @BeforeAll
+    static void warmUp() throws IOException {
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse());
+            WebClient.create(server.url("/").toString()).get().retrieve().toBodilessEntity().block();
+        }
+    }
+
     @BeforeEach
     void setUp() throws IOException {
         mockWebServer = new MockWebServer();
@@ -48,17 +62,31 @@ class InventoryServiceClientContractTest {
     }
 
     @Test
-    void reserveInventoryShouldParseReservationResponse() {
+    void reserveInventoryShouldParseReservationResponse() throws InterruptedException {
         mockWebServer.enqueue(new MockResponse()
                 .addHeader("Content-Type", "application/json")
                 .setBody(
                         "{\"reservationId\":\"r1\",\"carId\":\"c1\",\"orderId\":\"o1\",\"unitsReserved\":1,\"unitsRemaining\":9,\"status\":\"RESERVED\"}"));
 
         InventoryReservationRequest request = new InventoryReservationRequest("c1", "o1", 1);
-        InventoryReservationResponse response = client.reserveInventory(request).block();
+        InventoryReservationResponse response = client.reserveInventory(request, "attempt-1").block();
 
         assertNotNull(response);
         assertEquals("r1", response.getReservationId());
         assertEquals("RESERVED", response.getStatus());
+        assertEquals("attempt-1", mockWebServer.takeRequest().getHeader("Idempotency-Key"));
+    }
+
+    @Test
+    void confirmReservationShouldPostToTheReservation() throws InterruptedException {
+        mockWebServer.enqueue(new MockResponse()
+                .addHeader("Content-Type", "application/json")
+                .setBody("{\"availableUnits\":3,\"reservedUnits\":0}"));
+
+        client.confirmReservation("r1").block();
+
+        RecordedRequest request = mockWebServer.takeRequest();
+        assertEquals("POST", request.getMethod());
+        assertEquals("/inventory/reservations/r1/confirm", request.getPath());
     }
 }
@@ -0,0 +1,83 @@
+package com.carplatform.order.client;
+
+import com.carplatform.order.dto.InventoryReservationRequest;
+import com.carplatform.order.dto.InventoryReservationResponse;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the guarded reserve call through the resilience4j aspects, against a
+ * stub inventory service
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("InventoryServiceClient Retry Tests")
+class InventoryServiceClientRetryTest {
+
+    private static final MockWebServer mockWebServer = new MockWebServer();
+
+    @Autowired
+    private InventoryServiceClient client;
+
+    @DynamicPropertySource
+    static void inventoryUrl(DynamicPropertyRegistry registry) throws IOException {
+        mockWebServer.start();
+        String url = "http://localhost:" + mockWebServer.getPort();
+        registry.add("services.inventory.base-url", () -> url);
+        registry.add("services.inventory.instances", () -> url);
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void reserveShouldBeRetriedWithTheSameIdempotencyKeyAfterAServerError() throws InterruptedException {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(201)
+                .addHeader("Content-Type", "application/json")
+                .setBody(
+                        "{\"reservationId\":\"r1\",\"carId\":\"c1\",\"orderId\":\"o1\",\"unitsReserved\":1,\"unitsRemaining\":9,\"status\":\"RESERVED\"}"));
+
+        InventoryReservationResponse response = client
+                .guardedReserveInventory(new InventoryReservationRequest("c1", "o1", 1), "attempt-1")
+                .block();
+
+        assertNotNull(response);
+        assertEquals("r1", response.getReservationId());
+        assertEquals("RESERVED", response.getStatus());
+        assertEquals("attempt-1", mockWebServer.takeRequest(1, TimeUnit.SECONDS).getHeader("Idempotency-Key"));
+        assertEquals("attempt-1", mockWebServer.takeRequest(1, TimeUnit.SECONDS).getHeader("Idempotency-Key"));
+        assertNull(mockWebServer.takeRequest(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void conflictShouldGoStraightToTheFallbackWithoutRetrying() throws InterruptedException {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(409));
+
+        InventoryReservationResponse response = client
+                .guardedReserveInventory(new InventoryReservationRequest("c1", "o2", 1), "attempt-2")
+                .block();
+
+        assertNotNull(response);
+        assertEquals("FAILED", response.getStatus());
+        assertEquals(0, response.getUnitsReserved());
+        assertEquals("attempt-2", mockWebServer.takeRequest(1, TimeUnit.SECONDS).getHeader("Idempotency-Key"));
+        assertNull(mockWebServer.takeRequest(500, TimeUnit.MILLISECONDS));
+    }
+}
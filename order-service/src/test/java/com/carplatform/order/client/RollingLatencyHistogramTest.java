@@ -0,0 +1,37 @@
+package com.carplatform.order.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RollingLatencyHistogram Tests")
+class RollingLatencyHistogramTest {
+
+    @Test
+    void percentilesShouldLandWithinOneBinOfTheTrueValue() {
+        RollingLatencyHistogram histogram = new RollingLatencyHistogram(60000, 6);
+        for (int i = 0; i < 990; i++) {
+            histogram.record(40_000_000L);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(400_000_000L);
+        }
+
+        assertEquals(1000, histogram.count());
+        long p50 = histogram.percentileNanos(0.50);
+        long p99 = histogram.percentileNanos(0.99);
+        long max = histogram.percentileNanos(1.0);
+        assertTrue(p50 >= 40_000_000L && p50 <= 44_000_000L, "p50=" + p50);
+        assertEquals(p50, p99);
+        assertTrue(max >= 400_000_000L && max <= 440_000_000L, "max=" + max);
+    }
+
+    @Test
+    void emptyWindowShouldReportNoPercentile() {
+        RollingLatencyHistogram histogram = new RollingLatencyHistogram(60000, 6);
+
+        assertEquals(0, histogram.count());
+        assertEquals(-1L, histogram.percentileNanos(0.99));
+    }
+}
@@ -53,7 +53,7 @@ class OrderCreateFlowIntegrationTest {
         CarDetailsResponse details = OrderTestDataFactory.carDetails();
 
         when(inventoryServiceClient.checkAvailability(anyString())).thenReturn(Mono.just(availability));
-        when(inventoryServiceClient.reserveInventory(any())).thenReturn(Mono.just(reservation));
+        when(inventoryServiceClient.reserveInventory(any(), any())).thenReturn(Mono.just(reservation));
         when(catalogServiceClient.getCarDetails(anyString())).thenReturn(Mono.just(details));
 
         mockMvc.perform(post("/orders")
@@ -273,7 +273,7 @@ public class OrderOrchestrationServiceIntegrationTest {
         }
 
         private void arrange_InventoryServiceReturnsReservation(InventoryReservationResponse response) {
-                when(inventoryServiceClient.reserveInventory(any()))
+                when(inventoryServiceClient.reserveInventory(any(), any()))
                                 .thenReturn(Mono.just(response));
         }
 
@@ -1,5 +1,6 @@
 package com.carplatform.order.service;
 
+import com.carplatform.order.client.InventoryServiceClient;
 import com.carplatform.order.dto.CreateOrderRequest;
 import com.carplatform.order.dto.OrderResponse;
 import com.carplatform.order.dto.UpdateOrderStatusRequest;
@@ -14,6 +15,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -30,6 +32,9 @@ class OrderServiceImplTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private InventoryServiceClient inventoryServiceClient;
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -77,6 +82,39 @@ class OrderServiceImplTest {
         assertTrue(exception.getMessage().contains("Reservation has expired"));
     }
 
+    @Test
+    void confirmingOrderShouldConfirmItsInventoryReservation() {
+        Order order = OrderTestDataFactory.createdOrder();
+        order.setStatus(OrderStatus.INVENTORY_RESERVED);
+        order.setInventoryReservationId("r1");
+        when(orderRepository.findById(order.getOrderId())).thenReturn(Optional.of(order));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(inventoryServiceClient.confirmReservation("r1")).thenReturn(Mono.empty());
+
+        OrderResponse response = orderService.updateOrderStatus(order.getOrderId(),
+                new UpdateOrderStatusRequest(OrderStatus.CONFIRMED));
+
+        assertEquals(OrderStatus.CONFIRMED, response.status());
+        verify(inventoryServiceClient).confirmReservation("r1");
+    }
+
+    @Test
+    void confirmingOrderShouldFailWhenReservationCannotBeConfirmed() {
+        Order order = OrderTestDataFactory.createdOrder();
+        order.setStatus(OrderStatus.INVENTORY_RESERVED);
+        order.setInventoryReservationId("r1");
+        when(orderRepository.findById(order.getOrderId())).thenReturn(Optional.of(order));
+        when(inventoryServiceClient.confirmReservation("r1"))
+                .thenReturn(Mono.error(new IllegalStateException("404 Not Found")));
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> orderService.updateOrderStatus(order.getOrderId(),
+                        new UpdateOrderStatusRequest(OrderStatus.CONFIRMED)));
+
+        assertTrue(exception.getMessage().contains("Could not confirm inventory reservation r1"));
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
     @Test
     void cancelOrderShouldWorkForCreatedStatus() {
         Order order = OrderTestDataFactory.createdOrder();